@@ -0,0 +1,95 @@
+package com.assignment.producerconsumer.benchmark;
+
+import com.assignment.producerconsumer.BlockingQueue;
+import com.assignment.producerconsumer.BoundedQueue;
+import com.assignment.producerconsumer.RingBufferQueue;
+import com.assignment.producerconsumer.SpscQueue;
+import com.assignment.producerconsumer.StripedBlockingQueue;
+import com.assignment.producerconsumer.TwoLockBlockingQueue;
+import com.assignment.producerconsumer.WaitStrategy;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The timed offer/poll surface shared by this project's queues and the
+ * java.util.concurrent queues, so every implementation runs the same benchmark code.
+ * 
+ * Benchmarks use the timed variants rather than put/take: JMH stops producer
+ * and consumer threads independently at the end of an iteration, and a thread
+ * blocked forever on a full or empty queue would hang the run.
+ */
+interface BenchmarkQueue {
+
+    /**
+     * Lane count for StripedBlockingQueue; the capacity is split evenly across lanes.
+     */
+    int STRIPED_LANES = 4;
+
+    boolean offer(Object item, long timeout, TimeUnit unit) throws InterruptedException;
+
+    Object poll(long timeout, TimeUnit unit) throws InterruptedException;
+
+    /**
+     * Creates the named implementation with the given capacity and no listener.
+     * A BlockingQueue with a non-default wait strategy is named
+     * {@code BlockingQueue:<strategy>}, for example {@code BlockingQueue:SPIN_THEN_PARK}.
+     * 
+     * @param implementation the simple class name of the queue
+     * @param capacity the queue capacity
+     * @return the queue wrapped for benchmarking
+     */
+    static BenchmarkQueue create(String implementation, int capacity) {
+        if (implementation.startsWith("BlockingQueue:")) {
+            WaitStrategy strategy = WaitStrategy.valueOf(implementation.substring("BlockingQueue:".length()));
+            return of(BlockingQueue.builder(capacity).waitStrategy(strategy).build());
+        }
+        switch (implementation) {
+            case "BlockingQueue":
+                return of(new BlockingQueue<>(capacity));
+            case "TwoLockBlockingQueue":
+                return of(new TwoLockBlockingQueue<>(capacity));
+            case "RingBufferQueue":
+                return of(new RingBufferQueue<>(capacity));
+            case "StripedBlockingQueue":
+                return of(new StripedBlockingQueue<>(STRIPED_LANES, Math.max(1, capacity / STRIPED_LANES)));
+            case "SpscQueue":
+                return of(new SpscQueue<>(capacity));
+            case "ArrayBlockingQueue":
+                return of(new ArrayBlockingQueue<>(capacity));
+            case "LinkedBlockingQueue":
+                return of(new LinkedBlockingQueue<>(capacity));
+            default:
+                throw new IllegalArgumentException("Unknown queue implementation: " + implementation);
+        }
+    }
+
+    private static BenchmarkQueue of(BoundedQueue<Object> queue) {
+        return new BenchmarkQueue() {
+            @Override
+            public boolean offer(Object item, long timeout, TimeUnit unit) throws InterruptedException {
+                return queue.offer(item, timeout, unit);
+            }
+
+            @Override
+            public Object poll(long timeout, TimeUnit unit) throws InterruptedException {
+                return queue.poll(timeout, unit);
+            }
+        };
+    }
+
+    private static BenchmarkQueue of(java.util.concurrent.BlockingQueue<Object> queue) {
+        return new BenchmarkQueue() {
+            @Override
+            public boolean offer(Object item, long timeout, TimeUnit unit) throws InterruptedException {
+                return queue.offer(item, timeout, unit);
+            }
+
+            @Override
+            public Object poll(long timeout, TimeUnit unit) throws InterruptedException {
+                return queue.poll(timeout, unit);
+            }
+        };
+    }
+}
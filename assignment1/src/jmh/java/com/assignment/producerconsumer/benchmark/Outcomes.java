@@ -0,0 +1,52 @@
+package com.assignment.producerconsumer.benchmark;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Per-thread outcome counts of timed offers and polls, summed over the threads
+ * of a group by JMH and reported next to the primary score in throughput mode.
+ *
+ * The primary score counts benchmark calls, including calls that timed out
+ * and batch calls that moved many items; {@code offered} and {@code polled}
+ * count items actually transferred, so compare queues by {@code polled}.
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.OPERATIONS)
+public class Outcomes {
+    public long offered;
+    public long offerTimeouts;
+    public long polled;
+    public long pollTimeouts;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+        offered = 0;
+        offerTimeouts = 0;
+        polled = 0;
+        pollTimeouts = 0;
+    }
+
+    void offered(boolean success) {
+        if (success) {
+            offered++;
+        } else {
+            offerTimeouts++;
+        }
+    }
+
+    void polled(int items) {
+        if (items > 0) {
+            polled += items;
+        } else {
+            pollTimeouts++;
+        }
+    }
+
+    void polled(Object item) {
+        polled(item != null ? 1 : 0);
+    }
+}
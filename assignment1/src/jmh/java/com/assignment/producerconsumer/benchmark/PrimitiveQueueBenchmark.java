@@ -0,0 +1,134 @@
+package com.assignment.producerconsumer.benchmark;
+
+import com.assignment.producerconsumer.IntBlockingQueue;
+import com.assignment.producerconsumer.TwoLockBlockingQueue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Control;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 1:1 throughput of {@code int} payloads: {@code IntBlockingQueue} taking one
+ * value or a batch of up to 64 at a time, against boxed {@code Integer}s on
+ * {@code TwoLockBlockingQueue} and {@code ArrayBlockingQueue}. The values
+ * range past the {@code Integer} cache, so the boxed queues allocate on
+ * every put, as they would for real IDs. Run with {@code -prof gc} to see
+ * the allocation rate alongside the throughput.
+ *
+ * The primary score counts calls, and a batch take is one call however many
+ * values it moves; compare queues by the {@code polled} counter of
+ * {@link Outcomes}, which counts values. Producers use timed single-value
+ * offers throughout. The single-value consumer measures the blocking
+ * {@code takeInt} and switches to a timed one-value {@code takeAll} once JMH
+ * stops measuring, so it is not left blocked when the producer has finished.
+ *
+ * Run with: mvn -Pjmh compile exec:exec -Djmh.args="PrimitiveQueueBenchmark -prof gc"
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Group)
+public class PrimitiveQueueBenchmark {
+    private static final long TIMEOUT_MICROS = 100;
+    private static final int BATCH = 64;
+
+    @Param({"1024"})
+    public int capacity;
+
+    private IntBlockingQueue intQueue;
+    private TwoLockBlockingQueue<Integer> twoLockQueue;
+    private ArrayBlockingQueue<Integer> arrayQueue;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        intQueue = new IntBlockingQueue(capacity);
+        twoLockQueue = new TwoLockBlockingQueue<>(capacity);
+        arrayQueue = new ArrayBlockingQueue<>(capacity);
+    }
+
+    /**
+     * Per-thread value counter and batch buffer.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next = 1_000;
+        final int[] batch = new int[BATCH];
+    }
+
+    @Benchmark
+    @Group("intQueue")
+    @GroupThreads(1)
+    public void intOffer(Cursor cursor, Outcomes outcomes) throws InterruptedException {
+        outcomes.offered(intQueue.offerInt(cursor.next++, TIMEOUT_MICROS, TimeUnit.MICROSECONDS));
+    }
+
+    @Benchmark
+    @Group("intQueue")
+    @GroupThreads(1)
+    public void intPoll(Cursor cursor, Outcomes outcomes, Control control) throws InterruptedException {
+        if (control.stopMeasurement) {
+            outcomes.polled(intQueue.takeAll(cursor.batch, 0, 1, TIMEOUT_MICROS, TimeUnit.MICROSECONDS));
+        } else {
+            intQueue.takeInt();
+            outcomes.polled(1);
+        }
+    }
+
+    @Benchmark
+    @Group("intQueueBatch")
+    @GroupThreads(1)
+    public void intBatchOffer(Cursor cursor, Outcomes outcomes) throws InterruptedException {
+        outcomes.offered(intQueue.offerInt(cursor.next++, TIMEOUT_MICROS, TimeUnit.MICROSECONDS));
+    }
+
+    @Benchmark
+    @Group("intQueueBatch")
+    @GroupThreads(1)
+    public void intBatchTake(Cursor cursor, Outcomes outcomes) throws InterruptedException {
+        outcomes.polled(intQueue.takeAll(cursor.batch, 0, BATCH, TIMEOUT_MICROS, TimeUnit.MICROSECONDS));
+    }
+
+    @Benchmark
+    @Group("twoLockBoxed")
+    @GroupThreads(1)
+    public void twoLockOffer(Cursor cursor, Outcomes outcomes) throws InterruptedException {
+        outcomes.offered(twoLockQueue.offer(cursor.next++, TIMEOUT_MICROS, TimeUnit.MICROSECONDS));
+    }
+
+    @Benchmark
+    @Group("twoLockBoxed")
+    @GroupThreads(1)
+    public void twoLockPoll(Outcomes outcomes) throws InterruptedException {
+        outcomes.polled(twoLockQueue.poll(TIMEOUT_MICROS, TimeUnit.MICROSECONDS));
+    }
+
+    @Benchmark
+    @Group("arrayBoxed")
+    @GroupThreads(1)
+    public void arrayOffer(Cursor cursor, Outcomes outcomes) throws InterruptedException {
+        outcomes.offered(arrayQueue.offer(cursor.next++, TIMEOUT_MICROS, TimeUnit.MICROSECONDS));
+    }
+
+    @Benchmark
+    @Group("arrayBoxed")
+    @GroupThreads(1)
+    public void arrayPoll(Outcomes outcomes) throws InterruptedException {
+        outcomes.polled(arrayQueue.poll(TIMEOUT_MICROS, TimeUnit.MICROSECONDS));
+    }
+}
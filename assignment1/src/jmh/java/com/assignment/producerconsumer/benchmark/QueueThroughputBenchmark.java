@@ -0,0 +1,105 @@
+package com.assignment.producerconsumer.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput and per-operation latency of the multi-producer/multi-consumer
+ * queues with balanced groups of 1:1, 4:4 and 16:16 producer and consumer threads.
+ *
+ * The queues hold only a reference, so every offer passes the same
+ * pre-allocated item and the measurement covers the queue alone. The primary
+ * score counts calls, including timed offers and polls that gave up; the
+ * {@code offered}/{@code polled} and {@code offerTimeouts}/{@code pollTimeouts}
+ * counters, reported alongside it in throughput mode, split those calls into
+ * items transferred and timeouts. Compare queues by {@code polled}.
+ *
+ * Run with: mvn -Pjmh compile exec:exec -Djmh.args="QueueThroughputBenchmark"
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Group)
+public class QueueThroughputBenchmark {
+    private static final long TIMEOUT_MICROS = 100;
+    private static final Object ITEM = new Object();
+
+    @Param({"BlockingQueue", "TwoLockBlockingQueue", "RingBufferQueue", "StripedBlockingQueue", "ArrayBlockingQueue", "LinkedBlockingQueue"})
+    public String impl;
+
+    @Param({"16", "1024"})
+    public int capacity;
+
+    private BenchmarkQueue queue;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        queue = BenchmarkQueue.create(impl, capacity);
+    }
+
+    private void produce(Outcomes outcomes) throws InterruptedException {
+        outcomes.offered(queue.offer(ITEM, TIMEOUT_MICROS, TimeUnit.MICROSECONDS));
+    }
+
+    private void consume(Outcomes outcomes) throws InterruptedException {
+        outcomes.polled(queue.poll(TIMEOUT_MICROS, TimeUnit.MICROSECONDS));
+    }
+
+    @Benchmark
+    @Group("p1c1")
+    @GroupThreads(1)
+    public void p1c1Offer(Outcomes outcomes) throws InterruptedException {
+        produce(outcomes);
+    }
+
+    @Benchmark
+    @Group("p1c1")
+    @GroupThreads(1)
+    public void p1c1Poll(Outcomes outcomes) throws InterruptedException {
+        consume(outcomes);
+    }
+
+    @Benchmark
+    @Group("p4c4")
+    @GroupThreads(4)
+    public void p4c4Offer(Outcomes outcomes) throws InterruptedException {
+        produce(outcomes);
+    }
+
+    @Benchmark
+    @Group("p4c4")
+    @GroupThreads(4)
+    public void p4c4Poll(Outcomes outcomes) throws InterruptedException {
+        consume(outcomes);
+    }
+
+    @Benchmark
+    @Group("p16c16")
+    @GroupThreads(16)
+    public void p16c16Offer(Outcomes outcomes) throws InterruptedException {
+        produce(outcomes);
+    }
+
+    @Benchmark
+    @Group("p16c16")
+    @GroupThreads(16)
+    public void p16c16Poll(Outcomes outcomes) throws InterruptedException {
+        consume(outcomes);
+    }
+}
@@ -0,0 +1,65 @@
+package com.assignment.producerconsumer.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-producer/single-consumer throughput, comparing {@code SpscQueue}
+ * with the general-purpose queues on a 1:1 stage.
+ *
+ * The primary score counts calls, including timed offers and polls that gave
+ * up; compare queues by the {@code polled} counter of {@link Outcomes}.
+ * 
+ * Run with: mvn -Pjmh compile exec:exec -Djmh.args="SpscQueueBenchmark"
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Group)
+public class SpscQueueBenchmark {
+    private static final long TIMEOUT_MICROS = 100;
+    private static final Object ITEM = new Object();
+
+    @Param({"SpscQueue", "RingBufferQueue", "TwoLockBlockingQueue", "BlockingQueue", "ArrayBlockingQueue"})
+    public String impl;
+
+    @Param({"1024"})
+    public int capacity;
+
+    private BenchmarkQueue queue;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        queue = BenchmarkQueue.create(impl, capacity);
+    }
+
+    @Benchmark
+    @Group("spsc")
+    @GroupThreads(1)
+    public void offer(Outcomes outcomes) throws InterruptedException {
+        outcomes.offered(queue.offer(ITEM, TIMEOUT_MICROS, TimeUnit.MICROSECONDS));
+    }
+
+    @Benchmark
+    @Group("spsc")
+    @GroupThreads(1)
+    public void poll(Outcomes outcomes) throws InterruptedException {
+        outcomes.polled(queue.poll(TIMEOUT_MICROS, TimeUnit.MICROSECONDS));
+    }
+}
@@ -0,0 +1,475 @@
+package com.assignment.producerconsumer;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Consumer pool that grows and shrinks with the load on a shared queue.
+ *
+ * A controller thread samples the pool at a fixed interval and looks at two signals:
+ * - queue depth, as a fraction of the queue's capacity
+ * - consumer utilization, the fraction of the interval consumers spent in the handler
+ *
+ * When both are at or above the scale-up thresholds, the consumers are saturated
+ * and falling behind, so one consumer is added. When both are at or below the
+ * scale-down thresholds, consumers are mostly idle, so one is retired. The
+ * count always stays between the configured minimum and maximum. Time spent
+ * on an item is counted when the item finishes, so items much longer than
+ * the sample interval make utilization uneven from one sample to the next.
+ *
+ * Two things keep the pool from flapping:
+ * - The scale-down thresholds must be strictly below the scale-up thresholds.
+ *   Load between the two leaves the pool as it is.
+ * - A change is made only after several consecutive samples agree, and every
+ *   change restarts the count. Scaling down needs more samples than scaling up
+ *   by default, so a short lull after a spike does not retire consumers that
+ *   are about to be needed again.
+ *
+ * Consumers poll the queue with a timeout, so idle consumers also notice
+ * when they are retired. They run until the queue is closed and empty, as
+ * {@link Consumer} does; close or shut down the queue to stop the pool.
+ *
+ * @param <T> the type of items processed by the pool
+ */
+public class AutoscalingConsumerPool<T> {
+    private final CloseableQueue<T> queue;
+    private final ItemHandler<? super T> handler;
+    private final int minConsumers;
+    private final int maxConsumers;
+    private final double scaleUpDepth;
+    private final double scaleUpUtilization;
+    private final double scaleDownDepth;
+    private final double scaleDownUtilization;
+    private final int samplesToScaleUp;
+    private final int samplesToScaleDown;
+    private final long sampleIntervalNanos;
+    private final ThreadMode threadMode;
+
+    private final AtomicInteger liveConsumers = new AtomicInteger();
+    private final AtomicInteger consumerNames = new AtomicInteger();
+    private final LongAdder busyNanos = new LongAdder();
+    private final LongAdder processed = new LongAdder();
+    private final CountDownLatch terminated = new CountDownLatch(1);
+    private volatile int targetConsumers;
+    private volatile int peakConsumers;
+    private volatile double lastUtilization;
+    private volatile boolean started;
+    private volatile Thread controller;
+
+    // Controller state, guarded by this
+    private int aboveStreak;
+    private int belowStreak;
+    private long scaleUps;
+    private long scaleDowns;
+    private long lastSampleTime;
+    private long lastBusyNanos;
+
+    private AutoscalingConsumerPool(Builder<T> builder) {
+        if (builder.minConsumers < 1) {
+            throw new IllegalArgumentException("Consumer count must be at least 1");
+        }
+        if (builder.maxConsumers < builder.minConsumers) {
+            throw new IllegalArgumentException("Maximum consumers must be at least the minimum");
+        }
+        if (builder.scaleDownDepth < 0 || builder.scaleUpDepth > 1
+                || builder.scaleDownUtilization < 0 || builder.scaleUpUtilization > 1) {
+            throw new IllegalArgumentException("Thresholds must be between 0 and 1");
+        }
+        if (builder.scaleDownDepth >= builder.scaleUpDepth
+                || builder.scaleDownUtilization >= builder.scaleUpUtilization) {
+            throw new IllegalArgumentException("Scale-down thresholds must be below scale-up thresholds");
+        }
+        if (builder.samplesToScaleUp < 1 || builder.samplesToScaleDown < 1) {
+            throw new IllegalArgumentException("Sample count must be at least 1");
+        }
+        if (builder.sampleIntervalNanos <= 0) {
+            throw new IllegalArgumentException("Sample interval must be positive");
+        }
+        if (builder.threadMode == null) {
+            throw new NullPointerException("Thread mode cannot be null");
+        }
+        this.queue = builder.queue;
+        this.handler = builder.handler;
+        this.minConsumers = builder.minConsumers;
+        this.maxConsumers = builder.maxConsumers;
+        this.scaleUpDepth = builder.scaleUpDepth;
+        this.scaleUpUtilization = builder.scaleUpUtilization;
+        this.scaleDownDepth = builder.scaleDownDepth;
+        this.scaleDownUtilization = builder.scaleDownUtilization;
+        this.samplesToScaleUp = builder.samplesToScaleUp;
+        this.samplesToScaleDown = builder.samplesToScaleDown;
+        this.sampleIntervalNanos = builder.sampleIntervalNanos;
+        this.threadMode = builder.threadMode;
+        this.targetConsumers = minConsumers;
+    }
+
+    /**
+     * Constructs a pool with the default thresholds that keeps between
+     * {@code minConsumers} and {@code maxConsumers} platform-thread consumers.
+     *
+     * @param queue the queue to consume from
+     * @param minConsumers the number of consumers to start with and never go below
+     * @param maxConsumers the number of consumers never to exceed
+     * @param handler the handler that processes each item
+     * @throws IllegalArgumentException if minConsumers is less than 1 or maxConsumers is less than minConsumers
+     * @throws NullPointerException if queue or handler is null
+     */
+    public AutoscalingConsumerPool(CloseableQueue<T> queue, int minConsumers, int maxConsumers,
+                                   ItemHandler<? super T> handler) {
+        this(AutoscalingConsumerPool.<T>builder(queue, handler).consumers(minConsumers, maxConsumers));
+    }
+
+    /**
+     * Creates a builder for a pool consuming from the given queue.
+     *
+     * @param <T> the type of items processed by the pool
+     * @param queue the queue to consume from
+     * @param handler the handler that processes each item
+     * @return a builder with the default configuration
+     * @throws NullPointerException if queue or handler is null
+     */
+    public static <T> Builder<T> builder(CloseableQueue<T> queue, ItemHandler<? super T> handler) {
+        if (queue == null) {
+            throw new NullPointerException("Queue cannot be null");
+        }
+        if (handler == null) {
+            throw new NullPointerException("Handler cannot be null");
+        }
+        return new Builder<>(queue, handler);
+    }
+
+    /**
+     * Starts the minimum number of consumers and the controller thread.
+     *
+     * @throws IllegalStateException if the pool was already started
+     */
+    public synchronized void start() {
+        if (started) {
+            throw new IllegalStateException("Pool has already been started");
+        }
+        started = true;
+        lastSampleTime = System.nanoTime();
+        ensureConsumers(minConsumers);
+        controller = threadMode.newThread("Autoscaler", this::runController);
+        controller.setDaemon(true);
+        controller.start();
+    }
+
+    /**
+     * Waits for every consumer to exit after the queue has been closed and drained.
+     *
+     * @param timeout the maximum time to wait
+     * @param unit the unit of the timeout
+     * @return true if every consumer exited, false if the timeout elapsed first
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return terminated.await(timeout, unit);
+    }
+
+    /**
+     * Returns the number of running consumers. Retired consumers count until
+     * they finish their current item.
+     *
+     * @return the running consumer count
+     */
+    public int getConsumerCount() {
+        return liveConsumers.get();
+    }
+
+    /**
+     * Returns the number of consumers the controller is currently aiming for.
+     *
+     * @return the target consumer count
+     */
+    public int getTargetConsumerCount() {
+        return targetConsumers;
+    }
+
+    /**
+     * Returns the highest number of consumers the pool has run at once.
+     *
+     * @return the peak consumer count
+     */
+    public int getPeakConsumerCount() {
+        return peakConsumers;
+    }
+
+    /**
+     * Returns how many times a consumer was added because of load.
+     *
+     * @return the number of scale-up decisions
+     */
+    public synchronized long getScaleUpCount() {
+        return scaleUps;
+    }
+
+    /**
+     * Returns how many times a consumer was retired because of low load.
+     *
+     * @return the number of scale-down decisions
+     */
+    public synchronized long getScaleDownCount() {
+        return scaleDowns;
+    }
+
+    /**
+     * Returns consumer utilization over the last sample interval.
+     *
+     * @return the fraction of the interval consumers spent handling items, from 0 to 1
+     */
+    public double getUtilization() {
+        return lastUtilization;
+    }
+
+    /**
+     * Returns how many items all consumers have processed.
+     *
+     * @return the total number of items processed
+     */
+    public long getProcessedCount() {
+        return processed.sum();
+    }
+
+    private void runController() {
+        try {
+            while (terminated.getCount() > 0) {
+                TimeUnit.NANOSECONDS.sleep(sampleIntervalNanos);
+                sample();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Takes one sample of queue depth and utilization and scales the pool if needed.
+     */
+    synchronized void sample() {
+        long now = System.nanoTime();
+        long busy = busyNanos.sum();
+        long available = (now - lastSampleTime) * Math.max(1, liveConsumers.get());
+        double utilization = available > 0 ? Math.min(1.0, (double) (busy - lastBusyNanos) / available) : 0;
+        lastSampleTime = now;
+        lastBusyNanos = busy;
+        lastUtilization = utilization;
+        adjust((double) queue.size() / queue.getCapacity(), utilization);
+    }
+
+    /**
+     * Applies one sample to the streak counters and moves the target by one
+     * consumer once enough consecutive samples agree.
+     *
+     * @param depth queue depth as a fraction of capacity
+     * @param utilization the fraction of the interval consumers were busy
+     */
+    synchronized void adjust(double depth, double utilization) {
+        boolean closed = queue.isClosed();
+        if (closed) {
+            aboveStreak = 0;
+            belowStreak = 0;
+        } else if (depth >= scaleUpDepth && utilization >= scaleUpUtilization) {
+            belowStreak = 0;
+            if (++aboveStreak >= samplesToScaleUp && targetConsumers < maxConsumers) {
+                aboveStreak = 0;
+                scaleUps++;
+                targetConsumers++;
+            }
+        } else if (depth <= scaleDownDepth && utilization <= scaleDownUtilization) {
+            aboveStreak = 0;
+            if (++belowStreak >= samplesToScaleDown && targetConsumers > minConsumers) {
+                belowStreak = 0;
+                scaleDowns++;
+                targetConsumers--;
+            }
+        } else {
+            aboveStreak = 0;
+            belowStreak = 0;
+        }
+        // Also replaces consumers that died from a handler exception, which
+        // matters after close too while items are left to drain
+        if (!closed || !queue.isEmpty()) {
+            ensureConsumers(targetConsumers);
+        } else if (liveConsumers.get() == 0) {
+            // Every consumer died before the close, so none is left to exit and report it
+            terminate();
+        }
+    }
+
+    /**
+     * Starts consumers until at least {@code target} are running. Consumers only
+     * retire while more than the target are running, so they never undo this.
+     */
+    private void ensureConsumers(int target) {
+        int live;
+        while ((live = liveConsumers.get()) < target) {
+            if (liveConsumers.compareAndSet(live, live + 1)) {
+                peakConsumers = Math.max(peakConsumers, live + 1);
+                threadMode.newThread("Consumer-" + consumerNames.incrementAndGet(), this::runConsumer).start();
+            }
+        }
+    }
+
+    private void runConsumer() {
+        try {
+            while (!retire()) {
+                T item = queue.poll(sampleIntervalNanos, TimeUnit.NANOSECONDS);
+                if (item != null) {
+                    long start = System.nanoTime();
+                    try {
+                        handler.handle(item);
+                    } finally {
+                        busyNanos.add(System.nanoTime() - start);
+                    }
+                    processed.increment();
+                } else if (queue.isClosed() && queue.isEmpty()) {
+                    exit();
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            exit();
+        } catch (RuntimeException | Error e) {
+            exit();
+            throw e;
+        }
+    }
+
+    /**
+     * Retires the calling consumer if more consumers are running than the target.
+     *
+     * @return true if the consumer was retired and must exit
+     */
+    private boolean retire() {
+        int live = liveConsumers.get();
+        return live > targetConsumers && liveConsumers.compareAndSet(live, live - 1);
+    }
+
+    private void exit() {
+        if (liveConsumers.decrementAndGet() == 0 && queue.isClosed() && queue.isEmpty()) {
+            terminate();
+        }
+    }
+
+    private void terminate() {
+        terminated.countDown();
+        Thread current = controller;
+        if (current != null) {
+            current.interrupt();
+        }
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "AutoscalingConsumerPool{consumers=" + liveConsumers.get()
+            + ", target=" + targetConsumers
+            + ", range=" + minConsumers + ".." + maxConsumers
+            + ", utilization=" + String.format("%.2f", lastUtilization)
+            + ", scaleUps=" + scaleUps
+            + ", scaleDowns=" + scaleDowns
+            + ", processed=" + processed.sum() + "}";
+    }
+
+    /**
+     * Builder for {@link AutoscalingConsumerPool}.
+     *
+     * @param <T> the type of items processed by the pool
+     */
+    public static final class Builder<T> {
+        private final CloseableQueue<T> queue;
+        private final ItemHandler<? super T> handler;
+        private int minConsumers = 1;
+        private int maxConsumers = Math.max(2, Runtime.getRuntime().availableProcessors());
+        private double scaleUpDepth = 0.5;
+        private double scaleUpUtilization = 0.75;
+        private double scaleDownDepth = 0.1;
+        private double scaleDownUtilization = 0.3;
+        private int samplesToScaleUp = 2;
+        private int samplesToScaleDown = 5;
+        private long sampleIntervalNanos = TimeUnit.MILLISECONDS.toNanos(100);
+        private ThreadMode threadMode = ThreadMode.PLATFORM;
+
+        private Builder(CloseableQueue<T> queue, ItemHandler<? super T> handler) {
+            this.queue = queue;
+            this.handler = handler;
+        }
+
+        /**
+         * @param min the number of consumers to start with and never go below (default 1)
+         * @param max the number of consumers never to exceed (default the number of CPUs, at least 2)
+         * @return this builder
+         */
+        public Builder<T> consumers(int min, int max) {
+            this.minConsumers = min;
+            this.maxConsumers = max;
+            return this;
+        }
+
+        /**
+         * @param depth queue depth, as a fraction of capacity, at or above which to add consumers (default 0.5)
+         * @param utilization consumer utilization at or above which to add consumers (default 0.75)
+         * @return this builder
+         */
+        public Builder<T> scaleUpAt(double depth, double utilization) {
+            this.scaleUpDepth = depth;
+            this.scaleUpUtilization = utilization;
+            return this;
+        }
+
+        /**
+         * @param depth queue depth, as a fraction of capacity, at or below which to retire consumers (default 0.1)
+         * @param utilization consumer utilization at or below which to retire consumers (default 0.3)
+         * @return this builder
+         */
+        public Builder<T> scaleDownAt(double depth, double utilization) {
+            this.scaleDownDepth = depth;
+            this.scaleDownUtilization = utilization;
+            return this;
+        }
+
+        /**
+         * @param up consecutive samples above the scale-up thresholds needed to add a consumer (default 2)
+         * @param down consecutive samples below the scale-down thresholds needed to retire one (default 5)
+         * @return this builder
+         */
+        public Builder<T> samplesToScale(int up, int down) {
+            this.samplesToScaleUp = up;
+            this.samplesToScaleDown = down;
+            return this;
+        }
+
+        /**
+         * @param interval the time between samples (default 100 ms); also how long
+         *        an idle consumer waits before checking whether it was retired
+         * @param unit the unit of the interval
+         * @return this builder
+         */
+        public Builder<T> sampleInterval(long interval, TimeUnit unit) {
+            this.sampleIntervalNanos = unit.toNanos(interval);
+            return this;
+        }
+
+        /**
+         * @param threadMode how consumer and controller threads are created
+         * @return this builder
+         */
+        public Builder<T> threadMode(ThreadMode threadMode) {
+            this.threadMode = threadMode;
+            return this;
+        }
+
+        /**
+         * @return a new, unstarted pool with this configuration
+         * @throws IllegalArgumentException if the consumer bounds, thresholds,
+         *         sample counts or interval are out of range, or a scale-down
+         *         threshold is not below its scale-up threshold
+         * @throws NullPointerException if threadMode is null
+         */
+        public AutoscalingConsumerPool<T> build() {
+            return new AutoscalingConsumerPool<>(this);
+        }
+    }
+}
@@ -1,7 +1,13 @@
 package com.assignment.producerconsumer;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Queue;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Thread-safe bounded blocking queue implementation.
@@ -10,46 +16,155 @@ import java.util.Queue;
  * This queue blocks:
  * - Producer threads when the queue is full
  * - Consumer threads when the queue is empty
+ * 
+ * Queue activity is reported to a {@link QueueListener}. Put and take events
+ * are delivered after the monitor is released, so listeners never hold up
+ * other producers and consumers.
+ * 
+ * By default {@code put} blocks while the queue is full. A different
+ * {@link OverflowPolicy} can be chosen with {@link #builder(int)} to drop,
+ * reroute or reject items instead; {@code offer} keeps its own semantics and
+ * simply returns false. A spinning {@link WaitStrategy} can also be chosen to
+ * avoid parking threads for waits that last only microseconds.
+ * 
+ * The queue can be closed: producers stop, consumers drain what is left and
+ * then get a {@link QueueClosedException}, and {@link #shutdown(long, TimeUnit)}
+ * bounds how long that may take.
+ * 
+ * With a {@link QueueLatency} set on the builder, each item's insertion time
+ * is kept in a ring of longs that moves in step with the queue, and its time
+ * in the queue is recorded when it is taken. Without one, no clock is read.
  */
-public class BlockingQueue<T> {
+public class BlockingQueue<T> implements CloseableQueue<T> {
+    /**
+     * Start time of an operation that has not had to wait. A real
+     * System.nanoTime() value equal to it is astronomically unlikely.
+     */
+    private static final long NOT_BLOCKED = Long.MIN_VALUE;
+    
     private final Queue<T> queue;
     private final int capacity;
+    private final QueueListener listener;
+    private final OverflowPolicy overflowPolicy;
+    private final ItemHandler<? super T> callerRunsHandler;
+    private final WaitStrategy waitStrategy;
+    private final QueueLatency latency;
+    private final long[] enqueueTimes;
+    private int oldestTime;
+    private long wakeups;
+    private long overflows;
+    
+    /**
+     * Copy of the queue size written under the monitor, so spinning threads
+     * can watch for space or items without taking the lock.
+     */
+    private volatile int count;
+    
+    /**
+     * Written under the monitor; volatile so spinning threads notice it too.
+     */
+    private volatile boolean closed;
     
     /**
-     * Constructs a blocking queue with the specified capacity.
+     * Constructs a blocking queue with the specified capacity and no listener.
      * 
      * @param capacity the maximum number of elements the queue can hold
      * @throws IllegalArgumentException if capacity is less than 1
      */
     public BlockingQueue(int capacity) {
-        if (capacity < 1) {
+        this(capacity, QueueListener.NOOP);
+    }
+    
+    /**
+     * Constructs a blocking queue with the specified capacity that reports
+     * its activity to the given listener.
+     * 
+     * @param capacity the maximum number of elements the queue can hold
+     * @param listener the listener to notify of queue events
+     * @throws IllegalArgumentException if capacity is less than 1
+     * @throws NullPointerException if listener is null
+     */
+    public BlockingQueue(int capacity, QueueListener listener) {
+        this(BlockingQueue.<T>builder(capacity).listener(listener));
+    }
+    
+    private BlockingQueue(Builder<T> builder) {
+        if (builder.capacity < 1) {
             throw new IllegalArgumentException("Capacity must be at least 1");
         }
-        this.capacity = capacity;
+        if (builder.listener == null) {
+            throw new NullPointerException("Listener cannot be null");
+        }
+        if ((builder.overflowPolicy == OverflowPolicy.CALLER_RUNS) != (builder.callerRunsHandler != null)) {
+            throw new IllegalArgumentException("A caller-runs handler is required with, and only with, CALLER_RUNS");
+        }
+        this.capacity = builder.capacity;
+        this.listener = builder.latency == null
+            ? builder.listener
+            : QueueListener.composite(builder.listener, builder.latency);
+        this.latency = builder.latency;
+        this.enqueueTimes = latency == null ? null : new long[capacity];
+        this.overflowPolicy = builder.overflowPolicy;
+        this.callerRunsHandler = builder.callerRunsHandler;
+        this.waitStrategy = builder.waitStrategy;
         this.queue = new LinkedList<>();
     }
     
     /**
-     * Adds an item to the queue. Blocks if the queue is full.
+     * Returns a builder for a queue with the given capacity. The builder
+     * defaults to no listener, {@link OverflowPolicy#BLOCK} and {@link WaitStrategy#BLOCKING}.
+     * 
+     * @param capacity the maximum number of elements the queue can hold
+     * @param <T> the type of elements held in the queue
+     * @return a new builder
+     */
+    public static <T> Builder<T> builder(int capacity) {
+        return new Builder<>(capacity);
+    }
+    
+    /**
+     * Adds an item to the queue. If the queue is full, blocks or applies the
+     * queue's {@link OverflowPolicy}.
      * Uses wait/notify mechanism for synchronization.
      * 
      * @param item the item to add
-     * @throws InterruptedException if the thread is interrupted while waiting
+     * @throws InterruptedException if the thread is interrupted while waiting,
+     *         or while the caller-runs handler processes the item
+     * @throws QueueFullException if the queue is full and the policy is FAIL_FAST
+     * @throws QueueClosedException if the queue is closed, also while waiting
      */
-    public synchronized void put(T item) throws InterruptedException {
+    @Override
+    public void put(T item) throws InterruptedException {
         if (item == null) {
             throw new NullPointerException("Cannot add null item to queue");
         }
-        
-        while (queue.size() == capacity) {
-            System.out.println(Thread.currentThread().getName() + " waiting: Queue is full (size=" + queue.size() + ")");
-            wait();
+        if (overflowPolicy != OverflowPolicy.BLOCK) {
+            putWithOverflowPolicy(Collections.singletonList(item));
+            return;
         }
         
-        queue.offer(item);
-        System.out.println(Thread.currentThread().getName() + " produced: " + item + " (queue size=" + queue.size() + ")");
-        System.out.println("[NOTIFY] " + Thread.currentThread().getName() + " calling notifyAll() - waking up ALL threads in wait set");
-        notifyAll();
+        int size;
+        long blockedSince = NOT_BLOCKED;
+        try {
+            while (true) {
+                blockedSince = spinWhileFull(blockedSince, false, 0);
+                synchronized (this) {
+                    if (mustRespin(queue.size() == capacity)) {
+                        continue;
+                    }
+                    blockedSince = awaitNotFull(blockedSince);
+                    ensureOpen();
+                    enqueue(item);
+                    size = queue.size();
+                    count = size;
+                    notifyAll();
+                }
+                break;
+            }
+        } finally {
+            producerUnblocked(blockedSince);
+        }
+        listener.onPut(1, size);
     }
     
     /**
@@ -58,26 +173,273 @@ public class BlockingQueue<T> {
      * 
      * @return the item removed from the queue
      * @throws InterruptedException if the thread is interrupted while waiting
+     * @throws QueueClosedException if the queue is closed and empty, also while waiting
      */
-    public synchronized T take() throws InterruptedException {
-        while (queue.isEmpty()) {
-            System.out.println(Thread.currentThread().getName() + " waiting: Queue is empty");
-            wait();
+    @Override
+    public T take() throws InterruptedException {
+        T item;
+        int size;
+        long blockedSince = NOT_BLOCKED;
+        try {
+            while (true) {
+                blockedSince = spinWhileEmpty(blockedSince, false, 0);
+                synchronized (this) {
+                    if (mustRespin(queue.isEmpty())) {
+                        continue;
+                    }
+                    blockedSince = awaitNotEmpty(blockedSince);
+                    if (queue.isEmpty()) {
+                        throw new QueueClosedException();
+                    }
+                    item = dequeue();
+                    size = queue.size();
+                    count = size;
+                    notifyAll();
+                }
+                break;
+            }
+        } finally {
+            consumerUnblocked(blockedSince);
+        }
+        listener.onTake(1, size);
+        
+        return item;
+    }
+    
+    /**
+     * Adds an item to the queue if there is room. Never blocks.
+     * 
+     * @param item the item to add
+     * @return true if the item was added, false if the queue was full
+     * @throws QueueClosedException if the queue is closed
+     */
+    @Override
+    public boolean offer(T item) {
+        if (item == null) {
+            throw new NullPointerException("Cannot add null item to queue");
         }
         
-        T item = queue.poll();
-        System.out.println(Thread.currentThread().getName() + " consumed: " + item + " (queue size=" + queue.size() + ")");
-        System.out.println("[NOTIFY] " + Thread.currentThread().getName() + " calling notifyAll() - waking up ALL threads in wait set");
-        notifyAll();
+        int size;
+        synchronized (this) {
+            ensureOpen();
+            if (queue.size() == capacity) {
+                return false;
+            }
+            enqueue(item);
+            size = queue.size();
+            count = size;
+            notifyAll();
+        }
+        listener.onPut(1, size);
+        return true;
+    }
+    
+    /**
+     * Adds an item to the queue, waiting up to the given time if the queue is full.
+     * The remaining time is recomputed after every wakeup, so spurious wakeups
+     * and notifications meant for other threads do not extend the wait.
+     * 
+     * @param item the item to add
+     * @param timeout how long to wait before giving up
+     * @param unit the unit of the timeout
+     * @return true if the item was added, false if the timeout elapsed first
+     * @throws InterruptedException if the thread is interrupted while waiting
+     * @throws QueueClosedException if the queue is closed, also while waiting
+     */
+    @Override
+    public boolean offer(T item, long timeout, TimeUnit unit) throws InterruptedException {
+        if (item == null) {
+            throw new NullPointerException("Cannot add null item to queue");
+        }
         
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        int size;
+        long blockedSince = NOT_BLOCKED;
+        try {
+            while (true) {
+                blockedSince = spinWhileFull(blockedSince, true, deadline);
+                synchronized (this) {
+                    ensureOpen();
+                    if (queue.size() == capacity && System.nanoTime() - deadline >= 0) {
+                        return false;
+                    }
+                    if (mustRespin(queue.size() == capacity)) {
+                        continue;
+                    }
+                    blockedSince = awaitNotFull(blockedSince, deadline);
+                    ensureOpen();
+                    if (queue.size() == capacity) {
+                        return false;
+                    }
+                    enqueue(item);
+                    size = queue.size();
+                    count = size;
+                    notifyAll();
+                }
+                break;
+            }
+        } finally {
+            producerUnblocked(blockedSince);
+        }
+        listener.onPut(1, size);
+        return true;
+    }
+    
+    /**
+     * Removes and returns an item if one is available. Never blocks.
+     * 
+     * @return the item removed from the queue, or null if the queue was empty
+     */
+    @Override
+    public T poll() {
+        T item;
+        int size;
+        synchronized (this) {
+            if (queue.isEmpty()) {
+                return null;
+            }
+            item = dequeue();
+            size = queue.size();
+            count = size;
+            notifyAll();
+        }
+        listener.onTake(1, size);
+        return item;
+    }
+    
+    /**
+     * Removes and returns an item, waiting up to the given time if the queue is empty.
+     * 
+     * @param timeout how long to wait before giving up
+     * @param unit the unit of the timeout
+     * @return the item removed from the queue, or null if the timeout elapsed first
+     *         or the queue is closed and empty
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    @Override
+    public T poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        T item;
+        int size;
+        long blockedSince = NOT_BLOCKED;
+        try {
+            while (true) {
+                blockedSince = spinWhileEmpty(blockedSince, true, deadline);
+                synchronized (this) {
+                    if (queue.isEmpty() && System.nanoTime() - deadline >= 0) {
+                        return null;
+                    }
+                    if (mustRespin(queue.isEmpty())) {
+                        continue;
+                    }
+                    blockedSince = awaitNotEmpty(blockedSince, deadline);
+                    if (queue.isEmpty()) {
+                        return null;
+                    }
+                    item = dequeue();
+                    size = queue.size();
+                    count = size;
+                    notifyAll();
+                }
+                break;
+            }
+        } finally {
+            consumerUnblocked(blockedSince);
+        }
+        listener.onTake(1, size);
         return item;
     }
     
+    /**
+     * Adds all items to the queue. Inserts as many items as fit on each pass
+     * and blocks while the queue is full, so a batch costs one notifyAll()
+     * per pass instead of one per item. With a non-blocking
+     * {@link OverflowPolicy}, items that do not fit are handled by the policy;
+     * under FAIL_FAST the items that fit are added before the exception is thrown.
+     * 
+     * @param items the items to add
+     * @throws InterruptedException if the thread is interrupted while waiting,
+     *         or while the caller-runs handler processes an item
+     * @throws QueueFullException if the queue is full and the policy is FAIL_FAST
+     * @throws QueueClosedException if the queue is closed, also while waiting;
+     *         items inserted before it was closed remain in the queue
+     */
+    @Override
+    public void putAll(Collection<? extends T> items) throws InterruptedException {
+        QueueSupport.requireNoNullItems(items);
+        if (overflowPolicy != OverflowPolicy.BLOCK) {
+            putWithOverflowPolicy(items);
+            return;
+        }
+        
+        Iterator<? extends T> iterator = items.iterator();
+        while (iterator.hasNext()) {
+            int added = 0;
+            int size;
+            // Each pass that waits reports one blocked event, as under BLOCKING
+            long blockedSince = NOT_BLOCKED;
+            try {
+                while (true) {
+                    blockedSince = spinWhileFull(blockedSince, false, 0);
+                    synchronized (this) {
+                        if (mustRespin(queue.size() == capacity)) {
+                            continue;
+                        }
+                        blockedSince = awaitNotFull(blockedSince);
+                        ensureOpen();
+                        while (queue.size() < capacity && iterator.hasNext()) {
+                            enqueue(iterator.next());
+                            added++;
+                        }
+                        size = queue.size();
+                        count = size;
+                        notifyAll();
+                    }
+                    break;
+                }
+            } finally {
+                producerUnblocked(blockedSince);
+            }
+            listener.onPut(added, size);
+        }
+    }
+    
+    /**
+     * Removes up to maxElements available items and adds them to the destination.
+     * Never blocks; returns 0 if the queue is empty.
+     * 
+     * @param destination the collection to transfer items into
+     * @param maxElements the maximum number of items to transfer
+     * @return the number of items transferred
+     */
+    @Override
+    public int drainTo(Collection<? super T> destination, int maxElements) {
+        QueueSupport.requireDestination(destination);
+        
+        int drained = 0;
+        int size;
+        synchronized (this) {
+            while (drained < maxElements && !queue.isEmpty()) {
+                destination.add(dequeue());
+                drained++;
+            }
+            if (drained == 0) {
+                return 0;
+            }
+            size = queue.size();
+            count = size;
+            notifyAll();
+        }
+        listener.onTake(drained, size);
+        return drained;
+    }
+    
     /**
      * Returns the current size of the queue.
      * 
      * @return the number of elements in the queue
      */
+    @Override
     public synchronized int size() {
         return queue.size();
     }
@@ -87,6 +449,7 @@ public class BlockingQueue<T> {
      * 
      * @return the maximum capacity of the queue
      */
+    @Override
     public int getCapacity() {
         return capacity;
     }
@@ -96,6 +459,7 @@ public class BlockingQueue<T> {
      * 
      * @return true if the queue is empty, false otherwise
      */
+    @Override
     public synchronized boolean isEmpty() {
         return queue.isEmpty();
     }
@@ -105,7 +469,507 @@ public class BlockingQueue<T> {
      * 
      * @return true if the queue is full, false otherwise
      */
+    @Override
     public synchronized boolean isFull() {
         return queue.size() == capacity;
     }
+    
+    /**
+     * Stops accepting items and wakes every waiting producer and consumer.
+     * Items already queued remain available to consumers.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            notifyAll();
+        }
+    }
+    
+    @Override
+    public boolean isClosed() {
+        return closed;
+    }
+    
+    /**
+     * Closes the queue and waits up to the given time for consumers to take
+     * the remaining items. Whatever is left after that is removed and returned,
+     * and reported to the listener as taken.
+     * 
+     * @param timeout how long to wait for consumers to drain the queue
+     * @param unit the unit of the timeout
+     * @return the items that were not drained in time, oldest first
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    @Override
+    public List<T> shutdown(long timeout, TimeUnit unit) throws InterruptedException {
+        close();
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        List<T> undrained;
+        synchronized (this) {
+            while (!queue.isEmpty()) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    break;
+                }
+                TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            }
+            if (queue.isEmpty()) {
+                return Collections.emptyList();
+            }
+            undrained = new ArrayList<>(queue);
+            queue.clear();
+            oldestTime = 0;
+            count = 0;
+            notifyAll();
+        }
+        listener.onTake(undrained.size(), 0);
+        return undrained;
+    }
+    
+    /**
+     * Returns how many times a waiting producer or consumer has returned from wait().
+     * Because every operation calls notifyAll(), this includes threads that were
+     * woken only to find they still cannot proceed.
+     * 
+     * @return the total number of wakeups since the queue was created
+     */
+    public synchronized long getWakeupCount() {
+        return wakeups;
+    }
+    
+    /**
+     * Returns the overflow policy chosen at construction time.
+     * 
+     * @return the policy applied by put and putAll when the queue is full
+     */
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+    
+    /**
+     * Returns how many items the overflow policy has dropped, run on the
+     * caller's thread or rejected.
+     * 
+     * @return the total number of overflowed items since the queue was created
+     */
+    public synchronized long getOverflowCount() {
+        return overflows;
+    }
+    
+    /**
+     * Returns the wait strategy chosen at construction time.
+     * 
+     * @return how threads wait for space or items
+     */
+    public WaitStrategy getWaitStrategy() {
+        return waitStrategy;
+    }
+    
+    /**
+     * Spins outside the monitor while the queue is full, as directed by the
+     * wait strategy, until there is room, the strategy falls back to waiting
+     * on the monitor or the deadline passes. Spinning counts as a producer wait.
+     * 
+     * @param blockedSince when the operation started waiting, or NOT_BLOCKED
+     * @param timed whether the wait has a deadline
+     * @param deadline the System.nanoTime() value to give up at, if timed
+     * @return when the operation started waiting, or NOT_BLOCKED if it has not
+     */
+    private long spinWhileFull(long blockedSince, boolean timed, long deadline) throws InterruptedException {
+        if (waitStrategy == WaitStrategy.BLOCKING || count < capacity) {
+            return blockedSince;
+        }
+        
+        blockedSince = producerBlocked(blockedSince);
+        for (int attempt = 0; count == capacity && !closed; attempt++) {
+            if (!spinOnce(attempt, timed, deadline)) {
+                break;
+            }
+        }
+        return blockedSince;
+    }
+    
+    /**
+     * Spins outside the monitor while the queue is empty, as directed by the
+     * wait strategy, until an item arrives, the strategy falls back to waiting
+     * on the monitor or the deadline passes. Spinning counts as a consumer wait.
+     * 
+     * @param blockedSince when the operation started waiting, or NOT_BLOCKED
+     * @param timed whether the wait has a deadline
+     * @param deadline the System.nanoTime() value to give up at, if timed
+     * @return when the operation started waiting, or NOT_BLOCKED if it has not
+     */
+    private long spinWhileEmpty(long blockedSince, boolean timed, long deadline) throws InterruptedException {
+        if (waitStrategy == WaitStrategy.BLOCKING || count > 0) {
+            return blockedSince;
+        }
+        
+        blockedSince = consumerBlocked(blockedSince);
+        for (int attempt = 0; count == 0 && !closed; attempt++) {
+            if (!spinOnce(attempt, timed, deadline)) {
+                break;
+            }
+        }
+        return blockedSince;
+    }
+    
+    /**
+     * Reports a producer wait when an operation first has to wait, so spinning
+     * followed by parking counts as one wait.
+     * 
+     * @return when the operation started waiting
+     */
+    private long producerBlocked(long blockedSince) {
+        if (blockedSince != NOT_BLOCKED) {
+            return blockedSince;
+        }
+        listener.onProducerBlocked();
+        return System.nanoTime();
+    }
+    
+    /**
+     * Reports the end of a producer operation's wait, if it had one.
+     */
+    private void producerUnblocked(long blockedSince) {
+        if (blockedSince != NOT_BLOCKED) {
+            listener.onProducerUnblocked(System.nanoTime() - blockedSince);
+        }
+    }
+    
+    /**
+     * Reports a consumer wait when an operation first has to wait, so spinning
+     * followed by parking counts as one wait.
+     * 
+     * @return when the operation started waiting
+     */
+    private long consumerBlocked(long blockedSince) {
+        if (blockedSince != NOT_BLOCKED) {
+            return blockedSince;
+        }
+        listener.onConsumerBlocked();
+        return System.nanoTime();
+    }
+    
+    /**
+     * Reports the end of a consumer operation's wait, if it had one.
+     */
+    private void consumerUnblocked(long blockedSince) {
+        if (blockedSince != NOT_BLOCKED) {
+            listener.onConsumerUnblocked(System.nanoTime() - blockedSince);
+        }
+    }
+    
+    /**
+     * Takes one idle step of the wait strategy.
+     * 
+     * @return false if the thread should stop spinning, because the deadline
+     *         passed or the strategy falls back to waiting on the monitor
+     */
+    private boolean spinOnce(int attempt, boolean timed, long deadline) throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+        if (timed && System.nanoTime() - deadline >= 0) {
+            return false;
+        }
+        return waitStrategy.idle(attempt);
+    }
+    
+    /**
+     * Decides, with the monitor held, whether a thread that lost the race
+     * for space or an item should go back to spinning instead of waiting.
+     */
+    private boolean mustRespin(boolean stillBlocked) {
+        return stillBlocked && !closed && !waitStrategy.parks();
+    }
+    
+    /**
+     * Rejects new items once the queue is closed.
+     * Must be called while holding this queue's monitor.
+     */
+    private void ensureOpen() {
+        if (closed) {
+            throw new QueueClosedException();
+        }
+    }
+    
+    /**
+     * Inserts items without waiting, handing every item that does not fit to
+     * the overflow policy. Items are inserted under one monitor acquisition;
+     * the caller-runs handler and the listener run after it is released.
+     */
+    private void putWithOverflowPolicy(Collection<? extends T> items) throws InterruptedException {
+        List<T> callerRuns = null;
+        int added = 0;
+        int overflowed = 0;
+        int size;
+        synchronized (this) {
+            ensureOpen();
+            for (T item : items) {
+                if (queue.size() < capacity) {
+                    enqueue(item);
+                    added++;
+                    continue;
+                }
+                overflowed++;
+                if (overflowPolicy == OverflowPolicy.DROP_OLDEST) {
+                    removeHead();
+                    enqueue(item);
+                    added++;
+                } else if (overflowPolicy == OverflowPolicy.CALLER_RUNS) {
+                    if (callerRuns == null) {
+                        callerRuns = new ArrayList<>();
+                    }
+                    callerRuns.add(item);
+                } else if (overflowPolicy == OverflowPolicy.FAIL_FAST) {
+                    break;
+                }
+            }
+            overflows += overflowed;
+            size = queue.size();
+            count = size;
+            if (added > 0) {
+                notifyAll();
+            }
+        }
+        
+        if (added > 0) {
+            listener.onPut(added, size);
+        }
+        if (overflowed == 0) {
+            return;
+        }
+        listener.onOverflow(overflowPolicy, overflowed);
+        if (overflowPolicy == OverflowPolicy.FAIL_FAST) {
+            throw new QueueFullException(capacity);
+        }
+        if (callerRuns != null) {
+            for (T item : callerRuns) {
+                callerRunsHandler.handle(item);
+            }
+        }
+    }
+    
+    /**
+     * Appends an item, stamping its insertion time if latency is recorded.
+     * Must be called while holding this queue's monitor.
+     */
+    private void enqueue(T item) {
+        if (enqueueTimes != null) {
+            enqueueTimes[(oldestTime + queue.size()) % capacity] = System.nanoTime();
+        }
+        queue.offer(item);
+    }
+    
+    /**
+     * Removes the oldest item for a consumer, recording how long it was queued.
+     * Must be called while holding this queue's monitor.
+     */
+    private T dequeue() {
+        if (enqueueTimes != null) {
+            latency.recordQueueTime(System.nanoTime() - enqueueTimes[oldestTime]);
+        }
+        return removeHead();
+    }
+    
+    /**
+     * Removes the oldest item without recording it, as DROP_OLDEST does.
+     * Must be called while holding this queue's monitor.
+     */
+    private T removeHead() {
+        oldestTime = (oldestTime + 1) % capacity;
+        return queue.poll();
+    }
+    
+    /**
+     * Waits until there is room for at least one item or the queue is closed.
+     * Must be called while holding this queue's monitor.
+     * 
+     * @param blockedSince when the operation started waiting, or NOT_BLOCKED
+     * @return when the operation started waiting, or NOT_BLOCKED if it has not
+     */
+    private long awaitNotFull(long blockedSince) throws InterruptedException {
+        if (queue.size() < capacity || closed) {
+            return blockedSince;
+        }
+        
+        blockedSince = producerBlocked(blockedSince);
+        while (queue.size() == capacity && !closed) {
+            wait();
+            wakeups++;
+        }
+        return blockedSince;
+    }
+    
+    /**
+     * Waits until at least one item is available or the queue is closed.
+     * Must be called while holding this queue's monitor.
+     * 
+     * @param blockedSince when the operation started waiting, or NOT_BLOCKED
+     * @return when the operation started waiting, or NOT_BLOCKED if it has not
+     */
+    private long awaitNotEmpty(long blockedSince) throws InterruptedException {
+        if (!queue.isEmpty() || closed) {
+            return blockedSince;
+        }
+        
+        blockedSince = consumerBlocked(blockedSince);
+        while (queue.isEmpty() && !closed) {
+            wait();
+            wakeups++;
+        }
+        return blockedSince;
+    }
+    
+    /**
+     * Waits until there is room for at least one item, the queue is closed or
+     * the deadline passes. Must be called while holding this queue's monitor.
+     * 
+     * @param blockedSince when the operation started waiting, or NOT_BLOCKED
+     * @param deadline the System.nanoTime() value to give up at
+     * @return when the operation started waiting, or NOT_BLOCKED if it has not
+     */
+    private long awaitNotFull(long blockedSince, long deadline) throws InterruptedException {
+        if (queue.size() < capacity || closed || System.nanoTime() - deadline >= 0) {
+            return blockedSince;
+        }
+        
+        blockedSince = producerBlocked(blockedSince);
+        long remaining;
+        while (queue.size() == capacity && !closed && (remaining = deadline - System.nanoTime()) > 0) {
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            wakeups++;
+        }
+        return blockedSince;
+    }
+    
+    /**
+     * Waits until at least one item is available, the queue is closed or the
+     * deadline passes. Must be called while holding this queue's monitor.
+     * 
+     * @param blockedSince when the operation started waiting, or NOT_BLOCKED
+     * @param deadline the System.nanoTime() value to give up at
+     * @return when the operation started waiting, or NOT_BLOCKED if it has not
+     */
+    private long awaitNotEmpty(long blockedSince, long deadline) throws InterruptedException {
+        if (!queue.isEmpty() || closed || System.nanoTime() - deadline >= 0) {
+            return blockedSince;
+        }
+        
+        blockedSince = consumerBlocked(blockedSince);
+        long remaining;
+        while (queue.isEmpty() && !closed && (remaining = deadline - System.nanoTime()) > 0) {
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            wakeups++;
+        }
+        return blockedSince;
+    }
+    
+    /**
+     * Builder for queues that need more than a capacity and a listener.
+     *
+     * @param <T> the type of elements held in the queue
+     */
+    public static final class Builder<T> {
+        private final int capacity;
+        private QueueListener listener = QueueListener.NOOP;
+        private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+        private ItemHandler<? super T> callerRunsHandler;
+        private WaitStrategy waitStrategy = WaitStrategy.BLOCKING;
+        private QueueLatency latency;
+        
+        private Builder(int capacity) {
+            this.capacity = capacity;
+        }
+        
+        /**
+         * @param listener the listener to notify of queue events
+         * @return this builder
+         */
+        public Builder<T> listener(QueueListener listener) {
+            this.listener = listener;
+            return this;
+        }
+        
+        /**
+         * Sets the policy for items put while the queue is full. Use
+         * {@link #callerRuns(ItemHandler)} for {@link OverflowPolicy#CALLER_RUNS}.
+         * 
+         * @param overflowPolicy the overflow policy
+         * @return this builder
+         * @throws NullPointerException if overflowPolicy is null
+         */
+        public Builder<T> overflowPolicy(OverflowPolicy overflowPolicy) {
+            if (overflowPolicy == null) {
+                throw new NullPointerException("Overflow policy cannot be null");
+            }
+            this.overflowPolicy = overflowPolicy;
+            return this;
+        }
+        
+        /**
+         * Selects {@link OverflowPolicy#CALLER_RUNS}: items put while the queue
+         * is full are processed by the handler on the producer's thread.
+         * 
+         * @param handler the handler that processes overflowing items
+         * @return this builder
+         * @throws NullPointerException if handler is null
+         */
+        public Builder<T> callerRuns(ItemHandler<? super T> handler) {
+            if (handler == null) {
+                throw new NullPointerException("Handler cannot be null");
+            }
+            this.overflowPolicy = OverflowPolicy.CALLER_RUNS;
+            this.callerRunsHandler = handler;
+            return this;
+        }
+        
+        /**
+         * Sets how threads wait while the queue is full or empty.
+         * 
+         * @param waitStrategy the wait strategy
+         * @return this builder
+         * @throws NullPointerException if waitStrategy is null
+         */
+        public Builder<T> waitStrategy(WaitStrategy waitStrategy) {
+            if (waitStrategy == null) {
+                throw new NullPointerException("Wait strategy cannot be null");
+            }
+            this.waitStrategy = waitStrategy;
+            return this;
+        }
+        
+        /**
+         * Timestamps items as they are added and records their time in the
+         * queue, and the time producers and consumers spend blocked, in the
+         * given histograms. It is also notified of every other queue event.
+         * 
+         * @param latency the histograms to record into
+         * @return this builder
+         * @throws NullPointerException if latency is null
+         */
+        public Builder<T> latency(QueueLatency latency) {
+            if (latency == null) {
+                throw new NullPointerException("Latency cannot be null");
+            }
+            this.latency = latency;
+            return this;
+        }
+        
+        /**
+         * Creates the queue.
+         * 
+         * @return a new queue with this builder's settings
+         * @throws IllegalArgumentException if capacity is less than 1, or if
+         *         CALLER_RUNS was selected without a handler
+         * @throws NullPointerException if listener is null
+         */
+        public BlockingQueue<T> build() {
+            return new BlockingQueue<>(this);
+        }
+    }
 }
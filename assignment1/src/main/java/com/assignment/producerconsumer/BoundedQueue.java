@@ -0,0 +1,122 @@
+package com.assignment.producerconsumer;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Common contract for the bounded queues that connect producers and consumers.
+ * 
+ * Implementations block:
+ * - Producer threads in {@link #put(Object)} while the queue is full
+ * - Consumer threads in {@link #take()} while the queue is empty
+ *
+ * @param <T> the type of elements held in the queue
+ */
+public interface BoundedQueue<T> {
+
+    /**
+     * Adds an item to the queue, blocking while the queue is full.
+     * 
+     * @param item the item to add
+     * @throws InterruptedException if the thread is interrupted while waiting
+     * @throws NullPointerException if the item is null
+     */
+    void put(T item) throws InterruptedException;
+
+    /**
+     * Removes and returns the next item, blocking while the queue is empty.
+     * 
+     * @return the item removed from the queue
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    T take() throws InterruptedException;
+
+    /**
+     * Adds an item to the queue if there is room, without blocking.
+     * 
+     * @param item the item to add
+     * @return true if the item was added, false if the queue was full
+     * @throws NullPointerException if the item is null
+     */
+    boolean offer(T item);
+
+    /**
+     * Adds an item to the queue, waiting up to the given time for room.
+     * 
+     * @param item the item to add
+     * @param timeout how long to wait before giving up
+     * @param unit the unit of the timeout
+     * @return true if the item was added, false if the timeout elapsed first
+     * @throws InterruptedException if the thread is interrupted while waiting
+     * @throws NullPointerException if the item is null
+     */
+    boolean offer(T item, long timeout, TimeUnit unit) throws InterruptedException;
+
+    /**
+     * Removes and returns the next item if one is available, without blocking.
+     * 
+     * @return the item removed from the queue, or null if the queue was empty
+     */
+    T poll();
+
+    /**
+     * Removes and returns the next item, waiting up to the given time for one
+     * to become available.
+     * 
+     * @param timeout how long to wait before giving up
+     * @param unit the unit of the timeout
+     * @return the item removed from the queue, or null if the timeout elapsed first
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    T poll(long timeout, TimeUnit unit) throws InterruptedException;
+
+    /**
+     * Adds all items to the queue, inserting as many as fit at a time and
+     * blocking while the queue is full. Items are inserted in iteration order.
+     * 
+     * @param items the items to add
+     * @throws InterruptedException if the thread is interrupted while waiting;
+     *         items inserted before the interruption remain in the queue
+     * @throws NullPointerException if the collection or any item is null
+     */
+    void putAll(Collection<? extends T> items) throws InterruptedException;
+
+    /**
+     * Removes up to the given number of available items and adds them to the
+     * destination, without blocking.
+     * 
+     * @param destination the collection to transfer items into
+     * @param maxElements the maximum number of items to transfer
+     * @return the number of items transferred, possibly zero
+     * @throws NullPointerException if the destination is null
+     */
+    int drainTo(Collection<? super T> destination, int maxElements);
+
+    /**
+     * Returns the current number of elements in the queue.
+     * 
+     * @return the number of elements in the queue
+     */
+    int size();
+
+    /**
+     * Returns the capacity of the queue.
+     * 
+     * @return the maximum number of elements the queue can hold
+     */
+    int getCapacity();
+
+    /**
+     * Checks if the queue is empty.
+     * 
+     * @return true if the queue is empty, false otherwise
+     */
+    boolean isEmpty();
+
+    /**
+     * Checks if the queue is full.
+     * 
+     * @return true if the queue is full, false otherwise
+     */
+    boolean isFull();
+}
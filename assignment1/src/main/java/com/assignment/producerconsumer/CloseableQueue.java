@@ -0,0 +1,51 @@
+package com.assignment.producerconsumer;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded queue that can be closed, so consumers can tell "empty for now"
+ * from "no more items will arrive".
+ * 
+ * Once closed:
+ * - {@code put}, {@code offer} and {@code putAll} throw {@link QueueClosedException},
+ *   including producers that were blocked on a full queue
+ * - consumers keep taking the remaining items; when none are left,
+ *   {@code take} throws {@link QueueClosedException}, while {@code poll}
+ *   and {@code poll(timeout)} return null at once
+ * 
+ * This lets consumers run without knowing up front how many items will
+ * arrive: they loop on {@code take} until it throws.
+ *
+ * @param <T> the type of elements held in the queue
+ */
+public interface CloseableQueue<T> extends BoundedQueue<T>, AutoCloseable {
+
+    /**
+     * Stops accepting items and wakes every blocked producer and consumer.
+     * Items already in the queue stay available to consumers. Closing an
+     * already closed queue has no effect.
+     */
+    @Override
+    void close();
+
+    /**
+     * Checks if the queue has been closed.
+     * 
+     * @return true if the queue no longer accepts items
+     */
+    boolean isClosed();
+
+    /**
+     * Closes the queue, waits up to the given time for consumers to drain
+     * it, and then removes whatever is left. Blocked consumers see the queue
+     * closed and empty and exit.
+     * 
+     * @param timeout how long to wait for consumers to drain the queue
+     * @param unit the unit of the timeout
+     * @return the items consumers did not drain in time, in queue order; empty if all were drained
+     * @throws InterruptedException if the thread is interrupted while waiting;
+     *         the queue is closed but still holds the undrained items
+     */
+    List<T> shutdown(long timeout, TimeUnit unit) throws InterruptedException;
+}
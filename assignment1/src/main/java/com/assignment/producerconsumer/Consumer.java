@@ -1,37 +1,120 @@
 package com.assignment.producerconsumer;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Consumer thread that reads items from a shared blocking queue
- * and stores them in a destination container.
+ * and stores them in a destination sink.
  * 
  * Demonstrates concurrent programming with multiple consumer threads.
  */
 public class Consumer implements Runnable {
-    private final BlockingQueue<String> queue;
-    private final List<String> destinationContainer;
+    private final BoundedQueue<String> queue;
+    private final ItemSink<String> destination;
     private final String consumerName;
     private final int itemsToConsume;
+    private int batchSize = 1;
+    private long pollTimeoutNanos = -1;
+    private volatile int consumedCount;
     
     /**
      * Constructs a consumer with the specified queue and destination container.
+     * Consumers sharing the container synchronize on it for every item or batch;
+     * use {@link #Consumer(String, BoundedQueue, ItemSink, int)} with a
+     * {@link ThreadLocalSink} to avoid that.
      * 
      * @param consumerName identifier for this consumer thread
      * @param queue the shared blocking queue to take items from
      * @param destinationContainer the destination container to store items in
      * @param itemsToConsume the number of items this consumer should consume
      */
-    public Consumer(String consumerName, BlockingQueue<String> queue, 
+    public Consumer(String consumerName, BoundedQueue<String> queue, 
                     List<String> destinationContainer, int itemsToConsume) {
+        this(consumerName, queue, new SynchronizedListSink<>(destinationContainer), itemsToConsume);
+    }
+    
+    /**
+     * Constructs a consumer that takes items until the queue is closed and
+     * drained, for streams whose length is not known up front.
+     * 
+     * @param consumerName identifier for this consumer thread
+     * @param queue the shared closeable queue to take items from
+     * @param destination the sink to store items in
+     * @throws NullPointerException if destination is null
+     */
+    public Consumer(String consumerName, CloseableQueue<String> queue, ItemSink<String> destination) {
+        this(consumerName, queue, destination, Integer.MAX_VALUE);
+    }
+    
+    /**
+     * Constructs a consumer with the specified queue and destination sink.
+     * 
+     * @param consumerName identifier for this consumer thread
+     * @param queue the shared blocking queue to take items from
+     * @param destination the sink to store items in
+     * @param itemsToConsume the number of items this consumer should consume
+     * @throws NullPointerException if destination is null
+     */
+    public Consumer(String consumerName, BoundedQueue<String> queue, 
+                    ItemSink<String> destination, int itemsToConsume) {
+        if (destination == null) {
+            throw new NullPointerException("Destination cannot be null");
+        }
         this.consumerName = consumerName;
         this.queue = queue;
-        this.destinationContainer = destinationContainer;
+        this.destination = destination;
         this.itemsToConsume = itemsToConsume;
     }
     
+    /**
+     * Sets the maximum number of items taken from the queue at once. With a batch
+     * size greater than 1 the consumer blocks for the first item, then drains
+     * whatever else is available up to the batch size with
+     * {@link BoundedQueue#drainTo}, and stores the whole batch with one
+     * {@link ItemSink#addAll} call.
+     * Must be called before the consumer thread is started.
+     * 
+     * @param batchSize the maximum number of items per batch
+     * @throws IllegalArgumentException if batchSize is less than 1
+     */
+    public void setBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1");
+        }
+        this.batchSize = batchSize;
+    }
+    
+    /**
+     * Bounds how long the consumer may wait on an empty queue. The consumer then
+     * uses {@link BoundedQueue#poll(long, TimeUnit)} and stops early if no item
+     * arrives in time, instead of hanging forever when producers have stalled
+     * or died. Must be called before the consumer thread is started.
+     * 
+     * @param timeout the maximum time to wait for the next item
+     * @param unit the unit of the timeout
+     * @throws IllegalArgumentException if timeout is negative
+     */
+    public void setPollTimeout(long timeout, TimeUnit unit) {
+        if (timeout < 0) {
+            throw new IllegalArgumentException("Timeout must not be negative");
+        }
+        this.pollTimeoutNanos = unit.toNanos(timeout);
+    }
+    
+    /**
+     * Returns how many items this consumer has stored so far.
+     * 
+     * @return the number of items consumed
+     */
+    public int getConsumedCount() {
+        return consumedCount;
+    }
+    
     /**
      * Consumer thread execution: takes items from queue and stores them in destination.
+     * Stops after the expected number of items, or once a closed queue is empty.
      * Demonstrates concurrent programming and thread synchronization.
      */
     @Override
@@ -39,23 +122,48 @@ public class Consumer implements Runnable {
         Thread.currentThread().setName(consumerName);
         System.out.println(consumerName + " started");
         
+        int consumed = 0;
         try {
-            int consumed = 0;
+            List<String> batch = new ArrayList<>(batchSize);
             while (consumed < itemsToConsume) {
-                String item = queue.take();
+                String first = pollTimeoutNanos >= 0
+                    ? queue.poll(pollTimeoutNanos, TimeUnit.NANOSECONDS)
+                    : queue.take();
+                if (first == null) {
+                    if (isClosed()) {
+                        throw new QueueClosedException();
+                    }
+                    System.out.println(consumerName + " timed out waiting for items");
+                    break;
+                }
+                batch.add(first);
+                int limit = Math.min(batchSize, itemsToConsume - consumed);
+                if (limit > 1) {
+                    queue.drainTo(batch, limit - 1);
+                }
                 
-                synchronized (destinationContainer) {
-                    destinationContainer.add(item);
+                if (batch.size() == 1) {
+                    destination.add(first);
+                } else {
+                    destination.addAll(batch);
                 }
                 
-                consumed++;
-                Thread.sleep(150);
+                consumed += batch.size();
+                consumedCount = consumed;
+                Thread.sleep(150L * batch.size());
+                batch.clear();
             }
             
             System.out.println(consumerName + " finished consuming " + consumed + " items");
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             System.out.println(consumerName + " was interrupted");
+        } catch (QueueClosedException e) {
+            System.out.println(consumerName + " finished consuming " + consumed + " items: queue was closed");
         }
     }
+    
+    private boolean isClosed() {
+        return queue instanceof CloseableQueue && ((CloseableQueue<?>) queue).isClosed();
+    }
 }
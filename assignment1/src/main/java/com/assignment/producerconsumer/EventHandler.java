@@ -0,0 +1,23 @@
+package com.assignment.producerconsumer;
+
+/**
+ * Callback that processes events published to an {@link EventRing}.
+ * 
+ * Handlers are driven by an {@link EventProcessor}, which hands over every
+ * event that has been published since the previous call in one batch.
+ *
+ * @param <E> the type of event stored in the ring
+ */
+public interface EventHandler<E> {
+
+    /**
+     * Processes one event. The event object is owned by the ring and will be
+     * overwritten once every processor has moved past it, so handlers must copy
+     * anything they want to keep.
+     * 
+     * @param event the pre-allocated event slot
+     * @param sequence the sequence number of the event
+     * @param endOfBatch true if this is the last event currently available
+     */
+    void onEvent(E event, long sequence, boolean endOfBatch);
+}
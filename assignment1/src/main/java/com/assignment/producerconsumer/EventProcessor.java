@@ -0,0 +1,94 @@
+package com.assignment.producerconsumer;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Consumer loop for an {@link EventRing}.
+ * 
+ * Each pass finds every event published since the previous pass and runs the
+ * handler over the whole batch before advancing its sequence once. Producers
+ * can reuse a slot only after every processor's sequence has moved past it.
+ * 
+ * A handler that throws a RuntimeException fails only that event: the
+ * exception is passed to the thread's uncaught exception handler and counted,
+ * and the processor moves on, so a bad event cannot stall producers waiting
+ * for its slot.
+ * 
+ * Run the processor on a dedicated thread and stop it with {@link #halt()}.
+ *
+ * @param <E> the type of event stored in the ring
+ */
+public class EventProcessor<E> implements Runnable {
+    private final EventRing<E> ring;
+    private final EventHandler<? super E> handler;
+    private final AtomicLong sequence;
+    private final LongAdder failures = new LongAdder();
+    private volatile boolean running = true;
+
+    EventProcessor(EventRing<E> ring, EventHandler<? super E> handler, AtomicLong sequence) {
+        this.ring = ring;
+        this.handler = handler;
+        this.sequence = sequence;
+    }
+
+    /**
+     * Processes events until halted or interrupted. Events that are already
+     * published when {@link #halt()} is called are still processed.
+     */
+    @Override
+    public void run() {
+        long nextSequence = sequence.get() + 1;
+        int idle = 0;
+        try {
+            while (true) {
+                long available = ring.highestPublished(nextSequence, ring.getClaimedSequence());
+                if (available < nextSequence) {
+                    if (!running) {
+                        return;
+                    }
+                    idle = QueueSupport.backOff(idle);
+                    continue;
+                }
+
+                idle = 0;
+                for (long current = nextSequence; current <= available; current++) {
+                    try {
+                        handler.onEvent(ring.get(current), current, current == available);
+                    } catch (RuntimeException e) {
+                        failures.increment();
+                        Thread thread = Thread.currentThread();
+                        thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+                    }
+                }
+                sequence.lazySet(available);
+                nextSequence = available + 1;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Asks the processor to stop once it has handled every event published so far.
+     */
+    public void halt() {
+        running = false;
+    }
+
+    /**
+     * Returns the sequence of the last event this processor has finished handling.
+     * 
+     * @return the processed sequence, or -1 if no event has been handled yet
+     */
+    public long getSequence() {
+        return sequence.get();
+    }
+
+    /**
+     * @return the number of events whose handler threw an exception
+     */
+    public long getFailureCount() {
+        return failures.sum();
+    }
+}
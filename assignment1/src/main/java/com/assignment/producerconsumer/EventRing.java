@@ -0,0 +1,227 @@
+package com.assignment.producerconsumer;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Disruptor-style ring of pre-allocated, mutable event slots.
+ * 
+ * Instead of passing item objects through a queue, producers claim a sequence
+ * number, fill the slot for that sequence in place and publish it:
+ * 
+ * <pre>
+ * long sequence = ring.next();
+ * ring.get(sequence).setValue(value);
+ * ring.publish(sequence);
+ * </pre>
+ * 
+ * or, equivalently, {@code ring.publishEvent((event, seq) -> event.setValue(value))}.
+ * 
+ * Consumers are {@link EventProcessor}s created with {@link #createProcessor}.
+ * Every processor sees every event, and handles all events published since its
+ * last pass in one batch. No objects are allocated per event: the slots are
+ * created once by the factory and reused for the lifetime of the ring.
+ * 
+ * Any number of threads may publish. Producers wait (spin, yield, then park)
+ * while the slowest processor is a full ring behind. All processors must be
+ * created before the first event is published.
+ *
+ * @param <E> the type of event stored in the ring
+ */
+public class EventRing<E> {
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private final Object[] events;
+    private final int mask;
+    private final int indexShift;
+    private final AtomicIntegerArray published;
+    private final AtomicLong claimed = new AtomicLong(-1);
+    private volatile AtomicLong[] gatingSequences = new AtomicLong[0];
+    private volatile long cachedGatingSequence = -1;
+
+    /**
+     * Constructs a ring with at least the specified number of slots, each
+     * filled once by the factory.
+     * 
+     * @param capacity the minimum number of slots; rounded up to a power of two
+     * @param eventFactory creates the event object for each slot
+     * @throws IllegalArgumentException if capacity is less than 1 or greater than 2^30
+     * @throws NullPointerException if eventFactory is null or returns null
+     */
+    public EventRing(int capacity, Supplier<? extends E> eventFactory) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1");
+        }
+        if (capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Capacity must not exceed " + MAX_CAPACITY);
+        }
+        if (eventFactory == null) {
+            throw new NullPointerException("Event factory cannot be null");
+        }
+        int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.events = new Object[size];
+        this.mask = size - 1;
+        this.indexShift = Integer.numberOfTrailingZeros(size);
+        this.published = new AtomicIntegerArray(size);
+        for (int i = 0; i < size; i++) {
+            E event = eventFactory.get();
+            if (event == null) {
+                throw new NullPointerException("Event factory returned null");
+            }
+            events[i] = event;
+            published.set(i, -1);
+        }
+    }
+
+    /**
+     * Creates a processor that runs the handler for every event published to
+     * this ring. The processor must be started on its own thread, and must be
+     * created before the first event is published.
+     * 
+     * @param handler the handler to run for each event
+     * @return a processor to run on a dedicated thread
+     */
+    public EventProcessor<E> createProcessor(EventHandler<? super E> handler) {
+        if (handler == null) {
+            throw new NullPointerException("Handler cannot be null");
+        }
+        AtomicLong sequence = new AtomicLong(claimed.get());
+        synchronized (this) {
+            AtomicLong[] current = gatingSequences;
+            AtomicLong[] updated = Arrays.copyOf(current, current.length + 1);
+            updated[current.length] = sequence;
+            gatingSequences = updated;
+        }
+        return new EventProcessor<>(this, handler, sequence);
+    }
+
+    /**
+     * Claims the next sequence, waiting while the ring is full.
+     * 
+     * @return the claimed sequence; its slot must be filled and then published
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public long next() throws InterruptedException {
+        return next(1);
+    }
+
+    /**
+     * Claims a contiguous range of sequences, waiting while the ring is full.
+     * 
+     * @param count the number of sequences to claim
+     * @return the highest claimed sequence; the range starts at {@code hi - count + 1}
+     * @throws IllegalArgumentException if count is less than 1 or larger than the ring
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public long next(int count) throws InterruptedException {
+        if (count < 1 || count > events.length) {
+            throw new IllegalArgumentException("Count must be between 1 and " + events.length);
+        }
+        long hi = claimed.addAndGet(count);
+        long wrapPoint = hi - events.length;
+        if (wrapPoint > cachedGatingSequence) {
+            int idle = 0;
+            long minimum;
+            while (wrapPoint > (minimum = minimumGatingSequence(hi))) {
+                idle = QueueSupport.backOff(idle);
+            }
+            cachedGatingSequence = minimum;
+        }
+        return hi;
+    }
+
+    /**
+     * Returns the pre-allocated event for a sequence.
+     * 
+     * @param sequence a claimed or published sequence
+     * @return the event slot for the sequence
+     */
+    @SuppressWarnings("unchecked")
+    public E get(long sequence) {
+        return (E) events[(int) sequence & mask];
+    }
+
+    /**
+     * Makes the event for a claimed sequence visible to processors.
+     * 
+     * @param sequence the sequence to publish
+     */
+    public void publish(long sequence) {
+        published.lazySet((int) sequence & mask, (int) (sequence >>> indexShift));
+    }
+
+    /**
+     * Publishes a contiguous range of claimed sequences.
+     * 
+     * @param lo the first sequence to publish
+     * @param hi the last sequence to publish
+     */
+    public void publish(long lo, long hi) {
+        for (long sequence = lo; sequence <= hi; sequence++) {
+            publish(sequence);
+        }
+    }
+
+    /**
+     * Claims a slot, fills it with the translator and publishes it.
+     * 
+     * @param translator writes the event data into the slot
+     * @throws InterruptedException if the thread is interrupted while waiting for space
+     */
+    public void publishEvent(EventTranslator<? super E> translator) throws InterruptedException {
+        long sequence = next();
+        try {
+            translator.translateTo(get(sequence), sequence);
+        } finally {
+            publish(sequence);
+        }
+    }
+
+    /**
+     * Returns the number of slots in the ring.
+     * 
+     * @return the capacity, always a power of two
+     */
+    public int getCapacity() {
+        return events.length;
+    }
+
+    /**
+     * Returns the highest sequence claimed by any producer so far.
+     * 
+     * @return the highest claimed sequence, or -1 if none
+     */
+    public long getClaimedSequence() {
+        return claimed.get();
+    }
+
+    /**
+     * Checks whether the event for a sequence has been published.
+     */
+    boolean isPublished(long sequence) {
+        return published.get((int) sequence & mask) == (int) (sequence >>> indexShift);
+    }
+
+    /**
+     * Returns the highest sequence in {@code [from, claimed]} such that every
+     * sequence up to it has been published, or {@code from - 1} if none.
+     */
+    long highestPublished(long from, long claimedUpTo) {
+        for (long sequence = from; sequence <= claimedUpTo; sequence++) {
+            if (!isPublished(sequence)) {
+                return sequence - 1;
+            }
+        }
+        return claimedUpTo;
+    }
+
+    private long minimumGatingSequence(long defaultValue) {
+        long minimum = defaultValue;
+        for (AtomicLong sequence : gatingSequences) {
+            minimum = Math.min(minimum, sequence.get());
+        }
+        return minimum;
+    }
+}
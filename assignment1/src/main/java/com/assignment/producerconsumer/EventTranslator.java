@@ -0,0 +1,17 @@
+package com.assignment.producerconsumer;
+
+/**
+ * Fills a pre-allocated event slot in place before it is published.
+ *
+ * @param <E> the type of event stored in the ring
+ */
+public interface EventTranslator<E> {
+
+    /**
+     * Writes the data for a new event into the slot.
+     * 
+     * @param event the pre-allocated event slot to fill
+     * @param sequence the sequence number that was claimed for the event
+     */
+    void translateTo(E event, long sequence);
+}
@@ -0,0 +1,432 @@
+package com.assignment.producerconsumer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded blocking queue of {@code int} values stored in a pre-allocated
+ * {@code int[]} ring.
+ * 
+ * Stages that only pass IDs or sequence numbers pay for a boxed
+ * {@code Integer} and a list node per item in a generic queue. Here a value
+ * is copied straight into the array, so putting and taking allocate nothing
+ * and consecutive values share cache lines.
+ * 
+ * One lock with separate "not full" and "not empty" conditions guards the
+ * ring. The batch methods move whole arrays under a single lock acquisition.
+ * Queue activity is reported to a {@link QueueListener} after the lock is released.
+ */
+public class IntBlockingQueue {
+    private final int[] items;
+    private final QueueListener listener;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private int putIndex;
+    private int takeIndex;
+    private int count;
+
+    /**
+     * Constructs a queue with the specified capacity and no listener.
+     * 
+     * @param capacity the maximum number of values the queue can hold
+     * @throws IllegalArgumentException if capacity is less than 1
+     */
+    public IntBlockingQueue(int capacity) {
+        this(capacity, QueueListener.NOOP);
+    }
+
+    /**
+     * Constructs a queue with the specified capacity that reports its
+     * activity to the given listener.
+     * 
+     * @param capacity the maximum number of values the queue can hold
+     * @param listener the listener to notify of queue events
+     * @throws IllegalArgumentException if capacity is less than 1
+     * @throws NullPointerException if listener is null
+     */
+    public IntBlockingQueue(int capacity, QueueListener listener) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1");
+        }
+        if (listener == null) {
+            throw new NullPointerException("Listener cannot be null");
+        }
+        this.items = new int[capacity];
+        this.listener = listener;
+    }
+
+    /**
+     * Adds a value to the queue. Blocks if the queue is full.
+     * 
+     * @param value the value to add
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public void putInt(int value) throws InterruptedException {
+        int size;
+        lock.lockInterruptibly();
+        try {
+            awaitNotFull(Long.MAX_VALUE);
+            enqueue(value);
+            size = count;
+        } finally {
+            lock.unlock();
+        }
+        listener.onPut(1, size);
+    }
+
+    /**
+     * Removes and returns a value from the queue. Blocks if the queue is empty.
+     * 
+     * @return the value removed from the queue
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public int takeInt() throws InterruptedException {
+        int value;
+        int size;
+        lock.lockInterruptibly();
+        try {
+            awaitNotEmpty(Long.MAX_VALUE);
+            value = dequeue();
+            size = count;
+        } finally {
+            lock.unlock();
+        }
+        listener.onTake(1, size);
+        return value;
+    }
+
+    /**
+     * Adds a value to the queue if there is room. Never waits for space.
+     * 
+     * @param value the value to add
+     * @return true if the value was added, false if the queue was full
+     */
+    public boolean offerInt(int value) {
+        int size;
+        lock.lock();
+        try {
+            if (count == items.length) {
+                return false;
+            }
+            enqueue(value);
+            size = count;
+        } finally {
+            lock.unlock();
+        }
+        listener.onPut(1, size);
+        return true;
+    }
+
+    /**
+     * Adds a value to the queue, waiting up to the given time if the queue is full.
+     * 
+     * @param value the value to add
+     * @param timeout how long to wait before giving up
+     * @param unit the unit of the timeout
+     * @return true if the value was added, false if the timeout elapsed first
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public boolean offerInt(int value, long timeout, TimeUnit unit) throws InterruptedException {
+        int size;
+        lock.lockInterruptibly();
+        try {
+            if (!awaitNotFull(unit.toNanos(timeout))) {
+                return false;
+            }
+            enqueue(value);
+            size = count;
+        } finally {
+            lock.unlock();
+        }
+        listener.onPut(1, size);
+        return true;
+    }
+
+    /**
+     * Adds {@code length} values from the array, starting at {@code offset}.
+     * Each lock acquisition copies as many values as currently fit, and blocks
+     * while the queue is full.
+     * 
+     * @param values the array holding the values to add
+     * @param offset the index of the first value to add
+     * @param length the number of values to add
+     * @throws InterruptedException if the thread is interrupted while waiting
+     * @throws IndexOutOfBoundsException if offset and length do not fit the array
+     */
+    public void putAll(int[] values, int offset, int length) throws InterruptedException {
+        checkRange(values, offset, length);
+        int end = offset + length;
+        while (offset < end) {
+            int added;
+            int size;
+            lock.lockInterruptibly();
+            try {
+                awaitNotFull(Long.MAX_VALUE);
+                added = Math.min(end - offset, items.length - count);
+                copyIn(values, offset, added);
+                size = count;
+            } finally {
+                lock.unlock();
+            }
+            offset += added;
+            listener.onPut(added, size);
+        }
+    }
+
+    /**
+     * Removes up to {@code maxElements} available values into the array,
+     * starting at {@code offset}. Never blocks.
+     * 
+     * @param destination the array to copy values into
+     * @param offset the index to store the first value at
+     * @param maxElements the maximum number of values to transfer
+     * @return the number of values transferred
+     * @throws IndexOutOfBoundsException if offset and maxElements do not fit the array
+     */
+    public int drainTo(int[] destination, int offset, int maxElements) {
+        checkRange(destination, offset, maxElements);
+        int drained;
+        int size;
+        lock.lock();
+        try {
+            drained = Math.min(maxElements, count);
+            copyOut(destination, offset, drained);
+            size = count;
+        } finally {
+            lock.unlock();
+        }
+        if (drained > 0) {
+            listener.onTake(drained, size);
+        }
+        return drained;
+    }
+
+    /**
+     * Waits until at least one value is available, then removes up to
+     * {@code maxElements} values into the array under the same lock acquisition.
+     * 
+     * @param destination the array to copy values into
+     * @param offset the index to store the first value at
+     * @param maxElements the maximum number of values to transfer, at least 1
+     * @return the number of values transferred
+     * @throws InterruptedException if the thread is interrupted while waiting
+     * @throws IndexOutOfBoundsException if offset and maxElements do not fit the array
+     * @throws IllegalArgumentException if maxElements is less than 1
+     */
+    public int takeAll(int[] destination, int offset, int maxElements) throws InterruptedException {
+        return takeAll(destination, offset, maxElements, Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Waits up to the given time until at least one value is available, then
+     * removes up to {@code maxElements} values into the array. This is also the
+     * timed counterpart of {@link #takeInt()}: a return value of 0 means the
+     * timeout elapsed, without needing a boxed "no value" result.
+     * 
+     * @param destination the array to copy values into
+     * @param offset the index to store the first value at
+     * @param maxElements the maximum number of values to transfer, at least 1
+     * @param timeout how long to wait before giving up
+     * @param unit the unit of the timeout
+     * @return the number of values transferred, or 0 if the timeout elapsed first
+     * @throws InterruptedException if the thread is interrupted while waiting
+     * @throws IndexOutOfBoundsException if offset and maxElements do not fit the array
+     * @throws IllegalArgumentException if maxElements is less than 1
+     */
+    public int takeAll(int[] destination, int offset, int maxElements, long timeout, TimeUnit unit)
+            throws InterruptedException {
+        if (maxElements < 1) {
+            throw new IllegalArgumentException("Max elements must be at least 1");
+        }
+        checkRange(destination, offset, maxElements);
+        int taken;
+        int size;
+        lock.lockInterruptibly();
+        try {
+            if (!awaitNotEmpty(unit.toNanos(timeout))) {
+                return 0;
+            }
+            taken = Math.min(maxElements, count);
+            copyOut(destination, offset, taken);
+            size = count;
+        } finally {
+            lock.unlock();
+        }
+        listener.onTake(taken, size);
+        return taken;
+    }
+
+    /**
+     * Returns the current size of the queue.
+     * 
+     * @return the number of values in the queue
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the capacity of the queue.
+     * 
+     * @return the maximum number of values the queue can hold
+     */
+    public int getCapacity() {
+        return items.length;
+    }
+
+    /**
+     * Checks if the queue is empty.
+     * 
+     * @return true if the queue is empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Checks if the queue is full.
+     * 
+     * @return true if the queue is full, false otherwise
+     */
+    public boolean isFull() {
+        return size() == items.length;
+    }
+
+    /**
+     * Waits up to the given time until there is room for at least one value;
+     * Long.MAX_VALUE waits without a timeout. Must be called with the lock held.
+     * 
+     * @return true if there is room, false if the timeout elapsed first
+     */
+    private boolean awaitNotFull(long nanos) throws InterruptedException {
+        if (count < items.length) {
+            return true;
+        }
+        if (nanos <= 0) {
+            return false;
+        }
+
+        listener.onProducerBlocked();
+        long start = System.nanoTime();
+        try {
+            long remaining = nanos;
+            while (count == items.length) {
+                if (nanos == Long.MAX_VALUE) {
+                    notFull.await();
+                } else if (remaining <= 0) {
+                    return false;
+                } else {
+                    remaining = notFull.awaitNanos(remaining);
+                }
+            }
+            return true;
+        } finally {
+            listener.onProducerUnblocked(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Waits up to the given time until at least one value is available;
+     * Long.MAX_VALUE waits without a timeout. Must be called with the lock held.
+     * 
+     * @return true if a value is available, false if the timeout elapsed first
+     */
+    private boolean awaitNotEmpty(long nanos) throws InterruptedException {
+        if (count > 0) {
+            return true;
+        }
+        if (nanos <= 0) {
+            return false;
+        }
+
+        listener.onConsumerBlocked();
+        long start = System.nanoTime();
+        try {
+            long remaining = nanos;
+            while (count == 0) {
+                if (nanos == Long.MAX_VALUE) {
+                    notEmpty.await();
+                } else if (remaining <= 0) {
+                    return false;
+                } else {
+                    remaining = notEmpty.awaitNanos(remaining);
+                }
+            }
+            return true;
+        } finally {
+            listener.onConsumerUnblocked(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Stores a value at the put index. Must be called with the lock held.
+     */
+    private void enqueue(int value) {
+        items[putIndex] = value;
+        putIndex = (putIndex + 1 == items.length) ? 0 : putIndex + 1;
+        count++;
+        notEmpty.signal();
+    }
+
+    /**
+     * Removes the value at the take index. Must be called with the lock held.
+     */
+    private int dequeue() {
+        int value = items[takeIndex];
+        takeIndex = (takeIndex + 1 == items.length) ? 0 : takeIndex + 1;
+        count--;
+        notFull.signal();
+        return value;
+    }
+
+    /**
+     * Copies values into the ring with at most two array copies, one on each
+     * side of the wrap-around. Must be called with the lock held and room for all of them.
+     */
+    private void copyIn(int[] values, int offset, int length) {
+        int firstPart = Math.min(length, items.length - putIndex);
+        System.arraycopy(values, offset, items, putIndex, firstPart);
+        System.arraycopy(values, offset + firstPart, items, 0, length - firstPart);
+        putIndex = (putIndex + length) % items.length;
+        count += length;
+        if (length == 1) {
+            notEmpty.signal();
+        } else if (length > 1) {
+            notEmpty.signalAll();
+        }
+    }
+
+    /**
+     * Copies values out of the ring with at most two array copies. Must be
+     * called with the lock held and at least {@code length} values available.
+     */
+    private void copyOut(int[] destination, int offset, int length) {
+        int firstPart = Math.min(length, items.length - takeIndex);
+        System.arraycopy(items, takeIndex, destination, offset, firstPart);
+        System.arraycopy(items, 0, destination, offset + firstPart, length - firstPart);
+        takeIndex = (takeIndex + length) % items.length;
+        count -= length;
+        if (length == 1) {
+            notFull.signal();
+        } else if (length > 1) {
+            notFull.signalAll();
+        }
+    }
+
+    private static void checkRange(int[] array, int offset, int length) {
+        if (array == null) {
+            throw new NullPointerException("Array cannot be null");
+        }
+        if (offset < 0 || length < 0 || offset > array.length - length) {
+            throw new IndexOutOfBoundsException("Range [" + offset + ", " + offset + " + " + length
+                + ") out of bounds for length " + array.length);
+        }
+    }
+}
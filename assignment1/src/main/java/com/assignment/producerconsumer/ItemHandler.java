@@ -0,0 +1,18 @@
+package com.assignment.producerconsumer;
+
+/**
+ * Processes one item handed out by a consumer pool.
+ *
+ * @param <T> the type of items handled
+ */
+@FunctionalInterface
+public interface ItemHandler<T> {
+
+    /**
+     * Processes a single item.
+     * 
+     * @param item the item to process
+     * @throws InterruptedException if the handler is interrupted while working
+     */
+    void handle(T item) throws InterruptedException;
+}
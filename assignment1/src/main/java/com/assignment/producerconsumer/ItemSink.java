@@ -0,0 +1,32 @@
+package com.assignment.producerconsumer;
+
+import java.util.Collection;
+
+/**
+ * Destination for items taken off a queue by consumers.
+ * 
+ * Several consumer threads add to the same sink concurrently, so every
+ * implementation must be thread-safe for {@link #add} and {@link #addAll}.
+ *
+ * @param <T> the type of items collected
+ */
+public interface ItemSink<T> {
+
+    /**
+     * Adds one consumed item.
+     * 
+     * @param item the item to add
+     */
+    void add(T item);
+
+    /**
+     * Adds a batch of consumed items, keeping them together and in iteration order.
+     * 
+     * @param items the items to add
+     */
+    default void addAll(Collection<? extends T> items) {
+        for (T item : items) {
+            add(item);
+        }
+    }
+}
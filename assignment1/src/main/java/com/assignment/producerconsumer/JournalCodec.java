@@ -0,0 +1,58 @@
+package com.assignment.producerconsumer;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Converts queue items to and from the bytes stored in a {@link JournalQueue}
+ * or a {@link SharedMemoryQueue}.
+ *
+ * @param <T> the type of items converted
+ */
+public interface JournalCodec<T> {
+
+    /**
+     * Codec storing strings as UTF-8.
+     */
+    JournalCodec<String> UTF8 = new JournalCodec<String>() {
+        @Override
+        public byte[] encode(String item) {
+            return item.getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public String decode(byte[] bytes) {
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    };
+
+    /**
+     * Codec storing byte arrays as they are, for callers with their own serialization.
+     */
+    JournalCodec<byte[]> BYTES = new JournalCodec<byte[]>() {
+        @Override
+        public byte[] encode(byte[] item) {
+            return item;
+        }
+
+        @Override
+        public byte[] decode(byte[] bytes) {
+            return bytes;
+        }
+    };
+
+    /**
+     * Encodes an item.
+     * 
+     * @param item the item to encode, never null
+     * @return the bytes to store
+     */
+    byte[] encode(T item);
+
+    /**
+     * Decodes an item previously produced by {@link #encode}.
+     * 
+     * @param bytes the stored bytes
+     * @return the decoded item, never null
+     */
+    T decode(byte[] bytes);
+}
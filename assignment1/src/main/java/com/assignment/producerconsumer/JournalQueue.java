@@ -0,0 +1,865 @@
+package com.assignment.producerconsumer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Persistent bounded queue stored in memory-mapped, append-only segment files.
+ * 
+ * Producers append records to the newest segment through a {@link MappedByteBuffer},
+ * so an item is written with a memory copy and no system call. When a record does
+ * not fit, a new segment is started. Consumers read records in order and call
+ * {@link #acknowledge(int)} once they have processed them. The acknowledged
+ * cursor is persisted every {@code checkpointInterval} acknowledged items, on
+ * {@link #checkpoint()} and on {@link #close()}. A checkpoint also forces written
+ * segments to disk and deletes segments whose items have all been acknowledged,
+ * so there is no fsync per item.
+ * 
+ * Reopening the directory replays every item after the last persisted cursor.
+ * Delivery is therefore at-least-once: items taken but not acknowledged, and items
+ * acknowledged after the last checkpoint, are delivered again after a crash or
+ * restart. Data written before a JVM crash survives in the
+ * page cache; data written since the last checkpoint may be lost if the
+ * operating system crashes.
+ * 
+ * Each record is a header (payload length plus one, CRC32 of the payload) followed
+ * by the payload. The length is written last and zero means "no record", so recovery
+ * stops at the first empty or corrupt record of each segment.
+ * 
+ * A single lock guards the journal; encoding and decoding happen outside it.
+ *
+ * @param <T> the type of elements held in the queue
+ */
+public class JournalQueue<T> implements BoundedQueue<T>, Closeable {
+    static final int RECORD_HEADER_BYTES = 2 * Integer.BYTES;
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String CURSOR_FILE = "cursor";
+    private static final String CURSOR_TEMP_FILE = "cursor.tmp";
+
+    private final Path directory;
+    private final JournalCodec<T> codec;
+    private final int capacity;
+    private final int segmentSize;
+    private final int checkpointInterval;
+    private final QueueListener listener;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+
+    private final ArrayDeque<Segment> segments = new ArrayDeque<>();
+    private Segment readSegment;
+    private int readPosition;
+    private long readSequence;
+    private Segment ackSegment;
+    private int ackPosition;
+    private long ackSequence;
+    private Segment writeSegment;
+    private int writePosition;
+    private long writeSequence;
+    private int acksSinceCheckpoint;
+    private boolean closed;
+
+    private JournalQueue(Builder<T> builder) throws IOException {
+        if (builder.capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1");
+        }
+        if (builder.segmentSize <= RECORD_HEADER_BYTES) {
+            throw new IllegalArgumentException("Segment size must be greater than " + RECORD_HEADER_BYTES + " bytes");
+        }
+        if (builder.checkpointInterval < 1) {
+            throw new IllegalArgumentException("Checkpoint interval must be at least 1");
+        }
+        if (builder.listener == null) {
+            throw new NullPointerException("Listener cannot be null");
+        }
+        this.directory = builder.directory;
+        this.codec = builder.codec;
+        this.capacity = builder.capacity;
+        this.segmentSize = builder.segmentSize;
+        this.checkpointInterval = builder.checkpointInterval;
+        this.listener = builder.listener;
+        recover();
+    }
+
+    /**
+     * Returns a builder for a journal stored in the given directory. The directory
+     * is created if needed; if it already holds a journal, its unconsumed items
+     * are replayed.
+     * 
+     * @param directory the directory holding the segment and cursor files
+     * @param codec converts items to and from bytes
+     * @param <T> the type of elements held in the queue
+     * @return a new builder
+     * @throws NullPointerException if directory or codec is null
+     */
+    public static <T> Builder<T> builder(Path directory, JournalCodec<T> codec) {
+        if (directory == null) {
+            throw new NullPointerException("Directory cannot be null");
+        }
+        if (codec == null) {
+            throw new NullPointerException("Codec cannot be null");
+        }
+        return new Builder<>(directory, codec);
+    }
+
+    /**
+     * Appends an item to the journal. Blocks if the queue is full.
+     * 
+     * @param item the item to add
+     * @throws InterruptedException if the thread is interrupted while waiting
+     * @throws IllegalArgumentException if the encoded item does not fit in a segment
+     * @throws IllegalStateException if the queue has been closed
+     * @throws UncheckedIOException if a new segment cannot be created
+     */
+    @Override
+    public void put(T item) throws InterruptedException {
+        offer(item, Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Removes and returns the oldest item. Blocks if the queue is empty.
+     * 
+     * @return the item removed from the queue
+     * @throws InterruptedException if the thread is interrupted while waiting
+     * @throws IllegalStateException if the queue has been closed
+     */
+    @Override
+    public T take() throws InterruptedException {
+        return poll(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Appends an item if the queue is not full. Never waits for space.
+     * 
+     * @param item the item to add
+     * @return true if the item was added, false if the queue was full
+     */
+    @Override
+    public boolean offer(T item) {
+        byte[] record = encode(item);
+        int size;
+        lock.lock();
+        try {
+            ensureOpen();
+            if (count() >= capacity) {
+                return false;
+            }
+            append(record);
+            size = count();
+        } finally {
+            lock.unlock();
+        }
+
+        listener.onPut(1, size);
+        return true;
+    }
+
+    /**
+     * Appends an item, waiting up to the given time if the queue is full.
+     * 
+     * @param item the item to add
+     * @param timeout how long to wait before giving up
+     * @param unit the unit of the timeout
+     * @return true if the item was added, false if the timeout elapsed first
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    @Override
+    public boolean offer(T item, long timeout, TimeUnit unit) throws InterruptedException {
+        byte[] record = encode(item);
+        int size;
+        lock.lockInterruptibly();
+        try {
+            if (!awaitNotFull(unit.toNanos(timeout))) {
+                return false;
+            }
+            append(record);
+            size = count();
+        } finally {
+            lock.unlock();
+        }
+
+        listener.onPut(1, size);
+        return true;
+    }
+
+    /**
+     * Removes and returns the oldest item if one is available. Never waits for items.
+     * 
+     * @return the item removed from the queue, or null if the queue was empty
+     */
+    @Override
+    public T poll() {
+        byte[] record;
+        int size;
+        lock.lock();
+        try {
+            ensureOpen();
+            if (count() == 0) {
+                return null;
+            }
+            record = read();
+            size = count();
+            afterRead(1);
+        } finally {
+            lock.unlock();
+        }
+
+        listener.onTake(1, size);
+        return codec.decode(record);
+    }
+
+    /**
+     * Removes and returns the oldest item, waiting up to the given time if the queue is empty.
+     * 
+     * @param timeout how long to wait before giving up
+     * @param unit the unit of the timeout
+     * @return the item removed from the queue, or null if the timeout elapsed first
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    @Override
+    public T poll(long timeout, TimeUnit unit) throws InterruptedException {
+        byte[] record;
+        int size;
+        lock.lockInterruptibly();
+        try {
+            if (!awaitNotEmpty(unit.toNanos(timeout))) {
+                return null;
+            }
+            record = read();
+            size = count();
+            afterRead(1);
+        } finally {
+            lock.unlock();
+        }
+
+        listener.onTake(1, size);
+        return codec.decode(record);
+    }
+
+    /**
+     * Appends all items. Items are encoded up front, and each acquisition of the
+     * lock appends as many as currently fit.
+     * 
+     * @param items the items to add
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    @Override
+    public void putAll(Collection<? extends T> items) throws InterruptedException {
+        QueueSupport.requireNoNullItems(items);
+        List<byte[]> records = new ArrayList<>(items.size());
+        for (T item : items) {
+            records.add(encode(item));
+        }
+
+        Iterator<byte[]> iterator = records.iterator();
+        while (iterator.hasNext()) {
+            int added = 0;
+            int size;
+            lock.lockInterruptibly();
+            try {
+                awaitNotFull(Long.MAX_VALUE);
+                while (count() < capacity && iterator.hasNext()) {
+                    append(iterator.next());
+                    added++;
+                }
+                size = count();
+            } finally {
+                lock.unlock();
+            }
+            listener.onPut(added, size);
+        }
+    }
+
+    /**
+     * Removes up to maxElements available items under a single acquisition of
+     * the lock and decodes them after releasing it. Never blocks.
+     * 
+     * @param destination the collection to transfer items into
+     * @param maxElements the maximum number of items to transfer
+     * @return the number of items transferred
+     */
+    @Override
+    public int drainTo(Collection<? super T> destination, int maxElements) {
+        QueueSupport.requireDestination(destination);
+        if (maxElements <= 0) {
+            return 0;
+        }
+
+        List<byte[]> records;
+        int size;
+        lock.lock();
+        try {
+            ensureOpen();
+            int drained = Math.min(maxElements, count());
+            if (drained == 0) {
+                return 0;
+            }
+            records = new ArrayList<>(drained);
+            for (int i = 0; i < drained; i++) {
+                records.add(read());
+            }
+            size = count();
+            afterRead(drained);
+        } finally {
+            lock.unlock();
+        }
+
+        for (byte[] record : records) {
+            destination.add(codec.decode(record));
+        }
+        listener.onTake(records.size(), size);
+        return records.size();
+    }
+
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            return count();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public boolean isFull() {
+        return size() >= capacity;
+    }
+
+    /**
+     * Returns the number of segment files currently kept on disk, including
+     * acknowledged segments that will be deleted at the next checkpoint.
+     * 
+     * @return the number of segment files
+     */
+    public int getSegmentCount() {
+        lock.lock();
+        try {
+            return segments.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Marks the given number of the oldest taken items as processed, so they are
+     * not replayed after a checkpoint. Call it once the items have been handled;
+     * items taken but not acknowledged are delivered again after a restart.
+     * Checkpoints every {@code checkpointInterval} acknowledged items.
+     * 
+     * @param items the number of taken items to acknowledge, in the order they were taken
+     * @throws IllegalArgumentException if items is negative or more than are taken and unacknowledged
+     * @throws UncheckedIOException if a checkpoint is due and the cursor cannot be written
+     * @throws IllegalStateException if the queue has been closed
+     */
+    public void acknowledge(int items) {
+        lock.lock();
+        try {
+            ensureOpen();
+            if (items < 0 || items > readSequence - ackSequence) {
+                throw new IllegalArgumentException("Cannot acknowledge " + items + " items; "
+                    + (readSequence - ackSequence) + " are unacknowledged");
+            }
+            for (int i = 0; i < items; i++) {
+                while (ackSegment.sealed && ackPosition >= ackSegment.limit) {
+                    ackSegment = ackSegment.next;
+                    ackPosition = 0;
+                }
+                ackPosition += RECORD_HEADER_BYTES + ackSegment.buffer.getInt(ackPosition) - 1;
+            }
+            ackSequence += items;
+            acksSinceCheckpoint += items;
+            if (acksSinceCheckpoint >= checkpointInterval) {
+                checkpointLocked();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the number of items taken but not yet acknowledged
+     */
+    public int getUnacknowledgedCount() {
+        lock.lock();
+        try {
+            return (int) (readSequence - ackSequence);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Forces written segments to disk, persists the acknowledged cursor and
+     * deletes segments whose items have all been acknowledged. Called
+     * automatically every {@code checkpointInterval} acknowledged items.
+     * 
+     * @throws UncheckedIOException if the cursor cannot be written
+     * @throws IllegalStateException if the queue has been closed
+     */
+    public void checkpoint() {
+        lock.lock();
+        try {
+            ensureOpen();
+            checkpointLocked();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Writes a final checkpoint and closes the journal. Items taken but not
+     * acknowledged are replayed when the journal is reopened. Threads waiting on the
+     * queue fail with {@link IllegalStateException}. Closing twice has no effect.
+     * 
+     * The mapped segments are released when they are garbage collected; Java
+     * offers no supported way to unmap them earlier.
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            checkpointLocked();
+            closed = true;
+            segments.clear();
+            readSegment = null;
+            ackSegment = null;
+            writeSegment = null;
+            notEmpty.signalAll();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private byte[] encode(T item) {
+        if (item == null) {
+            throw new NullPointerException("Cannot add null item to queue");
+        }
+        byte[] record = codec.encode(item);
+        if (RECORD_HEADER_BYTES + record.length > segmentSize) {
+            throw new IllegalArgumentException("Item of " + record.length
+                + " bytes does not fit in a segment of " + segmentSize + " bytes");
+        }
+        return record;
+    }
+
+    private int count() {
+        return (int) Math.min(Integer.MAX_VALUE, writeSequence - readSequence);
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new QueueClosedException();
+        }
+    }
+
+    /**
+     * Waits up to the given time until there is room for at least one item;
+     * Long.MAX_VALUE waits practically forever. Must be called with the lock held.
+     * 
+     * @return true if there is room, false if the timeout elapsed first
+     */
+    private boolean awaitNotFull(long nanos) throws InterruptedException {
+        ensureOpen();
+        if (count() < capacity) {
+            return true;
+        }
+        if (nanos <= 0) {
+            return false;
+        }
+
+        listener.onProducerBlocked();
+        long start = System.nanoTime();
+        try {
+            long remaining = nanos;
+            while (count() >= capacity) {
+                if (remaining <= 0) {
+                    return false;
+                }
+                remaining = notFull.awaitNanos(remaining);
+                ensureOpen();
+            }
+            return true;
+        } finally {
+            listener.onProducerUnblocked(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Waits up to the given time until at least one item is available;
+     * Long.MAX_VALUE waits practically forever. Must be called with the lock held.
+     * 
+     * @return true if an item is available, false if the timeout elapsed first
+     */
+    private boolean awaitNotEmpty(long nanos) throws InterruptedException {
+        ensureOpen();
+        if (count() > 0) {
+            return true;
+        }
+        if (nanos <= 0) {
+            return false;
+        }
+
+        listener.onConsumerBlocked();
+        long start = System.nanoTime();
+        try {
+            long remaining = nanos;
+            while (count() == 0) {
+                if (remaining <= 0) {
+                    return false;
+                }
+                remaining = notEmpty.awaitNanos(remaining);
+                ensureOpen();
+            }
+            return true;
+        } finally {
+            listener.onConsumerUnblocked(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Writes one record at the write position, starting a new segment if it does
+     * not fit. The length is written last so a partially written record reads
+     * as empty. Must be called with the lock held.
+     */
+    private void append(byte[] payload) {
+        int recordBytes = RECORD_HEADER_BYTES + payload.length;
+        if (writePosition + recordBytes > writeSegment.buffer.capacity()) {
+            roll();
+        }
+
+        MappedByteBuffer buffer = writeSegment.buffer;
+        buffer.position(writePosition + RECORD_HEADER_BYTES);
+        buffer.put(payload);
+        buffer.putInt(writePosition + Integer.BYTES, checksum(payload));
+        buffer.putInt(writePosition, payload.length + 1);
+        writeSegment.dirty = true;
+        writePosition += recordBytes;
+        writeSequence++;
+        notEmpty.signal();
+    }
+
+    /**
+     * Seals the current segment and starts a new one named after the next sequence.
+     */
+    private void roll() {
+        try {
+            Segment next = openSegment(writeSequence);
+            writeSegment.seal(writePosition);
+            writeSegment.next = next;
+            writeSegment = next;
+            writePosition = 0;
+            segments.addLast(next);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create segment in " + directory, e);
+        }
+    }
+
+    /**
+     * Reads the record at the read position, moving past the end of sealed
+     * segments. Must be called with the lock held and at least one item available.
+     */
+    private byte[] read() {
+        while (readSegment.sealed && readPosition >= readSegment.limit) {
+            readSegment = readSegment.next;
+            readPosition = 0;
+        }
+
+        MappedByteBuffer buffer = readSegment.buffer;
+        int length = buffer.getInt(readPosition) - 1;
+        byte[] payload = new byte[length];
+        buffer.position(readPosition + RECORD_HEADER_BYTES);
+        buffer.get(payload);
+        readPosition += RECORD_HEADER_BYTES + length;
+        readSequence++;
+        return payload;
+    }
+
+    /**
+     * Wakes producers waiting for the room freed by taken items. Must be
+     * called with the lock held.
+     */
+    private void afterRead(int items) {
+        if (items == 1) {
+            notFull.signal();
+        } else {
+            notFull.signalAll();
+        }
+    }
+
+    private void checkpointLocked() {
+        try {
+            for (Segment segment : segments) {
+                if (segment.dirty) {
+                    segment.buffer.force();
+                    segment.dirty = false;
+                }
+            }
+
+            ByteBuffer cursor = ByteBuffer.allocate(3 * Long.BYTES);
+            cursor.putLong(ackSegment.baseSequence).putLong(ackPosition).putLong(ackSequence).flip();
+            Path temp = directory.resolve(CURSOR_TEMP_FILE);
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                while (cursor.hasRemaining()) {
+                    channel.write(cursor);
+                }
+                channel.force(true);
+            }
+            Files.move(temp, directory.resolve(CURSOR_FILE),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            while (segments.peekFirst() != ackSegment) {
+                Files.deleteIfExists(segments.pollFirst().path);
+            }
+            acksSinceCheckpoint = 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not checkpoint journal in " + directory, e);
+        }
+    }
+
+    /**
+     * Restores the queue from the directory: reads the persisted cursor, deletes
+     * segments before it, and scans the remaining segments to find where valid
+     * records end.
+     */
+    private void recover() throws IOException {
+        Files.createDirectories(directory);
+        List<Long> bases = listSegmentBases();
+
+        long cursorBase = bases.isEmpty() ? 0 : bases.get(0);
+        long cursorPosition = 0;
+        long cursorSequence = cursorBase;
+        Path cursorFile = directory.resolve(CURSOR_FILE);
+        if (Files.exists(cursorFile)) {
+            ByteBuffer cursor = ByteBuffer.wrap(Files.readAllBytes(cursorFile));
+            cursorBase = cursor.getLong();
+            cursorPosition = cursor.getLong();
+            cursorSequence = cursor.getLong();
+        }
+
+        for (Iterator<Long> iterator = bases.iterator(); iterator.hasNext(); ) {
+            long base = iterator.next();
+            if (base < cursorBase) {
+                Files.deleteIfExists(segmentPath(base));
+                iterator.remove();
+            }
+        }
+        if (bases.isEmpty()) {
+            // New journal, or every segment was removed: start an empty one
+            // at the cursor's sequence.
+            cursorPosition = 0;
+            bases.add(cursorSequence);
+        } else if (bases.get(0) != cursorBase) {
+            // The cursor's segment is missing: replay from the oldest segment left.
+            cursorPosition = 0;
+            cursorSequence = bases.get(0);
+        }
+
+        long records = 0;
+        Segment previous = null;
+        int previousEnd = 0;
+        for (long base : bases) {
+            Segment segment = openSegment(base);
+            int end = previous == null ? (int) cursorPosition : 0;
+            int length;
+            while ((length = validRecordLength(segment.buffer, end)) >= 0) {
+                end += RECORD_HEADER_BYTES + length;
+                records++;
+            }
+            if (previous != null) {
+                previous.seal(previousEnd);
+                previous.next = segment;
+            }
+            segments.addLast(segment);
+            previous = segment;
+            previousEnd = end;
+        }
+
+        readSegment = segments.peekFirst();
+        readPosition = (int) cursorPosition;
+        readSequence = cursorSequence;
+        ackSegment = readSegment;
+        ackPosition = readPosition;
+        ackSequence = readSequence;
+        writeSegment = previous;
+        writePosition = previousEnd;
+        writeSequence = readSequence + records;
+    }
+
+    /**
+     * Returns the payload length of the record at the given position, or -1 if
+     * there is no complete record with a matching checksum.
+     */
+    private static int validRecordLength(MappedByteBuffer buffer, int position) {
+        if (position + RECORD_HEADER_BYTES > buffer.capacity()) {
+            return -1;
+        }
+        int length = buffer.getInt(position) - 1;
+        if (length < 0 || position + RECORD_HEADER_BYTES + length > buffer.capacity()) {
+            return -1;
+        }
+        ByteBuffer payload = buffer.duplicate();
+        payload.position(position + RECORD_HEADER_BYTES).limit(position + RECORD_HEADER_BYTES + length);
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue() == buffer.getInt(position + Integer.BYTES) ? length : -1;
+    }
+
+    private static int checksum(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload, 0, payload.length);
+        return (int) crc.getValue();
+    }
+
+    private List<Long> listSegmentBases() throws IOException {
+        List<Long> bases = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(path -> path.getFileName().toString())
+                .filter(name -> name.matches("\\d+\\" + SEGMENT_SUFFIX))
+                .forEach(name -> bases.add(Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()))));
+        }
+        bases.sort(null);
+        return bases;
+    }
+
+    private Path segmentPath(long baseSequence) {
+        return directory.resolve(String.format("%020d%s", baseSequence, SEGMENT_SUFFIX));
+    }
+
+    private Segment openSegment(long baseSequence) throws IOException {
+        Path path = segmentPath(baseSequence);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = Math.max(channel.size(), segmentSize);
+            return new Segment(baseSequence, path, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+        }
+    }
+
+    /**
+     * One mapped segment file, named after the sequence number of its first record.
+     */
+    private static final class Segment {
+        final long baseSequence;
+        final Path path;
+        final MappedByteBuffer buffer;
+        boolean sealed;
+        int limit;
+        boolean dirty;
+        Segment next;
+
+        Segment(long baseSequence, Path path, MappedByteBuffer buffer) {
+            this.baseSequence = baseSequence;
+            this.path = path;
+            this.buffer = buffer;
+        }
+
+        /**
+         * Marks the segment as complete; readers move on once they reach the limit.
+         */
+        void seal(int limit) {
+            this.sealed = true;
+            this.limit = limit;
+        }
+    }
+
+    /**
+     * Builder for journal queues.
+     *
+     * @param <T> the type of elements held in the queue
+     */
+    public static final class Builder<T> {
+        private final Path directory;
+        private final JournalCodec<T> codec;
+        private int capacity = Integer.MAX_VALUE;
+        private int segmentSize = 64 * 1024 * 1024;
+        private int checkpointInterval = 1000;
+        private QueueListener listener = QueueListener.NOOP;
+
+        private Builder(Path directory, JournalCodec<T> codec) {
+            this.directory = directory;
+            this.codec = codec;
+        }
+
+        /**
+         * @param capacity the maximum number of unconsumed items; unbounded by default
+         * @return this builder
+         */
+        public Builder<T> capacity(int capacity) {
+            this.capacity = capacity;
+            return this;
+        }
+
+        /**
+         * @param segmentSize the size of each segment file in bytes; 64 MiB by default
+         * @return this builder
+         */
+        public Builder<T> segmentSize(int segmentSize) {
+            this.segmentSize = segmentSize;
+            return this;
+        }
+
+        /**
+         * @param checkpointInterval how many acknowledged items trigger a checkpoint; 1000 by default
+         * @return this builder
+         */
+        public Builder<T> checkpointInterval(int checkpointInterval) {
+            this.checkpointInterval = checkpointInterval;
+            return this;
+        }
+
+        /**
+         * @param listener the listener to notify of queue events
+         * @return this builder
+         */
+        public Builder<T> listener(QueueListener listener) {
+            this.listener = listener;
+            return this;
+        }
+
+        /**
+         * Opens the journal, replaying items left by a previous run.
+         * 
+         * @return the opened queue
+         * @throws IOException if the directory or its files cannot be read or created
+         * @throws IllegalArgumentException if capacity, segment size or checkpoint interval is invalid
+         * @throws NullPointerException if listener is null
+         */
+        public JournalQueue<T> open() throws IOException {
+            return new JournalQueue<>(this);
+        }
+    }
+}
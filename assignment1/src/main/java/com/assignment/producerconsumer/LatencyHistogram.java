@@ -0,0 +1,236 @@
+package com.assignment.producerconsumer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of durations in nanoseconds, with percentile queries.
+ *
+ * Values are counted in log-linear buckets: exact below 32 ns, and above that
+ * 16 buckets per power of two, so a reported percentile is at most about 6%
+ * above the true value. Recording is a bucket index computation and one
+ * atomic increment, plus a few more atomic updates for the count, sum and
+ * maximum, so many threads can record concurrently without a lock. The whole
+ * range of {@code long} fits in under a thousand buckets.
+ *
+ * Readers take a {@link Snapshot}. {@link #snapshot()} covers everything
+ * recorded so far; {@link #intervalSnapshot()} covers what was recorded since
+ * the previous interval snapshot, for periodic reporting. Values recorded
+ * while a snapshot is being taken may be reflected in some of its fields
+ * and not others.
+ */
+public class LatencyHistogram {
+    private static final int PRECISION_BITS = 5;
+    private static final int EXACT_LIMIT = 1 << PRECISION_BITS;
+    private static final int HALF = EXACT_LIMIT >> 1;
+    private static final int BUCKETS = bucketIndex(Long.MAX_VALUE) + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder total = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+    private final AtomicLong intervalMax = new AtomicLong();
+
+    // Cumulative state at the previous interval snapshot, guarded by this
+    private long[] intervalStart = new long[BUCKETS];
+    private long intervalStartTotal;
+    private long intervalStartSum;
+
+    /**
+     * Records one duration. Negative values are recorded as zero.
+     *
+     * @param nanos the duration in nanoseconds
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(bucketIndex(value));
+        total.increment();
+        sum.add(value);
+        updateMax(max, value);
+        updateMax(intervalMax, value);
+    }
+
+    /**
+     * Returns everything recorded since the histogram was created.
+     *
+     * @return a snapshot of all recorded values
+     */
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+        }
+        return new Snapshot(copy, total.sum(), sum.sum(), max.get());
+    }
+
+    /**
+     * Returns what was recorded since the previous call, or since the
+     * histogram was created on the first call. Calls are serialized with each
+     * other but never block {@link #record(long)}.
+     *
+     * @return a snapshot of the values recorded during the interval
+     */
+    public synchronized Snapshot intervalSnapshot() {
+        long intervalPeak = intervalMax.getAndSet(0);
+        long[] current = new long[BUCKETS];
+        long[] delta = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            current[i] = counts.get(i);
+            delta[i] = current[i] - intervalStart[i];
+        }
+        long currentTotal = total.sum();
+        long currentSum = sum.sum();
+        Snapshot snapshot = new Snapshot(delta, currentTotal - intervalStartTotal,
+            currentSum - intervalStartSum, intervalPeak);
+        intervalStart = current;
+        intervalStartTotal = currentTotal;
+        intervalStartSum = currentSum;
+        return snapshot;
+    }
+
+    @Override
+    public String toString() {
+        return snapshot().toString();
+    }
+
+    private static void updateMax(AtomicLong target, long value) {
+        long current;
+        while (value > (current = target.get())) {
+            if (target.compareAndSet(current, value)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Maps a value to its bucket. Values below {@code EXACT_LIMIT} get a bucket
+     * each; above that, the {@code PRECISION_BITS} most significant bits of the
+     * value select one of {@code HALF} buckets within its power of two.
+     */
+    static int bucketIndex(long value) {
+        if (value < EXACT_LIMIT) {
+            return (int) value;
+        }
+        int shift = 64 - Long.numberOfLeadingZeros(value) - PRECISION_BITS;
+        return shift * HALF + (int) (value >>> shift);
+    }
+
+    /**
+     * Returns the largest value that maps to the given bucket.
+     */
+    static long highestValueIn(int index) {
+        if (index < EXACT_LIMIT) {
+            return index;
+        }
+        int shift = index / HALF - 1;
+        long subBucket = index - (long) shift * HALF;
+        long upper = ((subBucket + 1) << shift) - 1;
+        return upper < 0 ? Long.MAX_VALUE : upper;
+    }
+
+    /**
+     * Immutable view of a histogram's values at one point in time, or over one interval.
+     */
+    public static final class Snapshot {
+        private final long[] counts;
+        private final long count;
+        private final long sum;
+        private final long max;
+
+        private Snapshot(long[] counts, long count, long sum, long max) {
+            this.counts = counts;
+            this.count = count;
+            this.sum = sum;
+            this.max = max;
+        }
+
+        /**
+         * @return the number of recorded values
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * @return the mean of the recorded values in nanoseconds, or 0 if there are none
+         */
+        public double getMean() {
+            return count == 0 ? 0 : (double) sum / count;
+        }
+
+        /**
+         * @return the largest recorded value in nanoseconds, or 0 if there are none
+         */
+        public long getMax() {
+            return max;
+        }
+
+        /**
+         * Returns the value below which the given share of recorded values fall.
+         * The result is the upper end of the bucket holding that value, capped
+         * at the maximum, so it may overstate the true value by the bucket width.
+         *
+         * @param percentile the percentile, from 0 to 100
+         * @return the value at that percentile in nanoseconds, or 0 if there are none
+         * @throws IllegalArgumentException if percentile is outside 0 to 100
+         */
+        public long getValueAtPercentile(double percentile) {
+            if (percentile < 0 || percentile > 100) {
+                throw new IllegalArgumentException("Percentile must be between 0 and 100");
+            }
+            long recorded = 0;
+            for (long bucket : counts) {
+                recorded += bucket;
+            }
+            if (recorded == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(percentile / 100 * recorded));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(highestValueIn(i), max);
+                }
+            }
+            return max;
+        }
+
+        /**
+         * @return the median in nanoseconds
+         */
+        public long getP50() {
+            return getValueAtPercentile(50);
+        }
+
+        /**
+         * @return the 99th percentile in nanoseconds
+         */
+        public long getP99() {
+            return getValueAtPercentile(99);
+        }
+
+        /**
+         * @return the 99.9th percentile in nanoseconds
+         */
+        public long getP999() {
+            return getValueAtPercentile(99.9);
+        }
+
+        @Override
+        public String toString() {
+            return "{count=" + count
+                + ", p50=" + micros(getP50())
+                + ", p99=" + micros(getP99())
+                + ", p99.9=" + micros(getP999())
+                + ", max=" + micros(max)
+                + "}";
+        }
+
+        private static String micros(long nanos) {
+            return TimeUnit.NANOSECONDS.toMicros(nanos) + "us";
+        }
+    }
+}
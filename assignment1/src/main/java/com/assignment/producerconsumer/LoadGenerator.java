@@ -0,0 +1,462 @@
+package com.assignment.producerconsumer;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Configurable load generator for sizing a queue before deployment.
+ *
+ * Unlike {@link ProducerConsumerDemo}, which moves nine strings with fixed
+ * sleeps, this drives any queue implementation with the given number of
+ * producers and consumers, either for a number of items or for a duration:
+ * - each item carries its {@code System.nanoTime()} from just before the put,
+ *   so the consumer can record put-to-take latency, including any time the
+ *   producer was blocked by a full queue
+ * - each consumer burns the configured CPU time per item, spinning, to stand in
+ *   for real processing
+ * - producers can share a {@link RateLimiter}, to see how smoothing ingress
+ *   changes latency and blocking; they then take a permit before timestamping
+ *   an item, so waiting for the limiter is not counted as latency
+ *
+ * While running it prints throughput and p99 latency once per report interval.
+ * At the end it prints average and worst-interval throughput, latency
+ * percentiles, time blocked in put and take, and CPU time.
+ *
+ * Run with:
+ * mvn exec:java -Dexec.mainClass="com.assignment.producerconsumer.LoadGenerator" -Dexec.args="--producers=8 --consumers=4 --duration=30 --work=2000"
+ * or through the demo with {@code --load} followed by the same options.
+ */
+public class LoadGenerator {
+    private static final long POLL_TIMEOUT_MILLIS = 10;
+    private static final int STRIPED_LANES = 4;
+    private static final List<String> QUEUE_NAMES = Arrays.asList(
+        "BlockingQueue", "TwoLockBlockingQueue", "StripedBlockingQueue", "RingBufferQueue", "SpscQueue");
+
+    static final String USAGE = String.join(System.lineSeparator(),
+        "Options (all optional):",
+        "  --producers=N        producer threads (default 4)",
+        "  --consumers=N        consumer threads (default 4)",
+        "  --capacity=N         queue capacity (default 1024)",
+        "  --items=N            items to move in total (default 1000000)",
+        "  --duration=SECONDS   run for this long instead of a fixed item count",
+        "  --work=NANOS         CPU time each consumer spends per item (default 0)",
+        "  --queue=NAME         BlockingQueue, BlockingQueue:<WaitStrategy>, TwoLockBlockingQueue,",
+        "                       StripedBlockingQueue, RingBufferQueue or SpscQueue (default TwoLockBlockingQueue)",
+        "  --rate=N             limit producers to N items/s in total with a shared token bucket",
+        "  --burst=N            token bucket size (default: 10 ms worth of the rate)",
+        "  --shed               drop items when the rate limit is reached instead of waiting",
+        "  --report=MILLIS      progress report interval (default 1000)",
+        "  --virtual-threads    run producers and consumers on virtual threads (Java 21+)");
+
+    public static void main(String[] args) throws InterruptedException {
+        Options options;
+        try {
+            options = Options.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            return;
+        }
+        if (options.help) {
+            System.out.println(USAGE);
+            return;
+        }
+        if (!options.threadMode.isSupported()) {
+            System.err.println("Virtual threads require Java 21 or later (running " + System.getProperty("java.version") + ")");
+            return;
+        }
+        run(options, System.out);
+    }
+
+    /**
+     * Runs one load test and prints progress and the final report.
+     *
+     * @param options the load to generate
+     * @param out where to print the report
+     * @return the measurements of the run
+     * @throws InterruptedException if the thread is interrupted while waiting for the run
+     */
+    static Result run(Options options, PrintStream out) throws InterruptedException {
+        QueueLatency queueLatency = new QueueLatency();
+        BoundedQueue<Long> queue = createQueue(options, queueLatency);
+        LatencyHistogram latency = new LatencyHistogram();
+        LongAdder produced = new LongAdder();
+        LongAdder shed = new LongAdder();
+        RateLimiter limiter = options.rate > 0 ? new RateLimiter(options.rate, options.burst()) : null;
+        LongAdder consumed = new LongAdder();
+        LongAdder workerCpuNanos = new LongAdder();
+        CountDownLatch producersDone = new CountDownLatch(options.producers);
+        CountDownLatch consumersDone = new CountDownLatch(options.consumers);
+
+        out.println("=== Load Generator ===\n");
+        out.println("Configuration:");
+        out.println("  Queue: " + options.queue + ", capacity " + options.capacity);
+        out.println("  Producers: " + options.producers + ", Consumers: " + options.consumers);
+        out.println("  Load: " + (options.durationSeconds > 0
+            ? options.durationSeconds + " s" : options.items + " items"));
+        out.println("  Work per item: " + options.workNanos + " ns");
+        if (limiter != null) {
+            out.println("  Rate limit: " + limiter.getRate() + " items/s, burst " + limiter.getBurst()
+                + ", " + options.throttlePolicy);
+        }
+        out.println("  Thread Mode: " + options.threadMode);
+        out.println();
+
+        long processCpuBefore = processCpuNanos();
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(options.durationSeconds);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < options.consumers; i++) {
+            threads.add(options.threadMode.newThread("Consumer-" + (i + 1), () -> {
+                try {
+                    consume(queue, options.workNanos, latency, consumed, produced, producersDone);
+                } finally {
+                    addCurrentThreadCpu(workerCpuNanos);
+                    consumersDone.countDown();
+                }
+            }));
+        }
+        for (int i = 0; i < options.producers; i++) {
+            long quota = options.durationSeconds > 0
+                ? Long.MAX_VALUE
+                : options.items / options.producers + (i < options.items % options.producers ? 1 : 0);
+            threads.add(options.threadMode.newThread("Producer-" + (i + 1), () -> {
+                try {
+                    produce(queue, quota, options.durationSeconds > 0 ? deadline : Long.MAX_VALUE,
+                        limiter, options.throttlePolicy, produced, shed);
+                } finally {
+                    addCurrentThreadCpu(workerCpuNanos);
+                    producersDone.countDown();
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+
+        long lastConsumed = 0;
+        long lastReport = start;
+        double worstInterval = Double.MAX_VALUE;
+        while (!consumersDone.await(options.reportIntervalMillis, TimeUnit.MILLISECONDS)) {
+            long now = System.nanoTime();
+            long total = consumed.sum();
+            double rate = (total - lastConsumed) / ((now - lastReport) / 1e9);
+            LatencyHistogram.Snapshot window = latency.intervalSnapshot();
+            out.printf("  [%6.1f s] %,12.0f items/s  p99=%,d us  depth=%d%n",
+                (now - start) / 1e9, rate, TimeUnit.NANOSECONDS.toMicros(window.getP99()), queue.size());
+            worstInterval = Math.min(worstInterval, rate);
+            lastConsumed = total;
+            lastReport = now;
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long processCpuNanos = processCpuBefore < 0 ? -1 : processCpuNanos() - processCpuBefore;
+
+        Result result = new Result(consumed.sum(), elapsedNanos, latency.snapshot(), queueLatency,
+            processCpuNanos, workerCpuNanos.sum(),
+            worstInterval == Double.MAX_VALUE ? -1 : worstInterval, limiter, shed.sum());
+        result.print(out);
+        return result;
+    }
+
+    private static BoundedQueue<Long> createQueue(Options options, QueueListener listener) {
+        int capacity = options.capacity;
+        if (options.queue.startsWith("BlockingQueue:")) {
+            WaitStrategy strategy = WaitStrategy.valueOf(options.queue.substring("BlockingQueue:".length()));
+            return BlockingQueue.<Long>builder(capacity).waitStrategy(strategy).listener(listener).build();
+        }
+        switch (options.queue) {
+            case "BlockingQueue":
+                return new BlockingQueue<>(capacity, listener);
+            case "TwoLockBlockingQueue":
+                return new TwoLockBlockingQueue<>(capacity, listener);
+            case "StripedBlockingQueue":
+                return new StripedBlockingQueue<>(STRIPED_LANES, Math.max(1, capacity / STRIPED_LANES), listener);
+            case "RingBufferQueue":
+                return new RingBufferQueue<>(capacity, listener);
+            case "SpscQueue":
+                return new SpscQueue<>(capacity, listener);
+            default:
+                throw new IllegalArgumentException("Unknown queue implementation: " + options.queue);
+        }
+    }
+
+    /**
+     * Puts items until the quota or deadline is reached. A shed item counts
+     * towards the quota but is never put.
+     */
+    private static void produce(BoundedQueue<Long> queue, long quota, long deadline, RateLimiter limiter,
+                                ThrottlePolicy policy, LongAdder produced, LongAdder shed) {
+        long attempts = 0;
+        long count = 0;
+        try {
+            while (attempts < quota && (deadline == Long.MAX_VALUE || System.nanoTime() - deadline < 0)) {
+                attempts++;
+                if (limiter != null) {
+                    if (policy == ThrottlePolicy.BLOCK) {
+                        limiter.acquire();
+                    } else if (!limiter.tryAcquire()) {
+                        shed.increment();
+                        continue;
+                    }
+                }
+                queue.put(System.nanoTime());
+                count++;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            produced.add(count);
+        }
+    }
+
+    /**
+     * Takes items until every producer has finished and every produced item
+     * has been consumed. Producers publish their counts only when they finish,
+     * so the totals are compared only after all of them have.
+     */
+    private static void consume(BoundedQueue<Long> queue, long workNanos, LatencyHistogram latency,
+                                LongAdder consumed, LongAdder produced, CountDownLatch producersDone) {
+        try {
+            while (true) {
+                Long enqueuedAt = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (enqueuedAt != null) {
+                    latency.record(System.nanoTime() - enqueuedAt);
+                    spin(workNanos);
+                    consumed.increment();
+                } else if (producersDone.getCount() == 0 && consumed.sum() >= produced.sum()) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void spin(long nanos) {
+        if (nanos <= 0) {
+            return;
+        }
+        long end = System.nanoTime() + nanos;
+        while (System.nanoTime() - end < 0) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private static void addCurrentThreadCpu(LongAdder total) {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        try {
+            long cpu = threads.isCurrentThreadCpuTimeSupported() ? threads.getCurrentThreadCpuTime() : -1;
+            if (cpu > 0) {
+                total.add(cpu);
+            }
+        } catch (UnsupportedOperationException e) {
+            // Not available for this kind of thread; reported as unknown
+        }
+    }
+
+    /**
+     * @return the CPU time used by the whole JVM, or -1 if the platform does not report it
+     */
+    private static long processCpuNanos() {
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        if (os instanceof com.sun.management.OperatingSystemMXBean) {
+            return ((com.sun.management.OperatingSystemMXBean) os).getProcessCpuTime();
+        }
+        return -1;
+    }
+
+    /**
+     * Parsed command-line options.
+     */
+    static final class Options {
+        int producers = 4;
+        int consumers = 4;
+        int capacity = 1024;
+        long items = 1_000_000;
+        long durationSeconds;
+        long workNanos;
+        String queue = "TwoLockBlockingQueue";
+        double rate;
+        int burst;
+        ThrottlePolicy throttlePolicy = ThrottlePolicy.BLOCK;
+        long reportIntervalMillis = 1000;
+        ThreadMode threadMode = ThreadMode.PLATFORM;
+        boolean help;
+
+        /**
+         * @param args options of the form {@code --name=value}
+         * @return the parsed and validated options
+         * @throws IllegalArgumentException if an option is unknown, malformed or out of range
+         */
+        static Options parse(String... args) {
+            Options options = new Options();
+            for (String arg : args) {
+                int equals = arg.indexOf('=');
+                String name = equals < 0 ? arg : arg.substring(0, equals);
+                String value = equals < 0 ? null : arg.substring(equals + 1);
+                switch (name) {
+                    case "--producers":
+                        options.producers = (int) number(name, value, 1, Integer.MAX_VALUE);
+                        break;
+                    case "--consumers":
+                        options.consumers = (int) number(name, value, 1, Integer.MAX_VALUE);
+                        break;
+                    case "--capacity":
+                        options.capacity = (int) number(name, value, 1, Integer.MAX_VALUE);
+                        break;
+                    case "--items":
+                        options.items = number(name, value, 1, Long.MAX_VALUE);
+                        break;
+                    case "--duration":
+                        options.durationSeconds = number(name, value, 1, Integer.MAX_VALUE);
+                        break;
+                    case "--work":
+                        options.workNanos = number(name, value, 0, Integer.MAX_VALUE);
+                        break;
+                    case "--report":
+                        options.reportIntervalMillis = number(name, value, 1, Integer.MAX_VALUE);
+                        break;
+                    case "--queue":
+                        if (value == null || value.isEmpty()) {
+                            throw new IllegalArgumentException("Missing value for " + name);
+                        }
+                        options.queue = value;
+                        break;
+                    case "--rate":
+                        options.rate = number(name, value, 1, TimeUnit.SECONDS.toNanos(1));
+                        break;
+                    case "--burst":
+                        options.burst = (int) number(name, value, 1, Integer.MAX_VALUE);
+                        break;
+                    case "--shed":
+                        options.throttlePolicy = ThrottlePolicy.SHED;
+                        break;
+                    case "--virtual-threads":
+                        options.threadMode = ThreadMode.VIRTUAL;
+                        break;
+                    case "--help":
+                        options.help = true;
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option: " + arg);
+                }
+            }
+            if (options.queue.equals("SpscQueue") && (options.producers != 1 || options.consumers != 1)) {
+                throw new IllegalArgumentException("SpscQueue supports exactly one producer and one consumer");
+            }
+            requireKnownQueue(options.queue);
+            return options;
+        }
+
+        /**
+         * Fails fast on an unknown queue name or wait strategy, without
+         * allocating a queue of the requested capacity.
+         */
+        private static void requireKnownQueue(String queue) {
+            if (queue.startsWith("BlockingQueue:")) {
+                WaitStrategy.valueOf(queue.substring("BlockingQueue:".length()));
+            } else if (!QUEUE_NAMES.contains(queue)) {
+                throw new IllegalArgumentException("Unknown queue implementation: " + queue);
+            }
+        }
+
+        /**
+         * @return the burst size to use with the rate limit
+         */
+        int burst() {
+            return burst > 0 ? burst : (int) Math.max(1, rate / 100);
+        }
+
+        private static long number(String name, String value, long min, long max) {
+            if (value == null) {
+                throw new IllegalArgumentException("Missing value for " + name);
+            }
+            long parsed;
+            try {
+                parsed = Long.parseLong(value.replace("_", ""));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Not a number for " + name + ": " + value);
+            }
+            if (parsed < min || parsed > max) {
+                throw new IllegalArgumentException(name + " must be between " + min + " and " + max);
+            }
+            return parsed;
+        }
+    }
+
+    /**
+     * Measurements of one run.
+     */
+    static final class Result {
+        final long items;
+        final long elapsedNanos;
+        final LatencyHistogram.Snapshot latency;
+        final QueueLatency queueLatency;
+        final long processCpuNanos;
+        final long workerCpuNanos;
+        final double worstIntervalThroughput;
+        final RateLimiter limiter;
+        final long shed;
+
+        Result(long items, long elapsedNanos, LatencyHistogram.Snapshot latency, QueueLatency queueLatency,
+               long processCpuNanos, long workerCpuNanos, double worstIntervalThroughput,
+               RateLimiter limiter, long shed) {
+            this.items = items;
+            this.elapsedNanos = elapsedNanos;
+            this.latency = latency;
+            this.queueLatency = queueLatency;
+            this.processCpuNanos = processCpuNanos;
+            this.workerCpuNanos = workerCpuNanos;
+            this.worstIntervalThroughput = worstIntervalThroughput;
+            this.limiter = limiter;
+            this.shed = shed;
+        }
+
+        /**
+         * @return items consumed per second over the whole run
+         */
+        double getThroughput() {
+            return items / (elapsedNanos / 1e9);
+        }
+
+        void print(PrintStream out) {
+            double seconds = elapsedNanos / 1e9;
+            out.println("\n=== Results ===");
+            out.printf("Items: %,d in %.2f s%n", items, seconds);
+            out.printf("Throughput: %,.0f items/s", getThroughput());
+            if (worstIntervalThroughput >= 0) {
+                out.printf(" (worst interval %,.0f items/s)", worstIntervalThroughput);
+            }
+            out.println();
+            out.println("Put-to-take latency: " + latency);
+            out.println("Put blocked: " + queueLatency.getPutBlockedTime());
+            out.println("Take blocked: " + queueLatency.getTakeBlockedTime());
+            if (limiter != null) {
+                out.printf("Rate limit: %,d ms waited for permits, %,d items shed%n",
+                    limiter.getWaitTime(TimeUnit.MILLISECONDS), shed);
+            }
+            if (processCpuNanos >= 0) {
+                int cpus = Runtime.getRuntime().availableProcessors();
+                out.printf("CPU time: %,d ms process (%.0f%% of %d CPUs), %,d ms producers and consumers, %,.0f ns per item%n",
+                    TimeUnit.NANOSECONDS.toMillis(processCpuNanos),
+                    100.0 * processCpuNanos / (elapsedNanos * (double) cpus), cpus,
+                    TimeUnit.NANOSECONDS.toMillis(workerCpuNanos),
+                    items == 0 ? 0.0 : (double) processCpuNanos / items);
+            } else {
+                out.printf("CPU time: %,d ms producers and consumers%n", TimeUnit.NANOSECONDS.toMillis(workerCpuNanos));
+            }
+        }
+    }
+}
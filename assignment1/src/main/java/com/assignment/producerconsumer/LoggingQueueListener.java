@@ -0,0 +1,46 @@
+package com.assignment.producerconsumer;
+
+/**
+ * Queue listener that prints queue activity to the console.
+ * 
+ * Used by the demo to show producers and consumers blocking and being woken up.
+ * Console output is slow, so this listener is meant for demonstrations only.
+ */
+public class LoggingQueueListener implements QueueListener {
+
+    @Override
+    public void onPut(int items, int size) {
+        System.out.println(Thread.currentThread().getName() + " produced " + describe(items) + " (queue size=" + size + ")");
+        System.out.println("[NOTIFY] " + Thread.currentThread().getName() + " woke up waiting threads");
+    }
+
+    @Override
+    public void onTake(int items, int size) {
+        System.out.println(Thread.currentThread().getName() + " consumed " + describe(items) + " (queue size=" + size + ")");
+        System.out.println("[NOTIFY] " + Thread.currentThread().getName() + " woke up waiting threads");
+    }
+
+    @Override
+    public void onProducerBlocked() {
+        System.out.println(Thread.currentThread().getName() + " waiting: Queue is full");
+    }
+
+    @Override
+    public void onConsumerBlocked() {
+        System.out.println(Thread.currentThread().getName() + " waiting: Queue is empty");
+    }
+
+    @Override
+    public void onOverflow(OverflowPolicy policy, int items) {
+        System.out.println("[OVERFLOW] " + Thread.currentThread().getName() + ": queue full, " + describe(items) + " handled by " + policy);
+    }
+
+    @Override
+    public void onExpired(int items) {
+        System.out.println("[EXPIRED] " + Thread.currentThread().getName() + ": " + describe(items) + " past deadline");
+    }
+
+    private static String describe(int items) {
+        return items == 1 ? "1 item" : items + " items";
+    }
+}
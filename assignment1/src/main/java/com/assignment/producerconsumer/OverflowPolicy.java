@@ -0,0 +1,40 @@
+package com.assignment.producerconsumer;
+
+/**
+ * What {@link BlockingQueue#put} and {@link BlockingQueue#putAll} do with an
+ * item that arrives while the queue is full.
+ * 
+ * Every policy except {@link #BLOCK} returns without waiting, so producers keep
+ * a predictable latency during bursts at the cost of losing, rerouting or
+ * rejecting items. Each overflow is counted by the queue and reported to
+ * {@link QueueListener#onOverflow}.
+ */
+public enum OverflowPolicy {
+    /**
+     * Wait until a consumer makes room. The default.
+     */
+    BLOCK,
+
+    /**
+     * Discard the item at the head of the queue to make room for the new one.
+     * Consumers see the freshest items; the oldest are lost.
+     */
+    DROP_OLDEST,
+
+    /**
+     * Discard the new item and leave the queue unchanged.
+     */
+    DROP_NEWEST,
+
+    /**
+     * Process the new item on the producer's thread with the queue's caller-runs
+     * handler. This slows the producer down to the consumers' pace without
+     * losing the item.
+     */
+    CALLER_RUNS,
+
+    /**
+     * Reject the new item by throwing {@link QueueFullException}.
+     */
+    FAIL_FAST
+}
@@ -0,0 +1,476 @@
+package com.assignment.producerconsumer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Chain of processing stages connected by bounded queues.
+ *
+ * Every stage owns an input queue and its own number of worker threads. A
+ * worker takes an item, applies the stage's operator and puts the results
+ * into the next stage's queue:
+ * - {@code map} emits one result per item
+ * - {@code filter} emits the item only if it matches
+ * - {@code flatMap} emits zero or more results per item
+ * - the final stage hands each item to an {@link ItemHandler}
+ *
+ * Backpressure is end to end: when a stage falls behind, its queue fills,
+ * the workers of the stage before it block in {@code put}, their own queue
+ * fills in turn, and finally {@link #put(Object)} blocks the caller.
+ *
+ * Closing the pipeline closes the first queue. Each stage drains its queue
+ * and, when its last worker exits, closes the next stage's queue, so every
+ * item already accepted is processed before {@link #awaitTermination} returns.
+ *
+ * An operator that throws a runtime exception loses only the current item;
+ * the failure is counted on its stage and the worker carries on.
+ *
+ * With {@link Builder#recordLatency()}, every stage also keeps a
+ * {@link QueueLatency}: how long items waited for that stage, and how long its
+ * workers and the stage before it were blocked.
+ *
+ * @param <I> the type of items put into the pipeline
+ */
+public class Pipeline<I> {
+    private final List<Stage> stages;
+    private final List<Thread> workers = new ArrayList<>();
+    private final CountDownLatch terminated = new CountDownLatch(1);
+    private volatile boolean started;
+
+    private Pipeline(Builder<I, ?> builder) {
+        List<Stage> built = new ArrayList<>(builder.specs.size());
+        for (StageSpec spec : builder.specs) {
+            built.add(new Stage(spec, builder.queueCapacity, builder.recordLatency));
+        }
+        for (int i = 0; i < built.size(); i++) {
+            Stage stage = built.get(i);
+            Stage next = i + 1 < built.size() ? built.get(i + 1) : null;
+            for (int w = 0; w < stage.parallelism; w++) {
+                String name = stage.name + "-" + (w + 1);
+                workers.add(builder.threadMode.newThread(name, () -> runWorker(stage, next)));
+            }
+        }
+        this.stages = Collections.unmodifiableList(built);
+    }
+
+    /**
+     * Returns a builder for a pipeline whose stages are connected by queues of
+     * the given capacity.
+     *
+     * @param queueCapacity the capacity of every stage's input queue
+     * @param <I> the type of items put into the pipeline
+     * @return a new builder
+     * @throws IllegalArgumentException if queueCapacity is less than 1
+     */
+    public static <I> Builder<I, I> builder(int queueCapacity) {
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1");
+        }
+        return new Builder<>(queueCapacity);
+    }
+
+    /**
+     * Starts every stage's workers. Items may be put before or after starting.
+     *
+     * @throws IllegalStateException if the pipeline was already started
+     */
+    public synchronized void start() {
+        if (started) {
+            throw new IllegalStateException("Pipeline has already been started");
+        }
+        started = true;
+        for (Thread worker : workers) {
+            worker.start();
+        }
+    }
+
+    /**
+     * Adds an item to the first stage, blocking while that stage's queue is full.
+     *
+     * @param item the item to process
+     * @throws InterruptedException if the thread is interrupted while waiting
+     * @throws QueueClosedException if the pipeline has been closed
+     */
+    public void put(I item) throws InterruptedException {
+        stages.get(0).queue.put(item);
+    }
+
+    /**
+     * Adds an item to the first stage, waiting up to the given time for room.
+     *
+     * @param item the item to process
+     * @param timeout how long to wait before giving up
+     * @param unit the unit of the timeout
+     * @return true if the item was accepted, false if the timeout elapsed first
+     * @throws InterruptedException if the thread is interrupted while waiting
+     * @throws QueueClosedException if the pipeline has been closed
+     */
+    public boolean offer(I item, long timeout, TimeUnit unit) throws InterruptedException {
+        return stages.get(0).queue.offer(item, timeout, unit);
+    }
+
+    /**
+     * Stops accepting items. Items already accepted flow through every stage,
+     * after which the workers exit.
+     */
+    public void close() {
+        stages.get(0).queue.close();
+    }
+
+    /**
+     * Waits for every stage to finish after {@link #close()}.
+     *
+     * @param timeout the maximum time to wait
+     * @param unit the unit of the timeout
+     * @return true if the pipeline has terminated, false if the timeout elapsed first
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return terminated.await(timeout, unit);
+    }
+
+    /**
+     * Stops the pipeline without finishing queued items: closes every queue
+     * and interrupts every worker.
+     *
+     * @return the number of items left unprocessed in the stage queues
+     */
+    public int abort() {
+        int discarded = 0;
+        for (Stage stage : stages) {
+            stage.queue.close();
+        }
+        for (Thread worker : workers) {
+            worker.interrupt();
+        }
+        for (Stage stage : stages) {
+            try {
+                discarded += stage.queue.shutdown(0, TimeUnit.NANOSECONDS).size();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return discarded;
+    }
+
+    /**
+     * Returns the stages in processing order, for monitoring.
+     *
+     * @return the stages, the final stage last
+     */
+    public List<Stage> getStages() {
+        return stages;
+    }
+
+    private void runWorker(Stage stage, Stage next) {
+        Emitter out = item -> {
+            next.queue.put(item);
+            stage.emitted.increment();
+        };
+        try {
+            while (true) {
+                Object item = stage.queue.take();
+                try {
+                    stage.operator.apply(item, out);
+                } catch (QueueClosedException e) {
+                    throw e;
+                } catch (RuntimeException e) {
+                    stage.failures.increment();
+                }
+                stage.processed.increment();
+            }
+        } catch (QueueClosedException e) {
+            // This stage's input is closed and drained, or the pipeline was aborted
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (stage.runningWorkers.decrementAndGet() == 0) {
+                if (next != null) {
+                    next.queue.close();
+                } else {
+                    terminated.countDown();
+                }
+            }
+        }
+    }
+
+    /**
+     * Receives the results of one stage's operator.
+     */
+    @FunctionalInterface
+    private interface Emitter {
+        void emit(Object item) throws InterruptedException;
+    }
+
+    /**
+     * A stage's processing step, applied to one item at a time.
+     */
+    @FunctionalInterface
+    private interface Operator {
+        void apply(Object item, Emitter out) throws InterruptedException;
+    }
+
+    private static final class StageSpec {
+        final String name;
+        final int parallelism;
+        final Operator operator;
+
+        StageSpec(String name, int parallelism, Operator operator) {
+            if (name == null) {
+                throw new NullPointerException("Stage name cannot be null");
+            }
+            if (parallelism < 1) {
+                throw new IllegalArgumentException("Parallelism must be at least 1");
+            }
+            this.name = name;
+            this.parallelism = parallelism;
+            this.operator = operator;
+        }
+    }
+
+    /**
+     * One running stage: its input queue, workers and counters.
+     */
+    public static final class Stage {
+        private final String name;
+        private final int parallelism;
+        private final Operator operator;
+        private final QueueMetrics queueMetrics = new QueueMetrics();
+        private final QueueLatency latency;
+        private final TwoLockBlockingQueue<Object> queue;
+        private final AtomicInteger runningWorkers;
+        private final LongAdder processed = new LongAdder();
+        private final LongAdder emitted = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+
+        private Stage(StageSpec spec, int queueCapacity, boolean recordLatency) {
+            this.name = spec.name;
+            this.parallelism = spec.parallelism;
+            this.operator = spec.operator;
+            this.latency = recordLatency ? new QueueLatency() : null;
+            this.queue = new TwoLockBlockingQueue<>(queueCapacity, queueMetrics, latency);
+            this.runningWorkers = new AtomicInteger(spec.parallelism);
+        }
+
+        /**
+         * @return the stage name given to the builder
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return the number of worker threads of this stage
+         */
+        public int getParallelism() {
+            return parallelism;
+        }
+
+        /**
+         * @return the number of items waiting in this stage's input queue
+         */
+        public int getQueueDepth() {
+            return queue.size();
+        }
+
+        /**
+         * @return the capacity of this stage's input queue
+         */
+        public int getQueueCapacity() {
+            return queue.getCapacity();
+        }
+
+        /**
+         * Returns the metrics of this stage's input queue. Producer blocks and
+         * wait time measure backpressure from this stage on the one before it.
+         *
+         * @return the input queue metrics
+         */
+        public QueueMetrics getQueueMetrics() {
+            return queueMetrics;
+        }
+
+        /**
+         * Returns the latency histograms of this stage's input queue. Queue time
+         * is how long items waited for a worker of this stage.
+         *
+         * @return the input queue latency, or null unless the pipeline was
+         *         built with {@link Builder#recordLatency()}
+         */
+        public QueueLatency getLatency() {
+            return latency;
+        }
+
+        /**
+         * @return the number of items this stage has taken and processed
+         */
+        public long getProcessedCount() {
+            return processed.sum();
+        }
+
+        /**
+         * @return the number of results this stage has passed to the next stage
+         */
+        public long getEmittedCount() {
+            return emitted.sum();
+        }
+
+        /**
+         * @return the number of items whose operator threw a runtime exception
+         */
+        public long getFailureCount() {
+            return failures.sum();
+        }
+
+        @Override
+        public String toString() {
+            return name + "[x" + parallelism + "]{depth=" + getQueueDepth() + "/" + getQueueCapacity()
+                + ", processed=" + getProcessedCount()
+                + ", emitted=" + getEmittedCount()
+                + ", failures=" + getFailureCount()
+                + ", backpressureMs=" + queueMetrics.getProducerWaitTime(TimeUnit.MILLISECONDS)
+                + "}";
+        }
+    }
+
+    /**
+     * Builder that adds stages in processing order.
+     *
+     * @param <I> the type of items put into the pipeline
+     * @param <T> the type of items produced by the last stage added so far
+     */
+    public static final class Builder<I, T> {
+        private final int queueCapacity;
+        private final List<StageSpec> specs = new ArrayList<>();
+        private ThreadMode threadMode = ThreadMode.PLATFORM;
+        private boolean recordLatency;
+
+        private Builder(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        /**
+         * @param threadMode how worker threads are created; platform threads by default
+         * @return this builder
+         */
+        public Builder<I, T> threadMode(ThreadMode threadMode) {
+            if (threadMode == null) {
+                throw new NullPointerException("Thread mode cannot be null");
+            }
+            this.threadMode = threadMode;
+            return this;
+        }
+
+        /**
+         * Timestamps items in every stage queue and records per-stage latency
+         * histograms, available from {@link Stage#getLatency()}.
+         *
+         * @return this builder
+         */
+        public Builder<I, T> recordLatency() {
+            this.recordLatency = true;
+            return this;
+        }
+
+        /**
+         * Adds a stage that transforms every item. A null result is dropped.
+         *
+         * @param name the stage name, used for thread names and metrics
+         * @param parallelism the number of worker threads
+         * @param mapper the transformation
+         * @param <R> the type of the results
+         * @return this builder, now producing results of type R
+         */
+        public <R> Builder<I, R> map(String name, int parallelism, Function<? super T, ? extends R> mapper) {
+            requireOperator(mapper);
+            return addStage(name, parallelism, (item, out) -> {
+                R result = mapper.apply(cast(item));
+                if (result != null) {
+                    out.emit(result);
+                }
+            });
+        }
+
+        /**
+         * Adds a stage that passes on only the items matching the predicate.
+         *
+         * @param name the stage name, used for thread names and metrics
+         * @param parallelism the number of worker threads
+         * @param predicate the condition an item must meet to continue
+         * @return this builder
+         */
+        public Builder<I, T> filter(String name, int parallelism, Predicate<? super T> predicate) {
+            requireOperator(predicate);
+            return addStage(name, parallelism, (item, out) -> {
+                if (predicate.test(cast(item))) {
+                    out.emit(item);
+                }
+            });
+        }
+
+        /**
+         * Adds a stage that turns every item into zero or more results.
+         * Null results are dropped.
+         *
+         * @param name the stage name, used for thread names and metrics
+         * @param parallelism the number of worker threads
+         * @param mapper returns the results for one item
+         * @param <R> the type of the results
+         * @return this builder, now producing results of type R
+         */
+        public <R> Builder<I, R> flatMap(String name, int parallelism,
+                                         Function<? super T, ? extends Iterable<? extends R>> mapper) {
+            requireOperator(mapper);
+            return addStage(name, parallelism, (item, out) -> {
+                Iterable<? extends R> results = mapper.apply(cast(item));
+                if (results == null) {
+                    return;
+                }
+                for (R result : results) {
+                    if (result != null) {
+                        out.emit(result);
+                    }
+                }
+            });
+        }
+
+        /**
+         * Adds the final stage and builds the pipeline. The pipeline still
+         * has to be started.
+         *
+         * @param name the stage name, used for thread names and metrics
+         * @param parallelism the number of worker threads
+         * @param handler consumes every item that reaches the end
+         * @return the pipeline
+         */
+        public Pipeline<I> to(String name, int parallelism, ItemHandler<? super T> handler) {
+            requireOperator(handler);
+            addStage(name, parallelism, (item, out) -> handler.handle(cast(item)));
+            return new Pipeline<>(this);
+        }
+
+        @SuppressWarnings("unchecked")
+        private <R> Builder<I, R> addStage(String name, int parallelism, Operator operator) {
+            specs.add(new StageSpec(name, parallelism, operator));
+            return (Builder<I, R>) this;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T cast(Object item) {
+            return (T) item;
+        }
+
+        private static void requireOperator(Object operator) {
+            if (operator == null) {
+                throw new NullPointerException("Operator cannot be null");
+            }
+        }
+    }
+}
@@ -0,0 +1,646 @@
+package com.assignment.producerconsumer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToLongFunction;
+
+/**
+ * Bounded blocking queue that hands out the most urgent item first instead of
+ * the oldest.
+ *
+ * Items are kept in a binary heap in a pre-allocated array, so an insert or a
+ * removal costs O(log n) comparisons however deep the queue is. Items that
+ * compare as equal leave in insertion order: each one carries a sequence
+ * number that breaks ties.
+ *
+ * With a deadline function the queue also drops stale work. When a consumer
+ * is about to receive an item whose deadline has passed, the item is removed
+ * and, if configured, offered to a dead-letter queue. The consumer then gets
+ * the next live item. Only the head of the heap is checked, so an expired
+ * item deeper in the heap still counts towards {@link #size()} until it
+ * reaches the head. Expired items are reported through
+ * {@link QueueListener#onExpired(int)}.
+ *
+ * {@code put} and {@code take} block exactly like the FIFO queues: a single
+ * lock with "not full" and "not empty" conditions guards the heap. Items are
+ * never displaced by more urgent ones.
+ *
+ * @param <T> the type of elements held in the queue
+ */
+public class PriorityBlockingQueue<T> implements BoundedQueue<T> {
+    private final Object[] heap;
+    private final long[] sequences;
+    private final long[] deadlines;
+    private final Comparator<? super T> comparator;
+    private final ToLongFunction<? super T> deadline;
+    private final BoundedQueue<? super T> deadLetters;
+    private final QueueListener listener;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private int count;
+    private long nextSequence;
+    private long expiredCount;
+
+    /**
+     * Constructs a queue ordered by the given comparator, with no deadlines
+     * and no listener.
+     *
+     * @param capacity the maximum number of items the queue can hold
+     * @param comparator orders items, most urgent first
+     * @throws IllegalArgumentException if capacity is less than 1
+     * @throws NullPointerException if comparator is null
+     */
+    public PriorityBlockingQueue(int capacity, Comparator<? super T> comparator) {
+        this(capacity, comparator, QueueListener.NOOP);
+    }
+
+    /**
+     * Constructs a queue ordered by the given comparator, with no deadlines,
+     * that reports its activity to the given listener.
+     *
+     * @param capacity the maximum number of items the queue can hold
+     * @param comparator orders items, most urgent first
+     * @param listener the listener to notify of queue events
+     * @throws IllegalArgumentException if capacity is less than 1
+     * @throws NullPointerException if comparator or listener is null
+     */
+    public PriorityBlockingQueue(int capacity, Comparator<? super T> comparator, QueueListener listener) {
+        this(PriorityBlockingQueue.<T>builder(capacity).comparator(comparator).listener(listener));
+    }
+
+    private PriorityBlockingQueue(Builder<T> builder) {
+        if (builder.capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1");
+        }
+        if (builder.listener == null) {
+            throw new NullPointerException("Listener cannot be null");
+        }
+        if (builder.comparator == null && builder.deadline == null) {
+            throw new NullPointerException("Comparator cannot be null without a deadline");
+        }
+        if (builder.deadLetters != null && builder.deadline == null) {
+            throw new IllegalArgumentException("A dead-letter queue requires a deadline");
+        }
+        this.heap = new Object[builder.capacity];
+        this.sequences = new long[builder.capacity];
+        this.deadlines = builder.deadline != null ? new long[builder.capacity] : null;
+        this.deadline = builder.deadline;
+        this.comparator = builder.comparator;
+        this.deadLetters = builder.deadLetters;
+        this.listener = builder.listener;
+    }
+
+    /**
+     * Returns a builder for a queue with the given capacity. Set a comparator,
+     * a deadline, or both; with only a deadline the queue is earliest-deadline-first.
+     *
+     * @param capacity the maximum number of items the queue can hold
+     * @param <T> the type of elements held in the queue
+     * @return a new builder
+     */
+    public static <T> Builder<T> builder(int capacity) {
+        return new Builder<>(capacity);
+    }
+
+    /**
+     * Adds an item to the queue. Blocks if the queue is full.
+     *
+     * @param item the item to add
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    @Override
+    public void put(T item) throws InterruptedException {
+        offer(item, Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Removes and returns the most urgent live item. Blocks if the queue is empty.
+     *
+     * @return the item removed from the queue
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    @Override
+    public T take() throws InterruptedException {
+        return poll(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Adds an item if the queue is not full. Never waits for space.
+     *
+     * @param item the item to add
+     * @return true if the item was added, false if the queue was full
+     */
+    @Override
+    public boolean offer(T item) {
+        requireItem(item);
+        long itemDeadline = deadlineOf(item);
+        int size;
+        lock.lock();
+        try {
+            if (count == heap.length) {
+                return false;
+            }
+            insert(item, itemDeadline);
+            size = count;
+        } finally {
+            lock.unlock();
+        }
+
+        listener.onPut(1, size);
+        return true;
+    }
+
+    /**
+     * Adds an item, waiting up to the given time if the queue is full.
+     *
+     * @param item the item to add
+     * @param timeout how long to wait before giving up
+     * @param unit the unit of the timeout
+     * @return true if the item was added, false if the timeout elapsed first
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    @Override
+    public boolean offer(T item, long timeout, TimeUnit unit) throws InterruptedException {
+        requireItem(item);
+        long itemDeadline = deadlineOf(item);
+        int size;
+        lock.lockInterruptibly();
+        try {
+            if (!awaitNotFull(unit.toNanos(timeout))) {
+                return false;
+            }
+            insert(item, itemDeadline);
+            size = count;
+        } finally {
+            lock.unlock();
+        }
+
+        listener.onPut(1, size);
+        return true;
+    }
+
+    /**
+     * Removes and returns the most urgent live item if one is available.
+     * Never waits for items.
+     *
+     * @return the item removed from the queue, or null if no live item was available
+     */
+    @Override
+    public T poll() {
+        T item;
+        int size;
+        List<T> expired;
+        lock.lock();
+        try {
+            expired = removeExpiredHead(null);
+            item = count > 0 ? removeHead() : null;
+            size = count;
+        } finally {
+            lock.unlock();
+        }
+
+        divert(expired);
+        if (item != null) {
+            listener.onTake(1, size);
+        }
+        return item;
+    }
+
+    /**
+     * Removes and returns the most urgent live item, waiting up to the given
+     * time if the queue is empty. Time spent discarding expired items counts
+     * towards the timeout.
+     *
+     * @param timeout how long to wait before giving up
+     * @param unit the unit of the timeout
+     * @return the item removed from the queue, or null if the timeout elapsed first
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    @Override
+    public T poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        long end = System.nanoTime() + nanos;
+        while (true) {
+            T item;
+            int size;
+            List<T> expired;
+            lock.lockInterruptibly();
+            try {
+                if (!awaitNotEmpty(nanos)) {
+                    return null;
+                }
+                expired = removeExpiredHead(null);
+                item = count > 0 ? removeHead() : null;
+                size = count;
+            } finally {
+                lock.unlock();
+            }
+
+            divert(expired);
+            if (item != null) {
+                listener.onTake(1, size);
+                return item;
+            }
+            // Every available item had expired; wait again for what is left of the timeout
+            if (nanos != Long.MAX_VALUE) {
+                nanos = end - System.nanoTime();
+            }
+        }
+    }
+
+    /**
+     * Adds all items, inserting as many as currently fit per acquisition of
+     * the lock and blocking while the queue is full.
+     *
+     * @param items the items to add
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    @Override
+    public void putAll(Collection<? extends T> items) throws InterruptedException {
+        QueueSupport.requireNoNullItems(items);
+        Iterator<? extends T> iterator = items.iterator();
+        while (iterator.hasNext()) {
+            int added = 0;
+            int size;
+            lock.lockInterruptibly();
+            try {
+                awaitNotFull(Long.MAX_VALUE);
+                while (count < heap.length && iterator.hasNext()) {
+                    T item = iterator.next();
+                    insert(item, deadlineOf(item));
+                    added++;
+                }
+                size = count;
+            } finally {
+                lock.unlock();
+            }
+            listener.onPut(added, size);
+        }
+    }
+
+    /**
+     * Removes up to maxElements live items, most urgent first, under a single
+     * acquisition of the lock. Expired items met on the way are discarded and
+     * do not count towards maxElements. Never blocks.
+     *
+     * @param destination the collection to transfer items into
+     * @param maxElements the maximum number of items to transfer
+     * @return the number of items transferred
+     */
+    @Override
+    public int drainTo(Collection<? super T> destination, int maxElements) {
+        QueueSupport.requireDestination(destination);
+        if (maxElements <= 0) {
+            return 0;
+        }
+
+        List<T> drained = new ArrayList<>(Math.min(maxElements, heap.length));
+        List<T> expired = null;
+        int size;
+        lock.lock();
+        try {
+            while (drained.size() < maxElements) {
+                expired = removeExpiredHead(expired);
+                if (count == 0) {
+                    break;
+                }
+                drained.add(removeHead());
+            }
+            size = count;
+        } finally {
+            lock.unlock();
+        }
+
+        divert(expired);
+        destination.addAll(drained);
+        if (!drained.isEmpty()) {
+            listener.onTake(drained.size(), size);
+        }
+        return drained.size();
+    }
+
+    /**
+     * Returns the current number of items, including expired items that
+     * have not reached the head yet.
+     *
+     * @return the number of items in the queue
+     */
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int getCapacity() {
+        return heap.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public boolean isFull() {
+        return size() == heap.length;
+    }
+
+    /**
+     * Returns how many items were discarded because their deadline had passed,
+     * whether or not they were accepted by the dead-letter queue.
+     *
+     * @return the number of expired items
+     */
+    public long getExpiredCount() {
+        lock.lock();
+        try {
+            return expiredCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void requireItem(Object item) {
+        if (item == null) {
+            throw new NullPointerException("Cannot add null item to queue");
+        }
+    }
+
+    private long deadlineOf(T item) {
+        return deadline != null ? deadline.applyAsLong(item) : 0L;
+    }
+
+    /**
+     * Waits up to the given time until there is room for at least one item;
+     * Long.MAX_VALUE waits without a timeout. Must be called with the lock held.
+     *
+     * @return true if there is room, false if the timeout elapsed first
+     */
+    private boolean awaitNotFull(long nanos) throws InterruptedException {
+        if (count < heap.length) {
+            return true;
+        }
+        if (nanos <= 0) {
+            return false;
+        }
+
+        listener.onProducerBlocked();
+        long start = System.nanoTime();
+        try {
+            long remaining = nanos;
+            while (count == heap.length) {
+                if (nanos == Long.MAX_VALUE) {
+                    notFull.await();
+                } else if (remaining <= 0) {
+                    return false;
+                } else {
+                    remaining = notFull.awaitNanos(remaining);
+                }
+            }
+            return true;
+        } finally {
+            listener.onProducerUnblocked(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Waits up to the given time until at least one item is available;
+     * Long.MAX_VALUE waits without a timeout. Must be called with the lock held.
+     *
+     * @return true if an item is available, false if the timeout elapsed first
+     */
+    private boolean awaitNotEmpty(long nanos) throws InterruptedException {
+        if (count > 0) {
+            return true;
+        }
+        if (nanos <= 0) {
+            return false;
+        }
+
+        listener.onConsumerBlocked();
+        long start = System.nanoTime();
+        try {
+            long remaining = nanos;
+            while (count == 0) {
+                if (nanos == Long.MAX_VALUE) {
+                    notEmpty.await();
+                } else if (remaining <= 0) {
+                    return false;
+                } else {
+                    remaining = notEmpty.awaitNanos(remaining);
+                }
+            }
+            return true;
+        } finally {
+            listener.onConsumerUnblocked(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Adds an item at the bottom of the heap and sifts it up. Must be called
+     * with the lock held and room in the heap.
+     */
+    private void insert(T item, long itemDeadline) {
+        long sequence = nextSequence++;
+        int index = count++;
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (compare(item, sequence, itemDeadline, parent) >= 0) {
+                break;
+            }
+            moveTo(parent, index);
+            index = parent;
+        }
+        place(index, item, sequence, itemDeadline);
+        notEmpty.signal();
+    }
+
+    /**
+     * Removes the head of the heap and sifts the last item down into its place.
+     * Must be called with the lock held and at least one item present.
+     */
+    @SuppressWarnings("unchecked")
+    private T removeHead() {
+        T head = (T) heap[0];
+        int last = --count;
+        T item = (T) heap[last];
+        long sequence = sequences[last];
+        long itemDeadline = deadlines != null ? deadlines[last] : 0L;
+        heap[last] = null;
+
+        if (last > 0) {
+            int index = 0;
+            int half = last >>> 1;
+            while (index < half) {
+                int child = 2 * index + 1;
+                int right = child + 1;
+                if (right < last && compareSlots(right, child) < 0) {
+                    child = right;
+                }
+                if (compare(item, sequence, itemDeadline, child) <= 0) {
+                    break;
+                }
+                moveTo(child, index);
+                index = child;
+            }
+            place(index, item, sequence, itemDeadline);
+        }
+        notFull.signal();
+        return head;
+    }
+
+    /**
+     * Removes heads whose deadline has passed. Must be called with the lock held.
+     *
+     * @param expired the list collected so far, or null
+     * @return the expired items, or null if there were none
+     */
+    private List<T> removeExpiredHead(List<T> expired) {
+        if (deadlines == null || count == 0) {
+            return expired;
+        }
+        long now = System.nanoTime();
+        while (count > 0 && now - deadlines[0] > 0) {
+            if (expired == null) {
+                expired = new ArrayList<>();
+            }
+            expired.add(removeHead());
+            expiredCount++;
+        }
+        return expired;
+    }
+
+    /**
+     * Offers expired items to the dead-letter queue, if any, and reports them.
+     * Called without the lock; items the dead-letter queue cannot take are dropped.
+     */
+    private void divert(List<T> expired) {
+        if (expired == null) {
+            return;
+        }
+        if (deadLetters != null) {
+            for (T item : expired) {
+                deadLetters.offer(item);
+            }
+        }
+        listener.onExpired(expired.size());
+    }
+
+    /**
+     * Compares an item with the one in the given slot. Without a comparator,
+     * items are ordered by their stored deadlines; nanoTime values may wrap
+     * around, so those are compared by the sign of their difference, never
+     * with Long.compare.
+     */
+    @SuppressWarnings("unchecked")
+    private int compare(T item, long sequence, long itemDeadline, int slot) {
+        int order = comparator != null
+            ? comparator.compare(item, (T) heap[slot])
+            : Long.signum(itemDeadline - deadlines[slot]);
+        return order != 0 ? order : Long.compare(sequence, sequences[slot]);
+    }
+
+    @SuppressWarnings("unchecked")
+    private int compareSlots(int a, int b) {
+        return compare((T) heap[a], sequences[a], deadlines != null ? deadlines[a] : 0L, b);
+    }
+
+    private void moveTo(int from, int to) {
+        heap[to] = heap[from];
+        sequences[to] = sequences[from];
+        if (deadlines != null) {
+            deadlines[to] = deadlines[from];
+        }
+    }
+
+    private void place(int index, T item, long sequence, long itemDeadline) {
+        heap[index] = item;
+        sequences[index] = sequence;
+        if (deadlines != null) {
+            deadlines[index] = itemDeadline;
+        }
+    }
+
+    /**
+     * Builder for priority queues.
+     *
+     * @param <T> the type of elements held in the queue
+     */
+    public static final class Builder<T> {
+        private final int capacity;
+        private Comparator<? super T> comparator;
+        private ToLongFunction<? super T> deadline;
+        private BoundedQueue<? super T> deadLetters;
+        private QueueListener listener = QueueListener.NOOP;
+
+        private Builder(int capacity) {
+            this.capacity = capacity;
+        }
+
+        /**
+         * @param comparator orders items, most urgent first; ties leave in insertion order
+         * @return this builder
+         */
+        public Builder<T> comparator(Comparator<? super T> comparator) {
+            this.comparator = comparator;
+            return this;
+        }
+
+        /**
+         * Gives every item a deadline. The function is called once per item when
+         * it is added, and must return a {@link System#nanoTime()} value; items
+         * reaching the head after that time are discarded instead of returned.
+         * Without a comparator the queue also orders items by this deadline.
+         *
+         * @param deadline returns the {@code System.nanoTime()} after which an item is stale
+         * @return this builder
+         */
+        public Builder<T> deadline(ToLongFunction<? super T> deadline) {
+            this.deadline = deadline;
+            return this;
+        }
+
+        /**
+         * @param deadLetters receives expired items through a non-blocking offer;
+         *        without one they are dropped
+         * @return this builder
+         */
+        public Builder<T> deadLetters(BoundedQueue<? super T> deadLetters) {
+            this.deadLetters = deadLetters;
+            return this;
+        }
+
+        /**
+         * @param listener the listener to notify of queue events
+         * @return this builder
+         */
+        public Builder<T> listener(QueueListener listener) {
+            this.listener = listener;
+            return this;
+        }
+
+        /**
+         * @return a new queue with this configuration
+         * @throws IllegalArgumentException if capacity is less than 1, or a
+         *         dead-letter queue is set without a deadline
+         * @throws NullPointerException if listener is null, or neither a
+         *         comparator nor a deadline is set
+         */
+        public PriorityBlockingQueue<T> build() {
+            return new PriorityBlockingQueue<>(this);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.assignment.producerconsumer;
 
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Producer thread that reads items from a source container
@@ -9,9 +10,15 @@ import java.util.List;
  * Demonstrates concurrent programming with multiple producer threads.
  */
 public class Producer implements Runnable {
-    private final BlockingQueue<String> queue;
+    private final BoundedQueue<String> queue;
     private final List<String> sourceContainer;
     private final String producerName;
+    private int batchSize = 1;
+    private long offerTimeoutNanos = -1;
+    private RateLimiter rateLimiter;
+    private ThrottlePolicy throttlePolicy;
+    private volatile int timedOutCount;
+    private volatile int shedCount;
     
     /**
      * Constructs a producer with the specified queue and source container.
@@ -20,14 +27,91 @@ public class Producer implements Runnable {
      * @param queue the shared blocking queue to put items into
      * @param sourceContainer the source container to read items from
      */
-    public Producer(String producerName, BlockingQueue<String> queue, List<String> sourceContainer) {
+    public Producer(String producerName, BoundedQueue<String> queue, List<String> sourceContainer) {
         this.producerName = producerName;
         this.queue = queue;
         this.sourceContainer = sourceContainer;
     }
     
+    /**
+     * Sets how many items are handed to the queue at once. With a batch size
+     * greater than 1 the producer uses {@link BoundedQueue#putAll}, paying one
+     * synchronization round per batch instead of one per item.
+     * Must be called before the producer thread is started.
+     * 
+     * @param batchSize the number of items per batch
+     * @throws IllegalArgumentException if batchSize is less than 1
+     */
+    public void setBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1");
+        }
+        this.batchSize = batchSize;
+    }
+    
+    /**
+     * Bounds how long the producer may block on a full queue. Each item is then
+     * handed over with {@link BoundedQueue#offer(Object, long, TimeUnit)}; an item
+     * that cannot be added in time is skipped and counted, and the producer moves
+     * on to the next one. Batches are offered item by item when a timeout is set.
+     * Must be called before the producer thread is started.
+     * 
+     * @param timeout the maximum time to wait for room for one item
+     * @param unit the unit of the timeout
+     * @throws IllegalArgumentException if timeout is negative
+     */
+    public void setOfferTimeout(long timeout, TimeUnit unit) {
+        if (timeout < 0) {
+            throw new IllegalArgumentException("Timeout must not be negative");
+        }
+        this.offerTimeoutNanos = unit.toNanos(timeout);
+    }
+    
+    /**
+     * Limits how fast this producer hands items to the queue. Each item needs a
+     * permit from the limiter, which may be shared with other producers to
+     * enforce a combined rate. Under {@link ThrottlePolicy#BLOCK} the producer
+     * waits for permits; under {@link ThrottlePolicy#SHED} items without a
+     * permit are skipped and counted.
+     * Must be called before the producer thread is started.
+     * 
+     * @param rateLimiter the limiter to take permits from
+     * @param policy what to do with an item when no permit is left
+     * @throws NullPointerException if rateLimiter or policy is null
+     */
+    public void setRateLimiter(RateLimiter rateLimiter, ThrottlePolicy policy) {
+        if (rateLimiter == null) {
+            throw new NullPointerException("Rate limiter cannot be null");
+        }
+        if (policy == null) {
+            throw new NullPointerException("Throttle policy cannot be null");
+        }
+        this.rateLimiter = rateLimiter;
+        this.throttlePolicy = policy;
+    }
+    
+    /**
+     * Returns how many items were skipped because no permit was available
+     * under {@link ThrottlePolicy#SHED}.
+     * 
+     * @return the number of shed items
+     */
+    public int getShedCount() {
+        return shedCount;
+    }
+    
+    /**
+     * Returns how many items were skipped because the offer timeout elapsed.
+     * 
+     * @return the number of items that were not added to the queue
+     */
+    public int getTimedOutCount() {
+        return timedOutCount;
+    }
+    
     /**
      * Producer thread execution: reads items from source and puts them into queue.
+     * Stops early if the queue is closed.
      * Demonstrates concurrent programming and thread synchronization.
      */
     @Override
@@ -36,15 +120,63 @@ public class Producer implements Runnable {
         System.out.println(producerName + " started");
         
         try {
-            for (String item : sourceContainer) {
-                queue.put(item);
-                Thread.sleep(100);
+            for (int from = 0; from < sourceContainer.size(); from += batchSize) {
+                int to = Math.min(from + batchSize, sourceContainer.size());
+                deliver(sourceContainer.subList(from, to));
+                Thread.sleep(100L * (to - from));
             }
             
-            System.out.println(producerName + " finished producing all items");
+            if (shedCount > 0) {
+                System.out.println(producerName + " finished producing, " + shedCount + " items shed by the rate limit");
+            } else if (timedOutCount > 0) {
+                System.out.println(producerName + " finished producing, " + timedOutCount + " items timed out");
+            } else {
+                System.out.println(producerName + " finished producing all items");
+            }
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             System.out.println(producerName + " was interrupted");
+        } catch (QueueClosedException e) {
+            System.out.println(producerName + " stopped: queue was closed");
+        }
+    }
+    
+    private void deliver(List<String> batch) throws InterruptedException {
+        batch = throttle(batch);
+        if (batch.isEmpty()) {
+            return;
+        }
+        if (offerTimeoutNanos >= 0) {
+            for (String item : batch) {
+                if (!queue.offer(item, offerTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                    timedOutCount++;
+                }
+            }
+        } else if (batch.size() == 1) {
+            queue.put(batch.get(0));
+        } else {
+            queue.putAll(batch);
+        }
+    }
+    
+    /**
+     * Takes one permit per item from the rate limiter, if there is one.
+     * 
+     * @return the items that may be delivered; under SHED, those that got a permit
+     */
+    private List<String> throttle(List<String> batch) throws InterruptedException {
+        if (rateLimiter == null) {
+            return batch;
+        }
+        if (throttlePolicy == ThrottlePolicy.BLOCK) {
+            rateLimiter.acquire(batch.size());
+            return batch;
+        }
+        int admitted = 0;
+        while (admitted < batch.size() && rateLimiter.tryAcquire()) {
+            admitted++;
         }
+        shedCount += batch.size() - admitted;
+        return batch.subList(0, admitted);
     }
 }
@@ -3,6 +3,7 @@ package com.assignment.producerconsumer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Main application demonstrating producer-consumer pattern
@@ -13,37 +14,80 @@ import java.util.List;
  * - Concurrent programming
  * - Blocking queues
  * - Wait/Notify mechanism
+ * 
+ * Pass {@code --virtual-threads} (Java 21+) to run producers and consumers on
+ * virtual threads. That mode uses {@link TwoLockBlockingQueue}, whose blocking
+ * does not pin carrier threads the way {@code synchronized} + {@code wait()} does.
+ * 
+ * Consumers are not told how many items to expect. Once every producer has
+ * finished, the main thread shuts the queue down; consumers drain what is left
+ * and exit.
+ * 
+ * Pass {@code --load} followed by {@link LoadGenerator} options to run a
+ * configurable load test instead of this fixed demonstration.
+ * 
+ * Pass {@code --autoscale} to replace the fixed consumers with an
+ * {@link AutoscalingConsumerPool} that runs between {@value #MIN_CONSUMERS}
+ * and {@value #MAX_CONSUMERS} consumers depending on load.
  */
 public class ProducerConsumerDemo {
     private static final int QUEUE_CAPACITY = 5;
     private static final int NUM_PRODUCERS = 3;
     private static final int NUM_CONSUMERS = 2;
+    private static final int MIN_CONSUMERS = 1;
+    private static final int MAX_CONSUMERS = 4;
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+    
+    private static final String VIRTUAL_THREADS_OPTION = "--virtual-threads";
+    private static final String AUTOSCALE_OPTION = "--autoscale";
+    private static final String LOAD_OPTION = "--load";
     
-    public static void main(String[] args) {
+    public static void main(String[] args) throws InterruptedException {
+        if (args.length > 0 && args[0].equals(LOAD_OPTION)) {
+            LoadGenerator.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        boolean autoscale = Arrays.asList(args).contains(AUTOSCALE_OPTION);
+        ThreadMode threadMode = Arrays.asList(args).contains(VIRTUAL_THREADS_OPTION)
+            ? ThreadMode.VIRTUAL
+            : ThreadMode.PLATFORM;
+        if (!threadMode.isSupported()) {
+            System.err.println("Virtual threads require Java 21 or later (running " + System.getProperty("java.version") + ")");
+            return;
+        }
+        
         System.out.println("=== Producer-Consumer Pattern Demonstration ===\n");
         System.out.println("Configuration:");
         System.out.println("  Queue Capacity: " + QUEUE_CAPACITY);
         System.out.println("  Number of Producers: " + NUM_PRODUCERS);
-        System.out.println("  Number of Consumers: " + NUM_CONSUMERS);
+        System.out.println("  Number of Consumers: "
+            + (autoscale ? MIN_CONSUMERS + ".." + MAX_CONSUMERS + " (autoscaled)" : NUM_CONSUMERS));
+        System.out.println("  Thread Mode: " + threadMode);
         System.out.println();
         
-        BlockingQueue<String> sharedQueue = new BlockingQueue<>(QUEUE_CAPACITY);
+        QueueMetrics metrics = new QueueMetrics();
+        QueueLatency latency = new QueueLatency();
+        QueueListener listener = QueueListener.composite(new LoggingQueueListener(), metrics);
+        CloseableQueue<String> sharedQueue = threadMode == ThreadMode.VIRTUAL
+            ? new TwoLockBlockingQueue<>(QUEUE_CAPACITY, listener, latency)
+            : BlockingQueue.<String>builder(QUEUE_CAPACITY).listener(listener).latency(latency).build();
         
         List<List<String>> sourceContainers = new ArrayList<>();
         sourceContainers.add(new ArrayList<>(Arrays.asList("Apple", "Banana", "Cherry")));
         sourceContainers.add(new ArrayList<>(Arrays.asList("Dog", "Elephant", "Fox")));
         sourceContainers.add(new ArrayList<>(Arrays.asList("Green", "Blue", "Red")));
         
-        List<String> destinationContainer = new ArrayList<>();
+        ThreadLocalSink<String> destination = new ThreadLocalSink<>(true);
         
         List<Thread> producerThreads = new ArrayList<>();
         for (int i = 0; i < NUM_PRODUCERS; i++) {
+            String name = "Producer-" + (i + 1);
             Producer producer = new Producer(
-                "Producer-" + (i + 1),
+                name,
                 sharedQueue,
                 sourceContainers.get(i)
             );
-            Thread thread = new Thread(producer);
+            Thread thread = threadMode.newThread(name, producer);
             producerThreads.add(thread);
             thread.start();
         }
@@ -53,18 +97,22 @@ public class ProducerConsumerDemo {
             .sum();
         
         List<Thread> consumerThreads = new ArrayList<>();
-        int itemsPerConsumer = totalItems / NUM_CONSUMERS;
-        int remainder = totalItems % NUM_CONSUMERS;
-        
-        for (int i = 0; i < NUM_CONSUMERS; i++) {
-            int itemsToConsume = itemsPerConsumer + (i < remainder ? 1 : 0);
+        AutoscalingConsumerPool<String> consumerPool = null;
+        if (autoscale) {
+            consumerPool = AutoscalingConsumerPool.<String>builder(sharedQueue, destination::add)
+                .consumers(MIN_CONSUMERS, MAX_CONSUMERS)
+                .threadMode(threadMode)
+                .build();
+            consumerPool.start();
+        }
+        for (int i = 0; !autoscale && i < NUM_CONSUMERS; i++) {
+            String name = "Consumer-" + (i + 1);
             Consumer consumer = new Consumer(
-                "Consumer-" + (i + 1),
+                name,
                 sharedQueue,
-                destinationContainer,
-                itemsToConsume
+                destination
             );
-            Thread thread = new Thread(consumer);
+            Thread thread = threadMode.newThread(name, consumer);
             consumerThreads.add(thread);
             thread.start();
         }
@@ -80,6 +128,17 @@ public class ProducerConsumerDemo {
         }
         System.out.println("[Main Thread] All producer threads have completed\n");
         
+        System.out.println("[Main Thread] Shutting down the queue...");
+        List<String> undrained;
+        try {
+            undrained = sharedQueue.shutdown(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("Main thread interrupted while shutting down the queue");
+            return;
+        }
+        System.out.println("[Main Thread] Queue closed, " + undrained.size() + " items not drained\n");
+        
         System.out.println("[Main Thread] Waiting for consumer threads to complete...");
         for (Thread consumerThread : consumerThreads) {
             try {
@@ -89,8 +148,19 @@ public class ProducerConsumerDemo {
                 System.err.println("Main thread interrupted while waiting for consumers");
             }
         }
+        if (consumerPool != null) {
+            try {
+                consumerPool.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                System.err.println("Main thread interrupted while waiting for consumers");
+            }
+            System.out.println("[Main Thread] " + consumerPool);
+        }
         System.out.println("[Main Thread] All consumer threads have completed\n");
         
+        List<String> destinationContainer = destination.toList();
+        
         System.out.println("=== Results ===");
         System.out.println("Total items produced: " + totalItems);
         System.out.println("Total items consumed: " + destinationContainer.size());
@@ -99,6 +169,18 @@ public class ProducerConsumerDemo {
             System.out.println("  " + (i + 1) + ". " + destinationContainer.get(i));
         }
         
+        System.out.println("\nQueue metrics:");
+        System.out.println("  Puts: " + metrics.getPuts());
+        System.out.println("  Takes: " + metrics.getTakes());
+        System.out.println("  Producer blocks: " + metrics.getProducerBlocks()
+            + " (waited " + metrics.getProducerWaitTime(TimeUnit.MILLISECONDS) + " ms)");
+        System.out.println("  Consumer blocks: " + metrics.getConsumerBlocks()
+            + " (waited " + metrics.getConsumerWaitTime(TimeUnit.MILLISECONDS) + " ms)");
+        System.out.println("\nQueue latency:");
+        System.out.println("  Time in queue: " + latency.getQueueTime());
+        System.out.println("  Put blocked: " + latency.getPutBlockedTime());
+        System.out.println("  Take blocked: " + latency.getTakeBlockedTime());
+        
         if (destinationContainer.size() == totalItems) {
             System.out.println("\n✓ Success: All items were produced and consumed!");
         } else {
@@ -0,0 +1,16 @@
+package com.assignment.producerconsumer;
+
+/**
+ * Thrown when an item is added to a queue that has been closed, or when a
+ * consumer waits for an item from a queue that is closed and empty.
+ */
+public class QueueClosedException extends IllegalStateException {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructs the exception.
+     */
+    public QueueClosedException() {
+        super("Queue is closed");
+    }
+}
@@ -0,0 +1,18 @@
+package com.assignment.producerconsumer;
+
+/**
+ * Thrown by a queue using {@link OverflowPolicy#FAIL_FAST} when an item
+ * cannot be added because the queue is full.
+ */
+public class QueueFullException extends IllegalStateException {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructs the exception for a queue of the given capacity.
+     * 
+     * @param capacity the capacity of the full queue
+     */
+    public QueueFullException(int capacity) {
+        super("Queue is full (capacity=" + capacity + ")");
+    }
+}
@@ -0,0 +1,76 @@
+package com.assignment.producerconsumer;
+
+/**
+ * Latency histograms for one queue.
+ *
+ * Three distributions are kept:
+ * - queue time: how long each item waited in the queue between being added
+ *   and being taken by a consumer
+ * - put blocked time: how long each producer wait for space lasted
+ * - take blocked time: how long each consumer wait for an item lasted
+ *
+ * Long put waits mean consumers cannot keep up and producers are being held
+ * back; long take waits mean consumers are starved. Queue time is what an
+ * item experiences end to end in the queue.
+ *
+ * Blocked times are recorded from the listener's wait events, so any queue
+ * that reports them works. Queue time needs the queue to timestamp items:
+ * pass this object to {@link BlockingQueue.Builder#latency(QueueLatency)} or the
+ * {@link TwoLockBlockingQueue} constructor, which also registers it as a listener.
+ * Items removed by shutdown, expiry or {@link OverflowPolicy#DROP_OLDEST}
+ * were not taken by a consumer and are not recorded.
+ */
+public class QueueLatency implements QueueListener {
+    private final LatencyHistogram queueTime = new LatencyHistogram();
+    private final LatencyHistogram putBlockedTime = new LatencyHistogram();
+    private final LatencyHistogram takeBlockedTime = new LatencyHistogram();
+
+    /**
+     * Records how long a taken item spent in the queue. Lock-free, so queues
+     * call it while still holding their lock.
+     *
+     * @param nanos the time between the item being added and being taken
+     */
+    public void recordQueueTime(long nanos) {
+        queueTime.record(nanos);
+    }
+
+    @Override
+    public void onProducerUnblocked(long waitNanos) {
+        putBlockedTime.record(waitNanos);
+    }
+
+    @Override
+    public void onConsumerUnblocked(long waitNanos) {
+        takeBlockedTime.record(waitNanos);
+    }
+
+    /**
+     * @return the distribution of time items spent in the queue
+     */
+    public LatencyHistogram getQueueTime() {
+        return queueTime;
+    }
+
+    /**
+     * @return the distribution of producer waits for space
+     */
+    public LatencyHistogram getPutBlockedTime() {
+        return putBlockedTime;
+    }
+
+    /**
+     * @return the distribution of consumer waits for items
+     */
+    public LatencyHistogram getTakeBlockedTime() {
+        return takeBlockedTime;
+    }
+
+    @Override
+    public String toString() {
+        return "QueueLatency{queueTime=" + queueTime
+            + ", putBlocked=" + putBlockedTime
+            + ", takeBlocked=" + takeBlockedTime
+            + "}";
+    }
+}
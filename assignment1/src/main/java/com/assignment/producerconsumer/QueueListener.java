@@ -0,0 +1,157 @@
+package com.assignment.producerconsumer;
+
+/**
+ * Receives events from a queue as producers and consumers use it.
+ * 
+ * Put and take events are reported after the queue has released its lock, so a
+ * listener never extends the critical section on the fast path. Blocked and
+ * unblocked events are reported only when a thread actually has to wait.
+ * Callbacks run on the producer or consumer thread that caused the event and
+ * must therefore be cheap and thread-safe.
+ * 
+ * All methods default to doing nothing; {@link #NOOP} is used when no listener
+ * is configured.
+ */
+public interface QueueListener {
+
+    /**
+     * Listener that ignores every event.
+     */
+    QueueListener NOOP = new QueueListener() {
+    };
+
+    /**
+     * Called after one or more items were added to the queue.
+     * 
+     * @param items the number of items added
+     * @param size the queue size right after the items were added
+     */
+    default void onPut(int items, int size) {
+    }
+
+    /**
+     * Called after one or more items were removed from the queue.
+     * 
+     * @param items the number of items removed
+     * @param size the queue size right after the items were removed
+     */
+    default void onTake(int items, int size) {
+    }
+
+    /**
+     * Called when a producer finds the queue full and is about to wait.
+     */
+    default void onProducerBlocked() {
+    }
+
+    /**
+     * Called when a blocked producer stops waiting, whether it can proceed
+     * or was interrupted.
+     * 
+     * @param waitNanos how long the producer waited
+     */
+    default void onProducerUnblocked(long waitNanos) {
+    }
+
+    /**
+     * Called when a consumer finds the queue empty and is about to wait.
+     */
+    default void onConsumerBlocked() {
+    }
+
+    /**
+     * Called when a blocked consumer stops waiting, whether it can proceed
+     * or was interrupted.
+     * 
+     * @param waitNanos how long the consumer waited
+     */
+    default void onConsumerUnblocked(long waitNanos) {
+    }
+
+    /**
+     * Called when items arrived at a full queue and were handled by its
+     * {@link OverflowPolicy} instead of waiting.
+     * 
+     * @param policy the policy that handled the items
+     * @param items the number of items dropped, run by the caller or rejected
+     */
+    default void onOverflow(OverflowPolicy policy, int items) {
+    }
+
+    /**
+     * Called when items left the queue without being taken because their
+     * deadline had passed.
+     * 
+     * @param items the number of expired items
+     */
+    default void onExpired(int items) {
+    }
+
+    /**
+     * Returns a listener that forwards every event to each of the given
+     * listeners in order.
+     * 
+     * @param listeners the listeners to notify
+     * @return a listener combining all of them
+     */
+    static QueueListener composite(QueueListener... listeners) {
+        QueueListener[] targets = listeners.clone();
+        return new QueueListener() {
+            @Override
+            public void onPut(int items, int size) {
+                for (QueueListener listener : targets) {
+                    listener.onPut(items, size);
+                }
+            }
+
+            @Override
+            public void onTake(int items, int size) {
+                for (QueueListener listener : targets) {
+                    listener.onTake(items, size);
+                }
+            }
+
+            @Override
+            public void onProducerBlocked() {
+                for (QueueListener listener : targets) {
+                    listener.onProducerBlocked();
+                }
+            }
+
+            @Override
+            public void onProducerUnblocked(long waitNanos) {
+                for (QueueListener listener : targets) {
+                    listener.onProducerUnblocked(waitNanos);
+                }
+            }
+
+            @Override
+            public void onConsumerBlocked() {
+                for (QueueListener listener : targets) {
+                    listener.onConsumerBlocked();
+                }
+            }
+
+            @Override
+            public void onConsumerUnblocked(long waitNanos) {
+                for (QueueListener listener : targets) {
+                    listener.onConsumerUnblocked(waitNanos);
+                }
+            }
+
+            @Override
+            public void onOverflow(OverflowPolicy policy, int items) {
+                for (QueueListener listener : targets) {
+                    listener.onOverflow(policy, items);
+                }
+            }
+
+            @Override
+            public void onExpired(int items) {
+                for (QueueListener listener : targets) {
+                    listener.onExpired(items);
+                }
+            }
+        };
+    }
+}
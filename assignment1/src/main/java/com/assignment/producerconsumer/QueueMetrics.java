@@ -0,0 +1,172 @@
+package com.assignment.producerconsumer;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Queue listener that maintains counters about queue usage.
+ * 
+ * Counters are striped {@link LongAdder}s, so recording an event from many
+ * producer and consumer threads does not create a new point of contention,
+ * and any thread can read the current values at any time without locking.
+ */
+public class QueueMetrics implements QueueListener {
+    private final LongAdder puts = new LongAdder();
+    private final LongAdder takes = new LongAdder();
+    private final LongAdder producerBlocks = new LongAdder();
+    private final LongAdder consumerBlocks = new LongAdder();
+    private final LongAdder producerWaitNanos = new LongAdder();
+    private final LongAdder consumerWaitNanos = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+    private final Map<OverflowPolicy, LongAdder> overflows = new EnumMap<>(OverflowPolicy.class);
+
+    /**
+     * Constructs metrics with every counter at zero.
+     */
+    public QueueMetrics() {
+        for (OverflowPolicy policy : OverflowPolicy.values()) {
+            overflows.put(policy, new LongAdder());
+        }
+    }
+
+    @Override
+    public void onPut(int items, int size) {
+        puts.add(items);
+    }
+
+    @Override
+    public void onTake(int items, int size) {
+        takes.add(items);
+    }
+
+    @Override
+    public void onProducerBlocked() {
+        producerBlocks.increment();
+    }
+
+    @Override
+    public void onProducerUnblocked(long waitNanos) {
+        producerWaitNanos.add(waitNanos);
+    }
+
+    @Override
+    public void onConsumerBlocked() {
+        consumerBlocks.increment();
+    }
+
+    @Override
+    public void onConsumerUnblocked(long waitNanos) {
+        consumerWaitNanos.add(waitNanos);
+    }
+
+    @Override
+    public void onOverflow(OverflowPolicy policy, int items) {
+        overflows.get(policy).add(items);
+    }
+
+    @Override
+    public void onExpired(int items) {
+        expired.add(items);
+    }
+
+    /**
+     * @return the total number of items added to the queue
+     */
+    public long getPuts() {
+        return puts.sum();
+    }
+
+    /**
+     * @return the total number of items removed from the queue
+     */
+    public long getTakes() {
+        return takes.sum();
+    }
+
+    /**
+     * @return how many times a producer had to wait because the queue was full
+     */
+    public long getProducerBlocks() {
+        return producerBlocks.sum();
+    }
+
+    /**
+     * @return how many times a consumer had to wait because the queue was empty
+     */
+    public long getConsumerBlocks() {
+        return consumerBlocks.sum();
+    }
+
+    /**
+     * @param unit the unit to express the result in
+     * @return the total time producers spent waiting for space
+     */
+    public long getProducerWaitTime(TimeUnit unit) {
+        return unit.convert(producerWaitNanos.sum(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @param unit the unit to express the result in
+     * @return the total time consumers spent waiting for items
+     */
+    public long getConsumerWaitTime(TimeUnit unit) {
+        return unit.convert(consumerWaitNanos.sum(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @param policy the overflow policy
+     * @return how many items that policy dropped, ran on the caller or rejected
+     */
+    public long getOverflows(OverflowPolicy policy) {
+        return overflows.get(policy).sum();
+    }
+
+    /**
+     * @return how many items were discarded because their deadline had passed
+     */
+    public long getExpired() {
+        return expired.sum();
+    }
+
+    /**
+     * Returns the current queue depth derived from the put and take counters.
+     * Events are recorded just after the queue releases its lock, so under
+     * concurrent use the value can trail the real size by a few items.
+     * Items discarded by {@link OverflowPolicy#DROP_OLDEST} left the queue
+     * without being taken and are subtracted as well, as are expired items.
+     * 
+     * @return the number of items currently in the queue
+     */
+    public long getDepth() {
+        long takes = this.takes.sum() + getOverflows(OverflowPolicy.DROP_OLDEST) + expired.sum();
+        long puts = this.puts.sum();
+        return Math.max(0, puts - takes);
+    }
+
+    @Override
+    public String toString() {
+        return "QueueMetrics{puts=" + getPuts()
+            + ", takes=" + getTakes()
+            + ", depth=" + getDepth()
+            + ", producerBlocks=" + getProducerBlocks()
+            + ", consumerBlocks=" + getConsumerBlocks()
+            + ", producerWaitMs=" + getProducerWaitTime(TimeUnit.MILLISECONDS)
+            + ", consumerWaitMs=" + getConsumerWaitTime(TimeUnit.MILLISECONDS)
+            + ", overflows=" + overflowsToString()
+            + ", expired=" + getExpired()
+            + "}";
+    }
+
+    private String overflowsToString() {
+        Map<OverflowPolicy, Long> counts = new EnumMap<>(OverflowPolicy.class);
+        for (Map.Entry<OverflowPolicy, LongAdder> entry : overflows.entrySet()) {
+            long count = entry.getValue().sum();
+            if (count > 0) {
+                counts.put(entry.getKey(), count);
+            }
+        }
+        return counts.toString();
+    }
+}
@@ -0,0 +1,404 @@
+package com.assignment.producerconsumer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Exposes a closeable queue as a {@link Flow.Publisher}, so reactive code can
+ * consume it without a thread blocked in {@code take} per consumer.
+ *
+ * Producers add items through this object, which wraps the queue the same way
+ * {@link RateLimitedQueue} does. Subscribers compete for the items like
+ * consumers of a shared queue: each item goes to exactly one subscriber.
+ *
+ * Delivery is driven by demand:
+ * - {@code request(n)} schedules the subscription on the executor
+ * - a scheduled subscription moves up to {@code batchSize} items, and never
+ *   more than it was asked for, out of the queue with one {@code drainTo}
+ *   and hands them to {@code onNext}; it is rescheduled while it has both
+ *   demand and items, so other subscriptions get the executor in between
+ * - a subscription with demand that finds the queue empty registers as
+ *   waiting and returns its thread; the next put, offer or putAll through
+ *   this publisher reschedules one waiting subscription that still has
+ *   demand per item added
+ *
+ * No executor thread ever waits for items, so a few threads can serve
+ * thousands of subscriptions. Signals to one subscriber are never concurrent.
+ * When the queue is closed and empty, every subscriber receives
+ * {@code onComplete}. Items added to or closing the wrapped queue directly
+ * wake no waiting subscription; they are seen on the next request.
+ *
+ * @param <T> the type of elements held in the queue
+ */
+public class QueuePublisher<T> implements CloseableQueue<T>, Flow.Publisher<T> {
+
+    /**
+     * Items moved per scheduled delivery when no batch size is given.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 64;
+
+    private final CloseableQueue<T> queue;
+    private final Executor executor;
+    private final int batchSize;
+    private final ConcurrentLinkedQueue<QueueSubscription> waiting = new ConcurrentLinkedQueue<>();
+    private final Set<QueueSubscription> subscriptions = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Constructs a publisher that delivers on the common fork-join pool in
+     * batches of {@link #DEFAULT_BATCH_SIZE}.
+     *
+     * @param queue the queue to publish
+     * @throws NullPointerException if queue is null
+     */
+    public QueuePublisher(CloseableQueue<T> queue) {
+        this(queue, ForkJoinPool.commonPool(), DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Constructs a publisher.
+     *
+     * @param queue the queue to publish
+     * @param executor runs deliveries to subscribers; tasks never block on the queue
+     * @param batchSize the most items delivered to a subscriber per scheduled task
+     * @throws IllegalArgumentException if batchSize is less than 1
+     * @throws NullPointerException if queue or executor is null
+     */
+    public QueuePublisher(CloseableQueue<T> queue, Executor executor, int batchSize) {
+        if (queue == null) {
+            throw new NullPointerException("Queue cannot be null");
+        }
+        if (executor == null) {
+            throw new NullPointerException("Executor cannot be null");
+        }
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1");
+        }
+        this.queue = queue;
+        this.executor = executor;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Subscribes a subscriber. It receives {@code onSubscribe} on the calling
+     * thread and later signals on the executor.
+     *
+     * @param subscriber the subscriber
+     * @throws NullPointerException if subscriber is null
+     */
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        if (subscriber == null) {
+            throw new NullPointerException("Subscriber cannot be null");
+        }
+        QueueSubscription subscription = new QueueSubscription(subscriber);
+        subscriptions.add(subscription);
+        subscription.start();
+    }
+
+    @Override
+    public void put(T item) throws InterruptedException {
+        queue.put(item);
+        wake(1);
+    }
+
+    @Override
+    public boolean offer(T item) {
+        if (!queue.offer(item)) {
+            return false;
+        }
+        wake(1);
+        return true;
+    }
+
+    @Override
+    public boolean offer(T item, long timeout, TimeUnit unit) throws InterruptedException {
+        if (!queue.offer(item, timeout, unit)) {
+            return false;
+        }
+        wake(1);
+        return true;
+    }
+
+    @Override
+    public void putAll(Collection<? extends T> items) throws InterruptedException {
+        queue.putAll(items);
+        wake(items.size());
+    }
+
+    @Override
+    public T take() throws InterruptedException {
+        return queue.take();
+    }
+
+    @Override
+    public T poll() {
+        return queue.poll();
+    }
+
+    @Override
+    public T poll(long timeout, TimeUnit unit) throws InterruptedException {
+        return queue.poll(timeout, unit);
+    }
+
+    @Override
+    public int drainTo(Collection<? super T> destination, int maxElements) {
+        return queue.drainTo(destination, maxElements);
+    }
+
+    /**
+     * Closes the queue. Subscribers receive the remaining items, as far as
+     * their demand allows, and then {@code onComplete}.
+     */
+    @Override
+    public void close() {
+        queue.close();
+        signalAll();
+    }
+
+    @Override
+    public boolean isClosed() {
+        return queue.isClosed();
+    }
+
+    /**
+     * Closes the queue and waits for subscribers to drain it. Undrained items
+     * are removed and returned, and every subscriber then completes.
+     */
+    @Override
+    public List<T> shutdown(long timeout, TimeUnit unit) throws InterruptedException {
+        close();
+        List<T> undrained = queue.shutdown(timeout, unit);
+        signalAll();
+        return undrained;
+    }
+
+    @Override
+    public int size() {
+        return queue.size();
+    }
+
+    @Override
+    public int getCapacity() {
+        return queue.getCapacity();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return queue.isEmpty();
+    }
+
+    @Override
+    public boolean isFull() {
+        return queue.isFull();
+    }
+
+    /**
+     * @return the most items delivered to a subscriber per scheduled task
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * @return the number of subscriptions not yet completed or cancelled
+     */
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    /**
+     * Reschedules up to the given number of live waiting subscriptions with
+     * demand. Those without demand are dropped from the list; they register
+     * again when a request finds the queue empty.
+     */
+    private void wake(int count) {
+        int woken = 0;
+        QueueSubscription subscription;
+        while (woken < count && (subscription = waiting.poll()) != null) {
+            subscription.inWaitList.set(false);
+            if (!subscription.done.get() && subscription.demand.get() > 0) {
+                subscription.signal();
+                woken++;
+            }
+        }
+    }
+
+    /**
+     * Schedules every live subscription, including those without demand, so
+     * each sees a closed and empty queue and completes.
+     */
+    private void signalAll() {
+        for (QueueSubscription subscription : subscriptions) {
+            subscription.signal();
+        }
+    }
+
+    /**
+     * Demand and delivery state of one subscriber.
+     *
+     * All signals to the subscriber are made by whichever thread runs
+     * {@link #run()}, and the work-in-progress counter lets at most one such
+     * task exist at a time: {@link #signal()} schedules a task only when the
+     * counter goes from 0 to 1, and a task that finishes with new signals
+     * pending schedules the next one itself.
+     */
+    private final class QueueSubscription implements Flow.Subscription {
+        private final Flow.Subscriber<? super T> subscriber;
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger workInProgress = new AtomicInteger(1);
+        private final AtomicBoolean inWaitList = new AtomicBoolean();
+        private final List<T> batch = new ArrayList<>();
+        private final AtomicBoolean done = new AtomicBoolean();
+        private volatile Throwable invalidRequest;
+
+        QueueSubscription(Flow.Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        /**
+         * Calls onSubscribe while holding the work-in-progress count, so no
+         * delivery can start before it returns.
+         */
+        void start() {
+            try {
+                subscriber.onSubscribe(this);
+            } catch (RuntimeException e) {
+                finish();
+                throw e;
+            }
+            if (workInProgress.decrementAndGet() != 0) {
+                schedule();
+            }
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                invalidRequest = new IllegalArgumentException("Request must be positive, got " + n);
+            } else {
+                demand.getAndAccumulate(n, (current, added) -> {
+                    long sum = current + added;
+                    return sum < 0 ? Long.MAX_VALUE : sum;
+                });
+            }
+            signal();
+        }
+
+        @Override
+        public void cancel() {
+            if (finish() && !queue.isEmpty()) {
+                // This subscription may have been woken for items it will now leave behind
+                wake(1);
+            }
+        }
+
+        void signal() {
+            if (workInProgress.getAndIncrement() == 0) {
+                schedule();
+            }
+        }
+
+        private void schedule() {
+            try {
+                executor.execute(this::run);
+            } catch (RejectedExecutionException e) {
+                if (finish()) {
+                    subscriber.onError(e);
+                }
+            }
+        }
+
+        private void run() {
+            int missed = workInProgress.get();
+            boolean more;
+            try {
+                more = deliver();
+            } catch (RuntimeException e) {
+                // A subscriber that throws is treated as having cancelled
+                finish();
+                throw e;
+            }
+            if (more || workInProgress.addAndGet(-missed) != 0) {
+                schedule();
+            }
+        }
+
+        /**
+         * Delivers one batch, completes, or registers as waiting.
+         *
+         * @return true if this subscription should run again right away
+         */
+        private boolean deliver() {
+            if (done.get()) {
+                return false;
+            }
+            if (invalidRequest != null) {
+                finish();
+                subscriber.onError(invalidRequest);
+                return false;
+            }
+            long requested = demand.get();
+            if (requested > 0) {
+                int drained = queue.drainTo(batch, (int) Math.min(batchSize, requested));
+                if (drained > 0) {
+                    if (requested != Long.MAX_VALUE) {
+                        demand.addAndGet(-drained);
+                    }
+                    try {
+                        for (T item : batch) {
+                            subscriber.onNext(item);
+                        }
+                    } finally {
+                        batch.clear();
+                    }
+                    if (queue.isClosed() && queue.isEmpty()) {
+                        // This batch emptied a closed queue; subscribers without demand complete too
+                        signalAll();
+                    }
+                    return true;
+                }
+            }
+            if (queue.isClosed() && queue.isEmpty()) {
+                if (finish()) {
+                    subscriber.onComplete();
+                }
+                return false;
+            }
+            if (requested == 0) {
+                if (!queue.isEmpty()) {
+                    // Demand may have run out after a wakeup for these items was sent; pass it on
+                    wake(1);
+                }
+                return false;
+            }
+            if (inWaitList.compareAndSet(false, true)) {
+                waiting.offer(this);
+            }
+            // Items or a close that arrived before registering would not have woken us
+            return !queue.isEmpty() || queue.isClosed();
+        }
+
+        /**
+         * @return true if this call ended the subscription
+         */
+        private boolean finish() {
+            if (!done.compareAndSet(false, true)) {
+                return false;
+            }
+            subscriptions.remove(this);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.assignment.producerconsumer;
+
+import java.util.Collection;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Argument checks and back-off shared by the queue implementations.
+ */
+final class QueueSupport {
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 200;
+    private static final long PARK_NANOS = 50_000L;
+
+    private QueueSupport() {
+    }
+
+    /**
+     * Rejects a null collection or a collection containing null items,
+     * before any of its items are inserted.
+     * 
+     * @param items the items about to be inserted
+     * @throws NullPointerException if the collection or any item is null
+     */
+    static void requireNoNullItems(Collection<?> items) {
+        if (items == null) {
+            throw new NullPointerException("Item collection cannot be null");
+        }
+        for (Object item : items) {
+            if (item == null) {
+                throw new NullPointerException("Cannot add null item to queue");
+            }
+        }
+    }
+
+    /**
+     * Rejects a null destination for a drain operation.
+     * 
+     * @param destination the collection items are drained into
+     * @throws NullPointerException if the destination is null
+     */
+    static void requireDestination(Collection<?> destination) {
+        if (destination == null) {
+            throw new NullPointerException("Destination collection cannot be null");
+        }
+    }
+
+    /**
+     * Backs off while a lock-free queue cannot make progress: spin, then yield,
+     * then park for short intervals.
+     * 
+     * @param idle the number of consecutive failed attempts so far
+     * @return the updated attempt count
+     * @throws InterruptedException if the thread has been interrupted
+     */
+    static int backOff(int idle) throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+        if (idle < SPIN_TRIES) {
+            Thread.onSpinWait();
+        } else if (idle < YIELD_TRIES) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(PARK_NANOS);
+        }
+        return idle + 1;
+    }
+}
@@ -0,0 +1,208 @@
+package com.assignment.producerconsumer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Queue wrapper that admits items no faster than a {@link RateLimiter} allows.
+ *
+ * Every item added through {@code put} or {@code putAll} needs a permit first.
+ * Under {@link ThrottlePolicy#BLOCK} the producer waits for it; under
+ * {@link ThrottlePolicy#SHED} an item without a permit is dropped and counted.
+ * {@code offer} never waits for a permit and returns false without one, and
+ * timed {@code offer} waits for a permit only within its timeout. Both check
+ * for room before taking a permit, so offers to a full queue do not lower the
+ * admitted rate; a permit is spent only if the queue fills between that check
+ * and the insert. Consumers are
+ * not limited: {@code take}, {@code poll} and {@code drainTo} go straight to
+ * the wrapped queue.
+ *
+ * The limiter can be shared by several wrapped queues, or with producers that
+ * apply it themselves, to enforce one combined rate.
+ *
+ * @param <T> the type of elements held in the queue
+ */
+public class RateLimitedQueue<T> implements BoundedQueue<T> {
+    private final BoundedQueue<T> queue;
+    private final RateLimiter limiter;
+    private final ThrottlePolicy policy;
+    private final LongAdder shed = new LongAdder();
+
+    /**
+     * Wraps a queue.
+     *
+     * @param queue the queue to add admitted items to
+     * @param limiter the limiter that issues one permit per item
+     * @param policy what put and putAll do when no permit is left
+     * @throws NullPointerException if any argument is null
+     */
+    public RateLimitedQueue(BoundedQueue<T> queue, RateLimiter limiter, ThrottlePolicy policy) {
+        if (queue == null) {
+            throw new NullPointerException("Queue cannot be null");
+        }
+        if (limiter == null) {
+            throw new NullPointerException("Rate limiter cannot be null");
+        }
+        if (policy == null) {
+            throw new NullPointerException("Throttle policy cannot be null");
+        }
+        this.queue = queue;
+        this.limiter = limiter;
+        this.policy = policy;
+    }
+
+    /**
+     * Adds an item once a permit is available, or drops it under SHED if none is.
+     *
+     * @param item the item to add
+     * @throws InterruptedException if the thread is interrupted while waiting
+     *         for a permit or for room in the queue
+     */
+    @Override
+    public void put(T item) throws InterruptedException {
+        if (item == null) {
+            throw new NullPointerException("Cannot add null item to queue");
+        }
+        if (policy == ThrottlePolicy.BLOCK) {
+            limiter.acquire();
+        } else if (!limiter.tryAcquire()) {
+            shed.increment();
+            return;
+        }
+        queue.put(item);
+    }
+
+    @Override
+    public T take() throws InterruptedException {
+        return queue.take();
+    }
+
+    /**
+     * Adds an item if room and a permit are both available now. No permit is
+     * taken while the queue is full.
+     *
+     * @param item the item to add
+     * @return true if the item was added, false if it was throttled or the queue was full
+     */
+    @Override
+    public boolean offer(T item) {
+        if (item == null) {
+            throw new NullPointerException("Cannot add null item to queue");
+        }
+        return !queue.isFull() && limiter.tryAcquire() && queue.offer(item);
+    }
+
+    /**
+     * Adds an item if room and then a permit become available within the
+     * timeout. Waits for room first, so no permit is taken while the queue is
+     * full.
+     *
+     * @param item the item to add
+     * @param timeout how long to wait in total
+     * @param unit the unit of the timeout
+     * @return true if the item was added, false if the timeout elapsed first
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    @Override
+    public boolean offer(T item, long timeout, TimeUnit unit) throws InterruptedException {
+        if (item == null) {
+            throw new NullPointerException("Cannot add null item to queue");
+        }
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        int idle = 0;
+        while (queue.isFull()) {
+            if (deadline - System.nanoTime() <= 0) {
+                return false;
+            }
+            idle = QueueSupport.backOff(idle);
+        }
+        if (!limiter.tryAcquire(1, deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+            return false;
+        }
+        return queue.offer(item, deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public T poll() {
+        return queue.poll();
+    }
+
+    @Override
+    public T poll(long timeout, TimeUnit unit) throws InterruptedException {
+        return queue.poll(timeout, unit);
+    }
+
+    /**
+     * Adds all items. Under BLOCK, waits for one permit per item, taken all
+     * at once. Under SHED, adds only as many of the items, in order, as there
+     * are permits available now and drops the rest.
+     *
+     * @param items the items to add
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    @Override
+    public void putAll(Collection<? extends T> items) throws InterruptedException {
+        QueueSupport.requireNoNullItems(items);
+        if (items.isEmpty()) {
+            return;
+        }
+        if (policy == ThrottlePolicy.BLOCK) {
+            limiter.acquire(items.size());
+            queue.putAll(items);
+            return;
+        }
+        List<T> admitted = new ArrayList<>(items.size());
+        for (T item : items) {
+            if (!limiter.tryAcquire()) {
+                break;
+            }
+            admitted.add(item);
+        }
+        shed.add(items.size() - admitted.size());
+        if (!admitted.isEmpty()) {
+            queue.putAll(admitted);
+        }
+    }
+
+    @Override
+    public int drainTo(Collection<? super T> destination, int maxElements) {
+        return queue.drainTo(destination, maxElements);
+    }
+
+    @Override
+    public int size() {
+        return queue.size();
+    }
+
+    @Override
+    public int getCapacity() {
+        return queue.getCapacity();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return queue.isEmpty();
+    }
+
+    @Override
+    public boolean isFull() {
+        return queue.isFull();
+    }
+
+    /**
+     * @return how many items put or putAll dropped under SHED
+     */
+    public long getShedCount() {
+        return shed.sum();
+    }
+
+    /**
+     * @return the limiter issuing permits to this queue
+     */
+    public RateLimiter getRateLimiter() {
+        return limiter;
+    }
+}
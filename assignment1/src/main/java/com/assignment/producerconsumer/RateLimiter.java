@@ -0,0 +1,219 @@
+package com.assignment.producerconsumer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Lock-free token bucket, shareable by any number of producers.
+ *
+ * The bucket holds up to {@code burst} permits and refills at a steady rate.
+ * A full bucket lets a burst through at once; after that, permits are handed
+ * out no faster than the rate. Several producers sharing one limiter are
+ * limited together.
+ *
+ * The only state is one {@link AtomicLong}: the {@link System#nanoTime()} at
+ * which the bucket is, or will be, empty. The permits available at time
+ * {@code now} are {@code (now - emptyAt) / interval}, capped at the burst, so
+ * no thread ever has to refill the bucket. Taking permits moves
+ * {@code emptyAt} forward with a single compare-and-set.
+ *
+ * A blocking {@link #acquire()} takes its permits even when the bucket does not
+ * hold them yet, which pushes {@code emptyAt} into the future, and then sleeps
+ * until that time. Waiting producers are therefore released one interval apart,
+ * in the order they arrived, instead of all waking at once when tokens appear.
+ * Permits reserved by a thread that is interrupted while waiting are not returned.
+ */
+public class RateLimiter {
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final int burst;
+    private final AtomicLong emptyAt;
+    private final LongAdder waitNanos = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * Constructs a limiter that starts with a full bucket.
+     *
+     * @param permitsPerSecond the steady-state rate
+     * @param burst the most permits that may be taken at once after an idle period
+     * @throws IllegalArgumentException if the rate is not positive or above one
+     *         billion per second, or burst is less than 1
+     */
+    public RateLimiter(double permitsPerSecond, int burst) {
+        if (!(permitsPerSecond > 0) || permitsPerSecond > TimeUnit.SECONDS.toNanos(1)) {
+            throw new IllegalArgumentException("Rate must be positive and at most 1e9 per second");
+        }
+        if (burst < 1) {
+            throw new IllegalArgumentException("Burst must be at least 1");
+        }
+        this.intervalNanos = Math.max(1, Math.round(TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+        if (burst > Long.MAX_VALUE / 4 / intervalNanos) {
+            throw new IllegalArgumentException("Burst is too large for this rate");
+        }
+        this.burst = burst;
+        this.burstNanos = burst * intervalNanos;
+        this.emptyAt = new AtomicLong(System.nanoTime() - burstNanos);
+    }
+
+    /**
+     * Takes one permit, waiting until it is available.
+     *
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public void acquire() throws InterruptedException {
+        acquire(1);
+    }
+
+    /**
+     * Takes the given number of permits, waiting until they are available.
+     * More permits than the burst size may be requested; the caller then waits
+     * for the excess to accumulate.
+     *
+     * @param permits the number of permits
+     * @throws InterruptedException if the thread is interrupted while waiting
+     * @throws IllegalArgumentException if permits is less than 1
+     */
+    public void acquire(int permits) throws InterruptedException {
+        sleep(reserve(permits, Long.MAX_VALUE));
+    }
+
+    /**
+     * Takes one permit if it is available now. Never waits.
+     *
+     * @return true if the permit was taken
+     */
+    public boolean tryAcquire() {
+        return tryAcquire(1);
+    }
+
+    /**
+     * Takes the given number of permits if they are all available now. Never waits.
+     *
+     * @param permits the number of permits
+     * @return true if the permits were taken, false if none were
+     * @throws IllegalArgumentException if permits is less than 1
+     */
+    public boolean tryAcquire(int permits) {
+        if (reserve(permits, 0) < 0) {
+            rejected.increment();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Takes the given number of permits if they become available within the timeout.
+     * Returns false at once, without waiting, if they would not.
+     *
+     * @param permits the number of permits
+     * @param timeout the maximum time to wait
+     * @param unit the unit of the timeout
+     * @return true if the permits were taken, false if none were
+     * @throws InterruptedException if the thread is interrupted while waiting
+     * @throws IllegalArgumentException if permits is less than 1
+     */
+    public boolean tryAcquire(int permits, long timeout, TimeUnit unit) throws InterruptedException {
+        long wait = reserve(permits, Math.max(0, unit.toNanos(timeout)));
+        if (wait < 0) {
+            rejected.increment();
+            return false;
+        }
+        sleep(wait);
+        return true;
+    }
+
+    /**
+     * Returns how many permits could be taken right now without waiting.
+     *
+     * @return the available permits, from 0 to the burst size
+     */
+    public int availablePermits() {
+        long available = (System.nanoTime() - emptyAt.get()) / intervalNanos;
+        return (int) Math.max(0, Math.min(burst, available));
+    }
+
+    /**
+     * @return the steady-state rate in permits per second
+     */
+    public double getRate() {
+        return (double) TimeUnit.SECONDS.toNanos(1) / intervalNanos;
+    }
+
+    /**
+     * @return the most permits that can be taken at once
+     */
+    public int getBurst() {
+        return burst;
+    }
+
+    /**
+     * @param unit the unit to express the result in
+     * @return the total time callers spent waiting for permits
+     */
+    public long getWaitTime(TimeUnit unit) {
+        return unit.convert(waitNanos.sum(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @return how many non-blocking or timed requests were refused
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "RateLimiter{rate=" + String.format("%.1f", getRate()) + "/s"
+            + ", burst=" + burst
+            + ", available=" + availablePermits()
+            + ", waitMs=" + getWaitTime(TimeUnit.MILLISECONDS)
+            + ", rejected=" + getRejectedCount() + "}";
+    }
+
+    /**
+     * Moves {@code emptyAt} forward by the cost of the permits, unless the
+     * caller would have to wait longer than it is willing to.
+     *
+     * @return how long the caller must wait for its permits, or -1 if that
+     *         exceeds maxWaitNanos and nothing was taken
+     */
+    private long reserve(int permits, long maxWaitNanos) {
+        if (permits < 1) {
+            throw new IllegalArgumentException("Permits must be at least 1");
+        }
+        long cost = permits * intervalNanos;
+        while (true) {
+            long now = System.nanoTime();
+            long current = emptyAt.get();
+            // A bucket idle for long enough is full, not fuller
+            long from = current - (now - burstNanos) < 0 ? now - burstNanos : current;
+            long next = from + cost;
+            long wait = next - now;
+            if (wait > maxWaitNanos) {
+                return -1;
+            }
+            if (emptyAt.compareAndSet(current, next)) {
+                return Math.max(0, wait);
+            }
+        }
+    }
+
+    private void sleep(long nanos) throws InterruptedException {
+        if (nanos <= 0) {
+            return;
+        }
+        long deadline = System.nanoTime() + nanos;
+        long remaining = nanos;
+        while (remaining > 0) {
+            LockSupport.parkNanos(this, remaining);
+            if (Thread.interrupted()) {
+                waitNanos.add(nanos - Math.max(0, deadline - System.nanoTime()));
+                throw new InterruptedException();
+            }
+            remaining = deadline - System.nanoTime();
+        }
+        waitNanos.add(nanos);
+    }
+}
@@ -0,0 +1,390 @@
+package com.assignment.producerconsumer;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free bounded multi-producer/multi-consumer queue backed by a
+ * pre-allocated ring buffer.
+ * 
+ * Every slot carries its own sequence number. A producer claims a slot by
+ * CAS-ing the tail counter once the slot's sequence shows it is free, writes the
+ * item and then publishes it by advancing the slot sequence. Consumers do the
+ * same against the head counter. Producers and consumers therefore only contend
+ * with threads on the same side of the queue, and no node is allocated per item.
+ * 
+ * The capacity is rounded up to the next power of two (minimum 2) so slot
+ * indices can be computed with a mask. When the queue is full or empty, threads
+ * spin briefly, then yield, then park for short intervals until they can make
+ * progress.
+ * 
+ * Queue activity is reported to a {@link QueueListener}. With no listener
+ * configured the fast path does no extra work at all.
+ *
+ * @param <T> the type of elements held in the queue
+ */
+public class RingBufferQueue<T> implements BoundedQueue<T> {
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private final Object[] buffer;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+    private final QueueListener listener;
+    private final boolean reportEvents;
+
+    /**
+     * Constructs a ring buffer queue able to hold at least the specified number
+     * of elements, with no listener.
+     * 
+     * @param capacity the minimum number of elements the queue can hold
+     * @throws IllegalArgumentException if capacity is less than 1 or greater than 2^30
+     */
+    public RingBufferQueue(int capacity) {
+        this(capacity, QueueListener.NOOP);
+    }
+
+    /**
+     * Constructs a ring buffer queue able to hold at least the specified number
+     * of elements that reports its activity to the given listener.
+     * 
+     * @param capacity the minimum number of elements the queue can hold
+     * @param listener the listener to notify of queue events
+     * @throws IllegalArgumentException if capacity is less than 1 or greater than 2^30
+     * @throws NullPointerException if listener is null
+     */
+    public RingBufferQueue(int capacity, QueueListener listener) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1");
+        }
+        if (capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Capacity must not exceed " + MAX_CAPACITY);
+        }
+        if (listener == null) {
+            throw new NullPointerException("Listener cannot be null");
+        }
+        this.listener = listener;
+        this.reportEvents = listener != QueueListener.NOOP;
+        int size = capacity < 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        this.buffer = new Object[size];
+        this.sequences = new AtomicLongArray(size);
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Adds an item to the queue. Blocks if the queue is full.
+     * 
+     * @param item the item to add
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    @Override
+    public void put(T item) throws InterruptedException {
+        if (item == null) {
+            throw new NullPointerException("Cannot add null item to queue");
+        }
+        enqueue(item);
+        if (reportEvents) {
+            listener.onPut(1, size());
+        }
+    }
+
+    /**
+     * Removes and returns an item from the queue. Blocks if the queue is empty.
+     * 
+     * @return the item removed from the queue
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    @Override
+    public T take() throws InterruptedException {
+        T item = tryDequeue();
+        if (item == null) {
+            item = awaitDequeue(Long.MAX_VALUE);
+        }
+        if (reportEvents) {
+            listener.onTake(1, size());
+        }
+        return item;
+    }
+
+    /**
+     * Adds an item to the queue if there is a free slot. Never blocks.
+     * 
+     * @param item the item to add
+     * @return true if the item was added, false if the queue was full
+     */
+    @Override
+    public boolean offer(T item) {
+        if (item == null) {
+            throw new NullPointerException("Cannot add null item to queue");
+        }
+        if (!tryEnqueue(item)) {
+            return false;
+        }
+        if (reportEvents) {
+            listener.onPut(1, size());
+        }
+        return true;
+    }
+
+    /**
+     * Adds an item to the queue, backing off for up to the given time while the queue is full.
+     * 
+     * @param item the item to add
+     * @param timeout how long to wait before giving up
+     * @param unit the unit of the timeout
+     * @return true if the item was added, false if the timeout elapsed first
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    @Override
+    public boolean offer(T item, long timeout, TimeUnit unit) throws InterruptedException {
+        if (item == null) {
+            throw new NullPointerException("Cannot add null item to queue");
+        }
+        if (!tryEnqueue(item) && !awaitEnqueue(item, unit.toNanos(timeout))) {
+            return false;
+        }
+        if (reportEvents) {
+            listener.onPut(1, size());
+        }
+        return true;
+    }
+
+    /**
+     * Removes and returns an item if one is available. Never blocks.
+     * 
+     * @return the item removed from the queue, or null if the queue was empty
+     */
+    @Override
+    public T poll() {
+        T item = tryDequeue();
+        if (item != null && reportEvents) {
+            listener.onTake(1, size());
+        }
+        return item;
+    }
+
+    /**
+     * Removes and returns an item, backing off for up to the given time while the queue is empty.
+     * 
+     * @param timeout how long to wait before giving up
+     * @param unit the unit of the timeout
+     * @return the item removed from the queue, or null if the timeout elapsed first
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    @Override
+    public T poll(long timeout, TimeUnit unit) throws InterruptedException {
+        T item = tryDequeue();
+        if (item == null) {
+            item = awaitDequeue(unit.toNanos(timeout));
+        }
+        if (item != null && reportEvents) {
+            listener.onTake(1, size());
+        }
+        return item;
+    }
+
+    /**
+     * Adds all items to the queue, claiming slots one at a time and backing off
+     * while the queue is full.
+     * 
+     * @param items the items to add
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    @Override
+    public void putAll(Collection<? extends T> items) throws InterruptedException {
+        QueueSupport.requireNoNullItems(items);
+        int added = 0;
+        try {
+            for (T item : items) {
+                enqueue(item);
+                added++;
+            }
+        } finally {
+            if (reportEvents && added > 0) {
+                listener.onPut(added, size());
+            }
+        }
+    }
+
+    /**
+     * Removes up to maxElements available items and adds them to the destination.
+     * Never blocks; returns 0 if the queue is empty.
+     * 
+     * @param destination the collection to transfer items into
+     * @param maxElements the maximum number of items to transfer
+     * @return the number of items transferred
+     */
+    @Override
+    public int drainTo(Collection<? super T> destination, int maxElements) {
+        QueueSupport.requireDestination(destination);
+        int drained = 0;
+        T item;
+        while (drained < maxElements && (item = tryDequeue()) != null) {
+            destination.add(item);
+            drained++;
+        }
+        if (reportEvents && drained > 0) {
+            listener.onTake(drained, size());
+        }
+        return drained;
+    }
+
+    /**
+     * Returns the current size of the queue. The value is a snapshot and may be
+     * stale by the time it is used when other threads are active.
+     * 
+     * @return the number of elements in the queue
+     */
+    @Override
+    public int size() {
+        long consumed = head.get();
+        long produced = tail.get();
+        long size = produced - consumed;
+        if (size < 0) {
+            return 0;
+        }
+        return (int) Math.min(size, buffer.length);
+    }
+
+    /**
+     * Returns the capacity of the queue, which is always a power of two.
+     * 
+     * @return the maximum capacity of the queue
+     */
+    @Override
+    public int getCapacity() {
+        return buffer.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public boolean isFull() {
+        return size() == buffer.length;
+    }
+
+    /**
+     * Enqueues the item, waiting for a free slot if the queue is full.
+     */
+    private void enqueue(T item) throws InterruptedException {
+        if (!tryEnqueue(item)) {
+            awaitEnqueue(item, Long.MAX_VALUE);
+        }
+    }
+
+    /**
+     * Retries enqueueing the item until it succeeds or the timeout elapses.
+     * A timeout of Long.MAX_VALUE waits indefinitely.
+     * 
+     * @return true if the item was enqueued, false if the timeout elapsed first
+     */
+    private boolean awaitEnqueue(T item, long nanos) throws InterruptedException {
+        if (nanos <= 0) {
+            return false;
+        }
+
+        listener.onProducerBlocked();
+        long start = System.nanoTime();
+        try {
+            int idle = 0;
+            while (!tryEnqueue(item)) {
+                if (nanos != Long.MAX_VALUE && System.nanoTime() - start >= nanos) {
+                    return false;
+                }
+                idle = QueueSupport.backOff(idle);
+            }
+            return true;
+        } finally {
+            listener.onProducerUnblocked(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Retries dequeueing until an item is published or the timeout elapses.
+     * A timeout of Long.MAX_VALUE waits indefinitely.
+     * 
+     * @return the item, or null if the timeout elapsed first
+     */
+    private T awaitDequeue(long nanos) throws InterruptedException {
+        if (nanos <= 0) {
+            return null;
+        }
+
+        listener.onConsumerBlocked();
+        long start = System.nanoTime();
+        try {
+            int idle = 0;
+            T item;
+            while ((item = tryDequeue()) == null) {
+                if (nanos != Long.MAX_VALUE && System.nanoTime() - start >= nanos) {
+                    return null;
+                }
+                idle = QueueSupport.backOff(idle);
+            }
+            return item;
+        } finally {
+            listener.onConsumerUnblocked(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Attempts to claim and publish a slot for the item without blocking.
+     * 
+     * @return true if the item was enqueued, false if the queue was full
+     */
+    private boolean tryEnqueue(T item) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    buffer[index] = item;
+                    sequences.lazySet(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Attempts to claim and release the next published slot without blocking.
+     * 
+     * @return the item, or null if the queue was empty
+     */
+    @SuppressWarnings("unchecked")
+    private T tryDequeue() {
+        long position = head.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - (position + 1);
+            if (difference == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    T item = (T) buffer[index];
+                    buffer[index] = null;
+                    sequences.lazySet(index, position + mask + 1);
+                    return item;
+                }
+                position = head.get();
+            } else if (difference < 0) {
+                return null;
+            } else {
+                position = head.get();
+            }
+        }
+    }
+}
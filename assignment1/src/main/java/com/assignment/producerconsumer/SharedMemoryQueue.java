@@ -0,0 +1,785 @@
+package com.assignment.producerconsumer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded ring buffer in a memory-mapped file, shared by producers in one or
+ * more JVMs and a consumer in another JVM on the same host.
+ *
+ * Every process maps the same file, so an item is passed with two memory
+ * copies and no system call or socket. Items are stored as length-prefixed
+ * byte records, converted with a {@link JournalCodec}. The capacity is the
+ * size of the ring in bytes; each record takes its payload plus a 4-byte
+ * length, rounded up to 8 bytes.
+ *
+ * The file starts with a header holding, each on its own cache line:
+ * - the producer lock, holding the owner's process id while a producer writes
+ * - the tail word: the number of items ever put and the write position
+ * - the head word: the number of items ever taken and the read position
+ *
+ * Each side changes its state with one atomic 64-bit store, made only after
+ * the records it covers are written or read. A process that dies mid-operation
+ * therefore leaves the header consistent: a producer's unfinished record is
+ * never published, and items a consumer had not committed are delivered to
+ * the next consumer. A producer lock left by a process that no longer exists
+ * is taken over by the next producer that finds it held.
+ *
+ * Producers of one handle serialize on a local lock and then on the shared
+ * lock, which is held only while records are copied in. One consumer handle
+ * may be open per file at a time; an operating system file lock, released
+ * when its process exits, enforces this. Closing any channel to a file drops
+ * all of its process's locks on that file, so the handles of one process
+ * share one channel, closed only with the last of them. Threads wait for space or items by
+ * spinning, yielding and then parking for short intervals, because there is
+ * no cross-process notification. This queue cannot be closed for producers
+ * like {@link CloseableQueue}: {@link #close()} only releases this handle.
+ *
+ * @param <T> the type of elements held in the queue
+ */
+public class SharedMemoryQueue<T> implements BoundedQueue<T>, Closeable {
+    static final int HEADER_BYTES = 256;
+    private static final int MAGIC = 0x53484d51;
+    private static final int VERSION = 1;
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 4;
+    private static final int CAPACITY_OFFSET = 8;
+    private static final int PRODUCER_LOCK_OFFSET = 64;
+    private static final int TAIL_OFFSET = 128;
+    private static final int HEAD_OFFSET = 192;
+    private static final int LENGTH_BYTES = Integer.BYTES;
+    private static final int PADDING = -1;
+    private static final int MIN_CAPACITY = 64;
+    private static final int MAX_CAPACITY = 1 << 30;
+    private static final int OWNER_CHECK_INTERVAL = 1024;
+    private static final long LOCK_PARK_NANOS = 10_000L;
+
+    private static final VarHandle INT = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.nativeOrder());
+    private static final VarHandle LONG = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+    private static final AtomicInteger HANDLES = new AtomicInteger();
+    // Guarded by SharedMemoryQueue.class, like the initialization in map
+    private static final Map<Path, SharedFile> OPEN_FILES = new HashMap<>();
+
+    private final Path file;
+    private final JournalCodec<T> codec;
+    private final QueueListener listener;
+    private final boolean consumer;
+    private final MappedByteBuffer buffer;
+    private final ByteBuffer writeBuffer;
+    private final ByteBuffer readBuffer;
+    private final int capacity;
+    private final int mask;
+    private final long ownerToken;
+    private final SharedFile sharedFile;
+    private final FileLock consumerFileLock;
+
+    private final ReentrantLock putLock = new ReentrantLock();
+    private final ReentrantLock takeLock = new ReentrantLock();
+    private volatile boolean closed;
+
+    private SharedMemoryQueue(Builder<T> builder, boolean consumer) throws IOException {
+        if (builder.capacity < MIN_CAPACITY) {
+            throw new IllegalArgumentException("Capacity must be at least " + MIN_CAPACITY + " bytes");
+        }
+        if (builder.capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Capacity must not exceed " + MAX_CAPACITY + " bytes");
+        }
+        if (builder.listener == null) {
+            throw new NullPointerException("Listener cannot be null");
+        }
+        this.file = builder.file;
+        this.codec = builder.codec;
+        this.listener = builder.listener;
+        this.consumer = consumer;
+        // Unique per handle, so handles in one process never mistake each other for the lock owner
+        this.ownerToken = ProcessHandle.current().pid() << 16 | (Math.floorMod(HANDLES.getAndIncrement(), 0xFFFF) + 1);
+
+        this.sharedFile = SharedFile.open(file);
+        try {
+            this.buffer = map(sharedFile.channel, Integer.highestOneBit(builder.capacity - 1) << 1);
+            this.consumerFileLock = consumer ? lockConsumer(sharedFile.channel) : null;
+        } catch (IOException | RuntimeException e) {
+            try {
+                sharedFile.release();
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+        this.capacity = buffer.getInt(CAPACITY_OFFSET);
+        this.mask = capacity - 1;
+        this.writeBuffer = buffer.duplicate().order(ByteOrder.nativeOrder());
+        this.readBuffer = buffer.duplicate().order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Returns a builder for a queue stored in the given file. The file is
+     * created if needed; if it already holds a queue, its items are kept.
+     *
+     * @param file the file shared by all producer and consumer processes
+     * @param codec converts items to and from bytes
+     * @param <T> the type of elements held in the queue
+     * @return a new builder
+     * @throws NullPointerException if file or codec is null
+     */
+    public static <T> Builder<T> builder(Path file, JournalCodec<T> codec) {
+        if (file == null) {
+            throw new NullPointerException("File cannot be null");
+        }
+        if (codec == null) {
+            throw new NullPointerException("Codec cannot be null");
+        }
+        return new Builder<>(file, codec);
+    }
+
+    /**
+     * Adds an item, waiting for space if the ring is full.
+     *
+     * @param item the item to add
+     * @throws InterruptedException if the thread is interrupted while waiting
+     * @throws IllegalArgumentException if the encoded item is larger than {@link #getMaxItemBytes()}
+     * @throws QueueClosedException if this handle has been closed
+     */
+    @Override
+    public void put(T item) throws InterruptedException {
+        offer(item, Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Removes and returns the oldest item, waiting if the queue is empty.
+     *
+     * @return the item removed from the queue
+     * @throws InterruptedException if the thread is interrupted while waiting
+     * @throws IllegalStateException if this handle was not opened as the consumer
+     * @throws QueueClosedException if this handle has been closed
+     */
+    @Override
+    public T take() throws InterruptedException {
+        return poll(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Adds an item if the ring has space for it now. Never waits for space.
+     *
+     * @param item the item to add
+     * @return true if the item was added, false if the ring was full
+     */
+    @Override
+    public boolean offer(T item) {
+        List<byte[]> records = Collections.singletonList(encode(item));
+        if (append(records, 0) == 0) {
+            return false;
+        }
+        listener.onPut(1, size());
+        return true;
+    }
+
+    /**
+     * Adds an item, waiting up to the given time for space.
+     *
+     * @param item the item to add
+     * @param timeout how long to wait before giving up
+     * @param unit the unit of the timeout
+     * @return true if the item was added, false if the timeout elapsed first
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    @Override
+    public boolean offer(T item, long timeout, TimeUnit unit) throws InterruptedException {
+        List<byte[]> records = Collections.singletonList(encode(item));
+        if (append(records, 0) == 0 && awaitAppend(records, 0, unit.toNanos(timeout)) == 0) {
+            return false;
+        }
+        listener.onPut(1, size());
+        return true;
+    }
+
+    /**
+     * Removes and returns the oldest item if one is available. Never waits.
+     *
+     * @return the item removed from the queue, or null if the queue was empty
+     */
+    @Override
+    public T poll() {
+        List<byte[]> records = new ArrayList<>(1);
+        if (read(records, 1) == 0) {
+            return null;
+        }
+        listener.onTake(1, size());
+        return codec.decode(records.get(0));
+    }
+
+    /**
+     * Removes and returns the oldest item, waiting up to the given time for one.
+     *
+     * @param timeout how long to wait before giving up
+     * @param unit the unit of the timeout
+     * @return the item removed from the queue, or null if the timeout elapsed first
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    @Override
+    public T poll(long timeout, TimeUnit unit) throws InterruptedException {
+        List<byte[]> records = new ArrayList<>(1);
+        if (read(records, 1) == 0 && !awaitRead(records, unit.toNanos(timeout))) {
+            return null;
+        }
+        listener.onTake(1, size());
+        return codec.decode(records.get(0));
+    }
+
+    /**
+     * Adds all items in order. Items are encoded up front, and each acquisition
+     * of the producer lock writes and publishes as many as currently fit.
+     * Items of other producers may be interleaved between those batches.
+     *
+     * @param items the items to add
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    @Override
+    public void putAll(Collection<? extends T> items) throws InterruptedException {
+        QueueSupport.requireNoNullItems(items);
+        List<byte[]> records = new ArrayList<>(items.size());
+        for (T item : items) {
+            records.add(encode(item));
+        }
+
+        int written = 0;
+        while (written < records.size()) {
+            int added = append(records, written);
+            if (added == 0) {
+                added = awaitAppend(records, written, Long.MAX_VALUE);
+            }
+            written += added;
+            listener.onPut(added, size());
+        }
+    }
+
+    /**
+     * Removes up to maxElements available items, publishing the new read
+     * position once, and decodes them afterwards. Never blocks.
+     *
+     * @param destination the collection to transfer items into
+     * @param maxElements the maximum number of items to transfer
+     * @return the number of items transferred
+     */
+    @Override
+    public int drainTo(Collection<? super T> destination, int maxElements) {
+        QueueSupport.requireDestination(destination);
+        if (maxElements <= 0) {
+            return 0;
+        }
+
+        List<byte[]> records = new ArrayList<>(Math.min(maxElements, 64));
+        int drained = read(records, maxElements);
+        if (drained == 0) {
+            return 0;
+        }
+        for (byte[] record : records) {
+            destination.add(codec.decode(record));
+        }
+        listener.onTake(drained, size());
+        return drained;
+    }
+
+    /**
+     * Returns the number of items in the ring, as seen by all processes.
+     *
+     * @return the number of items in the queue
+     */
+    @Override
+    public int size() {
+        long head = (long) LONG.getAcquire(buffer, HEAD_OFFSET);
+        long tail = (long) LONG.getAcquire(buffer, TAIL_OFFSET);
+        return Math.max(0, count(tail) - count(head));
+    }
+
+    /**
+     * Returns the capacity of the ring in bytes. How many items fit depends
+     * on their size.
+     *
+     * @return the ring size in bytes
+     */
+    @Override
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * @return true if not even an empty item would fit
+     */
+    @Override
+    public boolean isFull() {
+        long head = (long) LONG.getAcquire(buffer, HEAD_OFFSET);
+        long tail = (long) LONG.getAcquire(buffer, TAIL_OFFSET);
+        return capacity - (position(tail) - position(head)) < recordBytes(0);
+    }
+
+    /**
+     * @return the largest encoded item that can be added
+     */
+    public int getMaxItemBytes() {
+        return capacity / 2 - LENGTH_BYTES;
+    }
+
+    /**
+     * @return true if this handle can take items
+     */
+    public boolean isConsumer() {
+        return consumer;
+    }
+
+    /**
+     * @return the file holding the ring
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Closes this handle. The ring and its items stay in the file for other
+     * handles and for a later consumer. A consumer handle releases its file
+     * lock, so another consumer may open the file. Closing twice has no effect.
+     *
+     * The mapping is released when it is garbage collected; Java offers no
+     * supported way to unmap it earlier.
+     *
+     * @throws IOException if the consumer file lock or the file cannot be released
+     */
+    @Override
+    public void close() throws IOException {
+        putLock.lock();
+        takeLock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                if (consumerFileLock != null) {
+                    consumerFileLock.release();
+                }
+            } finally {
+                sharedFile.release();
+            }
+        } finally {
+            takeLock.unlock();
+            putLock.unlock();
+        }
+    }
+
+    /**
+     * Maps the file, initializing the header if the file is new. A file lock
+     * keeps processes opening the file at the same time from both initializing it.
+     */
+    private static MappedByteBuffer map(FileChannel channel, int requestedCapacity) throws IOException {
+        // File locks are held per JVM, so threads of one JVM must not overlap here
+        synchronized (SharedMemoryQueue.class) {
+            FileLock initLock = channel.lock(MAGIC_OFFSET, PRODUCER_LOCK_OFFSET, false);
+            try {
+                long fileSize = channel.size();
+                if (fileSize >= HEADER_BYTES) {
+                    MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+                    if ((int) INT.getAcquire(header, MAGIC_OFFSET) == MAGIC) {
+                        return mapExisting(channel, header, fileSize);
+                    }
+                }
+                // New, or left behind by a process that died while creating it
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                    HEADER_BYTES + (long) requestedCapacity);
+                buffer.putInt(VERSION_OFFSET, VERSION);
+                buffer.putInt(CAPACITY_OFFSET, requestedCapacity);
+                LONG.setVolatile(buffer, PRODUCER_LOCK_OFFSET, 0L);
+                LONG.setVolatile(buffer, TAIL_OFFSET, 0L);
+                LONG.setVolatile(buffer, HEAD_OFFSET, 0L);
+                INT.setRelease(buffer, MAGIC_OFFSET, MAGIC);
+                return buffer;
+            } finally {
+                initLock.release();
+            }
+        }
+    }
+
+    private static MappedByteBuffer mapExisting(FileChannel channel, MappedByteBuffer header, long fileSize)
+            throws IOException {
+        int version = header.getInt(VERSION_OFFSET);
+        int capacity = header.getInt(CAPACITY_OFFSET);
+        if (version != VERSION) {
+            throw new IOException("Unsupported shared memory queue version " + version);
+        }
+        if (capacity < MIN_CAPACITY || capacity > MAX_CAPACITY || Integer.bitCount(capacity) != 1
+                || fileSize < HEADER_BYTES + (long) capacity) {
+            throw new IOException("Corrupt shared memory queue header: capacity " + capacity
+                + ", file size " + fileSize);
+        }
+        return channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES + (long) capacity);
+    }
+
+    private static FileLock lockConsumer(FileChannel channel) throws IOException {
+        FileLock lock;
+        try {
+            lock = channel.tryLock(HEAD_OFFSET, Long.BYTES, false);
+        } catch (OverlappingFileLockException e) {
+            lock = null;
+        }
+        if (lock == null) {
+            throw new IllegalStateException("Another consumer has the queue open");
+        }
+        return lock;
+    }
+
+    private byte[] encode(T item) {
+        if (item == null) {
+            throw new NullPointerException("Cannot add null item to queue");
+        }
+        byte[] record = codec.encode(item);
+        if (record.length > getMaxItemBytes()) {
+            throw new IllegalArgumentException("Item of " + record.length
+                + " bytes exceeds the maximum of " + getMaxItemBytes() + " bytes");
+        }
+        return record;
+    }
+
+    /**
+     * Retries appending until the first record fits or the timeout elapses.
+     * A timeout of Long.MAX_VALUE waits indefinitely.
+     *
+     * @return the number of records appended, 0 if the timeout elapsed first
+     */
+    private int awaitAppend(List<byte[]> records, int from, long nanos) throws InterruptedException {
+        if (nanos <= 0) {
+            return 0;
+        }
+
+        listener.onProducerBlocked();
+        long start = System.nanoTime();
+        try {
+            int idle = 0;
+            int appended;
+            while ((appended = append(records, from)) == 0) {
+                if (nanos != Long.MAX_VALUE && System.nanoTime() - start >= nanos) {
+                    return 0;
+                }
+                idle = QueueSupport.backOff(idle);
+            }
+            return appended;
+        } finally {
+            listener.onProducerUnblocked(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Retries reading until an item is available or the timeout elapses.
+     * A timeout of Long.MAX_VALUE waits indefinitely.
+     *
+     * @return true if an item was read, false if the timeout elapsed first
+     */
+    private boolean awaitRead(List<byte[]> records, long nanos) throws InterruptedException {
+        if (nanos <= 0) {
+            return false;
+        }
+
+        listener.onConsumerBlocked();
+        long start = System.nanoTime();
+        try {
+            int idle = 0;
+            while (read(records, 1) == 0) {
+                if (nanos != Long.MAX_VALUE && System.nanoTime() - start >= nanos) {
+                    return false;
+                }
+                idle = QueueSupport.backOff(idle);
+            }
+            return true;
+        } finally {
+            listener.onConsumerUnblocked(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Writes as many records as fit, starting at index from, and publishes
+     * them with one store of the tail word.
+     *
+     * @return the number of records appended, 0 if the first did not fit
+     */
+    private int append(List<byte[]> records, int from) {
+        putLock.lock();
+        try {
+            ensureOpen();
+            lockProducers();
+            try {
+                long tail = (long) LONG.getAcquire(buffer, TAIL_OFFSET);
+                long head = (long) LONG.getAcquire(buffer, HEAD_OFFSET);
+                int position = position(tail);
+                int free = capacity - (position - position(head));
+                int appended = 0;
+                for (int i = from; i < records.size(); i++) {
+                    byte[] payload = records.get(i);
+                    int bytes = recordBytes(payload.length);
+                    int index = position & mask;
+                    int untilEnd = capacity - index;
+                    int needed = bytes > untilEnd ? untilEnd + bytes : bytes;
+                    if (needed > free) {
+                        break;
+                    }
+                    if (bytes > untilEnd) {
+                        // The record would straddle the end of the ring; continue at the start
+                        writeBuffer.putInt(HEADER_BYTES + index, PADDING);
+                        index = 0;
+                    }
+                    writeBuffer.putInt(HEADER_BYTES + index, payload.length);
+                    writeBuffer.position(HEADER_BYTES + index + LENGTH_BYTES);
+                    writeBuffer.put(payload);
+                    position += needed;
+                    free -= needed;
+                    appended++;
+                }
+                if (appended > 0) {
+                    LONG.setRelease(buffer, TAIL_OFFSET, word(count(tail) + appended, position));
+                }
+                return appended;
+            } finally {
+                LONG.setRelease(buffer, PRODUCER_LOCK_OFFSET, 0L);
+            }
+        } finally {
+            putLock.unlock();
+        }
+    }
+
+    /**
+     * Reads up to max records into the list and publishes the new read
+     * position with one store of the head word.
+     *
+     * @return the number of records read
+     */
+    private int read(List<? super byte[]> records, int max) {
+        takeLock.lock();
+        try {
+            ensureOpen();
+            if (!consumer) {
+                throw new IllegalStateException("Only the consumer handle can take items");
+            }
+            long head = (long) LONG.getAcquire(buffer, HEAD_OFFSET);
+            long tail = (long) LONG.getAcquire(buffer, TAIL_OFFSET);
+            int available = count(tail) - count(head);
+            int position = position(head);
+            int read = 0;
+            while (read < max && read < available) {
+                int index = position & mask;
+                int length = readBuffer.getInt(HEADER_BYTES + index);
+                if (length == PADDING) {
+                    position += capacity - index;
+                    index = 0;
+                    length = readBuffer.getInt(HEADER_BYTES);
+                }
+                byte[] payload = new byte[length];
+                readBuffer.position(HEADER_BYTES + index + LENGTH_BYTES);
+                readBuffer.get(payload);
+                records.add(payload);
+                position += recordBytes(length);
+                read++;
+            }
+            if (read > 0) {
+                LONG.setRelease(buffer, HEAD_OFFSET, word(count(head) + read, position));
+            }
+            return read;
+        } finally {
+            takeLock.unlock();
+        }
+    }
+
+    /**
+     * Acquires the lock shared by all producer processes. A lock whose owner
+     * process has exited is released first; that producer published nothing
+     * after its last tail store, so its partial record is simply overwritten.
+     */
+    private void lockProducers() {
+        int idle = 0;
+        while (!LONG.compareAndSet(buffer, PRODUCER_LOCK_OFFSET, 0L, ownerToken)) {
+            long owner = (long) LONG.getVolatile(buffer, PRODUCER_LOCK_OFFSET);
+            idle++;
+            if (owner != 0 && idle % OWNER_CHECK_INTERVAL == 0 && !isAlive(owner)) {
+                LONG.compareAndSet(buffer, PRODUCER_LOCK_OFFSET, owner, 0L);
+            } else if (idle < 100) {
+                Thread.onSpinWait();
+            } else if (idle < 200) {
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(LOCK_PARK_NANOS);
+            }
+        }
+    }
+
+    private static boolean isAlive(long ownerToken) {
+        return ProcessHandle.of(ownerToken >>> 16).map(ProcessHandle::isAlive).orElse(false);
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new QueueClosedException();
+        }
+    }
+
+    private static int recordBytes(int payloadLength) {
+        return (LENGTH_BYTES + payloadLength + 7) & ~7;
+    }
+
+    /**
+     * Packs an item count and a byte position, both modulo 2^32, into a header
+     * word. Differences of two counts or positions stay correct across wraparound
+     * because neither side can be more than the capacity ahead of the other.
+     */
+    private static long word(int count, int position) {
+        return (long) count << 32 | (position & 0xFFFFFFFFL);
+    }
+
+    private static int count(long word) {
+        return (int) (word >>> 32);
+    }
+
+    private static int position(long word) {
+        return (int) word;
+    }
+
+    /**
+     * The channel to a file shared by all handles of this process, counting
+     * the handles that use it.
+     */
+    private static final class SharedFile {
+        private final Path key;
+        private final FileChannel channel;
+        private int handles;
+
+        private SharedFile(Path key, FileChannel channel) {
+            this.key = key;
+            this.channel = channel;
+        }
+
+        /**
+         * Returns the open channel to the file, opening it if no handle of
+         * this process has it open yet.
+         */
+        static SharedFile open(Path file) throws IOException {
+            synchronized (SharedMemoryQueue.class) {
+                SharedFile shared = null;
+                try {
+                    shared = OPEN_FILES.get(file.toRealPath());
+                } catch (NoSuchFileException e) {
+                    // Not created yet, so not open in this process either
+                }
+                if (shared == null) {
+                    FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                        StandardOpenOption.READ, StandardOpenOption.WRITE);
+                    try {
+                        shared = new SharedFile(file.toRealPath(), channel);
+                    } catch (IOException | RuntimeException e) {
+                        channel.close();
+                        throw e;
+                    }
+                    OPEN_FILES.put(shared.key, shared);
+                }
+                shared.handles++;
+                return shared;
+            }
+        }
+
+        /**
+         * Closes the channel once no handle of this process uses it.
+         */
+        void release() throws IOException {
+            synchronized (SharedMemoryQueue.class) {
+                if (--handles == 0) {
+                    OPEN_FILES.remove(key);
+                    channel.close();
+                }
+            }
+        }
+    }
+
+    /**
+     * Builder for shared memory queues.
+     *
+     * @param <T> the type of elements held in the queue
+     */
+    public static final class Builder<T> {
+        private final Path file;
+        private final JournalCodec<T> codec;
+        private int capacity = 1 << 20;
+        private QueueListener listener = QueueListener.NOOP;
+
+        private Builder(Path file, JournalCodec<T> codec) {
+            this.file = file;
+            this.codec = codec;
+        }
+
+        /**
+         * Sets the ring size used when the file is created; an existing file
+         * keeps its own. Rounded up to the next power of two.
+         *
+         * @param capacity the ring size in bytes; 1 MiB by default
+         * @return this builder
+         */
+        public Builder<T> capacity(int capacity) {
+            this.capacity = capacity;
+            return this;
+        }
+
+        /**
+         * @param listener the listener to notify of this handle's queue events
+         * @return this builder
+         */
+        public Builder<T> listener(QueueListener listener) {
+            this.listener = listener;
+            return this;
+        }
+
+        /**
+         * Opens a handle that can put items. Any number of producer handles,
+         * in any number of processes, may be open at once.
+         *
+         * @return the opened queue
+         * @throws IOException if the file cannot be opened or holds no valid queue
+         * @throws IllegalArgumentException if the capacity is invalid
+         * @throws NullPointerException if listener is null
+         */
+        public SharedMemoryQueue<T> openProducer() throws IOException {
+            return new SharedMemoryQueue<>(this, false);
+        }
+
+        /**
+         * Opens the handle that takes items. It can put items too.
+         *
+         * @return the opened queue
+         * @throws IOException if the file cannot be opened or holds no valid queue
+         * @throws IllegalArgumentException if the capacity is invalid
+         * @throws IllegalStateException if another consumer handle has the file open
+         * @throws NullPointerException if listener is null
+         */
+        public SharedMemoryQueue<T> openConsumer() throws IOException {
+            return new SharedMemoryQueue<>(this, true);
+        }
+    }
+}
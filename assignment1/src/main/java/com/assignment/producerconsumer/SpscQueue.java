@@ -0,0 +1,432 @@
+package com.assignment.producerconsumer;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded queue specialized for exactly one producer thread and one consumer thread.
+ * 
+ * Each index is written by a single thread, so the fast path needs no locks and
+ * no CAS: the producer publishes an item with an ordered (release) store of the
+ * tail index, and the consumer frees a slot with an ordered store of the head
+ * index. Each side also keeps a cached copy of the other side's index and only
+ * re-reads the shared one when the cache says the queue is full or empty.
+ * 
+ * The head and tail indices live on separate cache lines, padded on both sides,
+ * so the producer and consumer never invalidate each other's line when only
+ * their own index changes (false sharing).
+ * 
+ * When the queue is full or empty, threads spin briefly, then yield, then park
+ * for short intervals until they can make progress.
+ * 
+ * This queue is NOT safe for multiple producers or multiple consumers; use
+ * {@link RingBufferQueue} or {@link TwoLockBlockingQueue} for those. The
+ * capacity is rounded up to the next power of two.
+ *
+ * @param <T> the type of elements held in the queue
+ */
+public class SpscQueue<T> extends SpscQueueConsumerFields implements BoundedQueue<T> {
+    private static final int MAX_CAPACITY = 1 << 30;
+    private static final VarHandle TAIL;
+    private static final VarHandle HEAD;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            TAIL = lookup.findVarHandle(SpscQueueProducerFields.class, "tail", long.class);
+            HEAD = lookup.findVarHandle(SpscQueueConsumerFields.class, "head", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    // Keeps the consumer fields off the cache line of the read-only fields below.
+    long p20, p21, p22, p23, p24, p25, p26, p27;
+
+    private final Object[] buffer;
+    private final int mask;
+    private final QueueListener listener;
+    private final boolean reportEvents;
+
+    /**
+     * Constructs a single-producer/single-consumer queue able to hold at least
+     * the specified number of elements, with no listener.
+     * 
+     * @param capacity the minimum number of elements the queue can hold
+     * @throws IllegalArgumentException if capacity is less than 1 or greater than 2^30
+     */
+    public SpscQueue(int capacity) {
+        this(capacity, QueueListener.NOOP);
+    }
+
+    /**
+     * Constructs a single-producer/single-consumer queue able to hold at least
+     * the specified number of elements that reports its activity to the given listener.
+     * 
+     * @param capacity the minimum number of elements the queue can hold
+     * @param listener the listener to notify of queue events
+     * @throws IllegalArgumentException if capacity is less than 1 or greater than 2^30
+     * @throws NullPointerException if listener is null
+     */
+    public SpscQueue(int capacity, QueueListener listener) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1");
+        }
+        if (capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Capacity must not exceed " + MAX_CAPACITY);
+        }
+        if (listener == null) {
+            throw new NullPointerException("Listener cannot be null");
+        }
+        int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.buffer = new Object[size];
+        this.mask = size - 1;
+        this.listener = listener;
+        this.reportEvents = listener != QueueListener.NOOP;
+    }
+
+    /**
+     * Adds an item to the queue. Blocks if the queue is full.
+     * Must only be called from the producer thread.
+     * 
+     * @param item the item to add
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    @Override
+    public void put(T item) throws InterruptedException {
+        if (item == null) {
+            throw new NullPointerException("Cannot add null item to queue");
+        }
+        if (!tryEnqueue(item)) {
+            awaitEnqueue(item, Long.MAX_VALUE);
+        }
+        if (reportEvents) {
+            listener.onPut(1, size());
+        }
+    }
+
+    /**
+     * Removes and returns an item from the queue. Blocks if the queue is empty.
+     * Must only be called from the consumer thread.
+     * 
+     * @return the item removed from the queue
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    @Override
+    public T take() throws InterruptedException {
+        T item = tryDequeue();
+        if (item == null) {
+            item = awaitDequeue(Long.MAX_VALUE);
+        }
+        if (reportEvents) {
+            listener.onTake(1, size());
+        }
+        return item;
+    }
+
+    /**
+     * Adds an item to the queue if there is a free slot. Never blocks.
+     * Must only be called from the producer thread.
+     * 
+     * @param item the item to add
+     * @return true if the item was added, false if the queue was full
+     */
+    @Override
+    public boolean offer(T item) {
+        if (item == null) {
+            throw new NullPointerException("Cannot add null item to queue");
+        }
+        if (!tryEnqueue(item)) {
+            return false;
+        }
+        if (reportEvents) {
+            listener.onPut(1, size());
+        }
+        return true;
+    }
+
+    /**
+     * Adds an item to the queue, backing off for up to the given time while the queue is full.
+     * Must only be called from the producer thread.
+     * 
+     * @param item the item to add
+     * @param timeout how long to wait before giving up
+     * @param unit the unit of the timeout
+     * @return true if the item was added, false if the timeout elapsed first
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    @Override
+    public boolean offer(T item, long timeout, TimeUnit unit) throws InterruptedException {
+        if (item == null) {
+            throw new NullPointerException("Cannot add null item to queue");
+        }
+        if (!tryEnqueue(item) && !awaitEnqueue(item, unit.toNanos(timeout))) {
+            return false;
+        }
+        if (reportEvents) {
+            listener.onPut(1, size());
+        }
+        return true;
+    }
+
+    /**
+     * Removes and returns an item if one is available. Never blocks.
+     * Must only be called from the consumer thread.
+     * 
+     * @return the item removed from the queue, or null if the queue was empty
+     */
+    @Override
+    public T poll() {
+        T item = tryDequeue();
+        if (item != null && reportEvents) {
+            listener.onTake(1, size());
+        }
+        return item;
+    }
+
+    /**
+     * Removes and returns an item, backing off for up to the given time while the queue is empty.
+     * Must only be called from the consumer thread.
+     * 
+     * @param timeout how long to wait before giving up
+     * @param unit the unit of the timeout
+     * @return the item removed from the queue, or null if the timeout elapsed first
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    @Override
+    public T poll(long timeout, TimeUnit unit) throws InterruptedException {
+        T item = tryDequeue();
+        if (item == null) {
+            item = awaitDequeue(unit.toNanos(timeout));
+        }
+        if (item != null && reportEvents) {
+            listener.onTake(1, size());
+        }
+        return item;
+    }
+
+    /**
+     * Adds all items to the queue, backing off while the queue is full.
+     * Must only be called from the producer thread.
+     * 
+     * @param items the items to add
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    @Override
+    public void putAll(Collection<? extends T> items) throws InterruptedException {
+        QueueSupport.requireNoNullItems(items);
+        int added = 0;
+        try {
+            for (T item : items) {
+                if (!tryEnqueue(item)) {
+                    awaitEnqueue(item, Long.MAX_VALUE);
+                }
+                added++;
+            }
+        } finally {
+            if (reportEvents && added > 0) {
+                listener.onPut(added, size());
+            }
+        }
+    }
+
+    /**
+     * Removes up to maxElements available items and adds them to the destination.
+     * The consumer index is published once for the whole batch. Never blocks.
+     * Must only be called from the consumer thread.
+     * 
+     * @param destination the collection to transfer items into
+     * @param maxElements the maximum number of items to transfer
+     * @return the number of items transferred
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public int drainTo(Collection<? super T> destination, int maxElements) {
+        QueueSupport.requireDestination(destination);
+        long currentHead = head;
+        long available = (long) TAIL.getAcquire(this) - currentHead;
+        int drained = (int) Math.min(Math.max(maxElements, 0), available);
+        if (drained == 0) {
+            return 0;
+        }
+
+        for (int i = 0; i < drained; i++) {
+            int index = (int) (currentHead + i) & mask;
+            destination.add((T) buffer[index]);
+            buffer[index] = null;
+        }
+        cachedTail = currentHead + available;
+        HEAD.setRelease(this, currentHead + drained);
+
+        if (reportEvents) {
+            listener.onTake(drained, size());
+        }
+        return drained;
+    }
+
+    /**
+     * Returns the current size of the queue. The value is a snapshot and may be
+     * stale by the time it is used when the other thread is active.
+     * 
+     * @return the number of elements in the queue
+     */
+    @Override
+    public int size() {
+        long consumed = (long) HEAD.getAcquire(this);
+        long produced = (long) TAIL.getAcquire(this);
+        long size = produced - consumed;
+        if (size < 0) {
+            return 0;
+        }
+        return (int) Math.min(size, buffer.length);
+    }
+
+    /**
+     * Returns the capacity of the queue, which is always a power of two.
+     * 
+     * @return the maximum capacity of the queue
+     */
+    @Override
+    public int getCapacity() {
+        return buffer.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public boolean isFull() {
+        return size() == buffer.length;
+    }
+
+    /**
+     * Stores the item and publishes it if there is a free slot.
+     * Only the producer thread writes the tail and its cached head.
+     * 
+     * @return true if the item was enqueued, false if the queue was full
+     */
+    private boolean tryEnqueue(T item) {
+        long currentTail = tail;
+        if (currentTail - cachedHead >= buffer.length) {
+            cachedHead = (long) HEAD.getAcquire(this);
+            if (currentTail - cachedHead >= buffer.length) {
+                return false;
+            }
+        }
+        buffer[(int) currentTail & mask] = item;
+        TAIL.setRelease(this, currentTail + 1);
+        return true;
+    }
+
+    /**
+     * Removes the next published item and frees its slot.
+     * Only the consumer thread writes the head and its cached tail.
+     * 
+     * @return the item, or null if the queue was empty
+     */
+    @SuppressWarnings("unchecked")
+    private T tryDequeue() {
+        long currentHead = head;
+        if (currentHead >= cachedTail) {
+            cachedTail = (long) TAIL.getAcquire(this);
+            if (currentHead >= cachedTail) {
+                return null;
+            }
+        }
+        int index = (int) currentHead & mask;
+        T item = (T) buffer[index];
+        buffer[index] = null;
+        HEAD.setRelease(this, currentHead + 1);
+        return item;
+    }
+
+    /**
+     * Retries enqueueing the item until it succeeds or the timeout elapses.
+     * A timeout of Long.MAX_VALUE waits indefinitely.
+     * 
+     * @return true if the item was enqueued, false if the timeout elapsed first
+     */
+    private boolean awaitEnqueue(T item, long nanos) throws InterruptedException {
+        if (nanos <= 0) {
+            return false;
+        }
+
+        listener.onProducerBlocked();
+        long start = System.nanoTime();
+        try {
+            int idle = 0;
+            while (!tryEnqueue(item)) {
+                if (nanos != Long.MAX_VALUE && System.nanoTime() - start >= nanos) {
+                    return false;
+                }
+                idle = QueueSupport.backOff(idle);
+            }
+            return true;
+        } finally {
+            listener.onProducerUnblocked(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Retries dequeueing until an item is published or the timeout elapses.
+     * A timeout of Long.MAX_VALUE waits indefinitely.
+     * 
+     * @return the item, or null if the timeout elapsed first
+     */
+    private T awaitDequeue(long nanos) throws InterruptedException {
+        if (nanos <= 0) {
+            return null;
+        }
+
+        listener.onConsumerBlocked();
+        long start = System.nanoTime();
+        try {
+            int idle = 0;
+            T item;
+            while ((item = tryDequeue()) == null) {
+                if (nanos != Long.MAX_VALUE && System.nanoTime() - start >= nanos) {
+                    return null;
+                }
+                idle = QueueSupport.backOff(idle);
+            }
+            return item;
+        } finally {
+            listener.onConsumerUnblocked(System.nanoTime() - start);
+        }
+    }
+}
+
+/**
+ * Padding that keeps the producer fields off the cache line of the object header
+ * and of whatever was allocated just before the queue.
+ */
+abstract class SpscQueuePadding {
+    long p00, p01, p02, p03, p04, p05, p06, p07;
+}
+
+/**
+ * Fields written only by the producer thread.
+ */
+abstract class SpscQueueProducerFields extends SpscQueuePadding {
+    long tail;
+    long cachedHead;
+}
+
+/**
+ * Padding that separates the producer fields from the consumer fields.
+ */
+abstract class SpscQueueMiddlePadding extends SpscQueueProducerFields {
+    long p10, p11, p12, p13, p14, p15, p16, p17;
+}
+
+/**
+ * Fields written only by the consumer thread.
+ */
+abstract class SpscQueueConsumerFields extends SpscQueueMiddlePadding {
+    long head;
+    long cachedTail;
+}
@@ -0,0 +1,537 @@
+package com.assignment.producerconsumer;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded blocking queue made of independent lanes, each with its own lock.
+ * 
+ * Every producer thread is pinned to one lane, assigned round-robin on its
+ * first insert, and only ever inserts into that lane. Consumers scan the
+ * lanes round-robin from a per-thread cursor, skipping empty lanes without
+ * locking them. A shared item count acts as the "any lane non-empty" signal:
+ * consumers park on a single condition only while it is zero, and producers
+ * take the consumer lock only when a consumer is actually parked.
+ * 
+ * With N lanes, lock contention drops roughly N-fold compared to a single
+ * queue. The price is global FIFO order: items from one producer stay in
+ * order relative to each other, but items from different producers may be
+ * taken in any order.
+ * 
+ * Because producers only see their own lane, {@code put} and {@code offer}
+ * may wait or fail while other lanes still have room, and {@link #isFull()}
+ * reports the queue as a whole.
+ *
+ * @param <T> the type of elements held in the queue
+ */
+public class StripedBlockingQueue<T> implements BoundedQueue<T> {
+    private final Lane[] lanes;
+    private final int capacity;
+    private final QueueListener listener;
+    private final AtomicInteger count = new AtomicInteger();
+
+    private final AtomicInteger nextProducerLane = new AtomicInteger();
+    private final AtomicInteger nextConsumerLane = new AtomicInteger();
+    private final ThreadLocal<Lane> producerLane;
+    private final ThreadLocal<int[]> consumerCursor;
+
+    private final ReentrantLock consumerLock = new ReentrantLock();
+    private final Condition notEmpty = consumerLock.newCondition();
+    private final AtomicInteger waitingConsumers = new AtomicInteger();
+
+    /**
+     * Constructs a striped queue with no listener.
+     * 
+     * @param laneCount the number of independent lanes
+     * @param laneCapacity the maximum number of elements each lane can hold
+     * @throws IllegalArgumentException if laneCount or laneCapacity is less than 1
+     */
+    public StripedBlockingQueue(int laneCount, int laneCapacity) {
+        this(laneCount, laneCapacity, QueueListener.NOOP);
+    }
+
+    /**
+     * Constructs a striped queue that reports its activity to the given listener.
+     * 
+     * @param laneCount the number of independent lanes
+     * @param laneCapacity the maximum number of elements each lane can hold
+     * @param listener the listener to notify of queue events
+     * @throws IllegalArgumentException if laneCount or laneCapacity is less than 1
+     * @throws NullPointerException if listener is null
+     */
+    public StripedBlockingQueue(int laneCount, int laneCapacity, QueueListener listener) {
+        if (laneCount < 1) {
+            throw new IllegalArgumentException("Lane count must be at least 1");
+        }
+        if (laneCapacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1");
+        }
+        if (listener == null) {
+            throw new NullPointerException("Listener cannot be null");
+        }
+        if ((long) laneCount * laneCapacity > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Total capacity must not exceed " + Integer.MAX_VALUE);
+        }
+        this.lanes = new Lane[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            lanes[i] = new Lane(laneCapacity);
+        }
+        this.capacity = laneCount * laneCapacity;
+        this.listener = listener;
+        this.producerLane = ThreadLocal.withInitial(
+            () -> lanes[Math.floorMod(nextProducerLane.getAndIncrement(), laneCount)]);
+        this.consumerCursor = ThreadLocal.withInitial(
+            () -> new int[] {Math.floorMod(nextConsumerLane.getAndIncrement(), laneCount)});
+    }
+
+    /**
+     * Adds an item to the calling producer's lane. Blocks if that lane is full.
+     * 
+     * @param item the item to add
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    @Override
+    public void put(T item) throws InterruptedException {
+        if (item == null) {
+            throw new NullPointerException("Cannot add null item to queue");
+        }
+
+        Lane lane = producerLane.get();
+        lane.lock.lockInterruptibly();
+        try {
+            awaitNotFull(lane);
+            lane.enqueue(item);
+        } finally {
+            lane.lock.unlock();
+        }
+
+        afterInsert(1);
+    }
+
+    /**
+     * Removes and returns an item from any lane. Blocks if every lane is empty.
+     * 
+     * @return the item removed from the queue
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    @Override
+    public T take() throws InterruptedException {
+        T item = pollLanes();
+        return item != null ? item : awaitItem(false, 0);
+    }
+
+    /**
+     * Adds an item to the calling producer's lane if it has room. Never waits
+     * for space, although it may briefly wait to acquire the lane lock.
+     * 
+     * @param item the item to add
+     * @return true if the item was added, false if the producer's lane was full
+     */
+    @Override
+    public boolean offer(T item) {
+        if (item == null) {
+            throw new NullPointerException("Cannot add null item to queue");
+        }
+
+        Lane lane = producerLane.get();
+        if (lane.isFull()) {
+            return false;
+        }
+        lane.lock.lock();
+        try {
+            if (lane.isFull()) {
+                return false;
+            }
+            lane.enqueue(item);
+        } finally {
+            lane.lock.unlock();
+        }
+
+        afterInsert(1);
+        return true;
+    }
+
+    /**
+     * Adds an item to the calling producer's lane, waiting up to the given time
+     * if that lane is full.
+     * 
+     * @param item the item to add
+     * @param timeout how long to wait before giving up
+     * @param unit the unit of the timeout
+     * @return true if the item was added, false if the timeout elapsed first
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    @Override
+    public boolean offer(T item, long timeout, TimeUnit unit) throws InterruptedException {
+        if (item == null) {
+            throw new NullPointerException("Cannot add null item to queue");
+        }
+
+        Lane lane = producerLane.get();
+        lane.lock.lockInterruptibly();
+        try {
+            if (!awaitNotFull(lane, unit.toNanos(timeout))) {
+                return false;
+            }
+            lane.enqueue(item);
+        } finally {
+            lane.lock.unlock();
+        }
+
+        afterInsert(1);
+        return true;
+    }
+
+    /**
+     * Removes and returns an item from any lane if one is available. Never waits for items.
+     * 
+     * @return the item removed from the queue, or null if every lane was empty
+     */
+    @Override
+    public T poll() {
+        return count.get() > 0 ? pollLanes() : null;
+    }
+
+    /**
+     * Removes and returns an item from any lane, waiting up to the given time
+     * if every lane is empty.
+     * 
+     * @param timeout how long to wait before giving up
+     * @param unit the unit of the timeout
+     * @return the item removed from the queue, or null if the timeout elapsed first
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    @Override
+    public T poll(long timeout, TimeUnit unit) throws InterruptedException {
+        T item = pollLanes();
+        return item != null ? item : awaitItem(true, unit.toNanos(timeout));
+    }
+
+    /**
+     * Adds all items to the calling producer's lane. Each acquisition of the
+     * lane lock inserts as many items as currently fit.
+     * 
+     * @param items the items to add
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    @Override
+    public void putAll(Collection<? extends T> items) throws InterruptedException {
+        QueueSupport.requireNoNullItems(items);
+
+        Lane lane = producerLane.get();
+        Iterator<? extends T> iterator = items.iterator();
+        while (iterator.hasNext()) {
+            int added = 0;
+            lane.lock.lockInterruptibly();
+            try {
+                awaitNotFull(lane);
+                while (!lane.isFull() && iterator.hasNext()) {
+                    lane.enqueue(iterator.next());
+                    added++;
+                }
+            } finally {
+                lane.lock.unlock();
+            }
+
+            afterInsert(added);
+        }
+    }
+
+    /**
+     * Removes up to maxElements available items, visiting the lanes round-robin
+     * and taking each non-empty lane's lock once. Never blocks.
+     * 
+     * @param destination the collection to transfer items into
+     * @param maxElements the maximum number of items to transfer
+     * @return the number of items transferred
+     */
+    @Override
+    public int drainTo(Collection<? super T> destination, int maxElements) {
+        QueueSupport.requireDestination(destination);
+        if (maxElements <= 0 || count.get() <= 0) {
+            return 0;
+        }
+
+        int[] cursor = consumerCursor.get();
+        int drained = 0;
+        for (int i = 0; i < lanes.length && drained < maxElements; i++) {
+            Lane lane = lanes[(cursor[0] + i) % lanes.length];
+            if (lane.size == 0) {
+                continue;
+            }
+            lane.lock.lock();
+            try {
+                int fromLane = 0;
+                while (lane.size > 0 && drained < maxElements) {
+                    destination.add(lane.<T>dequeue());
+                    drained++;
+                    fromLane++;
+                }
+                if (fromLane == 1) {
+                    lane.notFull.signal();
+                } else if (fromLane > 1) {
+                    lane.notFull.signalAll();
+                }
+            } finally {
+                lane.lock.unlock();
+            }
+        }
+        cursor[0] = (cursor[0] + 1) % lanes.length;
+
+        if (drained == 0) {
+            return 0;
+        }
+        listener.onTake(drained, Math.max(0, count.addAndGet(-drained)));
+        return drained;
+    }
+
+    @Override
+    public int size() {
+        return Math.max(0, count.get());
+    }
+
+    @Override
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public boolean isFull() {
+        return size() == capacity;
+    }
+
+    /**
+     * Returns the number of lanes.
+     * 
+     * @return the lane count
+     */
+    public int getLaneCount() {
+        return lanes.length;
+    }
+
+    /**
+     * Returns the number of items currently held by one lane.
+     * 
+     * @param lane the zero-based lane index
+     * @return the number of items in that lane
+     */
+    public int getLaneSize(int lane) {
+        return lanes[lane].size;
+    }
+
+    /**
+     * Takes one item from the first non-empty lane, starting at the calling
+     * consumer's cursor. Empty lanes are skipped without taking their lock.
+     * 
+     * @return the item, or null if no lane had an item
+     */
+    private T pollLanes() {
+        int[] cursor = consumerCursor.get();
+        for (int i = 0; i < lanes.length; i++) {
+            int index = (cursor[0] + i) % lanes.length;
+            Lane lane = lanes[index];
+            if (lane.size == 0) {
+                continue;
+            }
+            T item;
+            lane.lock.lock();
+            try {
+                if (lane.size == 0) {
+                    continue;
+                }
+                item = lane.dequeue();
+                lane.notFull.signal();
+            } finally {
+                lane.lock.unlock();
+            }
+            cursor[0] = (index + 1) % lanes.length;
+            listener.onTake(1, Math.max(0, count.decrementAndGet()));
+            return item;
+        }
+        return null;
+    }
+
+    /**
+     * Waits until an item can be taken from some lane.
+     * 
+     * The item count is raised only after an item is stored, so a consumer that
+     * registers as waiting and then reads a zero count will be signalled by the
+     * producer of the next item. A count above zero with no item found means an
+     * insert or removal is in flight, and the consumer yields and rescans.
+     * 
+     * @return the item, or null if the timeout elapsed first
+     */
+    private T awaitItem(boolean timed, long nanos) throws InterruptedException {
+        long deadline = System.nanoTime() + nanos;
+        long start = 0;
+        boolean blocked = false;
+        try {
+            while (true) {
+                T item = pollLanes();
+                if (item != null) {
+                    return item;
+                }
+                long remaining = deadline - System.nanoTime();
+                if (timed && remaining <= 0) {
+                    return null;
+                }
+                if (count.get() > 0) {
+                    Thread.yield();
+                    continue;
+                }
+                if (!blocked) {
+                    blocked = true;
+                    listener.onConsumerBlocked();
+                    start = System.nanoTime();
+                }
+                consumerLock.lockInterruptibly();
+                try {
+                    waitingConsumers.incrementAndGet();
+                    try {
+                        if (count.get() <= 0) {
+                            if (timed) {
+                                notEmpty.awaitNanos(remaining);
+                            } else {
+                                notEmpty.await();
+                            }
+                        }
+                    } finally {
+                        waitingConsumers.decrementAndGet();
+                    }
+                } finally {
+                    consumerLock.unlock();
+                }
+            }
+        } finally {
+            if (blocked) {
+                listener.onConsumerUnblocked(System.nanoTime() - start);
+            }
+        }
+    }
+
+    /**
+     * Waits until the lane has room for at least one item.
+     * Must be called with the lane lock held.
+     */
+    private void awaitNotFull(Lane lane) throws InterruptedException {
+        if (!lane.isFull()) {
+            return;
+        }
+
+        listener.onProducerBlocked();
+        long start = System.nanoTime();
+        try {
+            while (lane.isFull()) {
+                lane.notFull.await();
+            }
+        } finally {
+            listener.onProducerUnblocked(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Waits up to the given time until the lane has room for at least one item.
+     * Must be called with the lane lock held.
+     * 
+     * @return true if there is room, false if the timeout elapsed first
+     */
+    private boolean awaitNotFull(Lane lane, long nanos) throws InterruptedException {
+        if (!lane.isFull()) {
+            return true;
+        }
+        if (nanos <= 0) {
+            return false;
+        }
+
+        listener.onProducerBlocked();
+        long start = System.nanoTime();
+        try {
+            long remaining = nanos;
+            while (lane.isFull()) {
+                if (remaining <= 0) {
+                    return false;
+                }
+                remaining = lane.notFull.awaitNanos(remaining);
+            }
+            return true;
+        } finally {
+            listener.onProducerUnblocked(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Publishes newly stored items to consumers. Must be called after the lane
+     * lock has been released. The consumer lock is only taken when a consumer
+     * is parked.
+     */
+    private void afterInsert(int added) {
+        if (added == 0) {
+            return;
+        }
+        int newCount = count.addAndGet(added);
+        if (waitingConsumers.get() > 0) {
+            consumerLock.lock();
+            try {
+                if (added == 1) {
+                    notEmpty.signal();
+                } else {
+                    notEmpty.signalAll();
+                }
+            } finally {
+                consumerLock.unlock();
+            }
+        }
+        listener.onPut(added, Math.min(capacity, newCount));
+    }
+
+    /**
+     * One lane: a circular array guarded by its own lock. The size is volatile
+     * so consumers can skip empty lanes without locking them.
+     */
+    private static final class Lane {
+        final Object[] items;
+        final ReentrantLock lock = new ReentrantLock();
+        final Condition notFull = lock.newCondition();
+        int putIndex;
+        int takeIndex;
+        volatile int size;
+
+        Lane(int capacity) {
+            this.items = new Object[capacity];
+        }
+
+        boolean isFull() {
+            return size == items.length;
+        }
+
+        /**
+         * Stores an item at the put index. Must be called with the lock held.
+         */
+        void enqueue(Object item) {
+            items[putIndex] = item;
+            putIndex = (putIndex + 1 == items.length) ? 0 : putIndex + 1;
+            size = size + 1;
+        }
+
+        /**
+         * Removes the item at the take index. Must be called with the lock held.
+         */
+        @SuppressWarnings("unchecked")
+        <T> T dequeue() {
+            T item = (T) items[takeIndex];
+            items[takeIndex] = null;
+            takeIndex = (takeIndex + 1 == items.length) ? 0 : takeIndex + 1;
+            size = size - 1;
+            return item;
+        }
+    }
+}
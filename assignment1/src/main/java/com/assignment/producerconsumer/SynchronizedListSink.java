@@ -0,0 +1,44 @@
+package com.assignment.producerconsumer;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Sink that appends to a shared list while holding the list's monitor.
+ * 
+ * The list is always up to date and ordered by consumption, but every consumer
+ * serializes on the same lock for every item or batch. Prefer
+ * {@link ThreadLocalSink} when several consumers are busy at once.
+ *
+ * @param <T> the type of items collected
+ */
+public class SynchronizedListSink<T> implements ItemSink<T> {
+    private final List<T> list;
+
+    /**
+     * Constructs a sink that appends to the given list.
+     * 
+     * @param list the list to append to; other readers must synchronize on it too
+     * @throws NullPointerException if list is null
+     */
+    public SynchronizedListSink(List<T> list) {
+        if (list == null) {
+            throw new NullPointerException("List cannot be null");
+        }
+        this.list = list;
+    }
+
+    @Override
+    public void add(T item) {
+        synchronized (list) {
+            list.add(item);
+        }
+    }
+
+    @Override
+    public void addAll(Collection<? extends T> items) {
+        synchronized (list) {
+            list.addAll(items);
+        }
+    }
+}
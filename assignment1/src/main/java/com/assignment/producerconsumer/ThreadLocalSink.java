@@ -0,0 +1,162 @@
+package com.assignment.producerconsumer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sink that gives every consumer thread a private buffer and merges the
+ * buffers once consumption is complete.
+ * 
+ * Adding an item only touches the calling thread's own buffer, so consumers
+ * never wait for each other. The only shared write is registering a thread's
+ * buffer on its first add.
+ * 
+ * Without ordering, {@link #toList()} concatenates the buffers one thread
+ * after another. With ordering, every add also takes a sequence number from
+ * a shared atomic counter: one non-blocking increment per item or batch.
+ * {@link #toList()} then k-way merges the buffers back into the order in which
+ * items reached the sink.
+ * 
+ * The buffers are not synchronized, so {@link #toList()} and {@link #size()}
+ * may only be called once every consumer has finished, for example after
+ * joining the consumer threads.
+ *
+ * @param <T> the type of items collected
+ */
+public class ThreadLocalSink<T> implements ItemSink<T> {
+    private final boolean preserveOrder;
+    private final AtomicLong nextSequence = new AtomicLong();
+    private final List<Buffer<T>> buffers = new CopyOnWriteArrayList<>();
+    private final ThreadLocal<Buffer<T>> localBuffer = ThreadLocal.withInitial(this::register);
+
+    /**
+     * Constructs a sink that does not track the order of consumption.
+     */
+    public ThreadLocalSink() {
+        this(false);
+    }
+
+    /**
+     * Constructs a sink.
+     * 
+     * @param preserveOrder whether {@link #toList()} returns items in the order
+     *        they were added across all threads
+     */
+    public ThreadLocalSink(boolean preserveOrder) {
+        this.preserveOrder = preserveOrder;
+    }
+
+    @Override
+    public void add(T item) {
+        Buffer<T> buffer = localBuffer.get();
+        if (preserveOrder) {
+            buffer.addSequence(nextSequence.getAndIncrement(), 1);
+        }
+        buffer.items.add(item);
+    }
+
+    @Override
+    public void addAll(Collection<? extends T> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+        Buffer<T> buffer = localBuffer.get();
+        if (preserveOrder) {
+            buffer.addSequence(nextSequence.getAndAdd(items.size()), items.size());
+        }
+        buffer.items.addAll(items);
+    }
+
+    /**
+     * Returns the total number of items added. Call only after every
+     * consumer has finished.
+     * 
+     * @return the number of items in the sink
+     */
+    public int size() {
+        int size = 0;
+        for (Buffer<T> buffer : buffers) {
+            size += buffer.items.size();
+        }
+        return size;
+    }
+
+    /**
+     * Merges every thread's buffer into a new list. Call only after every
+     * consumer has finished.
+     * 
+     * @return the items, in order of addition if this sink preserves order,
+     *         otherwise grouped by thread
+     */
+    public List<T> toList() {
+        List<T> merged = new ArrayList<>(size());
+        if (!preserveOrder) {
+            for (Buffer<T> buffer : buffers) {
+                merged.addAll(buffer.items);
+            }
+            return merged;
+        }
+
+        // Each buffer is already in sequence order, so only the buffer heads are compared
+        PriorityQueue<Cursor<T>> heads = new PriorityQueue<>(
+            Math.max(1, buffers.size()), (a, b) -> Long.compare(a.sequence(), b.sequence()));
+        for (Buffer<T> buffer : buffers) {
+            if (!buffer.items.isEmpty()) {
+                heads.add(new Cursor<>(buffer));
+            }
+        }
+        while (!heads.isEmpty()) {
+            Cursor<T> cursor = heads.poll();
+            merged.add(cursor.buffer.items.get(cursor.index++));
+            if (cursor.index < cursor.buffer.items.size()) {
+                heads.add(cursor);
+            }
+        }
+        return merged;
+    }
+
+    private Buffer<T> register() {
+        Buffer<T> buffer = new Buffer<>();
+        buffers.add(buffer);
+        return buffer;
+    }
+
+    /**
+     * One thread's items and, with ordering, the sequence number of each.
+     */
+    private static final class Buffer<T> {
+        final List<T> items = new ArrayList<>();
+        long[] sequences = new long[16];
+
+        void addSequence(long first, int length) {
+            int start = items.size();
+            if (start + length > sequences.length) {
+                sequences = Arrays.copyOf(sequences, Math.max(sequences.length * 2, start + length));
+            }
+            for (int i = 0; i < length; i++) {
+                sequences[start + i] = first + i;
+            }
+        }
+    }
+
+    /**
+     * Read position in one buffer during a merge.
+     */
+    private static final class Cursor<T> {
+        final Buffer<T> buffer;
+        int index;
+
+        Cursor(Buffer<T> buffer) {
+            this.buffer = buffer;
+        }
+
+        long sequence() {
+            return buffer.sequences[index];
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.assignment.producerconsumer;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * How producer and consumer tasks are mapped onto threads.
+ * 
+ * Virtual threads need Java 21 or later. The project still compiles for Java 11,
+ * so they are created reflectively and {@link #isSupported()} reports whether
+ * the running JVM provides them.
+ * 
+ * Virtual threads should be paired with a queue whose blocking does not pin
+ * the carrier thread. {@link TwoLockBlockingQueue} blocks on
+ * {@code java.util.concurrent.locks} conditions and is safe; {@link BlockingQueue}
+ * blocks in {@code Object.wait()} inside {@code synchronized}, which pins the
+ * carrier thread on JDKs before 24.
+ */
+public enum ThreadMode {
+    /**
+     * One operating-system thread per task.
+     */
+    PLATFORM {
+        @Override
+        public boolean isSupported() {
+            return true;
+        }
+
+        @Override
+        public Thread newThread(String name, Runnable task) {
+            return new Thread(task, name);
+        }
+    },
+
+    /**
+     * One virtual thread per task, multiplexed over a small pool of carrier threads.
+     */
+    VIRTUAL {
+        @Override
+        public boolean isSupported() {
+            return VirtualThreads.FACTORY != null;
+        }
+
+        @Override
+        public Thread newThread(String name, Runnable task) {
+            if (VirtualThreads.FACTORY == null) {
+                throw new UnsupportedOperationException(
+                    "Virtual threads require Java 21 or later (running " + System.getProperty("java.version") + ")");
+            }
+            try {
+                return (Thread) VirtualThreads.FACTORY.invoke(name, task);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException("Could not create virtual thread", e);
+            }
+        }
+    };
+
+    /**
+     * Checks whether this mode can be used on the running JVM.
+     * 
+     * @return true if threads of this kind can be created
+     */
+    public abstract boolean isSupported();
+
+    /**
+     * Creates an unstarted thread of this kind.
+     * 
+     * @param name the thread name
+     * @param task the task the thread runs
+     * @return the new, unstarted thread
+     * @throws UnsupportedOperationException if the mode is not supported on this JVM
+     */
+    public abstract Thread newThread(String name, Runnable task);
+
+    /**
+     * Resolves {@code Thread.ofVirtual().name(name).unstarted(task)} once, if available.
+     */
+    private static final class VirtualThreads {
+        static final MethodHandle FACTORY = resolve();
+
+        private static MethodHandle resolve() {
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+                Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+                Class<?> ofVirtualClass = Class.forName("java.lang.Thread$Builder$OfVirtual");
+                MethodHandle ofVirtual = lookup.findStatic(Thread.class, "ofVirtual", MethodType.methodType(ofVirtualClass));
+                MethodHandle name = lookup.findVirtual(ofVirtualClass, "name", MethodType.methodType(ofVirtualClass, String.class));
+                MethodHandle unstarted = lookup.findVirtual(builderClass, "unstarted", MethodType.methodType(Thread.class, Runnable.class));
+
+                // (String) -> Thread.ofVirtual().name(name)
+                MethodHandle namedBuilder = MethodHandles.collectArguments(name, 0, ofVirtual);
+                // (String, Runnable) -> Thread.ofVirtual().name(name).unstarted(task)
+                MethodHandle build = unstarted.asType(MethodType.methodType(Thread.class, ofVirtualClass, Runnable.class));
+                return MethodHandles.collectArguments(build, 0, namedBuilder);
+            } catch (ReflectiveOperationException e) {
+                return null;
+            }
+        }
+    }
+}
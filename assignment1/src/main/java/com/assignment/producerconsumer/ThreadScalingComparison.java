@@ -0,0 +1,158 @@
+package com.assignment.producerconsumer;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares platform threads with virtual threads for many I/O-bound producers.
+ * 
+ * Each producer repeatedly "waits for I/O" (sleeps) and then puts an item into
+ * a shared {@link TwoLockBlockingQueue}, which blocks without pinning carrier
+ * threads. A handful of consumers drain the queue. For each mode the program
+ * reports elapsed time, throughput, peak platform threads and the growth in
+ * heap usage and resident memory while all producers are alive.
+ * 
+ * Virtual threads are measured first: the JVM rarely returns memory to the
+ * operating system, so the mode measured second starts from a higher baseline.
+ * 
+ * Run with (virtual threads need Java 21+):
+ * mvn exec:java -Dexec.mainClass="com.assignment.producerconsumer.ThreadScalingComparison" -Dexec.args="10000"
+ */
+public class ThreadScalingComparison {
+    private static final int DEFAULT_PRODUCERS = 10_000;
+    private static final int NUM_CONSUMERS = 4;
+    private static final int ITEMS_PER_PRODUCER = 5;
+    private static final long IO_LATENCY_MILLIS = 20;
+    private static final int QUEUE_CAPACITY = 1024;
+
+    public static void main(String[] args) throws InterruptedException {
+        int producers = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PRODUCERS;
+
+        System.out.println("=== Thread Scaling Comparison ===\n");
+        System.out.println("Configuration:");
+        System.out.println("  Java Version: " + System.getProperty("java.version"));
+        System.out.println("  Producers: " + producers);
+        System.out.println("  Consumers: " + NUM_CONSUMERS);
+        System.out.println("  Items per Producer: " + ITEMS_PER_PRODUCER);
+        System.out.println("  Simulated I/O per Item: " + IO_LATENCY_MILLIS + " ms");
+        System.out.println();
+
+        for (ThreadMode mode : new ThreadMode[] {ThreadMode.VIRTUAL, ThreadMode.PLATFORM}) {
+            if (!mode.isSupported()) {
+                System.out.println(mode + ": not supported on this JVM (requires Java 21+)\n");
+                continue;
+            }
+            run(mode, producers);
+        }
+    }
+
+    private static void run(ThreadMode mode, int producers) throws InterruptedException {
+        BoundedQueue<Integer> queue = new TwoLockBlockingQueue<>(QUEUE_CAPACITY);
+        int totalItems = producers * ITEMS_PER_PRODUCER;
+
+        System.gc();
+        long heapBefore = usedHeapBytes();
+        long rssBefore = residentSetBytes();
+        ManagementFactory.getThreadMXBean().resetPeakThreadCount();
+        long start = System.nanoTime();
+
+        List<Thread> consumerThreads = new ArrayList<>();
+        for (int i = 0; i < NUM_CONSUMERS; i++) {
+            int itemsToConsume = totalItems / NUM_CONSUMERS + (i < totalItems % NUM_CONSUMERS ? 1 : 0);
+            Thread thread = mode.newThread("Consumer-" + (i + 1), () -> consume(queue, itemsToConsume));
+            consumerThreads.add(thread);
+            thread.start();
+        }
+
+        List<Thread> producerThreads = new ArrayList<>(producers);
+        for (int i = 0; i < producers; i++) {
+            Thread thread = mode.newThread("Producer-" + (i + 1), () -> produce(queue));
+            producerThreads.add(thread);
+            thread.start();
+        }
+
+        long heapDuring = usedHeapBytes();
+        long rssDuring = residentSetBytes();
+
+        for (Thread thread : producerThreads) {
+            thread.join();
+        }
+        for (Thread thread : consumerThreads) {
+            thread.join();
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        int peakThreads = ManagementFactory.getThreadMXBean().getPeakThreadCount();
+
+        System.out.println(mode + " threads:");
+        System.out.printf("  Elapsed: %.0f ms%n", elapsedNanos / 1_000_000.0);
+        System.out.printf("  Throughput: %.0f items/s%n", totalItems / (elapsedNanos / 1_000_000_000.0));
+        System.out.println("  Peak platform threads: " + peakThreads);
+        System.out.printf("  Heap growth while running: %.1f MB%n", (heapDuring - heapBefore) / 1_048_576.0);
+        if (rssBefore >= 0 && rssDuring >= 0) {
+            System.out.printf("  Resident memory growth while running: %.1f MB%n", (rssDuring - rssBefore) / 1_048_576.0);
+        }
+        System.out.println();
+    }
+
+    private static void produce(BoundedQueue<Integer> queue) {
+        try {
+            for (int i = 0; i < ITEMS_PER_PRODUCER; i++) {
+                Thread.sleep(IO_LATENCY_MILLIS);
+                queue.put(i);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void consume(BoundedQueue<Integer> queue, int itemsToConsume) {
+        try {
+            List<Integer> batch = new ArrayList<>(QUEUE_CAPACITY);
+            int consumed = 0;
+            while (consumed < itemsToConsume) {
+                Integer first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                consumed++;
+                consumed += queue.drainTo(batch, Math.min(QUEUE_CAPACITY, itemsToConsume - consumed));
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static long usedHeapBytes() {
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * Reads the resident set size from /proc on Linux.
+     * 
+     * @return the resident memory in bytes, or -1 if unavailable on this platform
+     */
+    private static long residentSetBytes() {
+        Path status = Paths.get("/proc/self/status");
+        if (!Files.isReadable(status)) {
+            return -1;
+        }
+        try {
+            for (String line : Files.readAllLines(status)) {
+                if (line.startsWith("VmRSS:")) {
+                    String kilobytes = line.substring("VmRSS:".length()).replace("kB", "").trim();
+                    return Long.parseLong(kilobytes) * 1024;
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            return -1;
+        }
+        return -1;
+    }
+}
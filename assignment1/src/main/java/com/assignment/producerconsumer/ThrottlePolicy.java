@@ -0,0 +1,18 @@
+package com.assignment.producerconsumer;
+
+/**
+ * What a rate-limited producer or queue does with an item when its
+ * {@link RateLimiter} has no permit left.
+ */
+public enum ThrottlePolicy {
+    /**
+     * Wait for a permit. Ingress is smoothed to the limiter's rate and nothing is lost.
+     */
+    BLOCK,
+
+    /**
+     * Drop the item and count it. The producer never waits, so it keeps its own
+     * pace, and whatever exceeds the rate is lost.
+     */
+    SHED
+}
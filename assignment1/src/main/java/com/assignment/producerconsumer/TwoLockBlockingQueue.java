@@ -0,0 +1,683 @@
+package com.assignment.producerconsumer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded blocking queue with separate put and take locks.
+ * 
+ * Unlike {@link BlockingQueue}, which wakes every waiting thread on each
+ * operation, this queue keeps producers and consumers in separate wait sets:
+ * - Producers wait on the "not full" condition of the put lock
+ * - Consumers wait on the "not empty" condition of the take lock
+ * 
+ * Each operation signals a single thread that can actually make progress, and
+ * producers and consumers never block each other on the same lock. The element
+ * count is shared through an atomic counter, and items are stored in a
+ * pre-allocated circular array so no node is allocated per item.
+ * 
+ * Queue activity is reported to a {@link QueueListener} after the locks are released.
+ * The queue can be closed, with the semantics described in {@link CloseableQueue}.
+ * With a {@link QueueLatency}, each item's insertion time is kept in a parallel
+ * array, and its time in the queue is recorded when a consumer takes it.
+ *
+ * @param <T> the type of elements held in the queue
+ */
+public class TwoLockBlockingQueue<T> implements CloseableQueue<T> {
+    private final Object[] items;
+    private final int capacity;
+    private final AtomicInteger count = new AtomicInteger();
+    private final LongAdder wakeups = new LongAdder();
+    private final QueueListener listener;
+    private final QueueLatency latency;
+    private final long[] enqueueTimes;
+
+    private final ReentrantLock putLock = new ReentrantLock();
+    private final Condition notFull = putLock.newCondition();
+    private int putIndex;
+
+    private final ReentrantLock takeLock = new ReentrantLock();
+    private final Condition notEmpty = takeLock.newCondition();
+    private final Condition drained = takeLock.newCondition();
+    private int takeIndex;
+
+    private volatile boolean closed;
+
+    /**
+     * Constructs a two-lock blocking queue with the specified capacity and no listener.
+     * 
+     * @param capacity the maximum number of elements the queue can hold
+     * @throws IllegalArgumentException if capacity is less than 1
+     */
+    public TwoLockBlockingQueue(int capacity) {
+        this(capacity, QueueListener.NOOP);
+    }
+
+    /**
+     * Constructs a two-lock blocking queue with the specified capacity that
+     * reports its activity to the given listener.
+     * 
+     * @param capacity the maximum number of elements the queue can hold
+     * @param listener the listener to notify of queue events
+     * @throws IllegalArgumentException if capacity is less than 1
+     * @throws NullPointerException if listener is null
+     */
+    public TwoLockBlockingQueue(int capacity, QueueListener listener) {
+        this(capacity, listener, null);
+    }
+
+    /**
+     * Constructs a two-lock blocking queue that reports its activity to the
+     * given listener and records latency histograms.
+     * 
+     * @param capacity the maximum number of elements the queue can hold
+     * @param listener the listener to notify of queue events
+     * @param latency records time in queue and time blocked in put and take,
+     *        or null to leave items untimestamped
+     * @throws IllegalArgumentException if capacity is less than 1
+     * @throws NullPointerException if listener is null
+     */
+    public TwoLockBlockingQueue(int capacity, QueueListener listener, QueueLatency latency) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1");
+        }
+        if (listener == null) {
+            throw new NullPointerException("Listener cannot be null");
+        }
+        this.capacity = capacity;
+        this.listener = latency == null ? listener : QueueListener.composite(listener, latency);
+        this.latency = latency;
+        this.enqueueTimes = latency == null ? null : new long[capacity];
+        this.items = new Object[capacity];
+    }
+
+    /**
+     * Adds an item to the queue. Blocks if the queue is full.
+     * Wakes a single waiting consumer if the queue was empty.
+     * 
+     * @param item the item to add
+     * @throws InterruptedException if the thread is interrupted while waiting
+     * @throws QueueClosedException if the queue is closed, also while waiting
+     */
+    @Override
+    public void put(T item) throws InterruptedException {
+        if (item == null) {
+            throw new NullPointerException("Cannot add null item to queue");
+        }
+
+        int previousCount;
+        putLock.lockInterruptibly();
+        try {
+            awaitNotFull();
+            ensureOpen();
+            previousCount = insert(item);
+        } finally {
+            putLock.unlock();
+        }
+
+        afterInsert(previousCount);
+    }
+
+    /**
+     * Removes and returns an item from the queue. Blocks if the queue is empty.
+     * Wakes a single waiting producer if the queue was full.
+     * 
+     * @return the item removed from the queue
+     * @throws InterruptedException if the thread is interrupted while waiting
+     * @throws QueueClosedException if the queue is closed and empty, also while waiting
+     */
+    @Override
+    public T take() throws InterruptedException {
+        T item;
+        int previousCount;
+        takeLock.lockInterruptibly();
+        try {
+            awaitNotEmpty();
+            if (count.get() == 0) {
+                throw new QueueClosedException();
+            }
+            item = dequeue();
+            previousCount = removed();
+        } finally {
+            takeLock.unlock();
+        }
+
+        afterRemove(previousCount);
+        return item;
+    }
+
+    /**
+     * Adds an item to the queue if there is room. Never waits for space,
+     * although it may briefly wait to acquire the put lock.
+     * 
+     * @param item the item to add
+     * @return true if the item was added, false if the queue was full
+     * @throws QueueClosedException if the queue is closed
+     */
+    @Override
+    public boolean offer(T item) {
+        if (item == null) {
+            throw new NullPointerException("Cannot add null item to queue");
+        }
+        ensureOpen();
+        if (count.get() == capacity) {
+            return false;
+        }
+
+        int previousCount;
+        putLock.lock();
+        try {
+            ensureOpen();
+            if (count.get() == capacity) {
+                return false;
+            }
+            previousCount = insert(item);
+        } finally {
+            putLock.unlock();
+        }
+
+        afterInsert(previousCount);
+        return true;
+    }
+
+    /**
+     * Adds an item to the queue, waiting up to the given time if the queue is full.
+     * 
+     * @param item the item to add
+     * @param timeout how long to wait before giving up
+     * @param unit the unit of the timeout
+     * @return true if the item was added, false if the timeout elapsed first
+     * @throws InterruptedException if the thread is interrupted while waiting
+     * @throws QueueClosedException if the queue is closed, also while waiting
+     */
+    @Override
+    public boolean offer(T item, long timeout, TimeUnit unit) throws InterruptedException {
+        if (item == null) {
+            throw new NullPointerException("Cannot add null item to queue");
+        }
+
+        int previousCount;
+        putLock.lockInterruptibly();
+        try {
+            boolean room = awaitNotFull(unit.toNanos(timeout));
+            ensureOpen();
+            if (!room) {
+                return false;
+            }
+            previousCount = insert(item);
+        } finally {
+            putLock.unlock();
+        }
+
+        afterInsert(previousCount);
+        return true;
+    }
+
+    /**
+     * Removes and returns an item if one is available. Never waits for items,
+     * although it may briefly wait to acquire the take lock.
+     * 
+     * @return the item removed from the queue, or null if the queue was empty
+     */
+    @Override
+    public T poll() {
+        if (count.get() == 0) {
+            return null;
+        }
+
+        T item;
+        int previousCount;
+        takeLock.lock();
+        try {
+            if (count.get() == 0) {
+                return null;
+            }
+            item = dequeue();
+            previousCount = removed();
+        } finally {
+            takeLock.unlock();
+        }
+
+        afterRemove(previousCount);
+        return item;
+    }
+
+    /**
+     * Removes and returns an item, waiting up to the given time if the queue is empty.
+     * 
+     * @param timeout how long to wait before giving up
+     * @param unit the unit of the timeout
+     * @return the item removed from the queue, or null if the timeout elapsed first
+     *         or the queue is closed and empty
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    @Override
+    public T poll(long timeout, TimeUnit unit) throws InterruptedException {
+        T item;
+        int previousCount;
+        takeLock.lockInterruptibly();
+        try {
+            if (!awaitNotEmpty(unit.toNanos(timeout)) || count.get() == 0) {
+                return null;
+            }
+            item = dequeue();
+            previousCount = removed();
+        } finally {
+            takeLock.unlock();
+        }
+
+        afterRemove(previousCount);
+        return item;
+    }
+
+    /**
+     * Adds all items to the queue. Each acquisition of the put lock inserts as
+     * many items as currently fit, and consumers are signalled once per pass.
+     * 
+     * @param items the items to add
+     * @throws InterruptedException if the thread is interrupted while waiting
+     * @throws QueueClosedException if the queue is closed, also while waiting;
+     *         items inserted before it was closed remain in the queue
+     */
+    @Override
+    public void putAll(Collection<? extends T> items) throws InterruptedException {
+        QueueSupport.requireNoNullItems(items);
+
+        Iterator<? extends T> iterator = items.iterator();
+        while (iterator.hasNext()) {
+            int previousCount;
+            int added = 0;
+            putLock.lockInterruptibly();
+            try {
+                awaitNotFull();
+                ensureOpen();
+                int space = capacity - count.get();
+                while (added < space && iterator.hasNext()) {
+                    enqueue(iterator.next());
+                    added++;
+                }
+                previousCount = count.getAndAdd(added);
+                if (previousCount + added < capacity) {
+                    notFull.signal();
+                }
+            } finally {
+                putLock.unlock();
+            }
+
+            if (previousCount == 0) {
+                signalNotEmpty();
+            }
+            listener.onPut(added, previousCount + added);
+        }
+    }
+
+    /**
+     * Removes up to maxElements available items and adds them to the destination
+     * under a single acquisition of the take lock. Never blocks.
+     * 
+     * @param destination the collection to transfer items into
+     * @param maxElements the maximum number of items to transfer
+     * @return the number of items transferred
+     */
+    @Override
+    public int drainTo(Collection<? super T> destination, int maxElements) {
+        QueueSupport.requireDestination(destination);
+        if (maxElements <= 0) {
+            return 0;
+        }
+
+        int drained;
+        int previousCount;
+        takeLock.lock();
+        try {
+            drained = Math.min(maxElements, count.get());
+            for (int i = 0; i < drained; i++) {
+                destination.add(dequeue());
+            }
+            previousCount = count.getAndAdd(-drained);
+            if (previousCount - drained > 0) {
+                notEmpty.signal();
+            } else if (drained > 0 && closed) {
+                this.drained.signalAll();
+            }
+        } finally {
+            takeLock.unlock();
+        }
+
+        if (drained == 0) {
+            return 0;
+        }
+        if (previousCount == capacity) {
+            signalNotFull();
+        }
+        listener.onTake(drained, previousCount - drained);
+        return drained;
+    }
+
+    @Override
+    public int size() {
+        return count.get();
+    }
+
+    @Override
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return count.get() == 0;
+    }
+
+    @Override
+    public boolean isFull() {
+        return count.get() == capacity;
+    }
+
+    /**
+     * Returns how many times a waiting producer or consumer has been woken up.
+     * 
+     * @return the total number of wakeups since the queue was created
+     */
+    public long getWakeupCount() {
+        return wakeups.sum();
+    }
+
+    /**
+     * Stops accepting items and wakes every waiting producer and consumer.
+     * Holding the put lock while setting the flag guarantees that no insert
+     * completes after close returns.
+     */
+    @Override
+    public void close() {
+        putLock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            notFull.signalAll();
+        } finally {
+            putLock.unlock();
+        }
+        takeLock.lock();
+        try {
+            notEmpty.signalAll();
+        } finally {
+            takeLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Closes the queue and waits up to the given time for consumers to take
+     * the remaining items. Whatever is left after that is removed and returned,
+     * and reported to the listener as taken.
+     * 
+     * @param timeout how long to wait for consumers to drain the queue
+     * @param unit the unit of the timeout
+     * @return the items that were not drained in time, oldest first
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    @Override
+    public List<T> shutdown(long timeout, TimeUnit unit) throws InterruptedException {
+        close();
+        List<T> undrained;
+        takeLock.lockInterruptibly();
+        try {
+            long remaining = unit.toNanos(timeout);
+            while (count.get() > 0 && remaining > 0) {
+                remaining = drained.awaitNanos(remaining);
+            }
+            int left = count.get();
+            if (left == 0) {
+                return Collections.emptyList();
+            }
+            undrained = new ArrayList<>(left);
+            for (int i = 0; i < left; i++) {
+                undrained.add(removeHead());
+            }
+            count.getAndAdd(-left);
+        } finally {
+            takeLock.unlock();
+        }
+        listener.onTake(undrained.size(), 0);
+        return undrained;
+    }
+
+    /**
+     * Rejects new items once the queue is closed.
+     */
+    private void ensureOpen() {
+        if (closed) {
+            throw new QueueClosedException();
+        }
+    }
+
+    /**
+     * Waits until there is room for at least one item or the queue is closed.
+     * Must be called with the put lock held.
+     */
+    private void awaitNotFull() throws InterruptedException {
+        if (count.get() < capacity || closed) {
+            return;
+        }
+
+        listener.onProducerBlocked();
+        long start = System.nanoTime();
+        try {
+            while (count.get() == capacity && !closed) {
+                notFull.await();
+                wakeups.increment();
+            }
+        } finally {
+            listener.onProducerUnblocked(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Waits until at least one item is available or the queue is closed.
+     * Must be called with the take lock held.
+     */
+    private void awaitNotEmpty() throws InterruptedException {
+        if (count.get() > 0 || closed) {
+            return;
+        }
+
+        listener.onConsumerBlocked();
+        long start = System.nanoTime();
+        try {
+            while (count.get() == 0 && !closed) {
+                notEmpty.await();
+                wakeups.increment();
+            }
+        } finally {
+            listener.onConsumerUnblocked(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Waits up to the given time until there is room for at least one item
+     * or the queue is closed. Must be called with the put lock held.
+     * 
+     * @return true if there is room or the queue is closed, false if the timeout elapsed first
+     */
+    private boolean awaitNotFull(long nanos) throws InterruptedException {
+        if (count.get() < capacity || closed) {
+            return true;
+        }
+        if (nanos <= 0) {
+            return false;
+        }
+
+        listener.onProducerBlocked();
+        long start = System.nanoTime();
+        try {
+            long remaining = nanos;
+            while (count.get() == capacity && !closed) {
+                if (remaining <= 0) {
+                    return false;
+                }
+                remaining = notFull.awaitNanos(remaining);
+                wakeups.increment();
+            }
+            return true;
+        } finally {
+            listener.onProducerUnblocked(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Waits up to the given time until at least one item is available or the
+     * queue is closed. Must be called with the take lock held.
+     * 
+     * @return true if an item is available or the queue is closed, false if the timeout elapsed first
+     */
+    private boolean awaitNotEmpty(long nanos) throws InterruptedException {
+        if (count.get() > 0 || closed) {
+            return true;
+        }
+        if (nanos <= 0) {
+            return false;
+        }
+
+        listener.onConsumerBlocked();
+        long start = System.nanoTime();
+        try {
+            long remaining = nanos;
+            while (count.get() == 0 && !closed) {
+                if (remaining <= 0) {
+                    return false;
+                }
+                remaining = notEmpty.awaitNanos(remaining);
+                wakeups.increment();
+            }
+            return true;
+        } finally {
+            listener.onConsumerUnblocked(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Stores one item and updates the count, passing the signal on to the next
+     * waiting producer if there is still room. Must be called with the put lock held.
+     * 
+     * @return the count before the item was added
+     */
+    private int insert(T item) {
+        enqueue(item);
+        int previousCount = count.getAndIncrement();
+        if (previousCount + 1 < capacity) {
+            notFull.signal();
+        }
+        return previousCount;
+    }
+
+    /**
+     * Wakes a consumer if the queue was empty and reports the put.
+     * Must be called after the put lock has been released.
+     */
+    private void afterInsert(int previousCount) {
+        if (previousCount == 0) {
+            signalNotEmpty();
+        }
+        listener.onPut(1, previousCount + 1);
+    }
+
+    /**
+     * Updates the count after one item was dequeued, passing the signal on to
+     * the next waiting consumer if items remain. Must be called with the take lock held.
+     * 
+     * @return the count before the item was removed
+     */
+    private int removed() {
+        int previousCount = count.getAndDecrement();
+        if (previousCount > 1) {
+            notEmpty.signal();
+        } else if (closed) {
+            drained.signalAll();
+        }
+        return previousCount;
+    }
+
+    /**
+     * Wakes a producer if the queue was full and reports the take.
+     * Must be called after the take lock has been released.
+     */
+    private void afterRemove(int previousCount) {
+        if (previousCount == capacity) {
+            signalNotFull();
+        }
+        listener.onTake(1, previousCount - 1);
+    }
+
+    /**
+     * Stores an item at the put index. Must be called with the put lock held.
+     */
+    private void enqueue(T item) {
+        if (enqueueTimes != null) {
+            enqueueTimes[putIndex] = System.nanoTime();
+        }
+        items[putIndex] = item;
+        putIndex = (putIndex + 1 == capacity) ? 0 : putIndex + 1;
+    }
+
+    /**
+     * Removes the item at the take index for a consumer, recording how long it
+     * was queued. Must be called with the take lock held. The count update that
+     * published the item also makes its insertion time visible here.
+     */
+    private T dequeue() {
+        if (enqueueTimes != null) {
+            latency.recordQueueTime(System.nanoTime() - enqueueTimes[takeIndex]);
+        }
+        return removeHead();
+    }
+
+    /**
+     * Removes the item at the take index. Must be called with the take lock held.
+     */
+    @SuppressWarnings("unchecked")
+    private T removeHead() {
+        T item = (T) items[takeIndex];
+        items[takeIndex] = null;
+        takeIndex = (takeIndex + 1 == capacity) ? 0 : takeIndex + 1;
+        return item;
+    }
+
+    /**
+     * Wakes one waiting consumer. Called from put, which never holds the take lock.
+     */
+    private void signalNotEmpty() {
+        takeLock.lock();
+        try {
+            notEmpty.signal();
+        } finally {
+            takeLock.unlock();
+        }
+    }
+
+    /**
+     * Wakes one waiting producer. Called from take, which never holds the put lock.
+     */
+    private void signalNotFull() {
+        putLock.lock();
+        try {
+            notFull.signal();
+        } finally {
+            putLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.assignment.producerconsumer;
+
+/**
+ * How a thread waits for a full queue to gain space or an empty queue to receive an item.
+ * 
+ * Waits on a busy queue often last only microseconds, while parking a thread
+ * in {@code wait()} costs a context switch on both sides. The spinning
+ * strategies poll the queue state without holding its lock first, trading CPU
+ * time for lower and more predictable hand-off latency:
+ * 
+ * - {@link #BUSY_SPIN}: lowest latency, but each waiting thread occupies a core
+ * - {@link #SPIN_THEN_YIELD}: like busy-spin, but lets other runnable threads
+ *   run once the short spin phase is over
+ * - {@link #SPIN_THEN_PARK}: spins briefly, then waits on the monitor like {@link #BLOCKING}
+ * - {@link #BLOCKING}: waits on the monitor straight away; uses no CPU while waiting
+ * 
+ * Strategies that never park only make sense when there are more cores than
+ * spinning threads; on an oversubscribed machine they slow everyone down.
+ */
+public enum WaitStrategy {
+    /**
+     * Spin with {@link Thread#onSpinWait()} until the queue state changes. Never parks.
+     */
+    BUSY_SPIN {
+        @Override
+        boolean idle(int attempt) {
+            Thread.onSpinWait();
+            return true;
+        }
+    },
+
+    /**
+     * Spin briefly, then call {@link Thread#yield()} between checks. Never parks.
+     */
+    SPIN_THEN_YIELD {
+        @Override
+        boolean idle(int attempt) {
+            if (attempt < SPIN_TRIES) {
+                Thread.onSpinWait();
+            } else {
+                Thread.yield();
+            }
+            return true;
+        }
+    },
+
+    /**
+     * Spin briefly, then wait on the queue's monitor until notified.
+     */
+    SPIN_THEN_PARK {
+        @Override
+        boolean idle(int attempt) {
+            if (attempt < SPIN_TRIES) {
+                Thread.onSpinWait();
+                return true;
+            }
+            return false;
+        }
+    },
+
+    /**
+     * Wait on the queue's monitor until notified. The default.
+     */
+    BLOCKING {
+        @Override
+        boolean idle(int attempt) {
+            return false;
+        }
+    };
+
+    /**
+     * Number of {@link Thread#onSpinWait()} rounds before a spinning strategy
+     * yields or parks; a few tens of microseconds on current hardware.
+     */
+    static final int SPIN_TRIES = 1_000;
+
+    /**
+     * Performs one idle step while the queue is still full or empty.
+     * 
+     * @param attempt the number of idle steps already taken in this wait
+     * @return true to check the queue again, false to stop spinning and wait on the monitor
+     */
+    abstract boolean idle(int attempt);
+
+    /**
+     * @return true if a waiting thread may fall back to waiting on the monitor
+     */
+    boolean parks() {
+        return this == SPIN_THEN_PARK || this == BLOCKING;
+    }
+}
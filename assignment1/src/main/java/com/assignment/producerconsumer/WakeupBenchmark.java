@@ -0,0 +1,114 @@
+package com.assignment.producerconsumer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.ToLongFunction;
+
+/**
+ * Compares how many thread wakeups each queue needs per transferred item.
+ * 
+ * {@link BlockingQueue} wakes every waiting producer and consumer on each
+ * operation, while {@link TwoLockBlockingQueue} wakes only a thread that can
+ * make progress. With many threads sharing a small queue the difference shows
+ * up directly in the wakeups-per-item figure.
+ * 
+ * Run with:
+ * mvn exec:java -Dexec.mainClass="com.assignment.producerconsumer.WakeupBenchmark"
+ */
+public class WakeupBenchmark {
+    private static final int QUEUE_CAPACITY = 4;
+    private static final int NUM_PRODUCERS = 16;
+    private static final int NUM_CONSUMERS = 16;
+    private static final int ITEMS_PER_PRODUCER = 5_000;
+    private static final long CONSUMER_WORK_NANOS = 20_000L;
+
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println("=== Wakeup Benchmark ===\n");
+        System.out.println("Configuration:");
+        System.out.println("  Queue Capacity: " + QUEUE_CAPACITY);
+        System.out.println("  Number of Producers: " + NUM_PRODUCERS);
+        System.out.println("  Number of Consumers: " + NUM_CONSUMERS);
+        System.out.println("  Items per Producer: " + ITEMS_PER_PRODUCER);
+        System.out.println("  Consumer Work per Item: " + CONSUMER_WORK_NANOS / 1_000 + " us");
+        System.out.println();
+
+        BlockingQueue<String> notifyAllQueue = new BlockingQueue<>(QUEUE_CAPACITY);
+        report("BlockingQueue (notifyAll)", notifyAllQueue, BlockingQueue::getWakeupCount);
+
+        TwoLockBlockingQueue<String> twoLockQueue = new TwoLockBlockingQueue<>(QUEUE_CAPACITY);
+        report("TwoLockBlockingQueue (signal)", twoLockQueue, TwoLockBlockingQueue::getWakeupCount);
+    }
+
+    private static <Q extends BoundedQueue<String>> void report(String name, Q queue,
+                                                                 ToLongFunction<Q> wakeupCount)
+            throws InterruptedException {
+        long elapsedNanos = transfer(queue);
+        long items = (long) NUM_PRODUCERS * ITEMS_PER_PRODUCER;
+        long wakeups = wakeupCount.applyAsLong(queue);
+
+        System.out.println(name + ":");
+        System.out.println("  Items transferred: " + items);
+        System.out.println("  Wakeups: " + wakeups);
+        System.out.printf("  Wakeups per item: %.2f%n", (double) wakeups / items);
+        System.out.printf("  Elapsed: %.1f ms%n%n", elapsedNanos / 1_000_000.0);
+    }
+
+    /**
+     * Moves all items through the queue and returns the elapsed time.
+     */
+    private static long transfer(BoundedQueue<String> queue) throws InterruptedException {
+        int totalItems = NUM_PRODUCERS * ITEMS_PER_PRODUCER;
+        CountDownLatch startLatch = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+
+        for (int i = 0; i < NUM_PRODUCERS; i++) {
+            final int producerId = i;
+            threads.add(new Thread(() -> {
+                try {
+                    startLatch.await();
+                    for (int j = 0; j < ITEMS_PER_PRODUCER; j++) {
+                        queue.put("P" + producerId + "-I" + j);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+        }
+        for (int i = 0; i < NUM_CONSUMERS; i++) {
+            final int itemsToConsume = totalItems / NUM_CONSUMERS + (i < totalItems % NUM_CONSUMERS ? 1 : 0);
+            threads.add(new Thread(() -> {
+                try {
+                    startLatch.await();
+                    for (int j = 0; j < itemsToConsume; j++) {
+                        queue.take();
+                        simulateWork();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+        }
+
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        long start = System.nanoTime();
+        startLatch.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * Busy-waits for a short, fixed time to stand in for per-item processing,
+     * so producers pile up on a full queue the way they do in real workloads.
+     */
+    private static void simulateWork() {
+        long deadline = System.nanoTime() + CONSUMER_WORK_NANOS;
+        while (System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+    }
+}
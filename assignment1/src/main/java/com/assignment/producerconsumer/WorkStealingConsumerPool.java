@@ -0,0 +1,456 @@
+package com.assignment.producerconsumer;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Consumer pool in which every consumer owns a bounded local deque.
+ * 
+ * Producers spread items round-robin across the deques, so consumers do not
+ * all contend on the head of one shared queue:
+ * - A consumer takes items from the head of its own deque
+ * - When its deque is empty it steals half of the items from the tail of
+ *   another consumer's deque
+ * - When every deque is empty it parks until a producer adds an item
+ * 
+ * Stealing keeps all consumers busy when items have uneven processing cost:
+ * a consumer stuck on an expensive item does not hold up the items queued
+ * behind it. Items are processed in insertion order per deque, but not
+ * globally, and stolen items may be processed before older ones.
+ * 
+ * If the handler throws a {@link RuntimeException}, the exception is passed to
+ * the thread's uncaught exception handler and counted, and the consumer moves
+ * on to its next item, so a bad item does not shrink the pool.
+ *
+ * @param <T> the type of items processed by the pool
+ */
+public class WorkStealingConsumerPool<T> {
+    private final LocalDeque<T>[] deques;
+    private final Thread[] workers;
+    private final ItemHandler<? super T> handler;
+    private final AtomicInteger nextDeque = new AtomicInteger();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final LongAdder[] processed;
+    private final LongAdder steals = new LongAdder();
+    private final LongAdder stolenItems = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    private final ReentrantLock idleLock = new ReentrantLock();
+    private final Condition workAvailable = idleLock.newCondition();
+    private final AtomicInteger idleWorkers = new AtomicInteger();
+    private volatile boolean shutdown;
+    private volatile boolean started;
+
+    /**
+     * Constructs a pool of platform-thread consumers.
+     * 
+     * @param consumers the number of consumer threads
+     * @param localCapacity the capacity of each consumer's local deque
+     * @param handler the handler that processes each item
+     * @throws IllegalArgumentException if consumers or localCapacity is less than 1
+     * @throws NullPointerException if handler is null
+     */
+    public WorkStealingConsumerPool(int consumers, int localCapacity, ItemHandler<? super T> handler) {
+        this(consumers, localCapacity, handler, ThreadMode.PLATFORM);
+    }
+
+    /**
+     * Constructs a pool whose consumers run on threads of the given mode.
+     * 
+     * @param consumers the number of consumer threads
+     * @param localCapacity the capacity of each consumer's local deque
+     * @param handler the handler that processes each item
+     * @param threadMode how consumer threads are created
+     * @throws IllegalArgumentException if consumers or localCapacity is less than 1
+     * @throws NullPointerException if handler or threadMode is null
+     */
+    @SuppressWarnings("unchecked")
+    public WorkStealingConsumerPool(int consumers, int localCapacity, ItemHandler<? super T> handler,
+                                    ThreadMode threadMode) {
+        if (consumers < 1) {
+            throw new IllegalArgumentException("Consumer count must be at least 1");
+        }
+        if (localCapacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1");
+        }
+        if (handler == null) {
+            throw new NullPointerException("Handler cannot be null");
+        }
+        if (threadMode == null) {
+            throw new NullPointerException("Thread mode cannot be null");
+        }
+        this.handler = handler;
+        this.deques = (LocalDeque<T>[]) new LocalDeque<?>[consumers];
+        this.processed = new LongAdder[consumers];
+        this.workers = new Thread[consumers];
+        for (int i = 0; i < consumers; i++) {
+            deques[i] = new LocalDeque<>(localCapacity);
+            processed[i] = new LongAdder();
+            int index = i;
+            workers[i] = threadMode.newThread("Consumer-" + (i + 1), () -> runWorker(index));
+        }
+    }
+
+    /**
+     * Starts the consumer threads. Items may be added before or after starting.
+     * 
+     * @throws IllegalStateException if the pool was already started
+     */
+    public synchronized void start() {
+        if (started) {
+            throw new IllegalStateException("Pool has already been started");
+        }
+        started = true;
+        for (Thread worker : workers) {
+            worker.start();
+        }
+    }
+
+    /**
+     * Adds an item to the next consumer's deque in round-robin order. If that
+     * deque is full the other deques are tried; if all are full, blocks until
+     * the chosen deque has space.
+     * 
+     * @param item the item to add
+     * @throws InterruptedException if the thread is interrupted while waiting
+     * @throws NullPointerException if item is null
+     * @throws IllegalStateException if the pool has been shut down
+     */
+    public void put(T item) throws InterruptedException {
+        int start = checkAndPickDeque(item);
+        if (!offerFrom(start, item)) {
+            deques[start].put(item);
+        }
+        afterInsert();
+    }
+
+    /**
+     * Adds an item to the first deque, in round-robin order, that has space.
+     * Never blocks.
+     * 
+     * @param item the item to add
+     * @return true if the item was added, false if every deque is full
+     * @throws NullPointerException if item is null
+     * @throws IllegalStateException if the pool has been shut down
+     */
+    public boolean offer(T item) {
+        int start = checkAndPickDeque(item);
+        if (!offerFrom(start, item)) {
+            return false;
+        }
+        afterInsert();
+        return true;
+    }
+
+    /**
+     * Stops accepting items. Consumers finish every item already added and then exit.
+     * Call this once producers have returned from their last {@code put} or {@code offer}.
+     */
+    public void shutdown() {
+        shutdown = true;
+        idleLock.lock();
+        try {
+            workAvailable.signalAll();
+        } finally {
+            idleLock.unlock();
+        }
+    }
+
+    /**
+     * Waits for all consumers to exit after {@link #shutdown()}.
+     * 
+     * @param timeout the maximum time to wait
+     * @param unit the unit of the timeout
+     * @return true if every consumer exited, false if the timeout elapsed first
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (Thread worker : workers) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining > 0) {
+                TimeUnit.NANOSECONDS.timedJoin(worker, remaining);
+            }
+            if (worker.isAlive()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of consumers in the pool.
+     * 
+     * @return the consumer count
+     */
+    public int getConsumerCount() {
+        return workers.length;
+    }
+
+    /**
+     * Returns the number of items waiting in the local deques.
+     * 
+     * @return the number of queued items
+     */
+    public int getPendingCount() {
+        return pending.get();
+    }
+
+    /**
+     * Returns how many items the given consumer has processed.
+     * 
+     * @param consumer the zero-based consumer index
+     * @return the number of items processed by that consumer
+     */
+    public long getProcessedCount(int consumer) {
+        return processed[consumer].sum();
+    }
+
+    /**
+     * Returns how many items all consumers have processed.
+     * 
+     * @return the total number of items processed
+     */
+    public long getProcessedCount() {
+        long total = 0;
+        for (LongAdder count : processed) {
+            total += count.sum();
+        }
+        return total;
+    }
+
+    /**
+     * Returns how many times a consumer stole from another consumer's deque.
+     * 
+     * @return the number of successful steals
+     */
+    public long getStealCount() {
+        return steals.sum();
+    }
+
+    /**
+     * Returns how many items were moved by steals.
+     * 
+     * @return the number of stolen items
+     */
+    public long getStolenItemCount() {
+        return stolenItems.sum();
+    }
+
+    /**
+     * Returns how many items made the handler throw. Failed items are also
+     * included in the processed counts.
+     * 
+     * @return the number of failed items
+     */
+    public long getFailureCount() {
+        return failures.sum();
+    }
+
+    private int checkAndPickDeque(T item) {
+        if (item == null) {
+            throw new NullPointerException("Cannot add null item to queue");
+        }
+        if (shutdown) {
+            throw new IllegalStateException("Pool has been shut down");
+        }
+        return Math.floorMod(nextDeque.getAndIncrement(), deques.length);
+    }
+
+    private boolean offerFrom(int start, T item) {
+        for (int i = 0; i < deques.length; i++) {
+            if (deques[(start + i) % deques.length].offer(item)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Publishes the new item to idle consumers. The pending count is raised before
+     * idle consumers are checked, and consumers register as idle before checking
+     * the pending count, so a consumer about to park always sees the item or is signalled.
+     * A consumer may take the item before it is counted, which briefly drives the
+     * count below zero; consumers treat that as "no work".
+     */
+    private void afterInsert() {
+        pending.incrementAndGet();
+        if (idleWorkers.get() > 0) {
+            idleLock.lock();
+            try {
+                workAvailable.signal();
+            } finally {
+                idleLock.unlock();
+            }
+        }
+    }
+
+    private void runWorker(int index) {
+        LocalDeque<T> own = deques[index];
+        List<T> stolen = new ArrayList<>();
+        try {
+            while (true) {
+                T item = own.poll();
+                if (item != null) {
+                    pending.decrementAndGet();
+                    process(index, item);
+                } else if (steal(index, stolen)) {
+                    for (T stolenItem : stolen) {
+                        process(index, stolenItem);
+                    }
+                    stolen.clear();
+                } else if (!awaitWork()) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void process(int index, T item) throws InterruptedException {
+        try {
+            handler.handle(item);
+        } catch (RuntimeException e) {
+            failures.increment();
+            Thread thread = Thread.currentThread();
+            thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+        }
+        processed[index].increment();
+    }
+
+    /**
+     * Steals half of the items of the first non-empty deque, scanning from a
+     * random victim so thieves spread out.
+     */
+    private boolean steal(int thief, List<T> into) {
+        int count = deques.length;
+        int start = ThreadLocalRandom.current().nextInt(count);
+        for (int i = 0; i < count; i++) {
+            int victim = (start + i) % count;
+            if (victim == thief) {
+                continue;
+            }
+            int taken = deques[victim].stealHalf(into);
+            if (taken > 0) {
+                pending.addAndGet(-taken);
+                steals.increment();
+                stolenItems.add(taken);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Parks until an item may be available.
+     * 
+     * @return false if the pool is shut down and every item has been taken
+     */
+    private boolean awaitWork() throws InterruptedException {
+        idleLock.lock();
+        try {
+            idleWorkers.incrementAndGet();
+            try {
+                while (pending.get() <= 0) {
+                    if (shutdown) {
+                        return false;
+                    }
+                    workAvailable.await();
+                }
+                return true;
+            } finally {
+                idleWorkers.decrementAndGet();
+            }
+        } finally {
+            idleLock.unlock();
+        }
+    }
+
+    /**
+     * Bounded deque owned by one consumer. The owner takes from the head and
+     * thieves take from the tail, both under the deque's own lock, so each
+     * deque is contended only by its owner, producers and the occasional thief.
+     */
+    private static final class LocalDeque<T> {
+        private final ArrayDeque<T> items;
+        private final int capacity;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition notFull = lock.newCondition();
+
+        LocalDeque(int capacity) {
+            this.capacity = capacity;
+            this.items = new ArrayDeque<>(capacity);
+        }
+
+        boolean offer(T item) {
+            lock.lock();
+            try {
+                if (items.size() == capacity) {
+                    return false;
+                }
+                items.addLast(item);
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void put(T item) throws InterruptedException {
+            lock.lockInterruptibly();
+            try {
+                while (items.size() == capacity) {
+                    notFull.await();
+                }
+                items.addLast(item);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        T poll() {
+            lock.lock();
+            try {
+                T item = items.pollFirst();
+                if (item != null) {
+                    notFull.signal();
+                }
+                return item;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Moves the newer half of the items, rounded up, into the given list in
+         * their original order.
+         */
+        int stealHalf(List<T> into) {
+            lock.lock();
+            try {
+                int count = (items.size() + 1) / 2;
+                if (count == 0) {
+                    return 0;
+                }
+                int last = into.size() + count - 1;
+                for (int i = 0; i < count; i++) {
+                    into.add(null);
+                }
+                for (int i = 0; i < count; i++) {
+                    into.set(last - i, items.pollLast());
+                }
+                notFull.signalAll();
+                return count;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
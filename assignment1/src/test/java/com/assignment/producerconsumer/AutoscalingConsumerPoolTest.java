@@ -0,0 +1,196 @@
+package com.assignment.producerconsumer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Unit tests for AutoscalingConsumerPool.
+ */
+public class AutoscalingConsumerPoolTest {
+
+    @Test
+    void testBuilderValidation() {
+        BlockingQueue<String> queue = new BlockingQueue<>(4);
+        assertThrows(NullPointerException.class, () -> AutoscalingConsumerPool.<String>builder(queue, null));
+        assertThrows(NullPointerException.class, () -> AutoscalingConsumerPool.<String>builder(null, item -> { }));
+        assertThrows(IllegalArgumentException.class, () -> new AutoscalingConsumerPool<>(queue, 0, 2, item -> { }));
+        assertThrows(IllegalArgumentException.class, () -> new AutoscalingConsumerPool<>(queue, 3, 2, item -> { }));
+        assertThrows(IllegalArgumentException.class,
+            () -> AutoscalingConsumerPool.builder(queue, item -> { }).scaleUpAt(0.5, 0.5).scaleDownAt(0.5, 0.2).build());
+        assertThrows(IllegalArgumentException.class,
+            () -> AutoscalingConsumerPool.builder(queue, item -> { }).scaleUpAt(1.5, 0.8).build());
+        assertThrows(IllegalArgumentException.class,
+            () -> AutoscalingConsumerPool.builder(queue, item -> { }).samplesToScale(0, 1).build());
+        assertThrows(IllegalArgumentException.class,
+            () -> AutoscalingConsumerPool.builder(queue, item -> { }).sampleInterval(0, TimeUnit.SECONDS).build());
+    }
+
+    @Test
+    @Timeout(10)
+    void testScalingNeedsConsecutiveSamplesOutsideTheBand() throws InterruptedException {
+        BlockingQueue<String> queue = new BlockingQueue<>(10);
+        // The controller never samples on its own; the test feeds it samples
+        AutoscalingConsumerPool<String> pool = AutoscalingConsumerPool.builder(queue, item -> { })
+            .consumers(1, 3)
+            .samplesToScale(2, 3)
+            .sampleInterval(1, TimeUnit.HOURS)
+            .build();
+        pool.start();
+        assertEquals(1, pool.getConsumerCount());
+
+        pool.adjust(0.9, 0.9);
+        assertEquals(1, pool.getTargetConsumerCount());
+        pool.adjust(0.9, 0.9);
+        assertEquals(2, pool.getTargetConsumerCount());
+        assertEquals(2, pool.getConsumerCount());
+
+        // A sample inside the hysteresis band restarts the count
+        pool.adjust(0.9, 0.9);
+        pool.adjust(0.3, 0.5);
+        pool.adjust(0.9, 0.9);
+        assertEquals(2, pool.getTargetConsumerCount());
+        pool.adjust(0.9, 0.9);
+        pool.adjust(0.9, 0.9);
+        pool.adjust(0.9, 0.9);
+        assertEquals(3, pool.getTargetConsumerCount());
+        assertEquals(3, pool.getPeakConsumerCount());
+
+        // High depth alone, with idle consumers, is not a reason to scale
+        pool.adjust(1.0, 0.1);
+        pool.adjust(1.0, 0.1);
+        assertEquals(3, pool.getTargetConsumerCount());
+
+        for (int i = 0; i < 2; i++) {
+            pool.adjust(0.0, 0.0);
+        }
+        assertEquals(3, pool.getTargetConsumerCount());
+        pool.adjust(0.0, 0.0);
+        assertEquals(2, pool.getTargetConsumerCount());
+        for (int i = 0; i < 10; i++) {
+            pool.adjust(0.0, 0.0);
+        }
+        assertEquals(1, pool.getTargetConsumerCount());
+        assertEquals(2, pool.getScaleUpCount());
+        assertEquals(2, pool.getScaleDownCount());
+
+        queue.close();
+        assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(0, pool.getConsumerCount());
+    }
+
+    @Test
+    @Timeout(20)
+    void testLoadSpikeAddsConsumersAndIdleRetiresThem() throws InterruptedException {
+        BlockingQueue<Integer> queue = new BlockingQueue<>(20);
+        AutoscalingConsumerPool<Integer> pool = AutoscalingConsumerPool.builder(queue, (Integer item) -> Thread.sleep(5))
+            .consumers(1, 4)
+            .samplesToScale(1, 3)
+            .sampleInterval(20, TimeUnit.MILLISECONDS)
+            .build();
+        pool.start();
+
+        for (int i = 0; i < 300; i++) {
+            queue.put(i);
+        }
+        assertTrue(pool.getPeakConsumerCount() > 1, pool.toString());
+
+        while (pool.getTargetConsumerCount() > 1 || pool.getConsumerCount() > 1) {
+            Thread.sleep(20);
+        }
+        assertTrue(pool.getScaleDownCount() > 0);
+
+        queue.close();
+        assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(300, pool.getProcessedCount());
+    }
+
+    @Test
+    @Timeout(10)
+    void testLightLoadStaysAtMinimum() throws InterruptedException {
+        BlockingQueue<Integer> queue = new BlockingQueue<>(20);
+        AutoscalingConsumerPool<Integer> pool = AutoscalingConsumerPool.builder(queue, (Integer item) -> { })
+            .consumers(2, 6)
+            .sampleInterval(10, TimeUnit.MILLISECONDS)
+            .build();
+        pool.start();
+
+        for (int i = 0; i < 20; i++) {
+            queue.put(i);
+            Thread.sleep(10);
+        }
+        queue.close();
+        assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(0, pool.getScaleUpCount());
+        assertEquals(2, pool.getPeakConsumerCount());
+        assertEquals(20, pool.getProcessedCount());
+    }
+
+    @Test
+    @Timeout(10)
+    void testConsumerKilledByHandlerIsReplaced() throws InterruptedException {
+        BlockingQueue<String> queue = new BlockingQueue<>(10);
+        AtomicBoolean failed = new AtomicBoolean();
+        AutoscalingConsumerPool<String> pool = AutoscalingConsumerPool.builder(queue, (String item) -> {
+                if (item.equals("poison") && failed.compareAndSet(false, true)) {
+                    throw new IllegalStateException("Expected test failure");
+                }
+            })
+            .consumers(1, 1)
+            .sampleInterval(10, TimeUnit.MILLISECONDS)
+            .build();
+        pool.start();
+
+        queue.put("poison");
+        queue.put("a");
+        queue.put("b");
+        assertTrue(queue.shutdown(5, TimeUnit.SECONDS).isEmpty());
+        assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(2, pool.getProcessedCount());
+        assertTrue(failed.get());
+    }
+
+    @Test
+    @Timeout(10)
+    void testPoolTerminatesWhenAllConsumersDiedBeforeClose() throws InterruptedException {
+        BlockingQueue<String> queue = new BlockingQueue<>(10);
+        // The controller never samples on its own, so the dead consumer is not replaced
+        AutoscalingConsumerPool<String> pool = AutoscalingConsumerPool.builder(queue, (String item) -> {
+                throw new IllegalStateException("Expected test failure");
+            })
+            .consumers(1, 1)
+            .sampleInterval(1, TimeUnit.HOURS)
+            .build();
+        pool.start();
+        queue.put("poison");
+        while (pool.getConsumerCount() > 0) {
+            Thread.sleep(1);
+        }
+
+        queue.close();
+        assertFalse(pool.awaitTermination(50, TimeUnit.MILLISECONDS));
+        pool.adjust(0, 0);
+        assertTrue(pool.awaitTermination(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @Timeout(10)
+    void testShutdownDrainsQueueAndStopsConsumers() throws InterruptedException {
+        TwoLockBlockingQueue<Integer> queue = new TwoLockBlockingQueue<>(50);
+        for (int i = 0; i < 50; i++) {
+            queue.put(i);
+        }
+        AutoscalingConsumerPool<Integer> pool = new AutoscalingConsumerPool<>(queue, 2, 4, item -> { });
+        pool.start();
+        assertThrows(IllegalStateException.class, pool::start);
+
+        assertTrue(queue.shutdown(5, TimeUnit.SECONDS).isEmpty());
+        assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(50, pool.getProcessedCount());
+        assertEquals(0, pool.getConsumerCount());
+    }
+}
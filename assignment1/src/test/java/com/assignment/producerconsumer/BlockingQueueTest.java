@@ -7,6 +7,8 @@ import org.junit.jupiter.api.Timeout;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -436,4 +438,520 @@ public class BlockingQueueTest {
         assertEquals(0, queue.size());
         assertEquals(CAPACITY, queue.getCapacity());
     }
+
+    @Test
+    @Timeout(5)
+    void testPutAllAndDrainTo() throws InterruptedException {
+        queue.putAll(Arrays.asList("a", "b", "c"));
+        assertEquals(3, queue.size());
+        
+        List<String> drained = new ArrayList<>();
+        assertEquals(2, queue.drainTo(drained, 2));
+        assertEquals(Arrays.asList("a", "b"), drained);
+        
+        assertEquals(1, queue.drainTo(drained, 10));
+        assertEquals(Arrays.asList("a", "b", "c"), drained);
+        assertTrue(queue.isEmpty());
+    }
+    
+    @Test
+    void testDrainToEmptyQueueDoesNotBlock() {
+        List<String> drained = new ArrayList<>();
+        assertEquals(0, queue.drainTo(drained, 5));
+        assertTrue(drained.isEmpty());
+    }
+    
+    @Test
+    void testPutAllRejectsNullItemsBeforeInserting() {
+        assertThrows(NullPointerException.class, () -> queue.putAll(Arrays.asList("a", null)));
+        assertTrue(queue.isEmpty());
+    }
+    
+    @Test
+    @Timeout(10)
+    void testPutAllBlocksUntilAllItemsFit() throws InterruptedException {
+        List<String> batch = new ArrayList<>();
+        for (int i = 0; i < CAPACITY * 2; i++) {
+            batch.add("item" + i);
+        }
+        
+        Thread producerThread = new Thread(() -> {
+            try {
+                queue.putAll(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producerThread.start();
+        
+        Thread.sleep(300);
+        assertTrue(queue.isFull());
+        assertTrue(producerThread.isAlive());
+        
+        List<String> drained = new ArrayList<>();
+        while (drained.size() < batch.size()) {
+            if (queue.drainTo(drained, CAPACITY) == 0) {
+                drained.add(queue.take());
+            }
+        }
+        producerThread.join();
+        
+        assertEquals(batch, drained);
+    }
+    
+    @Test
+    void testNullListenerNotAllowed() {
+        assertThrows(NullPointerException.class, () -> new BlockingQueue<String>(CAPACITY, null));
+    }
+    
+    @Test
+    @Timeout(10)
+    void testMetricsCountPutsTakesAndBlocks() throws InterruptedException {
+        QueueMetrics metrics = new QueueMetrics();
+        BlockingQueue<String> monitoredQueue = new BlockingQueue<>(1, metrics);
+        
+        monitoredQueue.put("a");
+        Thread producerThread = new Thread(() -> {
+            try {
+                monitoredQueue.put("b");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producerThread.start();
+        Thread.sleep(200);
+        
+        assertEquals("a", monitoredQueue.take());
+        producerThread.join();
+        assertEquals("b", monitoredQueue.take());
+        
+        assertEquals(2, metrics.getPuts());
+        assertEquals(2, metrics.getTakes());
+        assertEquals(0, metrics.getDepth());
+        assertEquals(1, metrics.getProducerBlocks());
+        assertEquals(0, metrics.getConsumerBlocks());
+        assertTrue(metrics.getProducerWaitTime(TimeUnit.MILLISECONDS) >= 100);
+    }
+    
+    @Test
+    @Timeout(5)
+    void testCompositeListenerForwardsBatchEvents() throws InterruptedException {
+        QueueMetrics first = new QueueMetrics();
+        QueueMetrics second = new QueueMetrics();
+        BlockingQueue<String> monitoredQueue = new BlockingQueue<>(CAPACITY, QueueListener.composite(first, second));
+        
+        monitoredQueue.putAll(Arrays.asList("a", "b", "c"));
+        monitoredQueue.drainTo(new ArrayList<>(), 2);
+        
+        for (QueueMetrics metrics : Arrays.asList(first, second)) {
+            assertEquals(3, metrics.getPuts());
+            assertEquals(2, metrics.getTakes());
+            assertEquals(1, metrics.getDepth());
+        }
+    }
+    
+    @Test
+    void testOfferAndPollDoNotBlock() {
+        for (int i = 0; i < CAPACITY; i++) {
+            assertTrue(queue.offer("item" + i));
+        }
+        assertFalse(queue.offer("overflow"));
+        assertEquals(CAPACITY, queue.size());
+        
+        for (int i = 0; i < CAPACITY; i++) {
+            assertEquals("item" + i, queue.poll());
+        }
+        assertNull(queue.poll());
+    }
+    
+    @Test
+    @Timeout(5)
+    void testTimedOfferTimesOutWhenFull() throws InterruptedException {
+        for (int i = 0; i < CAPACITY; i++) {
+            queue.put("item" + i);
+        }
+        
+        long start = System.nanoTime();
+        assertFalse(queue.offer("late", 200, TimeUnit.MILLISECONDS));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        
+        assertTrue(elapsedMillis >= 190, "returned after " + elapsedMillis + " ms");
+        assertEquals(CAPACITY, queue.size());
+    }
+    
+    @Test
+    @Timeout(5)
+    void testTimedPollTimesOutWhenEmpty() throws InterruptedException {
+        long start = System.nanoTime();
+        assertNull(queue.poll(200, TimeUnit.MILLISECONDS));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        
+        assertTrue(elapsedMillis >= 190, "returned after " + elapsedMillis + " ms");
+    }
+    
+    @Test
+    @Timeout(10)
+    void testTimedPollReturnsItemPutWhileWaiting() throws InterruptedException {
+        Thread producerThread = new Thread(() -> {
+            try {
+                Thread.sleep(200);
+                queue.put("late-item");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producerThread.start();
+        
+        assertEquals("late-item", queue.poll(5, TimeUnit.SECONDS));
+        producerThread.join();
+    }
+    
+    @Test
+    @Timeout(10)
+    void testTimedPollIsInterruptible() throws InterruptedException {
+        AtomicInteger interrupted = new AtomicInteger();
+        Thread consumerThread = new Thread(() -> {
+            try {
+                queue.poll(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                interrupted.incrementAndGet();
+            }
+        });
+        consumerThread.start();
+        Thread.sleep(200);
+        consumerThread.interrupt();
+        consumerThread.join(1000);
+        
+        assertFalse(consumerThread.isAlive());
+        assertEquals(1, interrupted.get());
+    }
+    
+    @Test
+    @Timeout(5)
+    void testDropOldestPolicyKeepsNewestItems() throws InterruptedException {
+        QueueMetrics metrics = new QueueMetrics();
+        BlockingQueue<String> dropping = BlockingQueue.<String>builder(2)
+            .overflowPolicy(OverflowPolicy.DROP_OLDEST)
+            .listener(metrics)
+            .build();
+        
+        dropping.put("A");
+        dropping.put("B");
+        dropping.put("C");
+        dropping.putAll(Arrays.asList("D", "E"));
+        
+        List<String> remaining = new ArrayList<>();
+        dropping.drainTo(remaining, 10);
+        assertEquals(Arrays.asList("D", "E"), remaining);
+        assertEquals(3, dropping.getOverflowCount());
+        assertEquals(3, metrics.getOverflows(OverflowPolicy.DROP_OLDEST));
+        assertEquals(0, metrics.getDepth());
+    }
+    
+    @Test
+    @Timeout(5)
+    void testDropNewestPolicyDiscardsIncomingItems() throws InterruptedException {
+        BlockingQueue<String> dropping = BlockingQueue.<String>builder(2)
+            .overflowPolicy(OverflowPolicy.DROP_NEWEST)
+            .build();
+        
+        dropping.putAll(Arrays.asList("A", "B", "C"));
+        dropping.put("D");
+        
+        assertEquals("A", dropping.take());
+        assertEquals("B", dropping.take());
+        assertTrue(dropping.isEmpty());
+        assertEquals(2, dropping.getOverflowCount());
+    }
+    
+    @Test
+    @Timeout(5)
+    void testCallerRunsPolicyProcessesItemOnProducerThread() throws InterruptedException {
+        List<String> ranOn = new ArrayList<>();
+        BlockingQueue<String> callerRuns = BlockingQueue.<String>builder(1)
+            .callerRuns(item -> ranOn.add(item + "@" + Thread.currentThread().getName()))
+            .build();
+        
+        callerRuns.put("A");
+        callerRuns.put("B");
+        
+        assertEquals(Arrays.asList("B@" + Thread.currentThread().getName()), ranOn);
+        assertEquals("A", callerRuns.take());
+        assertEquals(1, callerRuns.getOverflowCount());
+    }
+    
+    @Test
+    void testFailFastPolicyThrowsWhenFull() throws InterruptedException {
+        QueueMetrics metrics = new QueueMetrics();
+        BlockingQueue<String> failFast = BlockingQueue.<String>builder(2)
+            .overflowPolicy(OverflowPolicy.FAIL_FAST)
+            .listener(metrics)
+            .build();
+        
+        failFast.put("A");
+        assertThrows(QueueFullException.class, () -> failFast.putAll(Arrays.asList("B", "C", "D")));
+        assertThrows(QueueFullException.class, () -> failFast.put("E"));
+        
+        assertEquals(2, failFast.size());
+        assertEquals(2, failFast.getOverflowCount());
+        assertEquals(2, metrics.getOverflows(OverflowPolicy.FAIL_FAST));
+        assertFalse(failFast.offer("F"));
+    }
+    
+    @Test
+    void testBuilderValidation() {
+        assertEquals(OverflowPolicy.BLOCK, queue.getOverflowPolicy());
+        assertThrows(IllegalArgumentException.class,
+            () -> BlockingQueue.<String>builder(2).overflowPolicy(OverflowPolicy.CALLER_RUNS).build());
+        assertThrows(IllegalArgumentException.class, () -> BlockingQueue.<String>builder(0).build());
+        assertThrows(NullPointerException.class, () -> BlockingQueue.<String>builder(2).listener(null).build());
+        assertThrows(NullPointerException.class, () -> BlockingQueue.<String>builder(2).overflowPolicy(null));
+    }
+    
+    @Test
+    @Timeout(30)
+    void testEveryWaitStrategyDeliversEachItemOnce() throws InterruptedException {
+        for (WaitStrategy strategy : WaitStrategy.values()) {
+            BlockingQueue<Integer> strategyQueue = BlockingQueue.<Integer>builder(4)
+                .waitStrategy(strategy)
+                .build();
+            int itemsPerProducer = 200;
+            AtomicInteger sum = new AtomicInteger();
+            List<Thread> threads = new ArrayList<>();
+            for (int p = 0; p < 2; p++) {
+                threads.add(new Thread(() -> {
+                    try {
+                        for (int i = 1; i <= itemsPerProducer; i++) {
+                            strategyQueue.put(i);
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }));
+                threads.add(new Thread(() -> {
+                    try {
+                        for (int i = 0; i < itemsPerProducer; i++) {
+                            sum.addAndGet(strategyQueue.take());
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }));
+            }
+            for (Thread thread : threads) {
+                thread.start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            
+            assertEquals(2 * itemsPerProducer * (itemsPerProducer + 1) / 2, sum.get(), strategy.name());
+            assertTrue(strategyQueue.isEmpty(), strategy.name());
+        }
+    }
+    
+    @Test
+    @Timeout(10)
+    void testSpinningStrategiesHonourTimeouts() throws InterruptedException {
+        for (WaitStrategy strategy : WaitStrategy.values()) {
+            BlockingQueue<String> strategyQueue = BlockingQueue.<String>builder(1)
+                .waitStrategy(strategy)
+                .build();
+            
+            long start = System.nanoTime();
+            assertNull(strategyQueue.poll(50, TimeUnit.MILLISECONDS), strategy.name());
+            assertTrue(strategyQueue.offer("A", 50, TimeUnit.MILLISECONDS), strategy.name());
+            assertFalse(strategyQueue.offer("B", 50, TimeUnit.MILLISECONDS), strategy.name());
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            
+            assertTrue(elapsedMillis >= 100 && elapsedMillis < 2000, strategy + " took " + elapsedMillis + " ms");
+        }
+    }
+    
+    @Test
+    @Timeout(20)
+    void testEveryWaitStrategyReportsOneBlockPerOperation() throws InterruptedException {
+        for (WaitStrategy strategy : WaitStrategy.values()) {
+            QueueMetrics metrics = new QueueMetrics();
+            BlockingQueue<String> strategyQueue = BlockingQueue.<String>builder(1)
+                .listener(metrics)
+                .waitStrategy(strategy)
+                .build();
+            
+            // Long enough for SPIN_THEN_PARK to spin and then park
+            assertNull(strategyQueue.poll(50, TimeUnit.MILLISECONDS), strategy.name());
+            strategyQueue.put("A");
+            assertFalse(strategyQueue.offer("B", 50, TimeUnit.MILLISECONDS), strategy.name());
+            Thread producerThread = new Thread(() -> {
+                try {
+                    strategyQueue.put("B");
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            producerThread.start();
+            Thread.sleep(100);
+            assertEquals("A", strategyQueue.take());
+            producerThread.join();
+            
+            assertEquals(2, metrics.getProducerBlocks(), strategy.name());
+            assertEquals(1, metrics.getConsumerBlocks(), strategy.name());
+            assertTrue(metrics.getProducerWaitTime(TimeUnit.MILLISECONDS) >= 100, strategy.name());
+        }
+    }
+    
+    @Test
+    @Timeout(10)
+    void testBusySpinningTakeIsInterruptible() throws InterruptedException {
+        BlockingQueue<String> spinning = BlockingQueue.<String>builder(1)
+            .waitStrategy(WaitStrategy.BUSY_SPIN)
+            .build();
+        AtomicInteger interrupted = new AtomicInteger();
+        Thread consumerThread = new Thread(() -> {
+            try {
+                spinning.take();
+            } catch (InterruptedException e) {
+                interrupted.incrementAndGet();
+            }
+        });
+        consumerThread.start();
+        Thread.sleep(100);
+        consumerThread.interrupt();
+        consumerThread.join(2000);
+        
+        assertFalse(consumerThread.isAlive());
+        assertEquals(1, interrupted.get());
+        assertEquals(WaitStrategy.BLOCKING, queue.getWaitStrategy());
+        assertEquals(WaitStrategy.BUSY_SPIN, spinning.getWaitStrategy());
+    }
+    
+    @Test
+    @Timeout(10)
+    void testCloseRejectsItemsButLetsConsumersDrain() throws InterruptedException {
+        queue.put("A");
+        queue.put("B");
+        queue.close();
+        queue.close();
+        
+        assertTrue(queue.isClosed());
+        assertThrows(QueueClosedException.class, () -> queue.put("C"));
+        assertThrows(QueueClosedException.class, () -> queue.offer("C"));
+        assertThrows(QueueClosedException.class, () -> queue.offer("C", 10, TimeUnit.MILLISECONDS));
+        assertThrows(QueueClosedException.class, () -> queue.putAll(Arrays.asList("C", "D")));
+        
+        assertEquals("A", queue.take());
+        assertEquals("B", queue.poll(10, TimeUnit.MILLISECONDS));
+        assertThrows(QueueClosedException.class, () -> queue.take());
+        assertNull(queue.poll(5, TimeUnit.SECONDS));
+        assertNull(queue.poll());
+    }
+    
+    @Test
+    @Timeout(10)
+    void testCloseWakesBlockedProducersAndConsumersForEveryWaitStrategy() throws InterruptedException {
+        for (WaitStrategy strategy : WaitStrategy.values()) {
+            BlockingQueue<String> full = BlockingQueue.<String>builder(1).waitStrategy(strategy).build();
+            BlockingQueue<String> empty = BlockingQueue.<String>builder(1).waitStrategy(strategy).build();
+            full.put("X");
+            AtomicInteger closedSeen = new AtomicInteger();
+            Thread producerThread = new Thread(() -> {
+                try {
+                    full.put("Y");
+                } catch (QueueClosedException e) {
+                    closedSeen.incrementAndGet();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            Thread consumerThread = new Thread(() -> {
+                try {
+                    empty.take();
+                } catch (QueueClosedException e) {
+                    closedSeen.incrementAndGet();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            producerThread.start();
+            consumerThread.start();
+            Thread.sleep(100);
+            
+            full.close();
+            empty.close();
+            producerThread.join(2000);
+            consumerThread.join(2000);
+            
+            assertFalse(producerThread.isAlive(), strategy.name());
+            assertFalse(consumerThread.isAlive(), strategy.name());
+            assertEquals(2, closedSeen.get(), strategy.name());
+            assertEquals("X", full.take());
+        }
+    }
+    
+    @Test
+    @Timeout(10)
+    void testShutdownWaitsForConsumersThenReturnsUndrainedItems() throws InterruptedException {
+        queue.putAll(Arrays.asList("A", "B", "C"));
+        Thread consumerThread = new Thread(() -> {
+            try {
+                Thread.sleep(100);
+                queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        consumerThread.start();
+        
+        long start = System.nanoTime();
+        List<String> undrained = queue.shutdown(300, TimeUnit.MILLISECONDS);
+        
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(300));
+        assertEquals(Arrays.asList("B", "C"), undrained);
+        assertTrue(queue.isEmpty());
+        assertTrue(queue.shutdown(1, TimeUnit.SECONDS).isEmpty());
+        consumerThread.join();
+    }
+    
+    @Test
+    @Timeout(10)
+    void testLatencyRecordsQueueTimeAndBlockedTime() throws InterruptedException {
+        QueueLatency latency = new QueueLatency();
+        QueueMetrics metrics = new QueueMetrics();
+        BlockingQueue<String> timed = BlockingQueue.<String>builder(2)
+            .overflowPolicy(OverflowPolicy.DROP_OLDEST)
+            .listener(metrics)
+            .latency(latency)
+            .build();
+        timed.put("old");
+        Thread.sleep(50);
+        timed.putAll(Arrays.asList("A", "B"));   // drops "old", which is not recorded
+        assertEquals("A", timed.take());
+        assertEquals(1, latency.getQueueTime().snapshot().getCount());
+        assertTrue(latency.getQueueTime().snapshot().getMax() < TimeUnit.MILLISECONDS.toNanos(50));
+        
+        Thread.sleep(50);
+        timed.put("C");
+        List<String> drained = new ArrayList<>();
+        timed.drainTo(drained, 10);
+        assertEquals(Arrays.asList("B", "C"), drained);
+        assertTrue(latency.getQueueTime().snapshot().getMax() >= TimeUnit.MILLISECONDS.toNanos(50));
+        assertEquals(3, latency.getQueueTime().snapshot().getCount());
+        assertEquals(3, metrics.getTakes(), "the builder's listener is still notified");
+        
+        Thread consumer = new Thread(() -> {
+            try {
+                timed.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        consumer.start();
+        Thread.sleep(50);
+        timed.put("D");
+        consumer.join();
+        LatencyHistogram.Snapshot takeBlocked = latency.getTakeBlockedTime().snapshot();
+        assertEquals(1, takeBlocked.getCount());
+        assertTrue(takeBlocked.getMax() >= TimeUnit.MILLISECONDS.toNanos(40));
+        assertEquals(0, latency.getPutBlockedTime().snapshot().getCount());
+    }
 }
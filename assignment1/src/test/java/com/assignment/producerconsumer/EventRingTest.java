@@ -0,0 +1,193 @@
+package com.assignment.producerconsumer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unit tests for the pre-allocated EventRing and its EventProcessor.
+ */
+public class EventRingTest {
+
+    /**
+     * Mutable event used by the tests, allocated once per slot.
+     */
+    static final class LongEvent {
+        long value;
+    }
+
+    @Test
+    void testCapacityRoundedUpAndSlotsPreallocated() {
+        AtomicInteger created = new AtomicInteger();
+        EventRing<LongEvent> ring = new EventRing<>(5, () -> {
+            created.incrementAndGet();
+            return new LongEvent();
+        });
+
+        assertEquals(8, ring.getCapacity());
+        assertEquals(8, created.get());
+        assertSame(ring.get(0), ring.get(8));
+        assertEquals(-1, ring.getClaimedSequence());
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new EventRing<>(0, LongEvent::new));
+        assertThrows(NullPointerException.class, () -> new EventRing<LongEvent>(4, null));
+        assertThrows(NullPointerException.class, () -> new EventRing<LongEvent>(4, () -> null));
+    }
+
+    @Test
+    @Timeout(10)
+    void testProcessorHandlesEventsInOrder() throws InterruptedException {
+        EventRing<LongEvent> ring = new EventRing<>(16, LongEvent::new);
+        List<Long> received = new ArrayList<>();
+        EventProcessor<LongEvent> processor = ring.createProcessor((event, sequence, endOfBatch) -> received.add(event.value));
+        Thread processorThread = new Thread(processor);
+        processorThread.start();
+
+        for (long i = 0; i < 100; i++) {
+            long value = i * 10;
+            ring.publishEvent((event, sequence) -> event.value = value);
+        }
+        processor.halt();
+        processorThread.join();
+
+        assertEquals(100, received.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i * 10L, received.get(i));
+        }
+        assertEquals(99, processor.getSequence());
+    }
+
+    @Test
+    @Timeout(10)
+    void testThrowingHandlerFailsOnlyItsEvent() throws InterruptedException {
+        EventRing<LongEvent> ring = new EventRing<>(4, LongEvent::new);
+        List<Long> received = new ArrayList<>();
+        EventProcessor<LongEvent> processor = ring.createProcessor((event, sequence, endOfBatch) -> {
+            if (event.value % 3 == 0) {
+                throw new IllegalStateException("Expected test failure");
+            }
+            received.add(event.value);
+        });
+        List<Throwable> reported = Collections.synchronizedList(new ArrayList<>());
+        Thread processorThread = new Thread(processor);
+        processorThread.setUncaughtExceptionHandler((thread, e) -> reported.add(e));
+        processorThread.start();
+
+        // Five times the ring size, so producers would stall if a failed slot were never released
+        for (long i = 0; i < 20; i++) {
+            long value = i;
+            ring.publishEvent((event, sequence) -> event.value = value);
+        }
+        processor.halt();
+        processorThread.join();
+
+        assertEquals(13, received.size());
+        assertEquals(7, processor.getFailureCount());
+        assertEquals(7, reported.size());
+        assertEquals(19, processor.getSequence());
+    }
+
+    @Test
+    @Timeout(10)
+    void testBatchEndsAtLastAvailableEvent() throws InterruptedException {
+        EventRing<LongEvent> ring = new EventRing<>(8, LongEvent::new);
+        List<Boolean> endOfBatchFlags = new ArrayList<>();
+        EventProcessor<LongEvent> processor = ring.createProcessor((event, sequence, endOfBatch) -> endOfBatchFlags.add(endOfBatch));
+
+        long hi = ring.next(4);
+        for (long sequence = hi - 3; sequence <= hi; sequence++) {
+            ring.get(sequence).value = sequence;
+        }
+        ring.publish(hi - 3, hi);
+
+        processor.halt();
+        processor.run();
+
+        assertEquals(List.of(false, false, false, true), endOfBatchFlags);
+    }
+
+    @Test
+    @Timeout(10)
+    void testUnpublishedSequenceStopsTheBatch() throws InterruptedException {
+        EventRing<LongEvent> ring = new EventRing<>(8, LongEvent::new);
+        List<Long> sequences = new ArrayList<>();
+        EventProcessor<LongEvent> processor = ring.createProcessor((event, sequence, endOfBatch) -> sequences.add(sequence));
+
+        long first = ring.next();
+        ring.next();
+        long third = ring.next();
+        ring.publish(first);
+        ring.publish(third);
+
+        processor.halt();
+        processor.run();
+
+        assertEquals(List.of(first), sequences);
+        assertEquals(first, processor.getSequence());
+    }
+
+    @Test
+    @Timeout(20)
+    void testMultipleProducersAndProcessorsWithWrapAround() throws InterruptedException {
+        int numProducers = 4;
+        int eventsPerProducer = 10_000;
+        int totalEvents = numProducers * eventsPerProducer;
+        EventRing<LongEvent> ring = new EventRing<>(64, LongEvent::new);
+
+        long[] sums = new long[2];
+        int[] counts = new int[2];
+        List<EventProcessor<LongEvent>> processors = new ArrayList<>();
+        for (int p = 0; p < 2; p++) {
+            final int index = p;
+            processors.add(ring.createProcessor((event, sequence, endOfBatch) -> {
+                sums[index] += event.value;
+                counts[index]++;
+            }));
+        }
+        List<Thread> processorThreads = new ArrayList<>();
+        for (EventProcessor<LongEvent> processor : processors) {
+            Thread thread = new Thread(processor);
+            processorThreads.add(thread);
+            thread.start();
+        }
+
+        CountDownLatch producersDone = new CountDownLatch(numProducers);
+        for (int p = 0; p < numProducers; p++) {
+            new Thread(() -> {
+                try {
+                    for (int i = 1; i <= eventsPerProducer; i++) {
+                        long value = i;
+                        ring.publishEvent((event, sequence) -> event.value = value);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                producersDone.countDown();
+            }).start();
+        }
+
+        producersDone.await();
+        for (EventProcessor<LongEvent> processor : processors) {
+            processor.halt();
+        }
+        for (Thread thread : processorThreads) {
+            thread.join();
+        }
+
+        long expectedSum = (long) numProducers * eventsPerProducer * (eventsPerProducer + 1) / 2;
+        for (int p = 0; p < 2; p++) {
+            assertEquals(totalEvents, counts[p]);
+            assertEquals(expectedSum, sums[p]);
+        }
+    }
+}
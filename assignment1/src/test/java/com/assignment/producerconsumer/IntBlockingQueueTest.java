@@ -0,0 +1,207 @@
+package com.assignment.producerconsumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Unit tests for IntBlockingQueue.
+ */
+public class IntBlockingQueueTest {
+    private IntBlockingQueue queue;
+    private static final int CAPACITY = 4;
+
+    @BeforeEach
+    void setUp() {
+        queue = new IntBlockingQueue(CAPACITY);
+    }
+
+    @Test
+    void testQueueInitialization() {
+        assertEquals(0, queue.size());
+        assertTrue(queue.isEmpty());
+        assertFalse(queue.isFull());
+        assertEquals(CAPACITY, queue.getCapacity());
+        assertThrows(IllegalArgumentException.class, () -> new IntBlockingQueue(0));
+        assertThrows(NullPointerException.class, () -> new IntBlockingQueue(1, null));
+    }
+
+    @Test
+    @Timeout(5)
+    void testFifoOrderAcrossWrapAround() throws InterruptedException {
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < CAPACITY; i++) {
+                queue.putInt(round * 10 + i);
+            }
+            assertTrue(queue.isFull());
+            assertFalse(queue.offerInt(-1));
+            for (int i = 0; i < CAPACITY; i++) {
+                assertEquals(round * 10 + i, queue.takeInt());
+            }
+            assertTrue(queue.isEmpty());
+        }
+    }
+
+    @Test
+    @Timeout(5)
+    void testBatchTransfersWrapAroundTheRing() throws InterruptedException {
+        queue.putAll(new int[] {1, 2, 3}, 0, 3);
+        int[] out = new int[8];
+        assertEquals(2, queue.drainTo(out, 0, 2));
+        queue.putAll(new int[] {0, 4, 5, 6}, 1, 3);
+
+        assertEquals(4, queue.drainTo(out, 2, 6));
+        assertArrayEquals(new int[] {1, 2, 3, 4, 5, 6, 0, 0}, out);
+        assertEquals(0, queue.drainTo(out, 0, 8));
+        assertThrows(IndexOutOfBoundsException.class, () -> queue.putAll(new int[2], 1, 2));
+        assertThrows(IndexOutOfBoundsException.class, () -> queue.drainTo(out, 7, 2));
+    }
+
+    @Test
+    @Timeout(5)
+    void testPutAllLargerThanCapacityBlocksUntilConsumed() throws InterruptedException {
+        int total = CAPACITY * 5 + 1;
+        int[] values = new int[total];
+        for (int i = 0; i < total; i++) {
+            values[i] = i;
+        }
+        Thread producer = new Thread(() -> {
+            try {
+                queue.putAll(values, 0, total);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+
+        int[] received = new int[total];
+        int taken = 0;
+        while (taken < total) {
+            taken += queue.takeAll(received, taken, total - taken);
+        }
+        producer.join();
+
+        assertArrayEquals(values, received);
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    @Timeout(5)
+    void testTimedOperationsGiveUpAfterTimeout() throws InterruptedException {
+        int[] out = new int[1];
+        long start = System.nanoTime();
+        assertEquals(0, queue.takeAll(out, 0, 1, 50, TimeUnit.MILLISECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+        assertThrows(IllegalArgumentException.class, () -> queue.takeAll(out, 0, 0));
+
+        for (int i = 0; i < CAPACITY; i++) {
+            assertTrue(queue.offerInt(i, 10, TimeUnit.MILLISECONDS));
+        }
+        assertFalse(queue.offerInt(99, 50, TimeUnit.MILLISECONDS));
+        assertEquals(1, queue.takeAll(out, 0, 1, 0, TimeUnit.MILLISECONDS));
+        assertEquals(0, out[0]);
+    }
+
+    @Test
+    @Timeout(5)
+    void testBlockedTakeIsWokenByPut() throws InterruptedException {
+        int[] result = new int[1];
+        Thread consumer = new Thread(() -> {
+            try {
+                result[0] = queue.takeInt();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        consumer.start();
+        Thread.sleep(100);
+        assertEquals(Thread.State.WAITING, consumer.getState());
+
+        queue.putInt(42);
+        consumer.join();
+        assertEquals(42, result[0]);
+    }
+
+    @Test
+    @Timeout(5)
+    void testListenerSeesBatchesAndBlocking() throws InterruptedException {
+        AtomicLong puts = new AtomicLong();
+        AtomicLong takes = new AtomicLong();
+        AtomicLong consumerBlocked = new AtomicLong();
+        queue = new IntBlockingQueue(CAPACITY, new QueueListener() {
+            @Override
+            public void onPut(int items, int size) {
+                puts.addAndGet(items);
+            }
+
+            @Override
+            public void onTake(int items, int size) {
+                takes.addAndGet(items);
+            }
+
+            @Override
+            public void onConsumerBlocked() {
+                consumerBlocked.incrementAndGet();
+            }
+        });
+
+        queue.putAll(new int[] {1, 2, 3}, 0, 3);
+        queue.putInt(4);
+        assertEquals(3, queue.drainTo(new int[3], 0, 3));
+        queue.takeInt();
+        queue.takeAll(new int[1], 0, 1, 10, TimeUnit.MILLISECONDS);
+
+        assertEquals(4, puts.get());
+        assertEquals(4, takes.get());
+        assertEquals(1, consumerBlocked.get());
+    }
+
+    @Test
+    @Timeout(10)
+    void testConcurrentProducersAndConsumersTransferEveryValue() throws InterruptedException {
+        int producers = 3;
+        int perProducer = 10_000;
+        AtomicLong sum = new AtomicLong();
+        Thread[] threads = new Thread[producers * 2];
+        for (int p = 0; p < producers; p++) {
+            threads[p] = new Thread(() -> {
+                try {
+                    for (int i = 1; i <= perProducer; i++) {
+                        queue.putInt(i);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            threads[producers + p] = new Thread(() -> {
+                int[] batch = new int[3];
+                int received = 0;
+                try {
+                    while (received < perProducer) {
+                        int n = queue.takeAll(batch, 0, Math.min(batch.length, perProducer - received));
+                        for (int i = 0; i < n; i++) {
+                            sum.addAndGet(batch[i]);
+                        }
+                        received += n;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals((long) producers * perProducer * (perProducer + 1) / 2, sum.get());
+        assertTrue(queue.isEmpty());
+    }
+}
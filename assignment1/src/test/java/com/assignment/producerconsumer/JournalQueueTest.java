@@ -0,0 +1,231 @@
+package com.assignment.producerconsumer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Unit tests for the memory-mapped JournalQueue.
+ */
+public class JournalQueueTest {
+    @TempDir
+    Path directory;
+
+    private JournalQueue<String> open(int segmentSize) throws IOException {
+        return JournalQueue.builder(directory, JournalCodec.UTF8)
+            .capacity(100)
+            .segmentSize(segmentSize)
+            .checkpointInterval(1000)
+            .open();
+    }
+
+    private List<String> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                .filter(name -> name.endsWith(".seg"))
+                .sorted()
+                .collect(Collectors.toList());
+        }
+    }
+
+    @Test
+    void testInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class,
+            () -> JournalQueue.builder(directory, JournalCodec.UTF8).capacity(0).open());
+        assertThrows(IllegalArgumentException.class,
+            () -> JournalQueue.builder(directory, JournalCodec.UTF8).segmentSize(8).open());
+        assertThrows(NullPointerException.class, () -> JournalQueue.builder(directory, null));
+    }
+
+    @Test
+    @Timeout(5)
+    void testFifoOrderWithinOneRun() throws IOException, InterruptedException {
+        try (JournalQueue<String> queue = open(4096)) {
+            queue.put("A");
+            queue.putAll(Arrays.asList("B", "C", ""));
+            assertTrue(queue.offer("D"));
+
+            assertEquals(5, queue.size());
+            assertEquals("A", queue.take());
+            assertEquals("B", queue.poll());
+            List<String> rest = new ArrayList<>();
+            assertEquals(3, queue.drainTo(rest, 10));
+            assertEquals(Arrays.asList("C", "", "D"), rest);
+            assertNull(queue.poll(50, TimeUnit.MILLISECONDS));
+        }
+    }
+
+    @Test
+    @Timeout(5)
+    void testUnconsumedItemsAreReplayedAfterReopen() throws IOException, InterruptedException {
+        try (JournalQueue<String> queue = open(4096)) {
+            queue.putAll(Arrays.asList("A", "B", "C", "D"));
+            assertEquals("A", queue.take());
+            queue.acknowledge(1);
+            queue.checkpoint();
+            assertEquals("B", queue.take());
+            queue.acknowledge(1);
+        }
+
+        try (JournalQueue<String> reopened = open(4096)) {
+            assertEquals(2, reopened.size());
+            assertEquals("C", reopened.take());
+            assertEquals("D", reopened.take());
+            assertTrue(reopened.isEmpty());
+        }
+    }
+
+    @Test
+    @Timeout(5)
+    void testItemsTakenAfterLastCheckpointAreReplayed() throws IOException, InterruptedException {
+        JournalQueue<String> crashed = open(4096);
+        crashed.putAll(Arrays.asList("A", "B", "C"));
+        assertEquals("A", crashed.take());
+        crashed.acknowledge(1);
+        crashed.checkpoint();
+        assertEquals("B", crashed.take());
+        crashed.acknowledge(1);
+        // Simulate a crash: no close(), so the cursor still points at B.
+
+        try (JournalQueue<String> reopened = open(4096)) {
+            assertEquals("B", reopened.take());
+            assertEquals("C", reopened.take());
+        }
+    }
+
+    @Test
+    @Timeout(5)
+    void testUnacknowledgedItemsAreReplayedAfterReopen() throws IOException, InterruptedException {
+        try (JournalQueue<String> queue = open(4096)) {
+            queue.putAll(Arrays.asList("A", "B", "C"));
+            assertEquals("A", queue.take());
+            queue.acknowledge(1);
+            assertEquals("B", queue.take());
+            assertEquals(1, queue.getUnacknowledgedCount());
+            assertThrows(IllegalArgumentException.class, () -> queue.acknowledge(2));
+        }
+
+        try (JournalQueue<String> reopened = open(4096)) {
+            assertEquals(2, reopened.size());
+            assertEquals("B", reopened.take());
+            assertEquals("C", reopened.take());
+        }
+    }
+
+    @Test
+    @Timeout(5)
+    void testSegmentsRollAndConsumedSegmentsAreDeleted() throws IOException, InterruptedException {
+        // Each record is 8 header bytes plus 2 payload bytes; 3 records fit in a segment.
+        try (JournalQueue<String> queue = open(32)) {
+            for (int i = 10; i < 20; i++) {
+                queue.put(String.valueOf(i));
+            }
+            assertEquals(4, segmentFiles().size());
+
+            for (int i = 10; i < 17; i++) {
+                assertEquals(String.valueOf(i), queue.take());
+            }
+            queue.acknowledge(7);
+            queue.checkpoint();
+            assertEquals(Arrays.asList("00000000000000000006.seg", "00000000000000000009.seg"), segmentFiles());
+        }
+
+        try (JournalQueue<String> reopened = open(32)) {
+            List<String> rest = new ArrayList<>();
+            reopened.drainTo(rest, 10);
+            assertEquals(Arrays.asList("17", "18", "19"), rest);
+        }
+    }
+
+    @Test
+    @Timeout(5)
+    void testTornRecordIsIgnoredOnRecovery() throws IOException, InterruptedException {
+        try (JournalQueue<String> queue = open(4096)) {
+            queue.putAll(Arrays.asList("A", "B"));
+        }
+        // Write a header whose checksum does not match its payload, as a crash mid-append would.
+        Path segment = directory.resolve(segmentFiles().get(0));
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            ByteBuffer torn = ByteBuffer.allocate(12).putInt(5).putInt(42).put(new byte[] {1, 2, 3, 4});
+            torn.flip();
+            channel.write(torn, 2 * (JournalQueue.RECORD_HEADER_BYTES + 1));
+        }
+
+        try (JournalQueue<String> reopened = open(4096)) {
+            assertEquals(2, reopened.size());
+            reopened.put("C");
+        }
+        try (JournalQueue<String> again = open(4096)) {
+            assertEquals(Arrays.asList("A", "B", "C"), Arrays.asList(again.take(), again.take(), again.take()));
+        }
+    }
+
+    @Test
+    @Timeout(5)
+    void testProducerBlocksAtCapacityAndOversizedItemsAreRejected() throws IOException, InterruptedException {
+        try (JournalQueue<String> queue = JournalQueue.builder(directory, JournalCodec.UTF8)
+                .capacity(2)
+                .segmentSize(64)
+                .open()) {
+            queue.put("A");
+            queue.put("B");
+            assertFalse(queue.offer("C"));
+            assertTrue(queue.isFull());
+            assertThrows(IllegalArgumentException.class, () -> queue.offer(new String(new char[100])));
+
+            CountDownLatch added = new CountDownLatch(1);
+            Thread producer = new Thread(() -> {
+                try {
+                    queue.put("C");
+                    added.countDown();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            producer.start();
+            assertFalse(added.await(200, TimeUnit.MILLISECONDS));
+            assertEquals("A", queue.take());
+            assertTrue(added.await(2, TimeUnit.SECONDS));
+            producer.join();
+        }
+    }
+
+    @Test
+    @Timeout(5)
+    void testCloseWakesWaitingConsumer() throws IOException, InterruptedException {
+        JournalQueue<String> queue = open(4096);
+        CountDownLatch failed = new CountDownLatch(1);
+        Thread consumer = new Thread(() -> {
+            try {
+                queue.take();
+            } catch (IllegalStateException e) {
+                failed.countDown();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        consumer.start();
+        Thread.sleep(100);
+
+        queue.close();
+
+        assertTrue(failed.await(2, TimeUnit.SECONDS));
+        assertThrows(IllegalStateException.class, () -> queue.put("late"));
+    }
+}
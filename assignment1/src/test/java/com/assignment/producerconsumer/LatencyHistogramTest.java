@@ -0,0 +1,102 @@
+package com.assignment.producerconsumer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Unit tests for LatencyHistogram.
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    void testEmptyHistogram() {
+        LatencyHistogram.Snapshot snapshot = new LatencyHistogram().snapshot();
+        assertEquals(0, snapshot.getCount());
+        assertEquals(0, snapshot.getP99());
+        assertEquals(0, snapshot.getMax());
+        assertEquals(0.0, snapshot.getMean());
+        assertThrows(IllegalArgumentException.class, () -> snapshot.getValueAtPercentile(100.1));
+    }
+
+    @Test
+    void testBucketsCoverTheWholeRangeWithinPrecision() {
+        int previous = -1;
+        for (long value = 0; value < 1_000_000; value += 1 + value / 64) {
+            int index = LatencyHistogram.bucketIndex(value);
+            assertTrue(index >= previous, "buckets must be monotonic");
+            long upper = LatencyHistogram.highestValueIn(index);
+            assertTrue(upper >= value, value + " above its bucket");
+            assertTrue(upper - value <= value / 16, value + " bucket too wide: " + upper);
+            previous = index;
+        }
+        assertEquals(Long.MAX_VALUE,
+            LatencyHistogram.highestValueIn(LatencyHistogram.bucketIndex(Long.MAX_VALUE)));
+    }
+
+    @Test
+    void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1_000L);
+        }
+        histogram.record(-5);
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(1001, snapshot.getCount());
+        assertEquals(1_000_000, snapshot.getMax());
+        assertEquals(500_000, snapshot.getP50(), 500_000 / 16.0);
+        assertEquals(990_000, snapshot.getP99(), 990_000 / 16.0);
+        assertEquals(999_000, snapshot.getP999(), 999_000 / 16.0);
+        assertEquals(0, snapshot.getValueAtPercentile(0));
+        assertEquals(1_000_000, snapshot.getValueAtPercentile(100));
+        assertEquals(500_000, snapshot.getMean(), 1_000);
+    }
+
+    @Test
+    void testIntervalSnapshotsCoverOnlyTheirInterval() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(100);
+        histogram.record(5_000_000);
+        LatencyHistogram.Snapshot first = histogram.intervalSnapshot();
+        assertEquals(2, first.getCount());
+        assertEquals(5_000_000, first.getMax());
+
+        histogram.record(200);
+        LatencyHistogram.Snapshot second = histogram.intervalSnapshot();
+        assertEquals(1, second.getCount());
+        assertEquals(200, second.getMax());
+        assertEquals(200, second.getP99(), 200 / 16.0);
+
+        assertEquals(0, histogram.intervalSnapshot().getCount());
+        assertEquals(3, histogram.snapshot().getCount());
+        assertEquals(5_000_000, histogram.snapshot().getMax());
+    }
+
+    @Test
+    @Timeout(10)
+    void testConcurrentRecordingLosesNothing() throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            long base = t * 1_000L;
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 25_000; i++) {
+                    histogram.record(base + i % 1_000);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(100_000, snapshot.getCount());
+        assertEquals(3_999, snapshot.getMax());
+    }
+}
@@ -0,0 +1,89 @@
+package com.assignment.producerconsumer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+/**
+ * Unit tests for LoadGenerator.
+ */
+public class LoadGeneratorTest {
+
+    @Test
+    void testParsesOptions() {
+        LoadGenerator.Options defaults = LoadGenerator.Options.parse();
+        assertEquals(4, defaults.producers);
+        assertEquals("TwoLockBlockingQueue", defaults.queue);
+        assertEquals(ThreadMode.PLATFORM, defaults.threadMode);
+
+        LoadGenerator.Options options = LoadGenerator.Options.parse("--producers=8", "--consumers=2",
+            "--capacity=64", "--items=2_000_000", "--duration=5", "--work=1500",
+            "--queue=BlockingQueue:SPIN_THEN_PARK", "--report=250", "--virtual-threads");
+        assertEquals(8, options.producers);
+        assertEquals(2, options.consumers);
+        assertEquals(64, options.capacity);
+        assertEquals(2_000_000, options.items);
+        assertEquals(5, options.durationSeconds);
+        assertEquals(1500, options.workNanos);
+        assertEquals("BlockingQueue:SPIN_THEN_PARK", options.queue);
+        assertEquals(250, options.reportIntervalMillis);
+        assertEquals(ThreadMode.VIRTUAL, options.threadMode);
+    }
+
+    @Test
+    void testRejectsInvalidOptions() {
+        assertThrows(IllegalArgumentException.class, () -> LoadGenerator.Options.parse("--producers=0"));
+        assertThrows(IllegalArgumentException.class, () -> LoadGenerator.Options.parse("--capacity=lots"));
+        assertThrows(IllegalArgumentException.class, () -> LoadGenerator.Options.parse("--items"));
+        assertThrows(IllegalArgumentException.class, () -> LoadGenerator.Options.parse("--threads=4"));
+        assertThrows(IllegalArgumentException.class, () -> LoadGenerator.Options.parse("--queue=ArrayDeque"));
+        assertThrows(IllegalArgumentException.class, () -> LoadGenerator.Options.parse("--queue=BlockingQueue:NAP"));
+        assertThrows(IllegalArgumentException.class, () -> LoadGenerator.Options.parse("--queue=SpscQueue"));
+        assertEquals("SpscQueue",
+            LoadGenerator.Options.parse("--queue=SpscQueue", "--producers=1", "--consumers=1").queue);
+        // Parsing checks the queue name without allocating a queue of this capacity
+        assertEquals(1 << 30,
+            LoadGenerator.Options.parse("--queue=RingBufferQueue", "--capacity=1073741824").capacity);
+    }
+
+    @Test
+    @Timeout(30)
+    void testItemCountRunMovesEveryItemThroughEachQueue() throws InterruptedException {
+        String[] queues = {"BlockingQueue", "BlockingQueue:SPIN_THEN_YIELD", "TwoLockBlockingQueue",
+            "StripedBlockingQueue", "RingBufferQueue"};
+        for (String queue : queues) {
+            LoadGenerator.Options options = LoadGenerator.Options.parse("--queue=" + queue,
+                "--producers=3", "--consumers=2", "--capacity=16", "--items=20000", "--work=100");
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+            LoadGenerator.Result result = LoadGenerator.run(options, new PrintStream(output, true));
+
+            assertEquals(20_000, result.items, queue);
+            assertEquals(20_000, result.latency.getCount(), queue);
+            assertTrue(result.getThroughput() > 0, queue);
+            assertTrue(result.latency.getP999() <= result.latency.getMax(), queue);
+            assertTrue(output.toString().contains("Put-to-take latency"), queue);
+        }
+    }
+
+    @Test
+    @Timeout(10)
+    void testDurationRunStopsAndDrainsEverythingProduced() throws InterruptedException {
+        LoadGenerator.Options options = LoadGenerator.Options.parse("--duration=1", "--report=200",
+            "--producers=2", "--consumers=1", "--capacity=8", "--work=20000");
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        LoadGenerator.Result result = LoadGenerator.run(options, new PrintStream(output, true));
+
+        assertTrue(result.elapsedNanos >= 1_000_000_000L);
+        assertTrue(result.items > 0);
+        assertTrue(result.worstIntervalThroughput >= 0);
+        assertTrue(result.queueLatency.getPutBlockedTime().snapshot().getCount() > 0,
+            "a slow consumer must hold producers back");
+        assertTrue(output.toString().contains("CPU time"));
+    }
+}
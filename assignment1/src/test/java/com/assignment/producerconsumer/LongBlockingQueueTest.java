@@ -0,0 +1,61 @@
+package com.assignment.producerconsumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for LongBlockingQueue. The ring logic is shared with
+ * IntBlockingQueue, which has the broader coverage; these tests check that
+ * full 64-bit values survive every path.
+ */
+public class LongBlockingQueueTest {
+    private LongBlockingQueue queue;
+    private static final int CAPACITY = 3;
+
+    @BeforeEach
+    void setUp() {
+        queue = new LongBlockingQueue(CAPACITY);
+    }
+
+    @Test
+    void testQueueInitialization() {
+        assertEquals(0, queue.size());
+        assertTrue(queue.isEmpty());
+        assertEquals(CAPACITY, queue.getCapacity());
+        assertThrows(IllegalArgumentException.class, () -> new LongBlockingQueue(0));
+    }
+
+    @Test
+    @Timeout(5)
+    void testSingleValuesKeepAllBits() throws InterruptedException {
+        long[] values = {Long.MIN_VALUE, Long.MAX_VALUE, 1L << 40};
+        for (int round = 0; round < 2; round++) {
+            for (long value : values) {
+                queue.putLong(value);
+            }
+            assertTrue(queue.isFull());
+            assertFalse(queue.offerLong(0L));
+            for (long value : values) {
+                assertEquals(value, queue.takeLong());
+            }
+        }
+    }
+
+    @Test
+    @Timeout(5)
+    void testBatchTransfersWrapAroundTheRing() throws InterruptedException {
+        queue.putLong(7L);
+        queue.takeLong();
+        queue.putAll(new long[] {1L << 33, 1L << 34, 1L << 35}, 0, 3);
+
+        long[] out = new long[4];
+        assertEquals(3, queue.takeAll(out, 1, 3, 10, TimeUnit.MILLISECONDS));
+        assertArrayEquals(new long[] {0L, 1L << 33, 1L << 34, 1L << 35}, out);
+        assertEquals(0, queue.drainTo(out, 0, 4));
+    }
+}
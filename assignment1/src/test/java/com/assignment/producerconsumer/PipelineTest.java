@@ -0,0 +1,173 @@
+package com.assignment.producerconsumer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Unit tests for Pipeline.
+ */
+public class PipelineTest {
+
+    @Test
+    void testBuilderValidation() {
+        assertThrows(IllegalArgumentException.class, () -> Pipeline.builder(0));
+        assertThrows(IllegalArgumentException.class,
+            () -> Pipeline.<String>builder(4).map("parse", 0, String::length));
+        assertThrows(NullPointerException.class,
+            () -> Pipeline.<String>builder(4).filter("valid", 1, null));
+        assertThrows(NullPointerException.class,
+            () -> Pipeline.<String>builder(4).to(null, 1, item -> { }));
+    }
+
+    @Test
+    @Timeout(10)
+    void testOperatorsAcrossStagesProcessEveryItem() throws InterruptedException {
+        ThreadLocalSink<Integer> sink = new ThreadLocalSink<>();
+        Pipeline<String> pipeline = Pipeline.<String>builder(4)
+            .map("parse", 2, Integer::parseInt)
+            .filter("even", 2, value -> value % 2 == 0)
+            .flatMap("duplicate", 3, value -> Arrays.asList(value, -value))
+            .to("write", 2, sink::add);
+        pipeline.start();
+
+        for (int i = 1; i <= 1_000; i++) {
+            pipeline.put(Integer.toString(i));
+        }
+        pipeline.close();
+        assertTrue(pipeline.awaitTermination(5, TimeUnit.SECONDS));
+
+        List<Integer> results = sink.toList();
+        assertEquals(1_000, results.size());
+        assertEquals(0, results.stream().mapToInt(Integer::intValue).sum());
+        assertTrue(results.contains(1_000) && results.contains(-2) && !results.contains(3));
+
+        List<Pipeline.Stage> stages = pipeline.getStages();
+        assertEquals(Arrays.asList("parse", "even", "duplicate", "write"),
+            Arrays.asList(stages.get(0).getName(), stages.get(1).getName(),
+                stages.get(2).getName(), stages.get(3).getName()));
+        assertEquals(1_000, stages.get(0).getEmittedCount());
+        assertEquals(500, stages.get(1).getEmittedCount());
+        assertEquals(1_000, stages.get(2).getEmittedCount());
+        assertEquals(1_000, stages.get(3).getProcessedCount());
+        assertEquals(3, stages.get(2).getParallelism());
+        for (Pipeline.Stage stage : stages) {
+            assertEquals(0, stage.getQueueDepth());
+            assertEquals(stage.getProcessedCount(), stage.getQueueMetrics().getTakes());
+        }
+    }
+
+    @Test
+    @Timeout(10)
+    void testSlowFinalStageBackpressuresTheCaller() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        Pipeline<Integer> pipeline = Pipeline.<Integer>builder(2)
+            .map("identity", 1, value -> value)
+            .to("blocked", 1, value -> release.await());
+        pipeline.start();
+
+        // Final stage holds 1 item plus 2 queued, first stage holds 1 plus 2 queued
+        int accepted = 0;
+        while (pipeline.offer(accepted, 200, TimeUnit.MILLISECONDS)) {
+            accepted++;
+        }
+        assertEquals(6, accepted);
+        assertTrue(pipeline.getStages().get(1).getQueueMetrics().getProducerBlocks() > 0);
+
+        release.countDown();
+        pipeline.close();
+        assertTrue(pipeline.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(6, pipeline.getStages().get(1).getProcessedCount());
+    }
+
+    @Test
+    @Timeout(10)
+    void testFailingOperatorLosesOnlyThatItem() throws InterruptedException {
+        AtomicLong sum = new AtomicLong();
+        Pipeline<String> pipeline = Pipeline.<String>builder(8)
+            .map("parse", 1, Integer::parseInt)
+            .to("sum", 1, sum::addAndGet);
+        pipeline.start();
+
+        for (String item : Arrays.asList("1", "two", "3", "", "5")) {
+            pipeline.put(item);
+        }
+        pipeline.close();
+        assertTrue(pipeline.awaitTermination(5, TimeUnit.SECONDS));
+
+        assertEquals(9, sum.get());
+        assertEquals(2, pipeline.getStages().get(0).getFailureCount());
+        assertEquals(5, pipeline.getStages().get(0).getProcessedCount());
+        assertThrows(QueueClosedException.class, () -> pipeline.put("6"));
+    }
+
+    @Test
+    @Timeout(10)
+    void testNullAndEmptyResultsAreDropped() throws InterruptedException {
+        ThreadLocalSink<String> sink = new ThreadLocalSink<>(true);
+        Pipeline<String> pipeline = Pipeline.<String>builder(4)
+            .map("blankToNull", 1, value -> value.isEmpty() ? null : value)
+            .flatMap("split", 1, value -> value.equals("-") ? Collections.<String>emptyList() : Arrays.asList(value.split(",")))
+            .to("write", 1, sink::add);
+        pipeline.start();
+
+        for (String item : Arrays.asList("a,b", "", "-", "c")) {
+            pipeline.put(item);
+        }
+        pipeline.close();
+        assertTrue(pipeline.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList("a", "b", "c"), sink.toList());
+    }
+
+    @Test
+    @Timeout(10)
+    void testAbortStopsBlockedWorkersAndReportsUnprocessedItems() throws InterruptedException {
+        Pipeline<Integer> pipeline = Pipeline.<Integer>builder(3)
+            .to("stuck", 1, value -> new CountDownLatch(1).await());
+        pipeline.start();
+        for (int i = 0; i < 4; i++) {
+            pipeline.put(i);
+        }
+
+        assertEquals(3, pipeline.abort());
+        assertTrue(pipeline.awaitTermination(5, TimeUnit.SECONDS));
+        assertThrows(IllegalStateException.class, pipeline::start);
+    }
+
+    @Test
+    @Timeout(10)
+    void testRecordLatencyTimesEveryStageQueue() throws InterruptedException {
+        Pipeline<Integer> pipeline = Pipeline.<Integer>builder(8)
+            .recordLatency()
+            .map("slow", 1, value -> {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(2));
+                return value;
+            })
+            .to("sink", 1, value -> { });
+        assertNull(Pipeline.<Integer>builder(8).to("plain", 1, value -> { }).getStages().get(0).getLatency());
+        pipeline.start();
+        for (int i = 0; i < 20; i++) {
+            pipeline.put(i);
+        }
+        pipeline.close();
+        assertTrue(pipeline.awaitTermination(5, TimeUnit.SECONDS));
+
+        QueueLatency slow = pipeline.getStages().get(0).getLatency();
+        QueueLatency sink = pipeline.getStages().get(1).getLatency();
+        assertEquals(20, slow.getQueueTime().snapshot().getCount());
+        assertEquals(20, sink.getQueueTime().snapshot().getCount());
+        // Items pile up in front of the slow stage, not in front of the sink
+        assertTrue(slow.getQueueTime().snapshot().getMax() > TimeUnit.MILLISECONDS.toNanos(10));
+        assertTrue(slow.getPutBlockedTime().snapshot().getCount() > 0);
+        assertTrue(sink.getTakeBlockedTime().snapshot().getCount() > 0);
+    }
+}
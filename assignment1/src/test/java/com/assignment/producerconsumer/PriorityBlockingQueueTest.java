@@ -0,0 +1,240 @@
+package com.assignment.producerconsumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unit tests for PriorityBlockingQueue.
+ */
+public class PriorityBlockingQueueTest {
+    private static final int CAPACITY = 4;
+    private PriorityBlockingQueue<Integer> queue;
+
+    /**
+     * Work item with a deadline in System.nanoTime() terms.
+     */
+    private static final class Task {
+        final String name;
+        final long deadline;
+
+        Task(String name, long deadline) {
+            this.name = name;
+            this.deadline = deadline;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        queue = new PriorityBlockingQueue<>(CAPACITY, Comparator.naturalOrder());
+    }
+
+    @Test
+    void testQueueInitialization() {
+        assertEquals(0, queue.size());
+        assertTrue(queue.isEmpty());
+        assertFalse(queue.isFull());
+        assertEquals(CAPACITY, queue.getCapacity());
+        assertThrows(IllegalArgumentException.class,
+            () -> new PriorityBlockingQueue<Integer>(0, Comparator.naturalOrder()));
+        assertThrows(NullPointerException.class, () -> new PriorityBlockingQueue<Integer>(1, null));
+        assertThrows(IllegalArgumentException.class,
+            () -> PriorityBlockingQueue.<Integer>builder(1).comparator(Comparator.naturalOrder())
+                .deadLetters(new BlockingQueue<>(1)).build());
+        assertThrows(NullPointerException.class, () -> queue.put(null));
+    }
+
+    @Test
+    @Timeout(5)
+    void testTakeReturnsMostUrgentFirst() throws InterruptedException {
+        queue.put(3);
+        queue.put(1);
+        queue.put(4);
+        queue.put(2);
+        assertTrue(queue.isFull());
+        assertFalse(queue.offer(0));
+
+        assertEquals(1, queue.take());
+        queue.put(0);
+        assertEquals(0, queue.take());
+        assertEquals(2, queue.poll());
+        assertEquals(3, queue.poll(10, TimeUnit.MILLISECONDS));
+        assertEquals(4, queue.take());
+        assertNull(queue.poll());
+    }
+
+    @Test
+    @Timeout(5)
+    void testEqualPrioritiesLeaveInInsertionOrder() throws InterruptedException {
+        PriorityBlockingQueue<String> byLength = new PriorityBlockingQueue<>(8, Comparator.comparingInt(String::length));
+        byLength.putAll(Arrays.asList("bb", "a1", "ccc", "a2", "d", "a3"));
+
+        List<String> drained = new ArrayList<>();
+        assertEquals(6, byLength.drainTo(drained, 10));
+        assertEquals(Arrays.asList("d", "bb", "a1", "a2", "a3", "ccc"), drained);
+    }
+
+    @Test
+    @Timeout(5)
+    void testHeapOrderHoldsForManyRandomItems() throws InterruptedException {
+        int count = 1_000;
+        PriorityBlockingQueue<Integer> large = new PriorityBlockingQueue<>(count, Comparator.naturalOrder());
+        Random random = new Random(42);
+        int[] expected = new int[count];
+        for (int i = 0; i < count; i++) {
+            expected[i] = random.nextInt(500);
+            large.put(expected[i]);
+        }
+        Arrays.sort(expected);
+
+        for (int value : expected) {
+            assertEquals(value, large.take());
+        }
+        assertTrue(large.isEmpty());
+    }
+
+    @Test
+    @Timeout(5)
+    void testPutBlocksUntilTakeMakesRoom() throws InterruptedException {
+        for (int i = 0; i < CAPACITY; i++) {
+            queue.put(10 + i);
+        }
+        Thread producer = new Thread(() -> {
+            try {
+                queue.put(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+        Thread.sleep(100);
+        assertEquals(Thread.State.WAITING, producer.getState());
+
+        assertEquals(10, queue.take());
+        producer.join();
+        assertFalse(queue.offer(99, 10, TimeUnit.MILLISECONDS));
+        assertEquals(1, queue.take());
+    }
+
+    @Test
+    @Timeout(5)
+    void testDeadlineOnlyQueueIsEarliestDeadlineFirstAndDropsExpired() throws InterruptedException {
+        QueueMetrics metrics = new QueueMetrics();
+        PriorityBlockingQueue<Task> tasks = PriorityBlockingQueue.<Task>builder(8)
+            .deadline(task -> task.deadline)
+            .listener(metrics)
+            .build();
+        long now = System.nanoTime();
+        long later = now + TimeUnit.SECONDS.toNanos(30);
+
+        tasks.put(new Task("late", later + 1));
+        tasks.put(new Task("expired-1", now - 2));
+        tasks.put(new Task("soon", later));
+        tasks.put(new Task("expired-2", now - 1));
+
+        assertEquals("soon", tasks.take().name);
+        assertEquals("late", tasks.take().name);
+        assertNull(tasks.poll());
+        assertEquals(2, tasks.getExpiredCount());
+        assertEquals(2, metrics.getExpired());
+        assertEquals(0, metrics.getDepth());
+    }
+
+    @Test
+    @Timeout(5)
+    void testDeadlineOrderHoldsAcrossNanoTimeWraparound() throws InterruptedException {
+        PriorityBlockingQueue<Task> tasks = PriorityBlockingQueue.<Task>builder(4)
+            .deadline(task -> task.deadline)
+            .build();
+        // Both deadlines lie far in the future; the later one has wrapped past Long.MAX_VALUE
+        long beforeWrap = Long.MAX_VALUE - 10;
+        long afterWrap = beforeWrap + 20;
+        assertTrue(afterWrap < beforeWrap);
+
+        tasks.put(new Task("after-wrap", afterWrap));
+        tasks.put(new Task("before-wrap", beforeWrap));
+
+        assertEquals("before-wrap", tasks.take().name);
+        assertEquals("after-wrap", tasks.take().name);
+        assertEquals(0, tasks.getExpiredCount());
+    }
+
+    @Test
+    @Timeout(5)
+    void testDeadlineFunctionIsCalledOncePerItem() throws InterruptedException {
+        AtomicInteger calls = new AtomicInteger();
+        PriorityBlockingQueue<Task> tasks = PriorityBlockingQueue.<Task>builder(8)
+            .deadline(task -> {
+                calls.incrementAndGet();
+                return task.deadline;
+            })
+            .build();
+        long later = System.nanoTime() + TimeUnit.HOURS.toNanos(1);
+        for (int i = 5; i > 0; i--) {
+            tasks.put(new Task("task" + i, later + i));
+        }
+
+        for (int i = 1; i <= 5; i++) {
+            assertEquals("task" + i, tasks.take().name);
+        }
+        assertEquals(5, calls.get());
+    }
+
+    @Test
+    @Timeout(5)
+    void testExpiredItemsAreDivertedToDeadLetters() throws InterruptedException {
+        BlockingQueue<Task> deadLetters = new BlockingQueue<>(1);
+        PriorityBlockingQueue<Task> tasks = PriorityBlockingQueue.<Task>builder(4)
+            .comparator(Comparator.comparing(task -> task.name))
+            .deadline(task -> task.deadline)
+            .deadLetters(deadLetters)
+            .build();
+        long now = System.nanoTime();
+
+        tasks.put(new Task("a", now - 1));
+        tasks.put(new Task("b", now - 1));
+        tasks.put(new Task("c", now + TimeUnit.SECONDS.toNanos(30)));
+
+        List<Task> drained = new ArrayList<>();
+        assertEquals(1, tasks.drainTo(drained, 1));
+        assertEquals("c", drained.get(0).name);
+        assertEquals(2, tasks.getExpiredCount());
+        assertEquals("a", deadLetters.take().name);
+        assertTrue(deadLetters.isEmpty());
+    }
+
+    @Test
+    @Timeout(5)
+    void testTakeKeepsWaitingWhenOnlyExpiredItemsArrive() throws InterruptedException {
+        PriorityBlockingQueue<Task> tasks = PriorityBlockingQueue.<Task>builder(4)
+            .deadline(task -> task.deadline)
+            .build();
+        tasks.put(new Task("stale", System.nanoTime() - 1));
+
+        assertNull(tasks.poll(50, TimeUnit.MILLISECONDS));
+        assertEquals(1, tasks.getExpiredCount());
+
+        Thread producer = new Thread(() -> {
+            try {
+                Thread.sleep(50);
+                tasks.put(new Task("stale", System.nanoTime() - 1));
+                tasks.put(new Task("fresh", System.nanoTime() + TimeUnit.SECONDS.toNanos(30)));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+        assertEquals("fresh", tasks.take().name);
+        producer.join();
+    }
+}
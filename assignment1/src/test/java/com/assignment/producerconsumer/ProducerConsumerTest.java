@@ -8,6 +8,7 @@ import static org.junit.jupiter.api.Assertions.*;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Integration tests for Producer and Consumer classes.
@@ -144,6 +145,89 @@ public class ProducerConsumerTest {
         assertTrue(queue.isEmpty());
     }
     
+    @Test
+    @Timeout(20)
+    void testProducersAndConsumersOnStripedQueue() throws InterruptedException {
+        StripedBlockingQueue<String> queue = new StripedBlockingQueue<>(2, 2);
+        List<String> destination = new ArrayList<>();
+        
+        List<String> source1 = new ArrayList<>(Arrays.asList("P1-A", "P1-B", "P1-C"));
+        List<String> source2 = new ArrayList<>(Arrays.asList("P2-A", "P2-B", "P2-C"));
+        
+        Thread producerThread1 = new Thread(new Producer("Producer-1", queue, source1));
+        Thread producerThread2 = new Thread(new Producer("Producer-2", queue, source2));
+        Thread consumerThread1 = new Thread(new Consumer("Consumer-1", queue, destination, 3));
+        Thread consumerThread2 = new Thread(new Consumer("Consumer-2", queue, destination, 3));
+        
+        consumerThread1.start();
+        consumerThread2.start();
+        producerThread1.start();
+        producerThread2.start();
+        
+        producerThread1.join();
+        producerThread2.join();
+        consumerThread1.join();
+        consumerThread2.join();
+        
+        assertEquals(6, destination.size());
+        assertTrue(destination.containsAll(source1));
+        assertTrue(destination.containsAll(source2));
+        assertTrue(queue.isEmpty());
+    }
+    
+    @Test
+    @Timeout(20)
+    void testConsumersWriteToThreadLocalSink() throws InterruptedException {
+        BlockingQueue<String> queue = new BlockingQueue<>(3);
+        ThreadLocalSink<String> destination = new ThreadLocalSink<>();
+        List<String> source = new ArrayList<>(Arrays.asList("A", "B", "C", "D", "E", "F"));
+        
+        Thread producerThread = new Thread(new Producer("Producer-1", queue, source));
+        Thread consumerThread1 = new Thread(new Consumer("Consumer-1", queue, destination, 3));
+        Thread consumerThread2 = new Thread(new Consumer("Consumer-2", queue, destination, 3));
+        
+        consumerThread1.start();
+        consumerThread2.start();
+        producerThread.start();
+        
+        producerThread.join();
+        consumerThread1.join();
+        consumerThread2.join();
+        
+        assertEquals(6, destination.size());
+        assertTrue(destination.toList().containsAll(source));
+        assertTrue(queue.isEmpty());
+    }
+    
+    @Test
+    @Timeout(20)
+    void testConsumersRunUntilQueueIsShutDown() throws InterruptedException {
+        BlockingQueue<String> queue = new BlockingQueue<>(2);
+        ThreadLocalSink<String> destination = new ThreadLocalSink<>();
+        List<String> source = new ArrayList<>(Arrays.asList("A", "B", "C", "D", "E"));
+        
+        Thread producerThread = new Thread(new Producer("Producer-1", queue, source));
+        Consumer consumer1 = new Consumer("Consumer-1", queue, destination);
+        Consumer consumer2 = new Consumer("Consumer-2", queue, destination);
+        Thread consumerThread1 = new Thread(consumer1);
+        Thread consumerThread2 = new Thread(consumer2);
+        
+        consumerThread1.start();
+        consumerThread2.start();
+        producerThread.start();
+        producerThread.join();
+        
+        List<String> undrained = queue.shutdown(5, TimeUnit.SECONDS);
+        consumerThread1.join(5000);
+        consumerThread2.join(5000);
+        
+        assertTrue(undrained.isEmpty());
+        assertFalse(consumerThread1.isAlive());
+        assertFalse(consumerThread2.isAlive());
+        assertEquals(5, consumer1.getConsumedCount() + consumer2.getConsumedCount());
+        assertTrue(destination.toList().containsAll(source));
+    }
+    
     @Test
     @Timeout(10)
     void testBlockingBehaviorWithFullQueue() throws InterruptedException {
@@ -169,4 +253,103 @@ public class ProducerConsumerTest {
         assertTrue(destination.containsAll(source));
         assertTrue(smallQueue.isEmpty());
     }
+    
+    @Test
+    @Timeout(10)
+    void testBatchedProducerAndConsumer() throws InterruptedException {
+        BlockingQueue<String> queue = new BlockingQueue<>(4);
+        List<String> destination = new ArrayList<>();
+        List<String> source = new ArrayList<>(Arrays.asList("A", "B", "C", "D", "E", "F", "G"));
+        
+        Producer producer = new Producer("Producer-1", queue, source);
+        producer.setBatchSize(3);
+        Consumer consumer = new Consumer("Consumer-1", queue, destination, 7);
+        consumer.setBatchSize(4);
+        
+        Thread producerThread = new Thread(producer);
+        Thread consumerThread = new Thread(consumer);
+        producerThread.start();
+        consumerThread.start();
+        
+        producerThread.join();
+        consumerThread.join();
+        
+        assertEquals(source, destination);
+        assertTrue(queue.isEmpty());
+    }
+    
+    @Test
+    void testInvalidBatchSize() {
+        BlockingQueue<String> queue = new BlockingQueue<>(1);
+        Producer producer = new Producer("Producer-1", queue, new ArrayList<>());
+        Consumer consumer = new Consumer("Consumer-1", queue, new ArrayList<>(), 0);
+        
+        assertThrows(IllegalArgumentException.class, () -> producer.setBatchSize(0));
+        assertThrows(IllegalArgumentException.class, () -> consumer.setBatchSize(0));
+    }
+    
+    @Test
+    @Timeout(10)
+    void testConsumerWithPollTimeoutStopsWhenNoItemsArrive() throws InterruptedException {
+        BlockingQueue<String> queue = new BlockingQueue<>(3);
+        List<String> destination = new ArrayList<>();
+        List<String> source = new ArrayList<>(Arrays.asList("A", "B"));
+        
+        Producer producer = new Producer("Producer-1", queue, source);
+        Consumer consumer = new Consumer("Consumer-1", queue, destination, 5);
+        consumer.setPollTimeout(500, TimeUnit.MILLISECONDS);
+        
+        Thread producerThread = new Thread(producer);
+        Thread consumerThread = new Thread(consumer);
+        producerThread.start();
+        consumerThread.start();
+        
+        producerThread.join();
+        consumerThread.join();
+        
+        assertEquals(2, consumer.getConsumedCount());
+        assertEquals(source, destination);
+    }
+    
+    @Test
+    @Timeout(10)
+    void testProducerWithOfferTimeoutSkipsItemsWhenQueueStaysFull() throws InterruptedException {
+        BlockingQueue<String> queue = new BlockingQueue<>(2);
+        List<String> source = new ArrayList<>(Arrays.asList("A", "B", "C", "D"));
+        
+        Producer producer = new Producer("Producer-1", queue, source);
+        producer.setOfferTimeout(50, TimeUnit.MILLISECONDS);
+        
+        Thread producerThread = new Thread(producer);
+        producerThread.start();
+        producerThread.join();
+        
+        assertEquals(2, producer.getTimedOutCount());
+        assertEquals(2, queue.size());
+        assertEquals("A", queue.take());
+        assertEquals("B", queue.take());
+    }
+    
+    @Test
+    @Timeout(10)
+    void testProducersSharingRateLimiterShedItemsAboveTheRate() throws InterruptedException {
+        BlockingQueue<String> queue = new BlockingQueue<>(10);
+        RateLimiter limiter = new RateLimiter(1, 3);
+        Producer producer1 = new Producer("Producer-1", queue, new ArrayList<>(Arrays.asList("A", "B", "C")));
+        Producer producer2 = new Producer("Producer-2", queue, new ArrayList<>(Arrays.asList("D", "E", "F")));
+        producer1.setRateLimiter(limiter, ThrottlePolicy.SHED);
+        producer2.setRateLimiter(limiter, ThrottlePolicy.SHED);
+        
+        Thread producerThread1 = new Thread(producer1);
+        Thread producerThread2 = new Thread(producer2);
+        producerThread1.start();
+        producerThread2.start();
+        producerThread1.join();
+        producerThread2.join();
+        
+        // The shared burst of 3 is all the two producers get within their ~300 ms
+        assertEquals(3, queue.size());
+        assertEquals(3, producer1.getShedCount() + producer2.getShedCount());
+        assertThrows(NullPointerException.class, () -> producer1.setRateLimiter(limiter, null));
+    }
 }
@@ -0,0 +1,203 @@
+package com.assignment.producerconsumer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unit tests for QueuePublisher.
+ */
+public class QueuePublisherTest {
+
+    /**
+     * Subscriber that records its signals and requests a fixed amount up front.
+     */
+    private static class RecordingSubscriber implements Flow.Subscriber<Integer> {
+        final List<Integer> items = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch completed = new CountDownLatch(1);
+        final long initialRequest;
+        volatile Flow.Subscription subscription;
+        volatile Throwable error;
+
+        RecordingSubscriber(long initialRequest) {
+            this.initialRequest = initialRequest;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (initialRequest > 0) {
+                subscription.request(initialRequest);
+            }
+        }
+
+        @Override
+        public void onNext(Integer item) {
+            items.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+            completed.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            completed.countDown();
+        }
+    }
+
+    @Test
+    void testConstructorValidation() {
+        BlockingQueue<Integer> queue = new BlockingQueue<>(4);
+        assertThrows(NullPointerException.class, () -> new QueuePublisher<Integer>(null));
+        assertThrows(NullPointerException.class, () -> new QueuePublisher<>(queue, null, 1));
+        assertThrows(IllegalArgumentException.class, () -> new QueuePublisher<>(queue, Runnable::run, 0));
+        assertThrows(NullPointerException.class, () -> new QueuePublisher<>(queue).subscribe(null));
+    }
+
+    @Test
+    void testDeliversOnlyWhatWasRequested() throws InterruptedException {
+        QueuePublisher<Integer> publisher = new QueuePublisher<>(new BlockingQueue<>(20), Runnable::run, 4);
+        publisher.putAll(Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9, 10));
+
+        RecordingSubscriber subscriber = new RecordingSubscriber(3);
+        publisher.subscribe(subscriber);
+        assertEquals(Arrays.asList(1, 2, 3), subscriber.items);
+        assertEquals(7, publisher.size());
+
+        // Larger demand is met in batches of at most 4 items per drain
+        subscriber.subscription.request(6);
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9), subscriber.items);
+
+        publisher.close();
+        assertEquals(1, subscriber.completed.getCount(), "an item is left, so the subscriber is not complete");
+        subscriber.subscription.request(1);
+        assertEquals(10, subscriber.items.size());
+        assertEquals(0, subscriber.completed.getCount());
+        assertEquals(0, publisher.getSubscriberCount());
+    }
+
+    @Test
+    void testPutWakesSubscriptionWithDemandPastStaleWaiter() throws InterruptedException {
+        TwoLockBlockingQueue<Integer> queue = new TwoLockBlockingQueue<>(10);
+        QueuePublisher<Integer> publisher = new QueuePublisher<>(queue, Runnable::run, 8);
+
+        // A registers as waiting, then drains items added to the wrapped queue directly
+        RecordingSubscriber first = new RecordingSubscriber(1);
+        publisher.subscribe(first);
+        queue.putAll(Arrays.asList(1, 2));
+        first.subscription.request(1);
+        assertEquals(Arrays.asList(1, 2), first.items);
+
+        // A is still listed as waiting but has no demand left; the put must reach B
+        RecordingSubscriber second = new RecordingSubscriber(1);
+        publisher.subscribe(second);
+        publisher.put(3);
+        assertEquals(Collections.singletonList(3), second.items);
+        assertEquals(Arrays.asList(1, 2), first.items);
+        assertEquals(0, publisher.size());
+    }
+
+    @Test
+    void testWaitingSubscriptionIsWokenByPut() throws InterruptedException {
+        AtomicInteger tasks = new AtomicInteger();
+        QueuePublisher<Integer> publisher = new QueuePublisher<>(new TwoLockBlockingQueue<>(10), task -> {
+            tasks.incrementAndGet();
+            task.run();
+        }, 8);
+
+        // The queue is empty, so the request returns at once without holding a thread
+        RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE);
+        publisher.subscribe(subscriber);
+        assertTrue(subscriber.items.isEmpty());
+        int tasksWhileEmpty = tasks.get();
+
+        publisher.put(42);
+        assertEquals(Collections.singletonList(42), subscriber.items, "the put ran the delivery");
+        assertTrue(tasks.get() > tasksWhileEmpty);
+
+        publisher.putAll(Arrays.asList(1, 2, 3));
+        assertTrue(publisher.offer(4));
+        assertEquals(Arrays.asList(42, 1, 2, 3, 4), subscriber.items);
+        assertEquals(1, publisher.getSubscriberCount());
+    }
+
+    @Test
+    @Timeout(20)
+    void testFewThreadsServeThousandsOfSubscribers() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            QueuePublisher<Integer> publisher = new QueuePublisher<>(new BlockingQueue<>(100), executor, 16);
+            List<RecordingSubscriber> subscribers = new ArrayList<>();
+            for (int i = 0; i < 2000; i++) {
+                RecordingSubscriber subscriber = new RecordingSubscriber(i % 2 == 0 ? Long.MAX_VALUE : 5);
+                subscribers.add(subscriber);
+                publisher.subscribe(subscriber);
+            }
+
+            int items = 20_000;
+            for (int i = 0; i < items; i++) {
+                publisher.put(i);
+            }
+            publisher.close();
+
+            Set<Integer> received = new HashSet<>();
+            for (RecordingSubscriber subscriber : subscribers) {
+                assertTrue(subscriber.completed.await(10, TimeUnit.SECONDS), "every subscriber completes");
+                assertNull(subscriber.error);
+                assertTrue(subscriber.initialRequest == Long.MAX_VALUE || subscriber.items.size() <= 5);
+                received.addAll(subscriber.items);
+            }
+            assertEquals(items, received.size(), "each item reaches exactly one subscriber");
+            assertEquals(0, publisher.getSubscriberCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testCancelledSubscriptionLeavesItemsForOthers() throws InterruptedException {
+        QueuePublisher<Integer> publisher = new QueuePublisher<>(new BlockingQueue<>(10), Runnable::run, 4);
+        RecordingSubscriber first = new RecordingSubscriber(10);
+        RecordingSubscriber second = new RecordingSubscriber(10);
+        publisher.subscribe(first);
+        publisher.subscribe(second);
+
+        first.subscription.cancel();
+        publisher.putAll(Arrays.asList(1, 2));
+
+        assertTrue(first.items.isEmpty());
+        assertEquals(Arrays.asList(1, 2), second.items);
+        assertEquals(1, publisher.getSubscriberCount());
+    }
+
+    @Test
+    void testNonPositiveRequestSignalsError() throws InterruptedException {
+        QueuePublisher<Integer> publisher = new QueuePublisher<>(new BlockingQueue<>(10), Runnable::run, 4);
+        publisher.put(1);
+        RecordingSubscriber subscriber = new RecordingSubscriber(0);
+        publisher.subscribe(subscriber);
+
+        subscriber.subscription.request(0);
+        assertInstanceOf(IllegalArgumentException.class, subscriber.error);
+        assertTrue(subscriber.items.isEmpty());
+        assertEquals(1, publisher.size());
+        assertEquals(0, publisher.getSubscriberCount());
+    }
+}
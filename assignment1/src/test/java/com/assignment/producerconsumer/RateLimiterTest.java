@@ -0,0 +1,140 @@
+package com.assignment.producerconsumer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for RateLimiter and RateLimitedQueue.
+ */
+public class RateLimiterTest {
+
+    @Test
+    void testInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> new RateLimiter(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new RateLimiter(Double.NaN, 1));
+        assertThrows(IllegalArgumentException.class, () -> new RateLimiter(10, 0));
+        assertThrows(IllegalArgumentException.class, () -> new RateLimiter(10, 1).tryAcquire(0));
+        assertThrows(NullPointerException.class,
+            () -> new RateLimitedQueue<>(new BlockingQueue<String>(1), new RateLimiter(10, 1), null));
+    }
+
+    @Test
+    void testBurstIsAvailableAtOnceThenRefillsUpToTheBurst() throws InterruptedException {
+        RateLimiter limiter = new RateLimiter(1000, 5);
+        assertEquals(5, limiter.availablePermits());
+        assertTrue(limiter.tryAcquire(3));
+        assertTrue(limiter.tryAcquire(2));
+        assertFalse(limiter.tryAcquire(2), "at most one permit can have refilled by now");
+        assertEquals(1, limiter.getRejectedCount());
+
+        Thread.sleep(50);
+        assertEquals(5, limiter.availablePermits(), "an idle bucket stops at the burst size");
+        assertFalse(limiter.tryAcquire(6));
+        assertTrue(limiter.tryAcquire(5));
+        assertEquals(1000.0, limiter.getRate(), 0.001);
+    }
+
+    @Test
+    @Timeout(10)
+    void testSharedLimiterPacesBlockedThreadsToTheRate() throws InterruptedException {
+        RateLimiter limiter = new RateLimiter(200, 1);
+        List<Thread> threads = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int t = 0; t < 3; t++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    for (int i = 0; i < 10; i++) {
+                        limiter.acquire();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // 30 permits at 200/s with one available up front take at least 29 intervals of 5 ms
+        assertTrue(elapsedMillis >= 140, "finished in " + elapsedMillis + " ms");
+        assertTrue(limiter.getWaitTime(TimeUnit.MILLISECONDS) > 0);
+    }
+
+    @Test
+    @Timeout(10)
+    void testTimedTryAcquireWaitsOnlyIfThePermitArrivesInTime() throws InterruptedException {
+        RateLimiter limiter = new RateLimiter(10, 1);
+        assertTrue(limiter.tryAcquire());
+
+        long start = System.nanoTime();
+        assertFalse(limiter.tryAcquire(1, 10, TimeUnit.MILLISECONDS));
+        assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(50), "must not wait in vain");
+
+        assertTrue(limiter.tryAcquire(1, 500, TimeUnit.MILLISECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(80));
+        assertEquals(1, limiter.getRejectedCount());
+    }
+
+    @Test
+    @Timeout(10)
+    void testRateLimitedQueueShedsItemsWithoutPermits() throws InterruptedException {
+        BlockingQueue<String> queue = new BlockingQueue<>(10);
+        RateLimitedQueue<String> limited = new RateLimitedQueue<>(queue, new RateLimiter(1, 3), ThrottlePolicy.SHED);
+
+        limited.putAll(Arrays.asList("A", "B", "C", "D", "E"));
+        limited.put("F");
+        assertFalse(limited.offer("G"));
+
+        assertEquals(3, limited.size());
+        assertEquals(3, limited.getShedCount());
+        List<String> drained = new ArrayList<>();
+        assertEquals(3, limited.drainTo(drained, 10));
+        assertEquals(Arrays.asList("A", "B", "C"), drained);
+    }
+
+    @Test
+    @Timeout(10)
+    void testOfferToAFullQueueSpendsNoPermit() throws InterruptedException {
+        BlockingQueue<String> queue = new BlockingQueue<>(1);
+        RateLimiter limiter = new RateLimiter(1, 3);
+        RateLimitedQueue<String> limited = new RateLimitedQueue<>(queue, limiter, ThrottlePolicy.SHED);
+        assertTrue(limited.offer("A"));
+        assertEquals(2, limiter.availablePermits());
+
+        assertFalse(limited.offer("B"));
+        assertFalse(limited.offer("B", 20, TimeUnit.MILLISECONDS));
+        assertEquals(2, limiter.availablePermits(), "failed offers to a full queue keep their permits");
+
+        assertEquals("A", limited.take());
+        assertTrue(limited.offer("B", 20, TimeUnit.MILLISECONDS));
+        assertEquals(1, limiter.availablePermits());
+    }
+
+    @Test
+    @Timeout(10)
+    void testRateLimitedQueueBlocksProducersToTheRate() throws InterruptedException {
+        TwoLockBlockingQueue<Integer> queue = new TwoLockBlockingQueue<>(100);
+        RateLimitedQueue<Integer> limited = new RateLimitedQueue<>(queue, new RateLimiter(100, 1), ThrottlePolicy.BLOCK);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 5; i++) {
+            limited.put(i);
+        }
+        limited.putAll(Arrays.asList(5, 6));
+
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(55));
+        assertEquals(7, queue.size());
+        assertEquals(0, limited.getShedCount());
+        assertEquals(Integer.valueOf(0), limited.take());
+    }
+}
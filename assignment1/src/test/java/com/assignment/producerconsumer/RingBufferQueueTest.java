@@ -0,0 +1,244 @@
+package com.assignment.producerconsumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for the lock-free RingBufferQueue.
+ */
+public class RingBufferQueueTest {
+    private RingBufferQueue<String> queue;
+    private static final int CAPACITY = 4;
+
+    @BeforeEach
+    void setUp() {
+        queue = new RingBufferQueue<>(CAPACITY);
+    }
+
+    @Test
+    void testQueueInitialization() {
+        assertEquals(0, queue.size());
+        assertTrue(queue.isEmpty());
+        assertFalse(queue.isFull());
+        assertEquals(CAPACITY, queue.getCapacity());
+    }
+
+    @Test
+    void testCapacityRoundedUpToPowerOfTwo() {
+        assertEquals(2, new RingBufferQueue<String>(1).getCapacity());
+        assertEquals(8, new RingBufferQueue<String>(5).getCapacity());
+        assertEquals(16, new RingBufferQueue<String>(16).getCapacity());
+    }
+
+    @Test
+    void testInvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new RingBufferQueue<>(0));
+        assertThrows(IllegalArgumentException.class, () -> new RingBufferQueue<>(-1));
+    }
+
+    @Test
+    void testNullItemNotAllowed() {
+        assertThrows(NullPointerException.class, () -> queue.put(null));
+    }
+
+    @Test
+    @Timeout(5)
+    void testFifoOrderAcrossWrapAround() throws InterruptedException {
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < CAPACITY; i++) {
+                queue.put("item" + round + "-" + i);
+            }
+            assertTrue(queue.isFull());
+            for (int i = 0; i < CAPACITY; i++) {
+                assertEquals("item" + round + "-" + i, queue.take());
+            }
+            assertTrue(queue.isEmpty());
+        }
+    }
+
+    @Test
+    @Timeout(10)
+    void testProducerBlocksWhenQueueIsFull() throws InterruptedException {
+        for (int i = 0; i < CAPACITY; i++) {
+            queue.put("item" + i);
+        }
+
+        CountDownLatch putCompleted = new CountDownLatch(1);
+        Thread producerThread = new Thread(() -> {
+            try {
+                queue.put("blocked-item");
+                putCompleted.countDown();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producerThread.start();
+
+        Thread.sleep(300);
+        assertEquals(1, putCompleted.getCount());
+        assertEquals("item0", queue.take());
+
+        putCompleted.await();
+        assertEquals(CAPACITY, queue.size());
+        producerThread.join();
+    }
+
+    @Test
+    @Timeout(10)
+    void testConsumerBlocksWhenQueueIsEmpty() throws InterruptedException {
+        List<String> consumedItems = new ArrayList<>();
+        Thread consumerThread = new Thread(() -> {
+            try {
+                consumedItems.add(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        consumerThread.start();
+
+        Thread.sleep(300);
+        assertTrue(consumerThread.isAlive());
+
+        queue.put("new-item");
+        consumerThread.join();
+        assertEquals(Arrays.asList("new-item"), consumedItems);
+    }
+
+    @Test
+    @Timeout(10)
+    void testInterruptedWait() throws InterruptedException {
+        AtomicInteger interrupted = new AtomicInteger();
+        Thread consumerThread = new Thread(() -> {
+            try {
+                queue.take();
+            } catch (InterruptedException e) {
+                interrupted.incrementAndGet();
+            }
+        });
+        consumerThread.start();
+        Thread.sleep(200);
+        consumerThread.interrupt();
+        consumerThread.join(1000);
+
+        assertFalse(consumerThread.isAlive());
+        assertEquals(1, interrupted.get());
+    }
+
+    @Test
+    @Timeout(20)
+    void testMultipleProducersMultipleConsumersDeliverEachItemOnce() throws InterruptedException {
+        int numProducers = 4;
+        int numConsumers = 4;
+        int itemsPerProducer = 20_000;
+        int totalItems = numProducers * itemsPerProducer;
+        Set<String> consumed = ConcurrentHashMap.newKeySet();
+        AtomicInteger consumedCount = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(numProducers + numConsumers);
+
+        for (int p = 0; p < numProducers; p++) {
+            final int producerId = p;
+            new Thread(() -> {
+                try {
+                    for (int i = 0; i < itemsPerProducer; i++) {
+                        queue.put("P" + producerId + "-I" + i);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                done.countDown();
+            }).start();
+        }
+        for (int c = 0; c < numConsumers; c++) {
+            new Thread(() -> {
+                try {
+                    for (int i = 0; i < totalItems / numConsumers; i++) {
+                        consumed.add(queue.take());
+                        consumedCount.incrementAndGet();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                done.countDown();
+            }).start();
+        }
+
+        done.await();
+        assertEquals(totalItems, consumedCount.get());
+        assertEquals(totalItems, consumed.size());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    @Timeout(10)
+    void testWorksWithProducerAndConsumer() throws InterruptedException {
+        List<String> source = new ArrayList<>(Arrays.asList("A", "B", "C", "D", "E"));
+        List<String> destination = new ArrayList<>();
+
+        Thread producerThread = new Thread(new Producer("Producer-1", queue, source));
+        Thread consumerThread = new Thread(new Consumer("Consumer-1", queue, destination, 5));
+        producerThread.start();
+        consumerThread.start();
+        producerThread.join();
+        consumerThread.join();
+
+        assertEquals(new HashSet<>(source), new HashSet<>(destination));
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    @Timeout(5)
+    void testPutAllAndDrainTo() throws InterruptedException {
+        queue.putAll(Arrays.asList("a", "b", "c"));
+        assertEquals(3, queue.size());
+
+        List<String> drained = new ArrayList<>();
+        assertEquals(2, queue.drainTo(drained, 2));
+        assertEquals(1, queue.drainTo(drained, 10));
+        assertEquals(0, queue.drainTo(drained, 10));
+        assertEquals(Arrays.asList("a", "b", "c"), drained);
+    }
+
+    @Test
+    @Timeout(5)
+    void testMetricsCountPutsAndTakes() throws InterruptedException {
+        QueueMetrics metrics = new QueueMetrics();
+        RingBufferQueue<String> monitoredQueue = new RingBufferQueue<>(CAPACITY, metrics);
+
+        monitoredQueue.put("a");
+        monitoredQueue.putAll(Arrays.asList("b", "c"));
+        monitoredQueue.take();
+
+        assertEquals(3, metrics.getPuts());
+        assertEquals(1, metrics.getTakes());
+        assertEquals(2, metrics.getDepth());
+    }
+
+    @Test
+    @Timeout(5)
+    void testOfferAndPollWithTimeouts() throws InterruptedException {
+        for (int i = 0; i < CAPACITY; i++) {
+            assertTrue(queue.offer("item" + i));
+        }
+        assertFalse(queue.offer("overflow"));
+        assertFalse(queue.offer("overflow", 100, TimeUnit.MILLISECONDS));
+
+        for (int i = 0; i < CAPACITY; i++) {
+            assertEquals("item" + i, queue.poll());
+        }
+        assertNull(queue.poll());
+        assertNull(queue.poll(100, TimeUnit.MILLISECONDS));
+    }
+}
@@ -0,0 +1,223 @@
+package com.assignment.producerconsumer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for SharedMemoryQueue, including producers in separate JVMs.
+ */
+public class SharedMemoryQueueTest {
+    @TempDir
+    Path directory;
+
+    private SharedMemoryQueue<String> open(int capacity, boolean consumer) throws IOException {
+        SharedMemoryQueue.Builder<String> builder = SharedMemoryQueue.builder(directory.resolve("ring"), JournalCodec.UTF8)
+            .capacity(capacity);
+        return consumer ? builder.openConsumer() : builder.openProducer();
+    }
+
+    private static Process startProcess(String... args) throws IOException {
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        List<String> command = new ArrayList<>(Arrays.asList(java, "-cp", System.getProperty("java.class.path"),
+            SharedMemoryQueueTest.class.getName()));
+        command.addAll(Arrays.asList(args));
+        return new ProcessBuilder(command).redirectError(ProcessBuilder.Redirect.INHERIT).start();
+    }
+
+    /**
+     * Entry point of the processes started by the tests. With arguments
+     * {@code file name count}, puts {@code count} items named after
+     * {@code name} into the ring in {@code file}. With {@code file hold},
+     * opens the consumer and then producer handles, prints "ready" and keeps
+     * the consumer open until standard input is closed.
+     */
+    public static void main(String[] args) throws Exception {
+        if (args[1].equals("hold")) {
+            holdConsumer(Paths.get(args[0]));
+            return;
+        }
+        try (SharedMemoryQueue<String> queue = SharedMemoryQueue.builder(Paths.get(args[0]), JournalCodec.UTF8)
+                .openProducer()) {
+            int count = Integer.parseInt(args[2]);
+            for (int i = 0; i < count; i++) {
+                queue.put(args[1] + "-" + i);
+            }
+        }
+    }
+
+    private static void holdConsumer(Path file) throws Exception {
+        SharedMemoryQueue.Builder<String> builder = SharedMemoryQueue.builder(file, JournalCodec.UTF8);
+        try (SharedMemoryQueue<String> consumer = builder.openConsumer();
+             SharedMemoryQueue<String> producer = builder.openProducer()) {
+            // A producer handle closed while the consumer stays open must not release its lock either
+            builder.openProducer().close();
+            producer.put("held");
+            System.out.println("ready");
+            System.out.flush();
+            while (System.in.read() != -1) {
+                // Wait for the test to close standard input
+            }
+            assertEquals("held", consumer.poll());
+        }
+    }
+
+    @Test
+    void testInvalidConfiguration() throws IOException {
+        assertThrows(IllegalArgumentException.class, () -> open(32, true));
+        assertThrows(NullPointerException.class, () -> SharedMemoryQueue.builder(directory.resolve("ring"), null));
+        assertThrows(NullPointerException.class, () -> SharedMemoryQueue.builder(null, JournalCodec.UTF8));
+
+        try (SharedMemoryQueue<String> producer = open(1000, false)) {
+            assertEquals(1024, producer.getCapacity(), "rounded up to a power of two");
+            assertFalse(producer.isConsumer());
+            assertThrows(IllegalStateException.class, producer::poll);
+            assertThrows(IllegalArgumentException.class, () -> producer.offer("x".repeat(producer.getMaxItemBytes() + 1)));
+            assertThrows(NullPointerException.class, () -> producer.offer(null));
+        }
+    }
+
+    @Test
+    void testOnlyOneConsumerAtATime() throws IOException {
+        SharedMemoryQueue<String> consumer = open(256, true);
+        assertThrows(IllegalStateException.class, () -> open(256, true));
+        consumer.close();
+        consumer.close();
+        assertThrows(QueueClosedException.class, consumer::poll);
+
+        try (SharedMemoryQueue<String> next = open(256, true)) {
+            assertTrue(next.isConsumer());
+        }
+    }
+
+    @Test
+    @Timeout(60)
+    void testProducerHandlesKeepTheConsumerLockOfTheirProcess() throws IOException, InterruptedException {
+        Process holder = startProcess(directory.resolve("ring").toString(), "hold");
+        try {
+            BufferedReader output = new BufferedReader(
+                new InputStreamReader(holder.getInputStream(), StandardCharsets.UTF_8));
+            assertEquals("ready", output.readLine());
+            assertThrows(IllegalStateException.class, () -> open(256, true),
+                "the other process still holds the consumer");
+        } finally {
+            holder.getOutputStream().close();
+        }
+        assertTrue(holder.waitFor(30, TimeUnit.SECONDS));
+        assertEquals(0, holder.exitValue());
+
+        try (SharedMemoryQueue<String> consumer = open(256, true)) {
+            assertTrue(consumer.isEmpty());
+        }
+    }
+
+    @Test
+    @Timeout(10)
+    void testFifoOrderAcrossManyLapsOfTheRing() throws IOException, InterruptedException {
+        try (SharedMemoryQueue<String> producer = open(128, false);
+             SharedMemoryQueue<String> consumer = open(128, true)) {
+            int taken = 0;
+            int put = 0;
+            while (taken < 500) {
+                // Sizes from 0 to 24 bytes, so records of 8 to 32 bytes wrap at varying offsets
+                while (put < 500 && producer.offer("x".repeat(put % 25) + put)) {
+                    put++;
+                }
+                List<String> drained = new ArrayList<>();
+                consumer.drainTo(drained, 3);
+                for (String item : drained) {
+                    assertEquals("x".repeat(taken % 25) + taken, item);
+                    taken++;
+                }
+            }
+            assertTrue(consumer.isEmpty());
+            assertNull(consumer.poll(10, TimeUnit.MILLISECONDS));
+        }
+    }
+
+    @Test
+    @Timeout(10)
+    void testItemsOutliveHandlesAndConsumerRestarts() throws IOException, InterruptedException {
+        try (SharedMemoryQueue<String> producer = open(4096, false)) {
+            producer.putAll(Arrays.asList("A", "B", "C", "D"));
+        }
+
+        try (SharedMemoryQueue<String> consumer = open(64, true)) {
+            assertEquals(4096, consumer.getCapacity(), "an existing file keeps its capacity");
+            assertEquals(4, consumer.size());
+            assertEquals("A", consumer.take());
+        }
+
+        try (SharedMemoryQueue<String> consumer = open(4096, true)) {
+            List<String> rest = new ArrayList<>();
+            assertEquals(3, consumer.drainTo(rest, 10));
+            assertEquals(Arrays.asList("B", "C", "D"), rest);
+        }
+    }
+
+    @Test
+    @Timeout(10)
+    void testLockAndPartialRecordOfDeadProducerAreRecovered() throws IOException, InterruptedException {
+        Path file = directory.resolve("ring");
+        try (SharedMemoryQueue<String> consumer = open(256, true)) {
+            // Simulate a producer process that died after taking the lock and writing half a record
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, SharedMemoryQueue.HEADER_BYTES + 16);
+                buffer.order(ByteOrder.nativeOrder());
+                buffer.putLong(64, (1L << 40) << 16 | 1);
+                buffer.putInt(SharedMemoryQueue.HEADER_BYTES, 12);
+                buffer.putInt(SharedMemoryQueue.HEADER_BYTES + 4, 0xDEAD);
+            }
+            assertNull(consumer.poll(), "an unpublished record is invisible");
+
+            try (SharedMemoryQueue<String> producer = open(256, false)) {
+                assertTrue(producer.offer("recovered"));
+            }
+            assertEquals("recovered", consumer.take());
+            assertTrue(consumer.isEmpty());
+        }
+    }
+
+    @Test
+    @Timeout(120)
+    void testProducersInOtherProcesses() throws IOException, InterruptedException {
+        int perProducer = 5000;
+        try (SharedMemoryQueue<String> consumer = open(4096, true)) {
+            List<Process> producers = new ArrayList<>();
+            for (String name : Arrays.asList("P1", "P2")) {
+                producers.add(startProcess(consumer.getFile().toString(), name, String.valueOf(perProducer)));
+            }
+
+            int[] next = new int[2];
+            for (int i = 0; i < 2 * perProducer; i++) {
+                String item = consumer.poll(60, TimeUnit.SECONDS);
+                assertNotNull(item, "timed out after " + i + " items");
+                int producer = item.charAt(1) - '1';
+                assertEquals(item.substring(0, 3) + next[producer], item, "per-producer order");
+                next[producer]++;
+            }
+            for (Process producer : producers) {
+                assertTrue(producer.waitFor(30, TimeUnit.SECONDS));
+                assertEquals(0, producer.exitValue());
+            }
+            assertTrue(consumer.isEmpty());
+        }
+    }
+}
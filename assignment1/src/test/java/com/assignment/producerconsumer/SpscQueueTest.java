@@ -0,0 +1,168 @@
+package com.assignment.producerconsumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unit tests for the single-producer/single-consumer SpscQueue.
+ */
+public class SpscQueueTest {
+    private SpscQueue<String> queue;
+    private static final int CAPACITY = 4;
+
+    @BeforeEach
+    void setUp() {
+        queue = new SpscQueue<>(CAPACITY);
+    }
+
+    @Test
+    void testQueueInitialization() {
+        assertEquals(0, queue.size());
+        assertTrue(queue.isEmpty());
+        assertFalse(queue.isFull());
+        assertEquals(CAPACITY, queue.getCapacity());
+    }
+
+    @Test
+    void testCapacityRoundedUpToPowerOfTwo() {
+        assertEquals(1, new SpscQueue<String>(1).getCapacity());
+        assertEquals(8, new SpscQueue<String>(5).getCapacity());
+    }
+
+    @Test
+    void testInvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new SpscQueue<>(0));
+    }
+
+    @Test
+    void testNullItemNotAllowed() {
+        assertThrows(NullPointerException.class, () -> queue.put(null));
+        assertThrows(NullPointerException.class, () -> queue.offer(null));
+    }
+
+    @Test
+    @Timeout(5)
+    void testFifoOrderAcrossWrapAround() throws InterruptedException {
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < CAPACITY; i++) {
+                queue.put("item" + round + "-" + i);
+            }
+            assertTrue(queue.isFull());
+            assertFalse(queue.offer("overflow"));
+            for (int i = 0; i < CAPACITY; i++) {
+                assertEquals("item" + round + "-" + i, queue.take());
+            }
+            assertTrue(queue.isEmpty());
+            assertNull(queue.poll());
+        }
+    }
+
+    @Test
+    @Timeout(5)
+    void testPutAllAndDrainTo() throws InterruptedException {
+        queue.putAll(Arrays.asList("a", "b", "c"));
+
+        List<String> drained = new ArrayList<>();
+        assertEquals(2, queue.drainTo(drained, 2));
+        assertEquals(1, queue.drainTo(drained, 10));
+        assertEquals(0, queue.drainTo(drained, 10));
+        assertEquals(Arrays.asList("a", "b", "c"), drained);
+    }
+
+    @Test
+    @Timeout(5)
+    void testTimedOfferAndPollTimeOut() throws InterruptedException {
+        assertNull(queue.poll(50, TimeUnit.MILLISECONDS));
+        for (int i = 0; i < CAPACITY; i++) {
+            queue.put("item" + i);
+        }
+        assertFalse(queue.offer("overflow", 50, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    @Timeout(10)
+    void testInterruptedWait() throws InterruptedException {
+        AtomicInteger interrupted = new AtomicInteger();
+        Thread consumerThread = new Thread(() -> {
+            try {
+                queue.take();
+            } catch (InterruptedException e) {
+                interrupted.incrementAndGet();
+            }
+        });
+        consumerThread.start();
+        Thread.sleep(200);
+        consumerThread.interrupt();
+        consumerThread.join(1000);
+
+        assertFalse(consumerThread.isAlive());
+        assertEquals(1, interrupted.get());
+    }
+
+    @Test
+    @Timeout(20)
+    void testOneProducerOneConsumerPreserveOrder() throws InterruptedException {
+        int totalItems = 200_000;
+        List<Integer> received = new ArrayList<>(totalItems);
+        SpscQueue<Integer> numbers = new SpscQueue<>(64);
+
+        Thread producerThread = new Thread(() -> {
+            try {
+                for (int i = 0; i < totalItems; i++) {
+                    numbers.put(i);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        Thread consumerThread = new Thread(() -> {
+            try {
+                List<Integer> batch = new ArrayList<>();
+                while (received.size() < totalItems) {
+                    if (numbers.drainTo(batch, 16) == 0) {
+                        batch.add(numbers.take());
+                    }
+                    received.addAll(batch);
+                    batch.clear();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producerThread.start();
+        consumerThread.start();
+        producerThread.join();
+        consumerThread.join();
+
+        assertEquals(totalItems, received.size());
+        for (int i = 0; i < totalItems; i++) {
+            assertEquals(i, received.get(i));
+        }
+        assertTrue(numbers.isEmpty());
+    }
+
+    @Test
+    @Timeout(10)
+    void testWorksWithProducerAndConsumer() throws InterruptedException {
+        List<String> source = new ArrayList<>(Arrays.asList("A", "B", "C", "D", "E"));
+        List<String> destination = new ArrayList<>();
+
+        Thread producerThread = new Thread(new Producer("Producer-1", queue, source));
+        Thread consumerThread = new Thread(new Consumer("Consumer-1", queue, destination, 5));
+        producerThread.start();
+        consumerThread.start();
+        producerThread.join();
+        consumerThread.join();
+
+        assertEquals(source, destination);
+    }
+}
@@ -0,0 +1,201 @@
+package com.assignment.producerconsumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for the multi-lane StripedBlockingQueue.
+ */
+public class StripedBlockingQueueTest {
+    private StripedBlockingQueue<String> queue;
+    private static final int LANES = 2;
+    private static final int LANE_CAPACITY = 2;
+
+    @BeforeEach
+    void setUp() {
+        queue = new StripedBlockingQueue<>(LANES, LANE_CAPACITY);
+    }
+
+    @Test
+    void testQueueInitialization() {
+        assertEquals(0, queue.size());
+        assertTrue(queue.isEmpty());
+        assertFalse(queue.isFull());
+        assertEquals(LANES * LANE_CAPACITY, queue.getCapacity());
+        assertEquals(LANES, queue.getLaneCount());
+    }
+
+    @Test
+    void testInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> new StripedBlockingQueue<>(0, 4));
+        assertThrows(IllegalArgumentException.class, () -> new StripedBlockingQueue<>(4, 0));
+        assertThrows(NullPointerException.class, () -> new StripedBlockingQueue<>(4, 4, null));
+        assertThrows(NullPointerException.class, () -> queue.put(null));
+    }
+
+    @Test
+    @Timeout(5)
+    void testEachProducerIsPinnedToOneLane() throws InterruptedException {
+        queue.put("main-1");
+        queue.put("main-2");
+        Thread other = new Thread(() -> {
+            try {
+                queue.put("other-1");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        other.start();
+        other.join();
+
+        assertEquals(2, queue.getLaneSize(0));
+        assertEquals(1, queue.getLaneSize(1));
+        assertEquals(3, queue.size());
+    }
+
+    @Test
+    @Timeout(5)
+    void testOfferFailsWhenOwnLaneIsFull() throws InterruptedException {
+        assertTrue(queue.offer("A"));
+        assertTrue(queue.offer("B"));
+
+        assertFalse(queue.offer("C"));
+        assertFalse(queue.offer("C", 50, TimeUnit.MILLISECONDS));
+        assertFalse(queue.isFull());
+    }
+
+    @Test
+    @Timeout(5)
+    void testSingleProducerOrderIsPreserved() throws InterruptedException {
+        StripedBlockingQueue<String> wide = new StripedBlockingQueue<>(4, 8);
+        wide.putAll(Arrays.asList("A", "B", "C", "D", "E"));
+
+        List<String> taken = new ArrayList<>();
+        taken.add(wide.take());
+        wide.drainTo(taken, 10);
+
+        assertEquals(Arrays.asList("A", "B", "C", "D", "E"), taken);
+        assertTrue(wide.isEmpty());
+        assertNull(wide.poll());
+    }
+
+    @Test
+    @Timeout(5)
+    void testConsumerWakesWhenAnyLaneReceivesItem() throws InterruptedException {
+        CountDownLatch taken = new CountDownLatch(1);
+        List<String> received = new ArrayList<>();
+        Thread consumer = new Thread(() -> {
+            try {
+                received.add(queue.take());
+                taken.countDown();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        consumer.start();
+
+        assertFalse(taken.await(200, TimeUnit.MILLISECONDS));
+        queue.put("item");
+
+        assertTrue(taken.await(2, TimeUnit.SECONDS));
+        consumer.join();
+        assertEquals(Arrays.asList("item"), received);
+    }
+
+    @Test
+    @Timeout(5)
+    void testProducerBlocksUntilItsLaneHasSpace() throws InterruptedException {
+        queue.put("A");
+        queue.put("B");
+        CountDownLatch added = new CountDownLatch(1);
+
+        Thread producer = new Thread(() -> {
+            try {
+                queue.put("X");
+                queue.put("Y");
+                queue.put("Z");
+                added.countDown();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+
+        assertFalse(added.await(200, TimeUnit.MILLISECONDS));
+        assertTrue(queue.isFull());
+        List<String> drained = new ArrayList<>();
+        assertEquals(4, queue.drainTo(drained, 10));
+
+        assertTrue(added.await(2, TimeUnit.SECONDS));
+        producer.join();
+        assertEquals(1, queue.size());
+    }
+
+    @Test
+    @Timeout(5)
+    void testTimedPollReturnsNullWhenEmpty() throws InterruptedException {
+        long start = System.nanoTime();
+        assertNull(queue.poll(100, TimeUnit.MILLISECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(100));
+        assertNull(queue.poll(0, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    @Timeout(10)
+    void testMultipleProducersMultipleConsumersDeliverEachItemOnce() throws InterruptedException {
+        StripedBlockingQueue<String> striped = new StripedBlockingQueue<>(4, 4);
+        int producers = 4;
+        int consumers = 3;
+        int itemsPerProducer = 1000;
+        Set<String> received = ConcurrentHashMap.newKeySet();
+        CountDownLatch done = new CountDownLatch(producers * itemsPerProducer);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int c = 0; c < consumers; c++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    while (true) {
+                        assertTrue(received.add(striped.take()));
+                        done.countDown();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            thread.setDaemon(true);
+            threads.add(thread);
+            thread.start();
+        }
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            Thread thread = new Thread(() -> {
+                try {
+                    for (int i = 0; i < itemsPerProducer; i++) {
+                        striped.put("P" + producer + "-" + i);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            thread.start();
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(producers * itemsPerProducer, received.size());
+        assertTrue(striped.isEmpty());
+        for (Thread thread : threads) {
+            thread.interrupt();
+        }
+    }
+}
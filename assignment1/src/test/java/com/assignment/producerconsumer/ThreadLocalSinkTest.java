@@ -0,0 +1,129 @@
+package com.assignment.producerconsumer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Unit tests for ThreadLocalSink and SynchronizedListSink.
+ */
+public class ThreadLocalSinkTest {
+
+    @Test
+    void testEmptySink() {
+        ThreadLocalSink<String> sink = new ThreadLocalSink<>(true);
+        assertEquals(0, sink.size());
+        assertTrue(sink.toList().isEmpty());
+        sink.addAll(Collections.emptyList());
+        assertEquals(0, sink.size());
+    }
+
+    @Test
+    @Timeout(5)
+    void testUnorderedSinkKeepsEveryItemAndPerThreadOrder() throws InterruptedException {
+        ThreadLocalSink<Integer> sink = new ThreadLocalSink<>();
+        int threads = 4;
+        int perThread = 5_000;
+        runConcurrently(threads, t -> {
+            for (int i = 0; i < perThread; i++) {
+                sink.add(t * perThread + i);
+            }
+        });
+
+        List<Integer> items = sink.toList();
+        assertEquals(threads * perThread, sink.size());
+        assertEquals(threads * perThread, items.size());
+        for (int t = 0; t < threads; t++) {
+            int first = items.indexOf(t * perThread);
+            for (int i = 0; i < perThread; i++) {
+                assertEquals(t * perThread + i, items.get(first + i));
+            }
+        }
+    }
+
+    @Test
+    @Timeout(5)
+    void testOrderedSinkMergesInOrderOfAddition() throws InterruptedException {
+        ThreadLocalSink<Integer> sink = new ThreadLocalSink<>(true);
+        Object turn = new Object();
+        int[] next = {0};
+        int[] turns = {0};
+        int threads = 3;
+        int rounds = 200;
+        // Threads take turns handing out consecutive numbers, each adding what it was given
+        runConcurrently(threads, t -> {
+            for (int round = 0; round < rounds; round++) {
+                synchronized (turn) {
+                    while (turns[0] % threads != t) {
+                        try {
+                            turn.wait();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        }
+                    }
+                    if (round % 2 == 0) {
+                        sink.add(next[0]);
+                        next[0]++;
+                    } else {
+                        sink.addAll(Arrays.asList(next[0], next[0] + 1, next[0] + 2));
+                        next[0] += 3;
+                    }
+                    turns[0]++;
+                    turn.notifyAll();
+                }
+            }
+        });
+
+        List<Integer> items = sink.toList();
+        assertEquals(next[0], items.size());
+        for (int i = 0; i < items.size(); i++) {
+            assertEquals(i, items.get(i));
+        }
+    }
+
+    @Test
+    void testSynchronizedListSinkAppendsToList() {
+        List<String> list = new ArrayList<>();
+        SynchronizedListSink<String> sink = new SynchronizedListSink<>(list);
+        sink.add("A");
+        sink.addAll(Arrays.asList("B", "C"));
+
+        assertEquals(Arrays.asList("A", "B", "C"), list);
+        assertThrows(NullPointerException.class, () -> new SynchronizedListSink<String>(null));
+    }
+
+    private interface IndexedTask {
+        void run(int index);
+    }
+
+    private static void runConcurrently(int threads, IndexedTask task) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> started = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int index = t;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                task.run(index);
+            });
+            started.add(thread);
+            thread.start();
+        }
+        start.countDown();
+        for (Thread thread : started) {
+            thread.join();
+        }
+    }
+}
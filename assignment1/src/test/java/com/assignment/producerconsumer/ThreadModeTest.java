@@ -0,0 +1,66 @@
+package com.assignment.producerconsumer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Unit tests for ThreadMode thread creation.
+ */
+public class ThreadModeTest {
+
+    @Test
+    void testPlatformModeAlwaysSupported() {
+        assertTrue(ThreadMode.PLATFORM.isSupported());
+    }
+
+    @Test
+    void testVirtualModeSupportMatchesJavaVersion() {
+        int feature = Runtime.version().feature();
+        assertEquals(feature >= 21, ThreadMode.VIRTUAL.isSupported());
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void testPlatformThreadRunsTaskWithName() throws InterruptedException {
+        AtomicReference<String> seenName = new AtomicReference<>();
+        Thread thread = ThreadMode.PLATFORM.newThread("Worker-1",
+            () -> seenName.set(Thread.currentThread().getName()));
+
+        assertEquals(Thread.State.NEW, thread.getState());
+        thread.start();
+        thread.join();
+
+        assertEquals("Worker-1", seenName.get());
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void testVirtualThreadBlocksOnQueueWithoutError() throws InterruptedException {
+        if (!ThreadMode.VIRTUAL.isSupported()) {
+            assertThrows(UnsupportedOperationException.class,
+                () -> ThreadMode.VIRTUAL.newThread("Worker-1", () -> { }));
+            return;
+        }
+
+        TwoLockBlockingQueue<String> queue = new TwoLockBlockingQueue<>(1);
+        AtomicReference<String> taken = new AtomicReference<>();
+        Thread consumer = ThreadMode.VIRTUAL.newThread("Consumer-1", () -> {
+            try {
+                taken.set(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        consumer.start();
+        queue.put("item");
+        consumer.join();
+
+        assertEquals("Consumer-1", consumer.getName());
+        assertEquals("item", taken.get());
+    }
+}
@@ -0,0 +1,383 @@
+package com.assignment.producerconsumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for TwoLockBlockingQueue.
+ */
+public class TwoLockBlockingQueueTest {
+    private TwoLockBlockingQueue<String> queue;
+    private static final int CAPACITY = 3;
+
+    @BeforeEach
+    void setUp() {
+        queue = new TwoLockBlockingQueue<>(CAPACITY);
+    }
+
+    @Test
+    void testQueueInitialization() {
+        assertEquals(0, queue.size());
+        assertTrue(queue.isEmpty());
+        assertFalse(queue.isFull());
+        assertEquals(CAPACITY, queue.getCapacity());
+        assertEquals(0, queue.getWakeupCount());
+    }
+
+    @Test
+    void testInvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new TwoLockBlockingQueue<>(0));
+    }
+
+    @Test
+    void testNullItemNotAllowed() {
+        assertThrows(NullPointerException.class, () -> queue.put(null));
+    }
+
+    @Test
+    @Timeout(5)
+    void testFifoOrderAcrossWrapAround() throws InterruptedException {
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < CAPACITY; i++) {
+                queue.put("item" + round + "-" + i);
+            }
+            assertTrue(queue.isFull());
+            for (int i = 0; i < CAPACITY; i++) {
+                assertEquals("item" + round + "-" + i, queue.take());
+            }
+            assertTrue(queue.isEmpty());
+        }
+    }
+
+    @Test
+    @Timeout(10)
+    void testProducerBlocksWhenQueueIsFull() throws InterruptedException {
+        for (int i = 0; i < CAPACITY; i++) {
+            queue.put("item" + i);
+        }
+
+        CountDownLatch putCompleted = new CountDownLatch(1);
+        Thread producerThread = new Thread(() -> {
+            try {
+                queue.put("blocked-item");
+                putCompleted.countDown();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producerThread.start();
+
+        Thread.sleep(300);
+        assertEquals(1, putCompleted.getCount());
+        assertEquals("item0", queue.take());
+
+        putCompleted.await();
+        producerThread.join();
+        assertEquals(CAPACITY, queue.size());
+        assertEquals(1, queue.getWakeupCount());
+    }
+
+    @Test
+    @Timeout(10)
+    void testConsumerBlocksWhenQueueIsEmpty() throws InterruptedException {
+        List<String> consumedItems = new ArrayList<>();
+        Thread consumerThread = new Thread(() -> {
+            try {
+                consumedItems.add(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        consumerThread.start();
+
+        Thread.sleep(300);
+        assertTrue(consumerThread.isAlive());
+
+        queue.put("new-item");
+        consumerThread.join();
+        assertEquals(List.of("new-item"), consumedItems);
+        assertEquals(1, queue.getWakeupCount());
+    }
+
+    @Test
+    @Timeout(10)
+    void testInterruptedWait() throws InterruptedException {
+        for (int i = 0; i < CAPACITY; i++) {
+            queue.put("item" + i);
+        }
+        AtomicInteger interrupted = new AtomicInteger();
+        Thread producerThread = new Thread(() -> {
+            try {
+                queue.put("blocked");
+            } catch (InterruptedException e) {
+                interrupted.incrementAndGet();
+            }
+        });
+        producerThread.start();
+        Thread.sleep(200);
+        producerThread.interrupt();
+        producerThread.join(1000);
+
+        assertFalse(producerThread.isAlive());
+        assertEquals(1, interrupted.get());
+        assertEquals(CAPACITY, queue.size());
+    }
+
+    @Test
+    @Timeout(20)
+    void testMultipleProducersMultipleConsumersDeliverEachItemOnce() throws InterruptedException {
+        int numProducers = 8;
+        int numConsumers = 8;
+        int itemsPerProducer = 5_000;
+        int totalItems = numProducers * itemsPerProducer;
+        Set<String> consumed = ConcurrentHashMap.newKeySet();
+        CountDownLatch done = new CountDownLatch(numProducers + numConsumers);
+
+        for (int p = 0; p < numProducers; p++) {
+            final int producerId = p;
+            new Thread(() -> {
+                try {
+                    for (int i = 0; i < itemsPerProducer; i++) {
+                        queue.put("P" + producerId + "-I" + i);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                done.countDown();
+            }).start();
+        }
+        for (int c = 0; c < numConsumers; c++) {
+            new Thread(() -> {
+                try {
+                    for (int i = 0; i < totalItems / numConsumers; i++) {
+                        consumed.add(queue.take());
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                done.countDown();
+            }).start();
+        }
+
+        done.await();
+        assertEquals(totalItems, consumed.size());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    @Timeout(5)
+    void testPutAllAndDrainTo() throws InterruptedException {
+        queue.putAll(List.of("a", "b", "c"));
+        assertTrue(queue.isFull());
+
+        List<String> drained = new ArrayList<>();
+        assertEquals(2, queue.drainTo(drained, 2));
+        assertEquals(1, queue.drainTo(drained, 10));
+        assertEquals(0, queue.drainTo(drained, 10));
+        assertEquals(List.of("a", "b", "c"), drained);
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    @Timeout(10)
+    void testPutAllBlocksAndDrainToWakesProducer() throws InterruptedException {
+        List<String> batch = new ArrayList<>();
+        for (int i = 0; i < CAPACITY * 3; i++) {
+            batch.add("item" + i);
+        }
+
+        Thread producerThread = new Thread(() -> {
+            try {
+                queue.putAll(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producerThread.start();
+
+        Thread.sleep(300);
+        assertTrue(queue.isFull());
+        assertTrue(producerThread.isAlive());
+
+        List<String> drained = new ArrayList<>();
+        while (drained.size() < batch.size()) {
+            if (queue.drainTo(drained, CAPACITY) == 0) {
+                drained.add(queue.take());
+            }
+        }
+        producerThread.join();
+
+        assertEquals(batch, drained);
+    }
+
+    @Test
+    @Timeout(10)
+    void testMetricsCountConsumerBlocks() throws InterruptedException {
+        QueueMetrics metrics = new QueueMetrics();
+        TwoLockBlockingQueue<String> monitoredQueue = new TwoLockBlockingQueue<>(CAPACITY, metrics);
+
+        Thread consumerThread = new Thread(() -> {
+            try {
+                monitoredQueue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        consumerThread.start();
+        Thread.sleep(200);
+        monitoredQueue.putAll(List.of("a", "b"));
+        consumerThread.join();
+
+        assertEquals(2, metrics.getPuts());
+        assertEquals(1, metrics.getTakes());
+        assertEquals(1, metrics.getDepth());
+        assertEquals(1, metrics.getConsumerBlocks());
+        assertEquals(0, metrics.getProducerBlocks());
+    }
+
+    @Test
+    @Timeout(5)
+    void testOfferAndPollWithTimeouts() throws InterruptedException {
+        for (int i = 0; i < CAPACITY; i++) {
+            assertTrue(queue.offer("item" + i));
+        }
+        assertFalse(queue.offer("overflow"));
+        assertFalse(queue.offer("overflow", 100, TimeUnit.MILLISECONDS));
+
+        for (int i = 0; i < CAPACITY; i++) {
+            assertEquals("item" + i, queue.poll());
+        }
+        assertNull(queue.poll());
+        assertNull(queue.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    @Timeout(10)
+    void testTimedOfferSucceedsWhenSpaceFreesUp() throws InterruptedException {
+        for (int i = 0; i < CAPACITY; i++) {
+            queue.put("item" + i);
+        }
+        Thread consumerThread = new Thread(() -> {
+            try {
+                Thread.sleep(200);
+                queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        consumerThread.start();
+
+        assertTrue(queue.offer("late-item", 5, TimeUnit.SECONDS));
+        consumerThread.join();
+        assertTrue(queue.isFull());
+    }
+
+    @Test
+    @Timeout(10)
+    void testCloseWakesBlockedThreadsAndLetsConsumersDrain() throws InterruptedException {
+        for (int i = 0; i < CAPACITY; i++) {
+            queue.put("item" + i);
+        }
+        TwoLockBlockingQueue<String> empty = new TwoLockBlockingQueue<>(1);
+        AtomicInteger closedSeen = new AtomicInteger();
+        Thread producerThread = new Thread(() -> {
+            try {
+                queue.put("blocked");
+            } catch (QueueClosedException e) {
+                closedSeen.incrementAndGet();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        Thread consumerThread = new Thread(() -> {
+            try {
+                empty.take();
+            } catch (QueueClosedException e) {
+                closedSeen.incrementAndGet();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producerThread.start();
+        consumerThread.start();
+        Thread.sleep(100);
+
+        queue.close();
+        empty.close();
+        producerThread.join(2000);
+        consumerThread.join(2000);
+
+        assertEquals(2, closedSeen.get());
+        assertThrows(QueueClosedException.class, () -> queue.offer("late"));
+        for (int i = 0; i < CAPACITY; i++) {
+            assertEquals("item" + i, queue.take());
+        }
+        assertThrows(QueueClosedException.class, () -> queue.take());
+        assertNull(queue.poll(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @Timeout(10)
+    void testShutdownReturnsAfterConsumersDrainTheQueue() throws InterruptedException {
+        queue.put("A");
+        queue.put("B");
+        List<String> taken = new ArrayList<>();
+        Thread consumerThread = new Thread(() -> {
+            try {
+                while (true) {
+                    taken.add(queue.take());
+                    Thread.sleep(50);
+                }
+            } catch (QueueClosedException e) {
+                // drained
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        consumerThread.start();
+
+        assertTrue(queue.shutdown(5, TimeUnit.SECONDS).isEmpty());
+        consumerThread.join(2000);
+        assertFalse(consumerThread.isAlive());
+        assertEquals(Arrays.asList("A", "B"), taken);
+
+        TwoLockBlockingQueue<String> unconsumed = new TwoLockBlockingQueue<>(CAPACITY);
+        unconsumed.put("X");
+        unconsumed.put("Y");
+        assertEquals(Arrays.asList("X", "Y"), unconsumed.shutdown(50, TimeUnit.MILLISECONDS));
+        assertTrue(unconsumed.isEmpty());
+    }
+
+    @Test
+    @Timeout(10)
+    void testLatencyRecordsQueueTimeOfTakenItemsOnly() throws InterruptedException {
+        QueueLatency latency = new QueueLatency();
+        TwoLockBlockingQueue<String> timed = new TwoLockBlockingQueue<>(4, QueueListener.NOOP, latency);
+        timed.put("A");
+        Thread.sleep(30);
+        timed.put("B");
+        timed.put("C");
+        assertEquals("A", timed.take());
+        assertEquals("B", timed.poll(1, TimeUnit.SECONDS));
+
+        LatencyHistogram.Snapshot queueTime = latency.getQueueTime().snapshot();
+        assertEquals(2, queueTime.getCount());
+        assertTrue(queueTime.getMax() >= TimeUnit.MILLISECONDS.toNanos(30));
+        assertTrue(queueTime.getValueAtPercentile(50) < TimeUnit.MILLISECONDS.toNanos(30));
+
+        assertEquals(Arrays.asList("C"), timed.shutdown(0, TimeUnit.SECONDS));
+        assertEquals(2, latency.getQueueTime().snapshot().getCount());
+    }
+}
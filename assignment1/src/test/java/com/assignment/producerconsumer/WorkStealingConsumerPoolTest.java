@@ -0,0 +1,176 @@
+package com.assignment.producerconsumer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for the work-stealing WorkStealingConsumerPool.
+ */
+public class WorkStealingConsumerPoolTest {
+
+    @Test
+    void testInvalidConfigurationThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> new WorkStealingConsumerPool<String>(0, 4, item -> { }));
+        assertThrows(IllegalArgumentException.class, () -> new WorkStealingConsumerPool<String>(2, 0, item -> { }));
+        assertThrows(NullPointerException.class, () -> new WorkStealingConsumerPool<String>(2, 4, null));
+    }
+
+    @Test
+    void testNullItemThrowsException() {
+        WorkStealingConsumerPool<String> pool = new WorkStealingConsumerPool<>(2, 4, item -> { });
+        assertThrows(NullPointerException.class, () -> pool.put(null));
+        assertThrows(NullPointerException.class, () -> pool.offer(null));
+    }
+
+    @Test
+    void testOfferFailsWhenAllDequesAreFull() {
+        WorkStealingConsumerPool<String> pool = new WorkStealingConsumerPool<>(2, 2, item -> { });
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(pool.offer("item" + i));
+        }
+        assertFalse(pool.offer("overflow"));
+        assertEquals(4, pool.getPendingCount());
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void testMultipleProducersEveryItemProcessedOnce() throws InterruptedException {
+        int producers = 4;
+        int itemsPerProducer = 500;
+        List<String> processed = Collections.synchronizedList(new ArrayList<>());
+        WorkStealingConsumerPool<String> pool = new WorkStealingConsumerPool<>(3, 8, processed::add);
+        pool.start();
+
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            Thread thread = new Thread(() -> {
+                try {
+                    for (int i = 0; i < itemsPerProducer; i++) {
+                        pool.put("P" + producer + "-" + i);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        pool.shutdown();
+
+        assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(producers * itemsPerProducer, processed.size());
+        assertEquals(producers * itemsPerProducer, new HashSet<>(processed).size());
+        assertEquals(producers * itemsPerProducer, pool.getProcessedCount());
+        assertEquals(0, pool.getPendingCount());
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void testIdleConsumerStealsFromBusyConsumer() throws InterruptedException {
+        // Round-robin gives every even item to Consumer-1 and every odd item to
+        // Consumer-2; only even items are expensive.
+        WorkStealingConsumerPool<Integer> pool = new WorkStealingConsumerPool<>(2, 32, item -> {
+            if (item % 2 == 0) {
+                Thread.sleep(20);
+            }
+        });
+        for (int i = 0; i < 40; i++) {
+            pool.put(i);
+        }
+        pool.start();
+        pool.shutdown();
+
+        assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(40, pool.getProcessedCount());
+        assertTrue(pool.getStealCount() > 0);
+        assertTrue(pool.getStolenItemCount() > 0);
+        assertTrue(pool.getProcessedCount(1) > 20,
+            "Idle consumer should have taken expensive items, processed " + pool.getProcessedCount(1));
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void testThrowingHandlerDoesNotStopConsumers() throws InterruptedException {
+        List<Integer> handled = Collections.synchronizedList(new ArrayList<>());
+        WorkStealingConsumerPool<Integer> pool = new WorkStealingConsumerPool<>(2, 32, item -> {
+            if (item % 4 == 0) {
+                throw new IllegalStateException("Expected test failure");
+            }
+            Thread.sleep(1);
+            handled.add(item);
+        });
+        for (int i = 0; i < 40; i++) {
+            pool.put(i);
+        }
+        pool.start();
+        pool.shutdown();
+
+        assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(10, pool.getFailureCount());
+        assertEquals(40, pool.getProcessedCount());
+        assertEquals(30, handled.size());
+        assertEquals(0, pool.getPendingCount());
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void testPutBlocksUntilConsumerMakesSpace() throws InterruptedException {
+        WorkStealingConsumerPool<String> pool = new WorkStealingConsumerPool<>(1, 1, item -> { });
+        pool.put("first");
+        CountDownLatch added = new CountDownLatch(1);
+
+        Thread producer = new Thread(() -> {
+            try {
+                pool.put("second");
+                added.countDown();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+
+        assertFalse(added.await(200, TimeUnit.MILLISECONDS));
+        pool.start();
+        assertTrue(added.await(2, TimeUnit.SECONDS));
+        producer.join();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(2, TimeUnit.SECONDS));
+        assertEquals(2, pool.getProcessedCount());
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void testShutdownStopsIdleConsumersAndRejectsItems() throws InterruptedException {
+        WorkStealingConsumerPool<String> pool = new WorkStealingConsumerPool<>(3, 4, item -> { });
+        pool.start();
+        Thread.sleep(100);
+
+        pool.shutdown();
+
+        assertTrue(pool.awaitTermination(2, TimeUnit.SECONDS));
+        assertThrows(IllegalStateException.class, () -> pool.put("late"));
+        assertThrows(IllegalStateException.class, () -> pool.offer("late"));
+    }
+
+    @Test
+    void testStartTwiceThrowsException() {
+        WorkStealingConsumerPool<String> pool = new WorkStealingConsumerPool<>(1, 1, item -> { });
+        pool.start();
+        assertThrows(IllegalStateException.class, pool::start);
+        pool.shutdown();
+    }
+}